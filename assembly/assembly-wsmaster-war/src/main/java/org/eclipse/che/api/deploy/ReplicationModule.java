@@ -13,15 +13,32 @@ package org.eclipse.che.api.deploy;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.name.Names;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.Map;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.eclipse.che.api.system.server.ServiceTermination;
 import org.eclipse.che.api.workspace.server.WorkspaceLockService;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.DistributedMetricsModule;
 import org.eclipse.che.multiuser.api.distributed.JGroupsServiceTermination;
 import org.eclipse.che.multiuser.api.distributed.WorkspaceStopPropagator;
+import org.eclipse.che.multiuser.api.distributed.cache.DistributedEntityCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.cache.ObservableWorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcClusterMembership;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcCoordinationTermination;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcEntityCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcPermissionsCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcRemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceLockService;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.machine.DistributedMachineTokenCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.permission.DistributedPermissionsCacheInvalidator;
 import org.eclipse.che.multiuser.api.distributed.subscription.DistributedRemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.distributed.websocket.DistributedWebSocketMessageTransmitter;
+import org.eclipse.che.multiuser.api.distributed.websocket.WebSocketRoutingMeterBinder;
 import org.eclipse.persistence.config.CacheCoordinationProtocol;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 
@@ -29,6 +46,7 @@ import org.eclipse.persistence.config.PersistenceUnitProperties;
 public class ReplicationModule extends AbstractModule {
 
   private static final String JGROUPS_CONF_FILE = "jgroups/che-tcp.xml";
+  private static final String JDBC_COORDINATION = "jdbc";
 
   private Map<String, String> persistenceProperties;
 
@@ -45,17 +63,62 @@ public class ReplicationModule extends AbstractModule {
         PersistenceUnitProperties.COORDINATION_JGROUPS_CONFIG, JGROUPS_CONF_FILE);
     bindConstant().annotatedWith(Names.named("jgroups.config.file")).to(JGROUPS_CONF_FILE);
 
+    if (JDBC_COORDINATION.equals(System.getenv("CHE_INFRA_DISTRIBUTED_COORDINATION"))) {
+      configureJdbcCoordination();
+    } else {
+      configureJGroupsCoordination();
+    }
+
+    bind(WorkspaceStopPropagator.class).asEagerSingleton();
+    bind(DistributedMachineTokenCacheInvalidator.class).asEagerSingleton();
+
+    bind(DistributedWebSocketMessageTransmitter.class).asEagerSingleton();
+    OptionalBinder.newOptionalBinder(binder(), WebSocketMessageTransmitter.class)
+        .setBinding()
+        .to(DistributedWebSocketMessageTransmitter.class);
+    Multibinder.newSetBinder(binder(), MeterBinder.class)
+        .addBinding()
+        .to(WebSocketRoutingMeterBinder.class);
+
+  }
+
+  private void configureJGroupsCoordination() {
     bind(RemoteSubscriptionStorage.class).to(DistributedRemoteSubscriptionStorage.class);
 
     bind(WorkspaceLockService.class)
         .to(org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService.class);
     bind(WorkspaceStatusCache.class)
         .to(org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache.class);
+    bind(ObservableWorkspaceStatusCache.class)
+        .to(org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache.class);
+
+    bind(DistributedPermissionsCacheInvalidator.class).asEagerSingleton();
+    bind(DistributedEntityCacheInvalidator.class).asEagerSingleton();
 
     Multibinder.newSetBinder(binder(), ServiceTermination.class)
         .addBinding()
         .to(JGroupsServiceTermination.class);
 
-    bind(WorkspaceStopPropagator.class).asEagerSingleton();
+    install(new DistributedMetricsModule());
+  }
+
+  /**
+   * Coordinates Che Servers through the PostgreSQL database instead of JGroups channels. JGroups
+   * is still used for the coordination of the EclipseLink caches and for the routing of websocket
+   * messages, whose payloads don't fit the database notifications.
+   */
+  private void configureJdbcCoordination() {
+    bind(JdbcClusterMembership.class).asEagerSingleton();
+    bind(JdbcPermissionsCacheInvalidator.class).asEagerSingleton();
+    bind(JdbcEntityCacheInvalidator.class).asEagerSingleton();
+
+    bind(RemoteSubscriptionStorage.class).to(JdbcRemoteSubscriptionStorage.class);
+    bind(WorkspaceLockService.class).to(JdbcWorkspaceLockService.class);
+    bind(WorkspaceStatusCache.class).to(JdbcWorkspaceStatusCache.class);
+    bind(ObservableWorkspaceStatusCache.class).to(JdbcWorkspaceStatusCache.class);
+
+    Multibinder.newSetBinder(binder(), ServiceTermination.class)
+        .addBinding()
+        .to(JdbcCoordinationTermination.class);
   }
 }
@@ -21,6 +21,7 @@ import com.google.inject.assistedinject.FactoryModuleBuilder;
 import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.HashMap;
 import java.util.Map;
 import javax.sql.DataSource;
@@ -42,6 +43,8 @@ import org.eclipse.che.api.system.server.SystemModule;
 import org.eclipse.che.api.user.server.TokenValidator;
 import org.eclipse.che.api.user.server.jpa.JpaPreferenceDao;
 import org.eclipse.che.api.user.server.jpa.JpaUserDao;
+import org.eclipse.che.api.user.server.jpa.PreferenceEntity;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.api.workspace.server.WorkspaceEntityProvider;
@@ -69,6 +72,7 @@ import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.api.workspace.server.wsplugins.ChePluginsApplier;
 import org.eclipse.che.commons.observability.deploy.ExecutorWrapperModule;
 import org.eclipse.che.core.db.DBTermination;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.tracing.metrics.TracingMetricsModule;
 import org.eclipse.che.inject.DynaModule;
@@ -79,6 +83,7 @@ import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenEx
 import org.eclipse.che.multiuser.api.permission.server.AdminPermissionInitializer;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
 import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.server.PermissionsCacheMeterBinder;
 import org.eclipse.che.multiuser.api.workspace.activity.MultiUserWorkspaceActivityModule;
 import org.eclipse.che.multiuser.keycloak.server.deploy.KeycloakModule;
 import org.eclipse.che.multiuser.keycloak.server.deploy.KeycloakUserRemoverModule;
@@ -135,6 +140,7 @@ public class WsMasterModule extends AbstractModule {
     bind(SchemaInitializer.class)
         .to(org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer.class);
     bind(org.eclipse.che.core.db.DBInitializer.class).asEagerSingleton();
+    bind(EntityCacheConfigurator.class).asEagerSingleton();
     bind(PlaceholderReplacer.class)
         .toProvider(org.eclipse.che.core.db.schema.impl.flyway.PlaceholderReplacerProvider.class);
 
@@ -211,6 +217,7 @@ public class WsMasterModule extends AbstractModule {
         .asEagerSingleton();
     bind(org.eclipse.che.api.workspace.server.event.RuntimeLogJsonRpcMessenger.class)
         .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.RuntimeLogBatcher.class).asEagerSingleton();
 
     bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
         .to(org.eclipse.che.security.oauth.OAuthAuthenticatorProviderImpl.class);
@@ -414,7 +421,13 @@ public class WsMasterModule extends AbstractModule {
     bind(PasswordEncryptor.class).to(PBKDF2PasswordEncryptor.class);
     bind(UserDao.class).to(JpaUserDao.class);
     bind(PreferenceDao.class).to(JpaPreferenceDao.class);
+    EntityCacheConfigurator.cacheEntities(binder(), UserImpl.class, PreferenceEntity.class);
+    EntityCacheConfigurator.cacheQueryResults(
+        binder(), "User.getByName", "User.getByEmail", "User.getByAlias");
     bind(PermissionChecker.class).to(PermissionCheckerImpl.class);
+    Multibinder.newSetBinder(binder(), MeterBinder.class)
+        .addBinding()
+        .to(PermissionsCacheMeterBinder.class);
 
     bindConstant().annotatedWith(Names.named("che.agents.auth_enabled")).to(true);
 
@@ -33,6 +33,8 @@ public class CheMajorWebSocketEndpointConfiguration
   private static final Logger LOG = getLogger(CheMajorWebSocketEndpointConfiguration.class);
 
   private final ExecutorService executor;
+  private final int clientMaxConcurrency;
+  private final int clientQueueCapacity;
 
   public static final String JSON_RPC_MAJOR_CORE_POOL_SIZE_PARAMETER_NAME =
       "che.core.jsonrpc.processor_core_pool_size";
@@ -40,13 +42,21 @@ public class CheMajorWebSocketEndpointConfiguration
       "che.core.jsonrpc.processor_max_pool_size";
   public static final String JSON_RPC_MAJOR_QUEUE_CAPACITY_PARAMETER_NAME =
       "che.core.jsonrpc.processor_queue_capacity";
+  public static final String JSON_RPC_MAJOR_CLIENT_MAX_CONCURRENCY_PARAMETER_NAME =
+      "che.core.jsonrpc.processor_client_max_concurrency";
+  public static final String JSON_RPC_MAJOR_CLIENT_QUEUE_CAPACITY_PARAMETER_NAME =
+      "che.core.jsonrpc.processor_client_queue_capacity";
 
   @Inject
   public CheMajorWebSocketEndpointConfiguration(
       @Named(JSON_RPC_MAJOR_CORE_POOL_SIZE_PARAMETER_NAME) int corePoolSize,
       @Named(JSON_RPC_MAJOR_MAX_POOL_SIZE_PARAMETER_NAME) int maxPoolSize,
       @Named(JSON_RPC_MAJOR_QUEUE_CAPACITY_PARAMETER_NAME) int queueCapacity,
+      @Named(JSON_RPC_MAJOR_CLIENT_MAX_CONCURRENCY_PARAMETER_NAME) int clientMaxConcurrency,
+      @Named(JSON_RPC_MAJOR_CLIENT_QUEUE_CAPACITY_PARAMETER_NAME) int clientQueueCapacity,
       ExecutorServiceWrapper wrapper) {
+    this.clientMaxConcurrency = clientMaxConcurrency;
+    this.clientQueueCapacity = clientQueueCapacity;
     this.executor =
         wrapper.wrap(
             new ExecutorServiceBuilder()
@@ -79,4 +89,14 @@ public class CheMajorWebSocketEndpointConfiguration
   public ExecutorService getExecutorService() {
     return executor;
   }
+
+  @Override
+  public int getMaxConcurrentRequestsPerClient() {
+    return clientMaxConcurrency;
+  }
+
+  @Override
+  public int getMaxQueuedRequestsPerClient() {
+    return clientQueueCapacity;
+  }
 }
@@ -12,6 +12,7 @@
 package org.eclipse.che.api.core;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -19,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines paged result of data selection, it is rather dynamic data window than regular page, as it
@@ -79,6 +81,15 @@ import java.util.function.Function;
  * itemsBefore} and {@code pageSize} values which means that implementor is responsible for
  * providing correct bounds and data management.
  *
+ * <p>Keyset page.<br>
+ * A page may be fetched after a {@link #getContinuationToken() continuation token} of the previous
+ * page instead of skipping items, which allows suppliers to seek to the page start instead of
+ * scanning all the skipped items. Such page has the next page while it has the continuation token,
+ * and its total count may be {@link #UNKNOWN_TOTAL_COUNT unknown}, so suppliers don't need to count
+ * all the items for every page. A keyset page can't be referenced by the count of skipped items, so
+ * it has neither the previous page nor the page number, and its references to the next and the
+ * last pages are not available.
+ *
  * <p>The instances of this class are <b>NOT thread safe</b>.
  *
  * @param <ITEM_T> the type of the page items
@@ -86,10 +97,14 @@ import java.util.function.Function;
  */
 public class Page<ITEM_T> {
 
+  /** Total count of the keyset page items which supplier didn't count. */
+  public static final long UNKNOWN_TOTAL_COUNT = -1;
+
   private final int pageSize;
   private final long itemsBefore;
   private final long totalCount;
   private final List<ITEM_T> items;
+  private final String continuationToken;
 
   /**
    * Creates a new page.
@@ -104,14 +119,43 @@ public class Page<ITEM_T> {
    * @throws IllegalArgumentException when {@code totalCount} is negative
    */
   public Page(Collection<? extends ITEM_T> items, long itemsBefore, int pageSize, long totalCount) {
+    this(items, itemsBefore, pageSize, totalCount, null);
+    checkArgument(totalCount >= 0, "Required non-negative value of total items");
+  }
+
+  /**
+   * Creates a new page which may be followed by the page fetched after the given continuation
+   * token.
+   *
+   * @param items page items
+   * @param itemsBefore items count before this page, if known, otherwise 0
+   * @param pageSize page size
+   * @param totalCount count of all the items or {@link #UNKNOWN_TOTAL_COUNT}
+   * @param continuationToken opaque token to fetch the next page after, or null when this page is
+   *     the last one
+   * @throws NullPointerException when {@code items} collection is null
+   * @throws IllegalArgumentException when {@code itemsBefore} is negative
+   * @throws IllegalArgumentException when {@code pageSize} is non-positive
+   * @throws IllegalArgumentException when {@code totalCount} is negative and not {@link
+   *     #UNKNOWN_TOTAL_COUNT}
+   */
+  public Page(
+      Collection<? extends ITEM_T> items,
+      long itemsBefore,
+      int pageSize,
+      long totalCount,
+      @Nullable String continuationToken) {
     requireNonNull(items, "Required non-null items");
     this.items = new ArrayList<>(items);
     checkArgument(itemsBefore >= 0, "Required non-negative value of items before");
     this.itemsBefore = itemsBefore;
     checkArgument(pageSize > 0, "Required positive value of page size");
     this.pageSize = pageSize;
-    checkArgument(totalCount >= 0, "Required non-negative value of total items");
+    checkArgument(
+        totalCount >= 0 || totalCount == UNKNOWN_TOTAL_COUNT,
+        "Required non-negative value of total items");
     this.totalCount = totalCount;
+    this.continuationToken = continuationToken;
   }
 
   /** Returns true whether this page doesn't contain items, returns false if it does. */
@@ -124,9 +168,21 @@ public class Page<ITEM_T> {
    * false will be returned.
    */
   public boolean hasNextPage() {
+    if (continuationToken != null) {
+      return true;
+    }
     return getNumber() != -1 && itemsBefore + pageSize < totalCount;
   }
 
+  /**
+   * Returns true when this page is a keyset page, which is followed by its {@link
+   * #getContinuationToken() continuation token} or whose total count is unknown, so it has no page
+   * references except the reference to the first page.
+   */
+  public boolean isKeysetPage() {
+    return continuationToken != null || totalCount == UNKNOWN_TOTAL_COUNT;
+  }
+
   /**
    * Returns true when this page has the previous page, otherwise when the page is the first page
    * false will be returned.
@@ -140,8 +196,12 @@ public class Page<ITEM_T> {
    *
    * <p>Note: This method was designed to be used in couple with {@link #hasNextPage()}. Returns
    * reference to the next page even when {@link #hasNextPage()} returns false.
+   *
+   * @throws IllegalStateException when this page is a {@link #isKeysetPage() keyset page}, the next
+   *     page must be fetched after its continuation token instead
    */
   public PageRef getNextPageRef() {
+    checkState(!isKeysetPage(), "Keyset page is followed by its continuation token");
     return new PageRef(itemsBefore + pageSize, pageSize);
   }
 
@@ -156,8 +216,13 @@ public class Page<ITEM_T> {
     return new PageRef(skipItems, pageSize);
   }
 
-  /** Returns the reference to the last page. */
+  /**
+   * Returns the reference to the last page.
+   *
+   * @throws IllegalStateException when this page is a {@link #isKeysetPage() keyset page}
+   */
   public PageRef getLastPageRef() {
+    checkState(!isKeysetPage(), "The last page of keyset page is unknown");
     final long lastPageItems = totalCount % pageSize;
     if (lastPageItems == 0) {
       return new PageRef(totalCount <= pageSize ? 0 : totalCount - pageSize, pageSize);
@@ -184,10 +249,11 @@ public class Page<ITEM_T> {
    * Returns page number starting from 1.
    *
    * <p>If the page is not regular page(it refers rather to the data window than to the certain
-   * page(e.g. skip=2, pageSize=4)) then this method returns -1.
+   * page(e.g. skip=2, pageSize=4)) or it is a {@link #isKeysetPage() keyset page} then this
+   * method returns -1.
    */
   public long getNumber() {
-    if (itemsBefore % pageSize != 0) {
+    if (isKeysetPage() || itemsBefore % pageSize != 0) {
       return -1;
     }
     return itemsBefore / pageSize + 1;
@@ -201,11 +267,20 @@ public class Page<ITEM_T> {
     return items.size();
   }
 
-  /** Returns the count of all the items. */
+  /** Returns the count of all the items or {@link #UNKNOWN_TOTAL_COUNT} if it wasn't counted. */
   public long getTotalItemsCount() {
     return totalCount;
   }
 
+  /**
+   * Returns the opaque token which is used to fetch the page following this one, or null when
+   * there are no more items or the page was not fetched by keyset.
+   */
+  @Nullable
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
   /**
    * Returns page items or an empty list when page doesn't contain items.
    *
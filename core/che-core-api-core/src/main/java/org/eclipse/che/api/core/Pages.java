@@ -15,9 +15,11 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.eclipse.che.api.core.Page.PageRef;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Static utility methods to interact with page suppliers.
@@ -49,6 +51,27 @@ public final class Pages {
     Page<? extends E> getPage(int maxItems, long skipCount) throws X;
   }
 
+  /**
+   * Defines an interface for supplier of pages which are fetched after continuation tokens.
+   *
+   * @param <E> the type of the element held by page
+   * @param <X> the type of exception thrown by page supplier
+   * @see Page#getContinuationToken()
+   */
+  @FunctionalInterface
+  public interface KeysetPageSupplier<E, X extends Exception> {
+
+    /**
+     * Gets a single page.
+     *
+     * @param maxItems max items to retrieve
+     * @param continuationToken token of the previous page, or null to get the first page
+     * @return page
+     * @throws X exception thrown by supplier
+     */
+    Page<? extends E> getPage(int maxItems, @Nullable String continuationToken) throws X;
+  }
+
   /**
    * Eagerly fetches all the elements page by page and returns a stream of them.
    *
@@ -143,6 +166,53 @@ public final class Pages {
     return iterateLazily(supplier, DEFAULT_PAGE_SIZE);
   }
 
+  /**
+   * Returns an iterable which iterator lazily fetches page by page following continuation tokens of
+   * the pages, doesn't poll the next page until the last item from previous page is not processed.
+   * Unlike {@link #iterateLazily(PageSupplier, int)} fetching of every next page doesn't depend on
+   * the number of items before it, so a full scan takes linear time.
+   *
+   * @param supplier pages supplier
+   * @param size how many items to retrieve per page
+   * @param <E> the type of the element held by page
+   * @param <X> the type of exception thrown by page supplier
+   * @return iterable of elements
+   * @throws RuntimeException wraps any exception occurred during pages fetch
+   */
+  public static <E, X extends Exception> Iterable<E> iterateByKeyset(
+      KeysetPageSupplier<E, X> supplier, int size) {
+    return () -> new KeysetPagedIterator<>(supplier, size);
+  }
+
+  /**
+   * Returns an iterable like {@link #iterateByKeyset(KeysetPageSupplier, int)} method does using
+   * default page size which is equal to {@value #DEFAULT_PAGE_SIZE}.
+   */
+  public static <E, X extends Exception> Iterable<E> iterateByKeyset(
+      KeysetPageSupplier<E, X> supplier) {
+    return iterateByKeyset(supplier, DEFAULT_PAGE_SIZE);
+  }
+
+  /**
+   * Creates a keyset page of the given items sorted by their keys, the key of the last item of the
+   * full page is used as continuation token of the page, so the next page is fetched after it.
+   *
+   * @param items items of the page sorted by their keys
+   * @param maxItems max items which were requested for the page
+   * @param keyFunction function which returns the key of an item
+   * @param <E> the type of the element held by page
+   * @return keyset page with unknown total count
+   * @see KeysetPageSupplier
+   */
+  public static <E> Page<E> keysetPage(
+      List<? extends E> items, int maxItems, Function<? super E, String> keyFunction) {
+    final String continuationToken =
+        items.size() < maxItems || items.isEmpty()
+            ? null
+            : keyFunction.apply(items.get(items.size() - 1));
+    return new Page<>(items, 0, maxItems, Page.UNKNOWN_TOTAL_COUNT, continuationToken);
+  }
+
   private static <E, X extends Exception> List<E> eagerFetch(PageSupplier<E, X> supplier, int size)
       throws X {
     Page<? extends E> page = supplier.getPage(size, 0);
@@ -217,5 +287,48 @@ public final class Pages {
     }
   }
 
+  private static class KeysetPagedIterator<E> implements Iterator<E> {
+
+    private final KeysetPageSupplier<E, ?> supplier;
+    private final int size;
+
+    private Page<? extends E> page;
+    private Iterator<? extends E> delegate;
+
+    private KeysetPagedIterator(KeysetPageSupplier<E, ?> supplier, int size) {
+      this.supplier = supplier;
+      this.size = size;
+      fetchPage(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!delegate.hasNext()) {
+        if (page.getContinuationToken() == null) {
+          return false;
+        }
+        fetchPage(page.getContinuationToken());
+      }
+      return true;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return delegate.next();
+    }
+
+    private void fetchPage(String continuationToken) {
+      try {
+        page = supplier.getPage(size, continuationToken);
+        delegate = page.getItems().iterator();
+      } catch (Exception x) {
+        throw new RuntimeException(x.getMessage(), x);
+      }
+    }
+  }
+
   private Pages() {}
 }
@@ -17,6 +17,7 @@ import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.SEPARAT
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
@@ -32,6 +33,9 @@ import org.slf4j.Logger;
 public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
   private static final Logger LOGGER = getLogger(JsonRpcMessageReceiver.class);
 
+  /** JSON RPC error code reported to clients when their request is rejected due to overload. */
+  public static final int SERVER_OVERLOADED_ERROR_CODE = -32000;
+
   private final RequestDispatcher requestDispatcher;
   private final ResponseDispatcher responseDispatcher;
   private final JsonRpcErrorTransmitter errorTransmitter;
@@ -71,9 +75,7 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     List<String> messages = jsonRpcUnmarshaller.unmarshalArray(message);
     for (String innerMessage : messages) {
       if (jsonRpcQualifier.isJsonRpcRequest(innerMessage)) {
-        String endpointId = combinedEndpointId.split(SEPARATOR)[1];
-        ProcessRequestTask task = new ProcessRequestTask(combinedEndpointId, innerMessage);
-        requestProcessor.process(endpointId, task);
+        processRequest(combinedEndpointId, innerMessage);
       } else if (jsonRpcQualifier.isJsonRpcResponse(innerMessage)) {
         processResponse(combinedEndpointId, innerMessage);
       } else {
@@ -82,6 +84,46 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     }
   }
 
+  private void processRequest(String combinedEndpointId, String innerMessage) {
+    String endpointId = combinedEndpointId.split(SEPARATOR)[1];
+    ProcessRequestTask task = new ProcessRequestTask(combinedEndpointId, innerMessage);
+    try {
+      requestProcessor.process(
+          endpointId,
+          combinedEndpointId,
+          task::getMethod,
+          task,
+          e -> rejectRequest(combinedEndpointId, task, e));
+    } catch (RejectedExecutionException e) {
+      rejectRequest(combinedEndpointId, task, e);
+    }
+  }
+
+  /** Transmits the overload error to the client whose request is rejected by the processor. */
+  private void rejectRequest(
+      String combinedEndpointId, ProcessRequestTask task, RejectedExecutionException e) {
+    JsonRpcRequest request;
+    try {
+      request = task.getRequest();
+    } catch (JsonRpcException x) {
+      errorTransmitter.transmit(combinedEndpointId, x);
+      return;
+    }
+    LOGGER.warn(
+        "Request `{}` from endpoint {} is rejected. Cause: {}",
+        request.getMethod(),
+        combinedEndpointId,
+        e.getMessage());
+    if (request.hasId()) {
+      errorTransmitter.transmit(
+          combinedEndpointId,
+          new JsonRpcException(
+              SERVER_OVERLOADED_ERROR_CODE,
+              "Server is overloaded, try again later",
+              request.getId()));
+    }
+  }
+
   private void processError() {
     String error = "Something wen't wrong during incoming websocket message parsing";
     IllegalStateException exception = new IllegalStateException(error);
@@ -94,21 +136,42 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     responseDispatcher.dispatch(endpointId, response);
   }
 
+  /**
+   * Unmarshals and dispatches a request. The request is unmarshalled on the processing thread, so
+   * the web socket receiving thread only does it for requests which are rejected.
+   */
   private class ProcessRequestTask implements Runnable {
 
     private final String endpointId;
     private final String innerMessage;
+    private JsonRpcRequest request;
 
     public ProcessRequestTask(String endpointId, String innerMessage) {
       this.endpointId = endpointId;
       this.innerMessage = innerMessage;
     }
 
+    synchronized JsonRpcRequest getRequest() {
+      if (request == null) {
+        request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
+      }
+      return request;
+    }
+
+    /** Returns the method of the request or null if the request can not be unmarshalled. */
+    String getMethod() {
+      try {
+        return getRequest().getMethod();
+      } catch (JsonRpcException e) {
+        return null;
+      }
+    }
+
     @Override
     public void run() {
       JsonRpcRequest request = null;
       try {
-        request = jsonRpcUnmarshaller.unmarshalRequest(innerMessage);
+        request = getRequest();
         requestDispatcher.dispatch(endpointId, request);
       } catch (JsonRpcException e) {
         if (request == null || request.getId() == null) {
@@ -11,6 +11,10 @@
  */
 package org.eclipse.che.api.core.jsonrpc.commons;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 /** Platfrom dependent implementation of of request handler processing algorithm. */
 public interface RequestProcessor {
   /**
@@ -20,4 +24,27 @@ public interface RequestProcessor {
    * @param runnable runnable to be called for processing of a request
    */
   void process(String endpointId, Runnable runnable);
+
+  /**
+   * Process a runnable interface on behalf of a particular client of an endpoint. Implementations
+   * may use the client identifier to share processing resources fairly between the clients.
+   *
+   * @param endpointId an endpoint that requested the processing
+   * @param combinedEndpointId an identifier of the endpoint client that sent the request
+   * @param method a supplier of the JSON RPC method of the request, the method is known after the
+   *     request is unmarshalled, so it is supposed to be used once the request is processed
+   * @param runnable runnable to be called for processing of a request
+   * @param rejectionHandler handler of the rejection of a request which was accepted for
+   *     processing, but could not be submitted later, e.g. when it waited in a queue
+   * @throws RejectedExecutionException when the request can not be accepted for processing because
+   *     the processor is overloaded
+   */
+  default void process(
+      String endpointId,
+      String combinedEndpointId,
+      Supplier<String> method,
+      Runnable runnable,
+      Consumer<RejectedExecutionException> rejectionHandler) {
+    process(endpointId, runnable);
+  }
 }
@@ -29,5 +29,22 @@ public interface RequestProcessorConfigurationProvider {
     String getEndpointId();
 
     ExecutorService getExecutorService();
+
+    /**
+     * Returns the maximum number of requests of a single endpoint client that may be processed
+     * concurrently. Requests exceeding the limit wait in the client's queue, so that a chatty
+     * client doesn't occupy all the threads of the executor service.
+     */
+    default int getMaxConcurrentRequestsPerClient() {
+      return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the maximum number of requests of a single endpoint client that may wait for
+     * processing. Requests exceeding the limit are rejected.
+     */
+    default int getMaxQueuedRequestsPerClient() {
+      return Integer.MAX_VALUE;
+    }
   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+/**
+ * Receives notifications about JSON RPC requests processed by {@link ServerSideRequestProcessor}.
+ */
+public interface RequestProcessingListener {
+
+  /**
+   * Invoked when a request is processed.
+   *
+   * @param method JSON RPC method of the request, may be null if not known
+   * @param queueNanos time the request waited for a processing thread, in nanoseconds
+   * @param processingNanos time the request was being processed, in nanoseconds
+   */
+  void requestProcessed(String method, long queueNanos, long processingNanos);
+
+  /**
+   * Invoked when a request is rejected because its client has too many pending requests.
+   *
+   * @param method JSON RPC method of the request, may be null if not known
+   */
+  void requestRejected(String method);
+}
@@ -11,17 +11,49 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessorConfigurationProvider;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessorConfigurationProvider.Configuration;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.slf4j.Logger;
 
+/**
+ * Processes requests using executor services of the endpoints they were sent to.
+ *
+ * <p>Each client of an endpoint may have at most {@link
+ * Configuration#getMaxConcurrentRequestsPerClient()} requests submitted to the executor service at
+ * a time, the rest wait in a per client queue and are submitted one by one when the client's
+ * previous requests are completed. As a continuation is added to the tail of the executor's queue,
+ * requests of different clients are interleaved and a single client can't monopolize the
+ * executor. When a client's queue already holds {@link
+ * Configuration#getMaxQueuedRequestsPerClient()} requests, new ones are rejected with {@link
+ * RejectedExecutionException}. Queued requests rejected by the executor service are passed to
+ * their rejection handlers.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
+
+  private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
+
   private final RequestProcessorConfigurationProvider requestProcessorConfigurator;
+  private final ConcurrentMap<String, ClientQueue> clientQueues = new ConcurrentHashMap<>();
+  private final Set<RequestProcessingListener> listeners = new CopyOnWriteArraySet<>();
+  private final AtomicInteger queuedRequests = new AtomicInteger();
 
   @Inject
   public ServerSideRequestProcessor(
@@ -35,4 +67,177 @@ public class ServerSideRequestProcessor implements RequestProcessor {
     ExecutorService executionService = configuration.getExecutorService();
     executionService.execute(ThreadLocalPropagateContext.wrap(runnable));
   }
+
+  @Override
+  public void process(
+      String endpointId,
+      String combinedEndpointId,
+      Supplier<String> method,
+      Runnable runnable,
+      Consumer<RejectedExecutionException> rejectionHandler) {
+    Configuration configuration = requestProcessorConfigurator.get(endpointId);
+    int maxConcurrent = configuration.getMaxConcurrentRequestsPerClient();
+    int maxQueued = configuration.getMaxQueuedRequestsPerClient();
+    Task task =
+        new Task(
+            method,
+            ThreadLocalPropagateContext.wrap(runnable),
+            rejectionHandler,
+            configuration.getExecutorService(),
+            System.nanoTime());
+
+    boolean[] runNow = new boolean[1];
+    boolean[] rejected = new boolean[1];
+    clientQueues.compute(
+        combinedEndpointId,
+        (k, queue) -> {
+          if (queue == null) {
+            queue = new ClientQueue();
+          }
+          if (queue.running < maxConcurrent) {
+            queue.running++;
+            runNow[0] = true;
+          } else if (queue.pending.size() < maxQueued) {
+            queue.pending.add(task);
+            queuedRequests.incrementAndGet();
+          } else {
+            rejected[0] = true;
+          }
+          return queue;
+        });
+
+    if (rejected[0]) {
+      listeners.forEach(l -> l.requestRejected(method.get()));
+      throw new RejectedExecutionException(
+          "Too many pending requests of endpoint '" + combinedEndpointId + "'");
+    }
+    if (runNow[0]) {
+      try {
+        submit(combinedEndpointId, task);
+      } catch (RejectedExecutionException e) {
+        release(combinedEndpointId);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Subscribes a listener which is notified about processed and rejected requests.
+   *
+   * @param listener listener instance
+   */
+  public void addListener(RequestProcessingListener listener) {
+    listeners.add(listener);
+  }
+
+  /** Returns the number of requests waiting in the per client queues. */
+  public int getQueuedRequests() {
+    return queuedRequests.get();
+  }
+
+  private void submit(String combinedEndpointId, Task task) {
+    task.executor.execute(
+        () -> {
+          long started = System.nanoTime();
+          try {
+            task.runnable.run();
+          } finally {
+            long finished = System.nanoTime();
+            for (RequestProcessingListener listener : listeners) {
+              try {
+                listener.requestProcessed(
+                    task.method.get(), started - task.enqueuedAt, finished - started);
+              } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+              }
+            }
+            submitNext(combinedEndpointId);
+          }
+        });
+  }
+
+  /** Submits the next pending request of the client in place of the completed one. */
+  private void submitNext(String combinedEndpointId) {
+    Task next;
+    while ((next = poll(combinedEndpointId)) != null) {
+      try {
+        submit(combinedEndpointId, next);
+        return;
+      } catch (RejectedExecutionException e) {
+        reject(next, e);
+      }
+    }
+  }
+
+  /** Notifies listeners and the rejection handler about the rejected queued request. */
+  private void reject(Task task, RejectedExecutionException e) {
+    String method = task.method.get();
+    for (RequestProcessingListener listener : listeners) {
+      try {
+        listener.requestRejected(method);
+      } catch (RuntimeException x) {
+        LOG.error(x.getMessage(), x);
+      }
+    }
+    try {
+      task.rejectionHandler.accept(e);
+    } catch (RuntimeException x) {
+      LOG.error(x.getMessage(), x);
+    }
+  }
+
+  /**
+   * Polls the next pending request of the client. When there is nothing to process the completed
+   * request's slot is released.
+   */
+  private Task poll(String combinedEndpointId) {
+    Task[] next = new Task[1];
+    clientQueues.computeIfPresent(
+        combinedEndpointId,
+        (k, queue) -> {
+          next[0] = queue.pending.poll();
+          if (next[0] != null) {
+            queuedRequests.decrementAndGet();
+            return queue;
+          }
+          queue.running--;
+          return queue.running == 0 ? null : queue;
+        });
+    return next[0];
+  }
+
+  private void release(String combinedEndpointId) {
+    clientQueues.computeIfPresent(
+        combinedEndpointId,
+        (k, queue) -> {
+          queue.running--;
+          return queue.running == 0 && queue.pending.isEmpty() ? null : queue;
+        });
+  }
+
+  private static class ClientQueue {
+    final Queue<Task> pending = new ArrayDeque<>();
+    int running;
+  }
+
+  private static class Task {
+    final Supplier<String> method;
+    final Runnable runnable;
+    final Consumer<RejectedExecutionException> rejectionHandler;
+    final ExecutorService executor;
+    final long enqueuedAt;
+
+    Task(
+        Supplier<String> method,
+        Runnable runnable,
+        Consumer<RejectedExecutionException> rejectionHandler,
+        ExecutorService executor,
+        long enqueuedAt) {
+      this.method = method;
+      this.runnable = runnable;
+      this.rejectionHandler = rejectionHandler;
+      this.executor = executor;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
 }
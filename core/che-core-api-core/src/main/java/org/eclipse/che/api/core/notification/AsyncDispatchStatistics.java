@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated statistics of the asynchronous event delivery performed by {@link EventService} for
+ * the subscribers registered with {@link EventService#subscribeAsync}.
+ */
+public class AsyncDispatchStatistics {
+
+  private final LongAdder queueSize = new LongAdder();
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder dispatchTimeNanos = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  /** Returns the number of events which are waiting for delivery or are being delivered. */
+  public long getQueueSize() {
+    return queueSize.sum();
+  }
+
+  /** Returns the number of events delivered to asynchronous subscribers. */
+  public long getDispatchedCount() {
+    return dispatched.sum();
+  }
+
+  /**
+   * Returns the total time between publishing of the delivered events and the end of their
+   * processing by the subscribers.
+   */
+  public double getDispatchTotalTime(TimeUnit unit) {
+    return (double) dispatchTimeNanos.sum() / unit.toNanos(1);
+  }
+
+  /** Returns the number of events which were not delivered because of queue overflow. */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  void enqueued() {
+    queueSize.increment();
+  }
+
+  void dispatched(long latencyNanos) {
+    queueSize.decrement();
+    dispatched.increment();
+    dispatchTimeNanos.add(latencyNanos);
+  }
+
+  void discarded() {
+    queueSize.decrement();
+    dropped.increment();
+  }
+
+  void dropped() {
+    dropped.increment();
+  }
+}
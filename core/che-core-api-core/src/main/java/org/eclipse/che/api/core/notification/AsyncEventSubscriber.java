@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import org.eclipse.che.api.core.notification.EventService.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps {@link EventSubscriber} and delivers events to it using the given {@link Executor} instead
+ * of the publisher's thread.
+ *
+ * <p>Events which share the same ordering key are delivered one by one in the order they were
+ * published, events with different keys may be delivered concurrently. The number of events which
+ * are waiting for delivery is bounded, when the bound is reached the configured {@link
+ * OverflowPolicy} is applied.
+ */
+class AsyncEventSubscriber<T> implements EventSubscriber<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+  private final EventSubscriber<T> delegate;
+  private final Executor executor;
+  private final Function<? super T, ?> orderingKey;
+  private final OverflowPolicy overflowPolicy;
+  private final Semaphore permits;
+  private final AsyncDispatchStatistics statistics;
+  private final ConcurrentMap<Object, KeyQueue> queues;
+
+  AsyncEventSubscriber(
+      EventSubscriber<T> delegate,
+      Executor executor,
+      Function<? super T, ?> orderingKey,
+      int queueCapacity,
+      OverflowPolicy overflowPolicy,
+      AsyncDispatchStatistics statistics) {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("Queue capacity must be greater than 0");
+    }
+    this.delegate = delegate;
+    this.executor = executor;
+    this.orderingKey = orderingKey;
+    this.overflowPolicy = overflowPolicy;
+    this.permits = new Semaphore(queueCapacity);
+    this.statistics = statistics;
+    this.queues = new ConcurrentHashMap<>();
+  }
+
+  /** Returns the subscriber events are delivered to. */
+  EventSubscriber<T> getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public void onEvent(T event) {
+    if (!acquirePermit(event)) {
+      return;
+    }
+    statistics.enqueued();
+    final Object key = orderingKey.apply(event);
+    final Pending<T> pending = new Pending<>(event, System.nanoTime());
+    final boolean[] scheduleDrain = new boolean[1];
+    final KeyQueue queue =
+        queues.compute(
+            key == null ? NullKey.INSTANCE : key,
+            (k, q) -> {
+              if (q == null) {
+                q = new KeyQueue(k);
+              }
+              q.events.add(pending);
+              if (!q.draining) {
+                q.draining = true;
+                scheduleDrain[0] = true;
+              }
+              return q;
+            });
+    if (scheduleDrain[0]) {
+      try {
+        executor.execute(queue::drain);
+      } catch (RejectedExecutionException x) {
+        LOG.error("Executor rejected delivery of events to subscriber {}", delegate, x);
+        queue.discard();
+      }
+    }
+  }
+
+  private boolean acquirePermit(T event) {
+    switch (overflowPolicy) {
+      case BLOCK:
+        try {
+          permits.acquire();
+          return true;
+        } catch (InterruptedException x) {
+          Thread.currentThread().interrupt();
+          statistics.dropped();
+          LOG.warn("Interrupted while waiting to publish event {} to {}", event, delegate);
+          return false;
+        }
+      case DROP:
+      default:
+        if (permits.tryAcquire()) {
+          return true;
+        }
+        statistics.dropped();
+        LOG.warn("Queue of subscriber {} is full, event {} is dropped", delegate, event);
+        return false;
+    }
+  }
+
+  private void release(Pending<T> pending) {
+    permits.release();
+    statistics.dispatched(System.nanoTime() - pending.enqueuedAt);
+  }
+
+  /** Events with the same ordering key, delivered by at most one thread at a time. */
+  private class KeyQueue {
+    final Object key;
+    final Queue<Pending<T>> events = new ArrayDeque<>();
+    boolean draining;
+
+    KeyQueue(Object key) {
+      this.key = key;
+    }
+
+    void drain() {
+      Pending<T> pending;
+      while ((pending = poll()) != null) {
+        try {
+          delegate.onEvent(pending.event);
+        } catch (RuntimeException x) {
+          LOG.error(x.getMessage(), x);
+        } finally {
+          release(pending);
+        }
+      }
+    }
+
+    /** Discards all the events of this queue, used when the executor can't deliver them. */
+    void discard() {
+      Pending<T> pending;
+      while ((pending = poll()) != null) {
+        permits.release();
+        statistics.discarded();
+      }
+    }
+
+    /**
+     * Polls the next event or removes this queue from the registry when there is nothing to
+     * deliver. Guarded by the map's per-key atomicity so that concurrent {@link #onEvent} calls
+     * either see this queue draining or create a new one.
+     */
+    private Pending<T> poll() {
+      @SuppressWarnings("unchecked")
+      final Pending<T>[] next = new Pending[1];
+      queues.compute(
+          key,
+          (k, q) -> {
+            next[0] = events.poll();
+            if (next[0] == null) {
+              draining = false;
+              return null;
+            }
+            return q;
+          });
+      return next[0];
+    }
+  }
+
+  private static class Pending<E> {
+    final E event;
+    final long enqueuedAt;
+
+    Pending(E event, long enqueuedAt) {
+      this.event = event;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+
+  /** Ordering key used for events the key function returned {@code null} for. */
+  private enum NullKey {
+    INSTANCE
+  }
+}
@@ -23,6 +23,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,12 +53,25 @@ public class EventService {
   private static final int CACHE_MASK = CACHE_NUM - 1;
   private static final int SEG_SIZE = 32;
 
+  /** Default number of events which may wait for delivery to a single asynchronous subscriber. */
+  public static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 10_000;
+
+  /** Defines what happens when the queue of an asynchronous subscriber is full. */
+  public enum OverflowPolicy {
+    /** The published event is not delivered to the subscriber. */
+    DROP,
+    /** The publisher is blocked until the subscriber's queue has free space. */
+    BLOCK
+  }
+
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final AsyncDispatchStatistics asyncStatistics;
 
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
+    asyncStatistics = new AsyncDispatchStatistics();
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -137,6 +152,66 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
+  /**
+   * Subscribe to an event the same way as {@link #subscribe(EventSubscriber, Class)} does, but
+   * deliver events to the subscriber using the given executor instead of the publisher's thread.
+   * Events are delivered to the subscriber one by one in the order they were published.
+   *
+   * <p>All the events share a single ordering key, so they are never delivered concurrently, and
+   * the {@link OverflowPolicy#BLOCK} policy is applied, so the publisher is blocked while {@link
+   * #DEFAULT_ASYNC_QUEUE_CAPACITY} events are waiting for delivery. Use {@link
+   * #subscribeAsync(EventSubscriber, Class, Executor, Function, int, OverflowPolicy)} to deliver
+   * events concurrently or to drop them instead of blocking the publisher.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param executor The executor used for delivering events to the subscriber.
+   */
+  public <T> void subscribeAsync(
+      EventSubscriber<T> subscriber, Class<T> eventType, Executor executor) {
+    subscribeAsync(
+        subscriber,
+        eventType,
+        executor,
+        event -> subscriber,
+        DEFAULT_ASYNC_QUEUE_CAPACITY,
+        OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Subscribe to an event and deliver events to the subscriber using the given executor instead of
+   * the publisher's thread.
+   *
+   * <p>Events with equal ordering keys (e.g. events of the same workspace) are delivered in the
+   * order they were published, while events with different keys may be delivered concurrently.
+   * When more than {@code queueCapacity} events are waiting for delivery, the {@code
+   * overflowPolicy} is applied to the newly published events.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param executor The executor used for delivering events to the subscriber.
+   * @param orderingKey The function which provides the ordering key of an event.
+   * @param queueCapacity The maximum number of events which may wait for delivery.
+   * @param overflowPolicy The policy to apply when the queue is full.
+   */
+  public <T> void subscribeAsync(
+      EventSubscriber<T> subscriber,
+      Class<T> eventType,
+      Executor executor,
+      Function<? super T, ?> orderingKey,
+      int queueCapacity,
+      OverflowPolicy overflowPolicy) {
+    doSubscribe(
+        new AsyncEventSubscriber<>(
+            subscriber, executor, orderingKey, queueCapacity, overflowPolicy, asyncStatistics),
+        eventType);
+  }
+
+  /** Returns statistics of the events delivery to the subscribers registered asynchronously. */
+  public AsyncDispatchStatistics getAsyncStatistics() {
+    return asyncStatistics;
+  }
+
   private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
@@ -166,7 +241,12 @@ public class EventService {
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
-      boolean changed = entries.remove(subscriber);
+      boolean changed =
+          entries.removeIf(
+              entry ->
+                  entry.equals(subscriber)
+                      || (entry instanceof AsyncEventSubscriber
+                          && ((AsyncEventSubscriber) entry).getDelegate().equals(subscriber)));
       if (changed) {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
@@ -11,8 +11,12 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Describes single event subscription with limiting scope.
@@ -21,10 +25,13 @@ import java.util.Map;
  */
 public class RemoteSubscriptionContext implements Serializable {
 
+  private static final Splitter VALUES_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
   private final String endpointId;
   private final Map<String, String> scope;
+  private transient volatile Map<String, Set<String>> scopeValues;
 
-  RemoteSubscriptionContext(String endpointId, Map<String, String> scope) {
+  public RemoteSubscriptionContext(String endpointId, Map<String, String> scope) {
     this.endpointId = endpointId;
     this.scope = scope;
   }
@@ -36,4 +43,22 @@ public class RemoteSubscriptionContext implements Serializable {
   public Map<String, String> getScope() {
     return scope;
   }
+
+  /**
+   * Returns comma-separated values of the scope entry with the given key, or an empty set if there
+   * is no such entry. The values are parsed once per subscription, not for every checked event.
+   */
+  public Set<String> getScopeValues(String key) {
+    Map<String, Set<String>> values = scopeValues;
+    if (values == null) {
+      values = new ConcurrentHashMap<>();
+      scopeValues = values;
+    }
+    return values.computeIfAbsent(key, this::parseScopeValues);
+  }
+
+  private Set<String> parseScopeValues(String key) {
+    String value = scope == null ? null : scope.get(key);
+    return value == null ? ImmutableSet.of() : ImmutableSet.copyOf(VALUES_SPLITTER.split(value));
+  }
 }
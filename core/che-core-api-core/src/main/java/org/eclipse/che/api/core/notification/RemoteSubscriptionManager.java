@@ -58,12 +58,23 @@ public class RemoteSubscriptionManager {
 
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
+    registerWithContext(
+        method, eventType, (event, context) -> biPredicate.test(event, context.getScope()));
+  }
+
+  /**
+   * Registers the method like {@link #register(String, Class, BiPredicate)} does, but tests events
+   * against whole subscription contexts, e.g. to use {@link
+   * RemoteSubscriptionContext#getScopeValues(String) scope values} parsed once per subscription.
+   */
+  public <T> void registerWithContext(
+      String method, Class<T> eventType, BiPredicate<T, RemoteSubscriptionContext> biPredicate) {
     eventService.subscribe(
         event ->
             remoteSubscriptionStorage
                 .getByMethod(method)
                 .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
+                .filter(context -> biPredicate.test(event, context))
                 .forEach(context -> transmit(context.getEndpointId(), method, event)),
         eventType);
   }
@@ -47,6 +47,9 @@ public final class PagingUtil {
    * Generates link header value from the page object and base uri. <a
    * href="https://tools.ietf.org/html/rfc5988">The Link header spec</a>
    *
+   * <p>Only the link to the first page is generated for {@link Page#isKeysetPage() keyset pages},
+   * as they can't be referenced by the count of skipped items.
+   *
    * @param page the page used to generate link
    * @param uri the uri which is used for adding {@code skipCount} & {@code maxItems} query
    *     parameters
@@ -58,12 +61,14 @@ public final class PagingUtil {
     requireNonNull(uri, "Required non-null uri");
     final ArrayList<Pair<String, Page.PageRef>> pageRefs = new ArrayList<>(4);
     pageRefs.add(Pair.of("first", page.getFirstPageRef()));
-    pageRefs.add(Pair.of("last", page.getLastPageRef()));
-    if (page.hasPreviousPage()) {
-      pageRefs.add(Pair.of("prev", page.getPreviousPageRef()));
-    }
-    if (page.hasNextPage()) {
-      pageRefs.add(Pair.of("next", page.getNextPageRef()));
+    if (!page.isKeysetPage()) {
+      pageRefs.add(Pair.of("last", page.getLastPageRef()));
+      if (page.hasPreviousPage()) {
+        pageRefs.add(Pair.of("prev", page.getPreviousPageRef()));
+      }
+      if (page.hasNextPage()) {
+        pageRefs.add(Pair.of("next", page.getNextPageRef()));
+      }
     }
     final UriBuilder ub = UriBuilder.fromUri(uri);
     return pageRefs
@@ -44,6 +44,22 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   @Override
   public synchronized void transmit(String endpointId, String message) {
+    if (!transmitLocally(endpointId, message)) {
+      LOG.trace("Session is not registered or closed, adding message to pending");
+
+      reSender.add(endpointId, message);
+    }
+  }
+
+  /**
+   * Sends a message to the endpoint if its session is registered in the local {@link
+   * WebSocketSessionRegistry} and is open.
+   *
+   * @param endpointId identifier of the endpoint to send a message to
+   * @param message message to send
+   * @return {@code false} if there is no open session for the endpoint, {@code true} otherwise
+   */
+  public synchronized boolean transmitLocally(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
@@ -51,17 +67,16 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     }
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
-      LOG.trace("Session is not registered or closed, adding message to pending");
+      return false;
+    }
 
-      reSender.add(endpointId, message);
-    } else {
-      LOG.trace("Session registered and open, sending message");
+    LOG.trace("Session registered and open, sending message");
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+    try {
+      sessionOptional.get().getBasicRemote().sendText(message);
+    } catch (IOException e) {
+      LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
     }
+    return true;
   }
 }
@@ -12,6 +12,7 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.OptionalBinder;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
@@ -22,6 +23,9 @@ public class WebSocketModule extends AbstractModule {
     requestStaticInjection(GuiceInjectorEndpointConfigurator.class);
 
     bind(WebSocketMessageReceiver.class).to(JsonRpcMessageReceiver.class);
-    bind(WebSocketMessageTransmitter.class).to(BasicWebSocketMessageTransmitter.class);
+    // may be overridden, e.g. by a transmitter which is able to reach sessions of other replicas
+    OptionalBinder.newOptionalBinder(binder(), WebSocketMessageTransmitter.class)
+        .setDefault()
+        .to(BasicWebSocketMessageTransmitter.class);
   }
 }
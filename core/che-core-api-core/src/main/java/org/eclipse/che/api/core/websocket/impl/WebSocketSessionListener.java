@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Listener interface for being notified about WEB SOCKET sessions registered in or removed from
+ * {@link WebSocketSessionRegistry}.
+ */
+public interface WebSocketSessionListener {
+
+  /** Called when a session is registered for the given endpoint. */
+  void sessionAdded(String endpointId);
+
+  /** Called when a session registered for the given endpoint is removed. */
+  void sessionRemoved(String endpointId);
+}
@@ -11,21 +11,30 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import static java.util.stream.Collectors.toSet;
+import static java.util.Collections.emptySet;
+import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.SEPARATOR;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import javax.inject.Singleton;
+import javax.websocket.CloseReason;
 import javax.websocket.Session;
 import org.slf4j.Logger;
 
 /**
  * Binds WEB SOCKET session to a specific endpoint form which it was opened.
  *
+ * <p>Sessions are indexed by endpoint identifier, by session itself and by both parts of the
+ * combined endpoint identifier (see {@link WebsocketIdService}), so all the lookups don't depend on
+ * the number of registered sessions.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,46 +42,162 @@ public class WebSocketSessionRegistry {
   private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+  private final Map<Session, String> endpointIdsMap = new ConcurrentHashMap<>();
+  /** Combined endpoint identifiers indexed by their client id (prefix) and endpoint id (suffix). */
+  private final Map<String, Set<String>> partialIdsIndex = new ConcurrentHashMap<>();
+
+  private final Set<WebSocketSessionListener> listeners = new CopyOnWriteArraySet<>();
 
   public void add(String endpointId, Session session) {
-    LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
+    LOG.debug("Registering session {} with endpoint {}", session.getId(), endpointId);
 
-    sessionsMap.put(endpointId, session);
+    String replacedEndpointId = null;
+    synchronized (this) {
+      Session previousSession = sessionsMap.put(endpointId, session);
+      if (previousSession != null && !previousSession.equals(session)) {
+        endpointIdsMap.remove(previousSession, endpointId);
+      }
+      String previousEndpointId = endpointIdsMap.put(session, endpointId);
+      if (previousEndpointId != null
+          && !previousEndpointId.equals(endpointId)
+          && sessionsMap.remove(previousEndpointId, session)) {
+        unindex(previousEndpointId);
+        replacedEndpointId = previousEndpointId;
+      }
+      index(endpointId);
+    }
+    if (replacedEndpointId != null) {
+      String removedEndpointId = replacedEndpointId;
+      listeners.forEach(listener -> listener.sessionRemoved(removedEndpointId));
+    }
+    listeners.forEach(listener -> listener.sessionAdded(endpointId));
   }
 
   public Optional<Session> remove(String endpointId) {
     LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-    return Optional.ofNullable(sessionsMap.remove(endpointId));
+    Session removed;
+    synchronized (this) {
+      removed = sessionsMap.remove(endpointId);
+      if (removed != null) {
+        endpointIdsMap.remove(removed, endpointId);
+        unindex(endpointId);
+      }
+    }
+    if (removed != null) {
+      listeners.forEach(listener -> listener.sessionRemoved(endpointId));
+    }
+    return Optional.ofNullable(removed);
   }
 
   public Optional<Session> remove(Session session) {
-    return get(session).flatMap(id -> Optional.ofNullable(sessionsMap.remove(id)));
+    return get(session).flatMap(this::remove);
+  }
+
+  /**
+   * Removes sessions of all the given endpoints.
+   *
+   * @param endpointIds identifiers of endpoints to remove sessions of
+   * @return removed sessions
+   */
+  public Set<Session> removeAll(Collection<String> endpointIds) {
+    Set<Session> removed = new HashSet<>();
+    for (String endpointId : endpointIds) {
+      remove(endpointId).ifPresent(removed::add);
+    }
+    return removed;
+  }
+
+  /**
+   * Removes sessions of all the given endpoints and closes them with the given reason.
+   *
+   * @param endpointIds identifiers of endpoints to close sessions of
+   * @param closeReason reason to close sessions with
+   */
+  public void closeAll(Collection<String> endpointIds, CloseReason closeReason) {
+    for (Session session : removeAll(endpointIds)) {
+      try {
+        if (session.isOpen()) {
+          session.close(closeReason);
+        }
+      } catch (IOException e) {
+        LOG.warn(
+            "Failed to close web socket session {}. Cause: {}", session.getId(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Subscribes a listener which is notified about sessions registration and removal.
+   *
+   * @param listener listener instance
+   */
+  public void addListener(WebSocketSessionListener listener) {
+    listeners.add(listener);
   }
 
   public Optional<Session> get(String endpointId) {
     return Optional.ofNullable(sessionsMap.get(endpointId));
   }
 
+  /**
+   * Returns sessions whose combined endpoint identifier is equal to the given one or has the given
+   * client id or endpoint id part.
+   */
   public Set<Session> getByPartialMatch(String partialEndpointId) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(it -> it.getKey().contains(partialEndpointId))
-        .map(Map.Entry::getValue)
-        .collect(toSet());
+    Session session = sessionsMap.get(partialEndpointId);
+    if (session != null) {
+      return Set.of(session);
+    }
+    Set<String> endpointIds = partialIdsIndex.getOrDefault(partialEndpointId, emptySet());
+    Set<Session> sessions = new HashSet<>();
+    for (String endpointId : endpointIds) {
+      Session matched = sessionsMap.get(endpointId);
+      if (matched != null) {
+        sessions.add(matched);
+      }
+    }
+    return sessions;
   }
 
   public Optional<String> get(Session session) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(entry -> entry.getValue().equals(session))
-        .map(Map.Entry::getKey)
-        .findAny();
+    return Optional.ofNullable(endpointIdsMap.get(session));
   }
 
   public Set<Session> getSessions() {
     return new HashSet<>(sessionsMap.values());
   }
+
+  private void index(String endpointId) {
+    int separatorIdx = endpointId.indexOf(SEPARATOR);
+    if (separatorIdx < 0) {
+      return;
+    }
+    partialIdsIndex
+        .computeIfAbsent(endpointId.substring(0, separatorIdx), k -> ConcurrentHashMap.newKeySet())
+        .add(endpointId);
+    partialIdsIndex
+        .computeIfAbsent(
+            endpointId.substring(separatorIdx + SEPARATOR.length()),
+            k -> ConcurrentHashMap.newKeySet())
+        .add(endpointId);
+  }
+
+  private void unindex(String endpointId) {
+    int separatorIdx = endpointId.indexOf(SEPARATOR);
+    if (separatorIdx < 0) {
+      return;
+    }
+    removeFromIndex(endpointId.substring(0, separatorIdx), endpointId);
+    removeFromIndex(endpointId.substring(separatorIdx + SEPARATOR.length()), endpointId);
+  }
+
+  private void removeFromIndex(String partialId, String endpointId) {
+    partialIdsIndex.computeIfPresent(
+        partialId,
+        (k, endpointIds) -> {
+          endpointIds.remove(endpointId);
+          return endpointIds.isEmpty() ? null : endpointIds;
+        });
+  }
 }
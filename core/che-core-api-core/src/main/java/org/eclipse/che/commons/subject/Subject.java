@@ -11,6 +11,10 @@
  */
 package org.eclipse.che.commons.subject;
 
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Collection;
+import java.util.Set;
 import org.eclipse.che.api.core.ForbiddenException;
 
 /**
@@ -87,6 +91,22 @@ public interface Subject {
    */
   boolean hasPermission(String domain, String instance, String action);
 
+  /**
+   * Checks does subject have specified permission to several instances of domain.
+   *
+   * <p>The default implementation checks each instance separately, implementations backed by a
+   * permissions storage should check all the instances at once.
+   *
+   * @return identifiers of those of the given instances the subject has permission to perform
+   *     given action with
+   */
+  default Set<String> hasPermissions(String domain, Collection<String> instances, String action) {
+    return instances
+        .stream()
+        .filter(instance -> hasPermission(domain, instance, action))
+        .collect(toSet());
+  }
+
   /**
    * Ensures this Subject has specified permission.
    *
@@ -17,6 +17,7 @@ import static java.util.Collections.reverseOrder;
 import static java.util.Collections.singleton;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -245,4 +246,50 @@ public class PageTest {
 
     assertEquals(page.getItems(), singleton("item1"));
   }
+
+  @Test
+  public void testKeysetPage() throws Exception {
+    final Page<String> page =
+        new Page<>(asList("item1", "item2"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, "item2");
+
+    assertEquals(page.getItemsCount(), 2, "items count");
+    assertEquals(page.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT, "total items");
+    assertEquals(page.getContinuationToken(), "item2", "continuation token");
+    assertTrue(page.hasNextPage(), "has next page");
+  }
+
+  @Test
+  public void testLastKeysetPage() throws Exception {
+    final Page<String> page =
+        new Page<>(singleton("item1"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, null);
+
+    assertNull(page.getContinuationToken(), "continuation token");
+    assertFalse(page.hasNextPage(), "has next page");
+  }
+
+  @Test
+  public void testKeysetPageHasNoOffsetReferences() throws Exception {
+    final Page<String> page =
+        new Page<>(asList("item1", "item2"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, "item2");
+
+    assertTrue(page.isKeysetPage(), "keyset page");
+    assertFalse(page.hasPreviousPage(), "has previous page");
+    assertEquals(page.getNumber(), -1, "page number");
+    assertEquals(page.getFirstPageRef().getItemsBefore(), 0, "first page items before");
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testKeysetPageHasNoNextPageRef() throws Exception {
+    new Page<>(asList("item1", "item2"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, "item2").getNextPageRef();
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testKeysetPageHasNoLastPageRef() throws Exception {
+    new Page<>(singleton("item1"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, null).getLastPageRef();
+  }
+
+  @Test
+  public void testOffsetPageIsNotKeysetPage() throws Exception {
+    assertFalse(new Page<>(singleton("item1"), 0, 2, 1).isKeysetPage(), "keyset page");
+  }
 }
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.api.core;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.spy;
@@ -18,11 +19,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -129,6 +132,61 @@ public class PagesTest {
     assertFalse(it.hasNext());
   }
 
+  @Test
+  public void iteratesAllElementsByKeyset() {
+    ArrayList<String> result =
+        Lists.newArrayList(Pages.iterateByKeyset(testSource::getStringsAfter, 3));
+
+    assertEquals(result, testSource.strings);
+  }
+
+  @Test
+  public void createsKeysetPageFollowedByKeyOfLastItemWhenPageIsFull() {
+    Page<String> page = Pages.keysetPage(Arrays.asList("a1", "b2"), 2, s -> s.substring(1));
+
+    assertEquals(page.getItems(), Arrays.asList("a1", "b2"));
+    assertEquals(page.getContinuationToken(), "2");
+    assertEquals(page.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT);
+  }
+
+  @Test
+  public void createsLastKeysetPageWhenPageIsNotFull() {
+    Page<String> page = Pages.keysetPage(Arrays.asList("a1", "b2"), 3, s -> s.substring(1));
+
+    assertEquals(page.getItems(), Arrays.asList("a1", "b2"));
+    assertNull(page.getContinuationToken());
+    assertFalse(page.hasNextPage());
+  }
+
+  @Test
+  public void createsLastKeysetPageWhenThereAreNoItems() {
+    Page<String> page = Pages.keysetPage(Collections.emptyList(), 2, s -> s);
+
+    assertTrue(page.isEmpty());
+    assertNull(page.getContinuationToken());
+  }
+
+  @Test
+  public void keysetIteratingDoesNotPollNextPageUntilNeeded() {
+    TestPagesSupplier src = spy(new TestPagesSupplier("string1", "string2", "string3"));
+
+    Iterator<String> it = Pages.iterateByKeyset(src::getStringsAfter, 1).iterator();
+    it.next();
+    it.next();
+
+    verify(src, times(2)).getStringsAfter(anyInt(), any());
+    verify(src).getStringsAfter(1, null);
+    verify(src).getStringsAfter(1, "string1");
+  }
+
+  @Test
+  public void returnsIterableWithNoElementsWhileFetchingByKeyset() {
+    Iterator<String> it =
+        Pages.iterateByKeyset(new TestPagesSupplier()::getStringsAfter).iterator();
+
+    assertFalse(it.hasNext());
+  }
+
   private static class TestPagesSupplier {
 
     private final List<String> strings;
@@ -141,5 +199,12 @@ public class PagesTest {
       List<String> items = strings.stream().skip(skip).limit(max).collect(Collectors.toList());
       return new Page<>(items, skip, max, strings.size());
     }
+
+    public Page<String> getStringsAfter(int max, String token) {
+      int skip = token == null ? 0 : strings.indexOf(token) + 1;
+      List<String> items = strings.stream().skip(skip).limit(max).collect(Collectors.toList());
+      String next = items.size() == max ? items.get(items.size() - 1) : null;
+      return new Page<>(items, 0, max, Page.UNKNOWN_TOTAL_COUNT, next);
+    }
   }
 }
@@ -14,11 +14,17 @@ package org.eclipse.che.api.core.jsonrpc.commons;
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.eclipse.che.api.core.websocket.impl.WebsocketIdService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -90,9 +96,61 @@ public class JsonRpcMessageReceiverTest {
   public void shouldDispatchRequestIfRequestReceived() throws Exception {
     when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
     when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE))
+        .thenReturn(new JsonRpcRequest("id", "method", null));
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(requestProcessor).process(any(), any());
+    ArgumentCaptor<Supplier<String>> methodCaptor = ArgumentCaptor.forClass(Supplier.class);
+    ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(requestProcessor)
+        .process(
+            eq("endpoint-id"),
+            eq(ENDPOINT_ID),
+            methodCaptor.capture(),
+            taskCaptor.capture(),
+            any());
+    // the request is unmarshalled by the processing thread
+    verify(jsonRpcUnmarshaller, never()).unmarshalRequest(MESSAGE);
+    taskCaptor.getValue().run();
+    verify(requestDispatcher).dispatch(eq(ENDPOINT_ID), any(JsonRpcRequest.class));
+    assertEquals(methodCaptor.getValue().get(), "method");
+  }
+
+  @Test
+  public void shouldTransmitOverloadErrorIfRequestRejected() throws Exception {
+    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
+    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE))
+        .thenReturn(new JsonRpcRequest("id", "method", null));
+    doThrow(new RejectedExecutionException("overloaded"))
+        .when(requestProcessor)
+        .process(any(), any(), any(), any(), any());
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    ArgumentCaptor<JsonRpcException> captor = ArgumentCaptor.forClass(JsonRpcException.class);
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+    assertEquals(captor.getValue().getCode(), JsonRpcMessageReceiver.SERVER_OVERLOADED_ERROR_CODE);
+    assertEquals(captor.getValue().getId(), "id");
+  }
+
+  @Test
+  public void shouldTransmitOverloadErrorIfQueuedRequestRejected() throws Exception {
+    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
+    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE))
+        .thenReturn(new JsonRpcRequest("id", "method", null));
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    ArgumentCaptor<Consumer<RejectedExecutionException>> rejectionCaptor =
+        ArgumentCaptor.forClass(Consumer.class);
+    verify(requestProcessor).process(any(), any(), any(), any(), rejectionCaptor.capture());
+    rejectionCaptor.getValue().accept(new RejectedExecutionException("overloaded"));
+    ArgumentCaptor<JsonRpcException> captor = ArgumentCaptor.forClass(JsonRpcException.class);
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+    assertEquals(captor.getValue().getCode(), JsonRpcMessageReceiver.SERVER_OVERLOADED_ERROR_CODE);
+    assertEquals(captor.getValue().getId(), "id");
   }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessorConfigurationProvider.Configuration;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ServerSideRequestProcessor} */
+public class ServerSideRequestProcessorTest {
+
+  private static final String ENDPOINT_ID = "endpoint";
+
+  private ManualExecutor executor;
+  private List<String> processed;
+  private List<String> rejected;
+  private ServerSideRequestProcessor processor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = new ManualExecutor();
+    processed = new ArrayList<>();
+    rejected = new ArrayList<>();
+    processor = new ServerSideRequestProcessor(endpointId -> new TestConfiguration(executor));
+  }
+
+  @Test
+  public void shouldLimitConcurrentRequestsOfClient() {
+    process("client-a", "a1");
+    process("client-a", "a2");
+    process("client-a", "a3");
+
+    assertEquals(executor.tasks.size(), 2);
+    assertEquals(processor.getQueuedRequests(), 1);
+
+    executor.runNext();
+
+    assertEquals(executor.tasks.size(), 2);
+    assertEquals(processor.getQueuedRequests(), 0);
+  }
+
+  @Test
+  public void shouldInterleaveRequestsOfDifferentClients() {
+    process("client-a", "a1");
+    process("client-a", "a2");
+    process("client-a", "a3");
+    process("client-a", "a4");
+    process("client-b", "b1");
+    process("client-b", "b2");
+
+    executor.runAll();
+
+    assertEquals(processed, asList("a1", "a2", "b1", "b2", "a3", "a4"));
+  }
+
+  @Test
+  public void shouldRejectRequestWhenClientQueueIsFull() {
+    process("client-a", "a1");
+    process("client-a", "a2");
+    process("client-a", "a3");
+    process("client-a", "a4");
+    process("client-a", "a5");
+
+    try {
+      process("client-a", "a6");
+    } catch (RejectedExecutionException expected) {
+      // another client is still accepted
+      process("client-b", "b1");
+      assertEquals(executor.tasks.size(), 3);
+      return;
+    }
+    throw new AssertionError("Request must be rejected");
+  }
+
+  @Test
+  public void shouldNotifyListenersAboutProcessedAndRejectedRequests() {
+    List<String> events = new ArrayList<>();
+    processor.addListener(
+        new RequestProcessingListener() {
+          @Override
+          public void requestProcessed(String method, long queueNanos, long processingNanos) {
+            assertTrue(queueNanos >= 0);
+            assertTrue(processingNanos >= 0);
+            events.add("processed:" + method);
+          }
+
+          @Override
+          public void requestRejected(String method) {
+            events.add("rejected:" + method);
+          }
+        });
+    for (int i = 0; i < 5; i++) {
+      process("client-a", "a" + i);
+    }
+    try {
+      process("client-a", "a5");
+    } catch (RejectedExecutionException ignored) {
+    }
+
+    executor.runNext();
+
+    assertEquals(events, asList("rejected:a5", "processed:a0"));
+  }
+
+  @Test
+  public void shouldPassQueuedRequestRejectedByExecutorToItsRejectionHandler() {
+    List<String> events = new ArrayList<>();
+    processor.addListener(
+        new RequestProcessingListener() {
+          @Override
+          public void requestProcessed(String method, long queueNanos, long processingNanos) {}
+
+          @Override
+          public void requestRejected(String method) {
+            events.add("rejected:" + method);
+          }
+        });
+    process("client-a", "a1");
+    process("client-a", "a2");
+    process("client-a", "a3");
+    executor.rejecting = true;
+
+    executor.runNext();
+
+    assertEquals(processed, asList("a1"));
+    assertEquals(rejected, asList("a3"));
+    assertEquals(events, asList("rejected:a3"));
+    assertEquals(processor.getQueuedRequests(), 0);
+  }
+
+  private void process(String client, String method) {
+    processor.process(
+        ENDPOINT_ID, client, () -> method, () -> processed.add(method), e -> rejected.add(method));
+  }
+
+  private static class TestConfiguration implements Configuration {
+    private final ExecutorService executor;
+
+    TestConfiguration(ExecutorService executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public String getEndpointId() {
+      return ENDPOINT_ID;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+      return executor;
+    }
+
+    @Override
+    public int getMaxConcurrentRequestsPerClient() {
+      return 2;
+    }
+
+    @Override
+    public int getMaxQueuedRequestsPerClient() {
+      return 3;
+    }
+  }
+
+  /** Executor which runs submitted tasks on demand in the order they were submitted. */
+  private static class ManualExecutor extends AbstractExecutorService {
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+    boolean rejecting;
+
+    void runNext() {
+      tasks.poll().run();
+    }
+
+    void runAll() {
+      while (!tasks.isEmpty()) {
+        runNext();
+      }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (rejecting) {
+        throw new RejectedExecutionException("executor is shut down");
+      }
+      tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return false;
+    }
+  }
+}
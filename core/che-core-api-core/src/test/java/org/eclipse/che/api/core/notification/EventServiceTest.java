@@ -12,8 +12,14 @@
 package org.eclipse.che.api.core.notification;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.notification.EventService.OverflowPolicy;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -193,6 +199,73 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsAsynchronouslyInPublishOrder() throws Exception {
+    final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(100);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      bus.subscribeAsync(
+          (Integer event) -> {
+            events.add(event);
+            latch.countDown();
+          },
+          Integer.class,
+          executor);
+
+      for (int i = 0; i < 100; i++) {
+        bus.publish(i);
+      }
+
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      for (int i = 0; i < 100; i++) {
+        Assert.assertEquals(events.get(i).intValue(), i);
+      }
+      // statistics are updated after the subscriber returns, so wait for the delivery to finish
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+      Assert.assertEquals(bus.getAsyncStatistics().getDispatchedCount(), 100);
+      Assert.assertEquals(bus.getAsyncStatistics().getQueueSize(), 0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldDropEventsWhenAsyncSubscriberQueueIsFull() {
+    final List<Runnable> tasks = new ArrayList<>();
+    final List<String> events = new ArrayList<>();
+    bus.subscribeAsync(
+        (String event) -> events.add(event),
+        String.class,
+        tasks::add,
+        event -> event.charAt(0),
+        2,
+        OverflowPolicy.DROP);
+
+    bus.publish("a1");
+    bus.publish("b1");
+    bus.publish("a2");
+
+    Assert.assertEquals(tasks.size(), 2);
+    Assert.assertEquals(bus.getAsyncStatistics().getQueueSize(), 2);
+    Assert.assertEquals(bus.getAsyncStatistics().getDroppedCount(), 1);
+    tasks.forEach(Runnable::run);
+    Assert.assertEquals(events, List.of("a1", "b1"));
+    Assert.assertEquals(bus.getAsyncStatistics().getQueueSize(), 0);
+  }
+
+  @Test
+  public void shouldUnsubscribeAsyncSubscriber() {
+    final List<String> events = new ArrayList<>();
+    final EventSubscriber<String> subscriber = events::add;
+    bus.subscribeAsync(subscriber, String.class, Runnable::run);
+    bus.publish("hello");
+    bus.unsubscribe(subscriber, String.class);
+    bus.publish("world");
+    Assert.assertEquals(events, List.of("hello"));
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
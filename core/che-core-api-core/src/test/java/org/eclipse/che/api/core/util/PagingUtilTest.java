@@ -45,6 +45,17 @@ public class PagingUtilTest {
     assertEqualsNoOrder(linkHeader.split(", "), expLinks);
   }
 
+  @Test
+  public void testCreatingLinksHeaderForKeysetPage() throws Exception {
+    final String linkHeader =
+        createLinkHeader(
+            new Page<>(asList("item1", "item2"), 0, 2, Page.UNKNOWN_TOTAL_COUNT, "item2"),
+            URI.create("http://localhost:8080/path?qp=test"));
+
+    assertEquals(
+        linkHeader, "<http://localhost:8080/path?qp=test&skipCount=0&maxItems=2>; rel=\"first\"");
+  }
+
   @Test
   public void testParsingLinksHeader() throws Exception {
     final Map<String, String> relToLinks =
@@ -12,9 +12,16 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
 import javax.websocket.Session;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -33,6 +40,7 @@ public class WebSocketSessionRegistryTest {
   private WebSocketSessionRegistry registry;
 
   @Mock private Session session;
+  @Mock private WebSocketSessionListener listener;
 
   @BeforeMethod
   public void setUp() throws Exception {
@@ -83,4 +91,92 @@ public class WebSocketSessionRegistryTest {
     assertFalse(registry.getSessions().isEmpty());
     assertEquals(2, registry.getSessions().size());
   }
+
+  @Test
+  public void shouldNotifyListenersAboutAddedAndRemovedSessions() {
+    registry.addListener(listener);
+
+    registry.add("0", session);
+    verify(listener).sessionAdded("0");
+
+    registry.remove(session);
+    verify(listener).sessionRemoved("0");
+  }
+
+  @Test
+  public void shouldNotifyListenersAboutReplacedEndpointOfReRegisteredSession() {
+    registry.addListener(listener);
+    registry.add("0", session);
+
+    registry.add("1", session);
+
+    verify(listener).sessionRemoved("0");
+    verify(listener).sessionAdded("1");
+    assertFalse(registry.get("0").isPresent());
+    assertEquals(registry.get(session), Optional.of("1"));
+  }
+
+  @Test
+  public void shouldNotNotifyListenersWhenRemovingUnknownSession() {
+    registry.addListener(listener);
+
+    registry.remove("0");
+
+    verify(listener, never()).sessionRemoved("0");
+  }
+
+  @Test
+  public void shouldGetEndpointIdBySession() {
+    registry.add("0", session);
+
+    assertEquals(registry.get(session), Optional.of("0"));
+  }
+
+  @Test
+  public void shouldRemoveSessionBySession() {
+    registry.add("0", session);
+
+    assertEquals(registry.remove(session), Optional.of(session));
+
+    assertFalse(registry.get("0").isPresent());
+    assertFalse(registry.get(session).isPresent());
+  }
+
+  @Test
+  public void shouldFindSessionsByClientIdOrEndpointId() {
+    Session another = mock(Session.class);
+    registry.add("client1" + WebsocketIdService.SEPARATOR + "endpoint", session);
+    registry.add("client2" + WebsocketIdService.SEPARATOR + "endpoint", another);
+
+    assertEquals(registry.getByPartialMatch("client1"), Set.of(session));
+    assertEquals(registry.getByPartialMatch("endpoint"), Set.of(session, another));
+    assertTrue(registry.getByPartialMatch("unknown").isEmpty());
+  }
+
+  @Test
+  public void shouldNotFindRemovedSessionsByPartialMatch() {
+    registry.add("client1" + WebsocketIdService.SEPARATOR + "endpoint", session);
+
+    registry.remove(session);
+
+    assertTrue(registry.getByPartialMatch("client1").isEmpty());
+    assertTrue(registry.getByPartialMatch("endpoint").isEmpty());
+  }
+
+  @Test
+  public void shouldRemoveAndCloseSessionsInBulk() throws Exception {
+    Session another = mock(Session.class);
+    when(session.isOpen()).thenReturn(true);
+    when(another.isOpen()).thenReturn(true);
+    registry.add("0", session);
+    registry.add("1", another);
+    registry.add("2", mock(Session.class));
+    CloseReason reason = new CloseReason(CloseCodes.GOING_AWAY, "evicted");
+
+    registry.closeAll(List.of("0", "1"), reason);
+
+    verify(session).close(reason);
+    verify(another).close(reason);
+    assertEquals(registry.getSessions().size(), 1);
+  }
 }
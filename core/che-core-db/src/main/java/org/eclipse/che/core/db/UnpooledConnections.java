@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import javax.sql.DataSource;
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+
+/**
+ * Opens database connections which don't belong to the connections pool.
+ *
+ * <p>Such connections are supposed to be held for a long time, e.g. by the sessions which keep
+ * advisory locks. They don't occupy pooled connections, and the pool never validates, evicts or
+ * reclaims them as abandoned, so the state of their sessions is changed only by their owners.
+ */
+public final class UnpooledConnections {
+
+  /**
+   * Opens a new connection with the settings of the given pooled data source. Connection of the
+   * data source is returned if it is not a {@link BasicDataSource} pool.
+   *
+   * @throws SQLException when the connection can not be opened
+   */
+  public static Connection open(DataSource dataSource) throws SQLException {
+    if (!dataSource.isWrapperFor(BasicDataSource.class)) {
+      return dataSource.getConnection();
+    }
+    final BasicDataSource pool = dataSource.unwrap(BasicDataSource.class);
+    final Properties info = new Properties();
+    if (pool.getUsername() != null) {
+      info.setProperty("user", pool.getUsername());
+    }
+    if (pool.getPassword() != null) {
+      info.setProperty("password", pool.getPassword());
+    }
+    final Connection connection = getDriver(pool).connect(pool.getUrl(), info);
+    if (connection == null) {
+      throw new SQLException("No suitable driver found for " + pool.getUrl());
+    }
+    return connection;
+  }
+
+  private static Driver getDriver(BasicDataSource pool) throws SQLException {
+    if (pool.getDriver() != null) {
+      return pool.getDriver();
+    }
+    if (pool.getDriverClassName() == null) {
+      return DriverManager.getDriver(pool.getUrl());
+    }
+    try {
+      final ClassLoader classLoader =
+          pool.getDriverClassLoader() != null
+              ? pool.getDriverClassLoader()
+              : UnpooledConnections.class.getClassLoader();
+      return (Driver)
+          Class.forName(pool.getDriverClassName(), true, classLoader)
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException | ClassCastException ex) {
+      throw new SQLException(
+          "Failed to load JDBC driver '" + pool.getDriverClassName() + "'. Cause: " + ex, ex);
+    }
+  }
+
+  private UnpooledConnections() {}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+
+/**
+ * Published by {@link EntityCacheConfigurator} when a committed transaction changed entities read
+ * by the queries whose results are cached, so that the results cached by other Che Servers can be
+ * invalidated too.
+ */
+public class CachedEntitiesChangedEvent {
+
+  private final Set<String> entityClassNames;
+
+  public CachedEntitiesChangedEvent(Set<String> entityClassNames) {
+    this.entityClassNames = ImmutableSet.copyOf(entityClassNames);
+  }
+
+  /** Returns names of the classes of the changed entities. */
+  public Set<String> getEntityClassNames() {
+    return entityClassNames;
+  }
+}
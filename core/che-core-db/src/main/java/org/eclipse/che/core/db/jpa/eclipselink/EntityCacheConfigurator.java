@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Binder;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.QueryResultsCachePolicy;
+import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configures EclipseLink second-level cache for hot read-mostly entities such as users, accounts
+ * and permissions.
+ *
+ * <p>EclipseLink keeps entities found by primary key in its shared cache, and when Che Servers are
+ * replicated the cache is coordinated between them. Lookups by other keys, e.g. user by name or
+ * email, are named queries which always hit the database. When the cache is enabled with {@code
+ * db.entity_cache.enabled}, the results of the registered named queries are cached too. The
+ * results cache of each query is bounded and it is invalidated when an entity of the queried type
+ * is changed by this Che Server. Once a transaction which changed such entities is committed,
+ * {@link CachedEntitiesChangedEvent} is published so that other Che Servers of the cluster can
+ * {@link #invalidateQueryResults(Collection) invalidate} their cached results. Cached results also
+ * expire after {@code db.entity_cache.query_results.expire_sec}, which bounds staleness when an
+ * invalidation is lost.
+ *
+ * <p>Cache hits and misses of the registered entities are counted by {@link EntityCacheProfiler}.
+ *
+ * <p>Modules register entities and queries with {@link #cacheEntities(Binder, Class[])} and {@link
+ * #cacheQueryResults(Binder, String...)}.
+ */
+@Singleton
+public class EntityCacheConfigurator {
+
+  public static final String CACHED_ENTITIES = "che.db.entity_cache.entities";
+  public static final String CACHED_QUERIES = "che.db.entity_cache.queries";
+
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCacheConfigurator.class);
+
+  private final boolean enabled;
+  private final EntityCacheProfiler profiler;
+  private final EventService eventService;
+
+  /** Classes of the entities changed by the transaction of the current thread. */
+  private final ThreadLocal<Set<String>> changedEntities = ThreadLocal.withInitial(HashSet::new);
+
+  /** Entity classes read by the cached queries, by class name. */
+  private volatile Map<String, Class<?>> queriedEntities = new HashMap<>();
+
+  private volatile AbstractSession session;
+
+  @Inject
+  public EntityCacheConfigurator(
+      @SuppressWarnings("unused") DBInitializer dbInitializer,
+      EntityManagerFactory emFactory,
+      EventService eventService,
+      @Named("db.entity_cache.enabled") boolean enabled,
+      @Named("db.entity_cache.query_results.size") int queryResultsSize,
+      @Named("db.entity_cache.query_results.expire_sec") long queryResultsExpireSec,
+      @Named(CACHED_ENTITIES) Set<Class<?>> entities,
+      @Named(CACHED_QUERIES) Set<String> queries) {
+    this.enabled = enabled;
+    this.eventService = eventService;
+    this.profiler = new EntityCacheProfiler(entities);
+    if (enabled) {
+      configure(
+          emFactory.unwrap(AbstractSession.class),
+          queries,
+          queryResultsSize,
+          TimeUnit.SECONDS.toMillis(queryResultsExpireSec));
+    }
+  }
+
+  /** Returns true if the cache is enabled. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Returns profiler which counts cache hits and misses of the registered entities. */
+  public EntityCacheProfiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Invalidates cached results of the queries which read entities of the given classes, names of
+   * the classes unknown to this cache are ignored.
+   */
+  public void invalidateQueryResults(Collection<String> entityClassNames) {
+    final AbstractSession session = this.session;
+    if (session == null) {
+      return;
+    }
+    for (String name : entityClassNames) {
+      final Class<?> entity = queriedEntities.get(name);
+      if (entity != null) {
+        session.getIdentityMapAccessor().invalidateQueryCache(entity);
+      }
+    }
+  }
+
+  /** Invalidates cached results of all the registered queries. */
+  public void invalidateAllQueryResults() {
+    invalidateQueryResults(queriedEntities.keySet());
+  }
+
+  @VisibleForTesting
+  void configure(
+      AbstractSession session, Set<String> queries, int queryResultsSize, long expireMillis) {
+    final Map<String, Class<?>> queried = new HashMap<>();
+    for (String name : queries) {
+      DatabaseQuery query = session.getQuery(name);
+      if (!(query instanceof ReadQuery)) {
+        LOG.warn("Results of query '{}' won't be cached, there is no such read query", name);
+        continue;
+      }
+      ((ReadQuery) query)
+          .setQueryResultsCachePolicy(
+              new QueryResultsCachePolicy(
+                  new TimeToLiveCacheInvalidationPolicy(expireMillis), queryResultsSize));
+      final Class<?> entity = query.getReferenceClass();
+      if (entity != null) {
+        queried.put(entity.getName(), entity);
+      }
+    }
+    final ChangeListener changeListener = new ChangeListener();
+    for (Class<?> entity : queried.values()) {
+      final ClassDescriptor descriptor = session.getDescriptor(entity);
+      if (descriptor != null) {
+        descriptor.getEventManager().addListener(changeListener);
+      }
+    }
+    session.getEventManager().addListener(new CommitListener());
+    this.queriedEntities = queried;
+    this.session = session;
+    session.setProfiler(profiler);
+    LOG.info(
+        "Entity cache is enabled for {} entities and {} queries", profiler.getEntities(), queries);
+  }
+
+  /** Registers entities whose cache hits and misses should be counted. */
+  public static void cacheEntities(Binder binder, Class<?>... entities) {
+    Multibinder<Class<?>> binding =
+        Multibinder.newSetBinder(
+                binder, new TypeLiteral<Class<?>>() {}, Names.named(CACHED_ENTITIES))
+            .permitDuplicates();
+    for (Class<?> entity : entities) {
+      binding.addBinding().toInstance(entity);
+    }
+  }
+
+  /** Registers named queries whose results should be cached. */
+  public static void cacheQueryResults(Binder binder, String... queries) {
+    Multibinder<String> binding =
+        Multibinder.newSetBinder(binder, String.class, Names.named(CACHED_QUERIES))
+            .permitDuplicates();
+    for (String query : queries) {
+      binding.addBinding().toInstance(query);
+    }
+  }
+
+  /** Remembers classes of the entities changed by the transaction of the current thread. */
+  private class ChangeListener extends DescriptorEventAdapter {
+
+    @Override
+    public void postInsert(DescriptorEvent event) {
+      changed(event);
+    }
+
+    @Override
+    public void postUpdate(DescriptorEvent event) {
+      changed(event);
+    }
+
+    @Override
+    public void postDelete(DescriptorEvent event) {
+      changed(event);
+    }
+
+    private void changed(DescriptorEvent event) {
+      changedEntities.get().add(event.getDescriptor().getJavaClassName());
+    }
+  }
+
+  /**
+   * Publishes {@link CachedEntitiesChangedEvent} once the changes are committed, so other Che
+   * Servers never reload and cache the results which are not visible to them yet.
+   */
+  private class CommitListener extends SessionEventAdapter {
+
+    @Override
+    public void preBeginTransaction(SessionEvent event) {
+      changedEntities.remove();
+    }
+
+    @Override
+    public void postRollbackTransaction(SessionEvent event) {
+      changedEntities.remove();
+    }
+
+    @Override
+    public void postCommitUnitOfWork(SessionEvent event) {
+      final Set<String> changed = changedEntities.get();
+      if (!changed.isEmpty()) {
+        changedEntities.remove();
+        eventService.publish(new CachedEntitiesChangedEvent(changed));
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.tools.profiler.SessionProfiler;
+import org.eclipse.persistence.tools.profiler.SessionProfilerAdapter;
+
+/**
+ * Counts EclipseLink cache hits and misses of the queries which read the given entities.
+ *
+ * <p>Both shared (identity map) cache and query results cache lookups are counted. Other profiling
+ * events are ignored, so installing this profiler doesn't add any noticeable overhead.
+ */
+public class EntityCacheProfiler extends SessionProfilerAdapter {
+
+  private final Map<Class<?>, LongAdder> hits;
+  private final Map<Class<?>, LongAdder> misses;
+
+  public EntityCacheProfiler(Set<Class<?>> entities) {
+    ImmutableMap.Builder<Class<?>, LongAdder> hitsBuilder = ImmutableMap.builder();
+    ImmutableMap.Builder<Class<?>, LongAdder> missesBuilder = ImmutableMap.builder();
+    for (Class<?> entity : entities) {
+      hitsBuilder.put(entity, new LongAdder());
+      missesBuilder.put(entity, new LongAdder());
+    }
+    this.hits = hitsBuilder.build();
+    this.misses = missesBuilder.build();
+  }
+
+  @Override
+  public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+    if (query == null || query.getReferenceClass() == null) {
+      return;
+    }
+    LongAdder counter;
+    if (SessionProfiler.CacheHits.equals(operationName)) {
+      counter = hits.get(query.getReferenceClass());
+    } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+      counter = misses.get(query.getReferenceClass());
+    } else {
+      return;
+    }
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  @Override
+  public int getProfileWeight() {
+    return SessionProfiler.NORMAL;
+  }
+
+  /** Returns entities whose cache hits and misses are counted. */
+  public Set<Class<?>> getEntities() {
+    return hits.keySet();
+  }
+
+  /** Returns the number of cache hits of the given entity, or 0 if the entity is not tracked. */
+  public long getHits(Class<?> entity) {
+    LongAdder counter = hits.get(entity);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  /** Returns the number of cache misses of the given entity, or 0 if the entity is not tracked. */
+  public long getMisses(Class<?> entity) {
+    LongAdder counter = misses.get(entity);
+    return counter == null ? 0 : counter.sum();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs actions once the transaction of the current thread is completed.
+ *
+ * <p>Events such as {@link org.eclipse.che.core.db.cascade.event.CascadeEvent cascade events} are
+ * published inside of the transaction which changes entities, so in-memory state invalidated by
+ * them may be loaded again by other threads before the changes are committed. Such state should be
+ * invalidated once more {@link #afterCompletion(Runnable) after the completion} of the
+ * transaction. Actions run after both commit and rollback of the transaction.
+ */
+@Singleton
+public class TransactionCompletionActions {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionCompletionActions.class);
+
+  private final ThreadLocal<List<Runnable>> actions = ThreadLocal.withInitial(ArrayList::new);
+
+  @Inject
+  public TransactionCompletionActions(
+      @SuppressWarnings("unused") DBInitializer dbInitializer, EntityManagerFactory emFactory) {
+    this(emFactory.unwrap(AbstractSession.class));
+  }
+
+  TransactionCompletionActions(AbstractSession session) {
+    session.getEventManager().addListener(new CompletionListener());
+  }
+
+  /**
+   * Runs the given action once the transaction of the current thread is completed. Must be called
+   * inside of a transaction, otherwise the action runs after the next transaction of the thread.
+   */
+  public void afterCompletion(Runnable action) {
+    actions.get().add(action);
+  }
+
+  private void runActions() {
+    final List<Runnable> completed = actions.get();
+    if (completed.isEmpty()) {
+      return;
+    }
+    actions.remove();
+    for (Runnable action : completed) {
+      try {
+        action.run();
+      } catch (RuntimeException x) {
+        LOG.error(x.getLocalizedMessage(), x);
+      }
+    }
+  }
+
+  private class CompletionListener extends SessionEventAdapter {
+
+    @Override
+    public void postCommitUnitOfWork(SessionEvent event) {
+      runActions();
+    }
+
+    @Override
+    public void postRollbackTransaction(SessionEvent event) {
+      runActions();
+    }
+
+    @Override
+    public void postReleaseUnitOfWork(SessionEvent event) {
+      runActions();
+    }
+  }
+}
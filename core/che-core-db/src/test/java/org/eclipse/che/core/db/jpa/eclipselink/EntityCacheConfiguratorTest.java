@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventListener;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.queries.ReadObjectQuery;
+import org.eclipse.persistence.sessions.IdentityMapAccessor;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventListener;
+import org.eclipse.persistence.sessions.SessionEventManager;
+import org.eclipse.persistence.tools.profiler.SessionProfiler;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class EntityCacheConfiguratorTest {
+
+  @Mock private DBInitializer dbInitializer;
+  @Mock private EntityManagerFactory emFactory;
+  @Mock private AbstractSession session;
+  @Mock private EventService eventService;
+
+  @Test
+  public void shouldCacheResultsOfRegisteredQueriesWhenEnabled() {
+    ReadAllQuery query = new ReadAllQuery(String.class);
+    when(emFactory.unwrap(AbstractSession.class)).thenReturn(session);
+    when(session.getQuery("Entity.getByName")).thenReturn(query);
+    when(session.getEventManager()).thenReturn(new SessionEventManager());
+
+    EntityCacheConfigurator configurator =
+        new EntityCacheConfigurator(
+            dbInitializer,
+            emFactory,
+            eventService,
+            true,
+            100,
+            60,
+            ImmutableSet.of(String.class),
+            ImmutableSet.of("Entity.getByName", "Entity.missing"));
+
+    assertTrue(configurator.isEnabled());
+    assertNotNull(query.getQueryResultsCachePolicy());
+    assertEquals(query.getQueryResultsCachePolicy().getMaximumCachedResults(), 100);
+    verify(session).setProfiler(configurator.getProfiler());
+  }
+
+  @Test
+  public void shouldNotConfigureSessionWhenDisabled() {
+    EntityCacheConfigurator configurator =
+        new EntityCacheConfigurator(
+            dbInitializer,
+            emFactory,
+            eventService,
+            false,
+            100,
+            60,
+            ImmutableSet.of(String.class),
+            ImmutableSet.of("Entity.getByName"));
+
+    assertFalse(configurator.isEnabled());
+    verifyZeroInteractions(emFactory);
+    verify(session, never()).setProfiler(any());
+  }
+
+  @Test
+  public void shouldNotCacheResultsOfUnregisteredQueries() {
+    ReadAllQuery registered = new ReadAllQuery(String.class);
+    ReadAllQuery unregistered = new ReadAllQuery(String.class);
+    when(session.getQuery("Entity.getByName")).thenReturn(registered);
+    lenient().when(session.getQuery("Entity.getAll")).thenReturn(unregistered);
+    when(session.getEventManager()).thenReturn(new SessionEventManager());
+
+    configure("Entity.getByName");
+
+    assertNotNull(registered.getQueryResultsCachePolicy());
+    assertNull(unregistered.getQueryResultsCachePolicy());
+  }
+
+  @Test
+  public void shouldPublishChangedEntitiesOnceTransactionIsCommitted() {
+    ClassDescriptor descriptor = new ClassDescriptor();
+    descriptor.setJavaClass(String.class);
+    SessionEventManager sessionEvents = new SessionEventManager();
+    when(session.getQuery("Entity.getByName")).thenReturn(new ReadAllQuery(String.class));
+    when(session.getDescriptor(String.class)).thenReturn(descriptor);
+    when(session.getEventManager()).thenReturn(sessionEvents);
+    configure("Entity.getByName");
+    DescriptorEventListener changeListener =
+        (DescriptorEventListener) descriptor.getEventManager().getEventListeners().get(0);
+    SessionEventListener commitListener = sessionEvents.getListeners().get(0);
+    DescriptorEvent change = mock(DescriptorEvent.class);
+    when(change.getDescriptor()).thenReturn(descriptor);
+    SessionEvent commit = mock(SessionEvent.class);
+
+    commitListener.preBeginTransaction(commit);
+    changeListener.postUpdate(change);
+    verify(eventService, never()).publish(any());
+    commitListener.postCommitUnitOfWork(commit);
+
+    ArgumentCaptor<CachedEntitiesChangedEvent> captor =
+        ArgumentCaptor.forClass(CachedEntitiesChangedEvent.class);
+    verify(eventService).publish(captor.capture());
+    assertEquals(captor.getValue().getEntityClassNames(), ImmutableSet.of(String.class.getName()));
+  }
+
+  @Test
+  public void shouldNotPublishChangesOfRolledBackTransaction() {
+    ClassDescriptor descriptor = new ClassDescriptor();
+    descriptor.setJavaClass(String.class);
+    SessionEventManager sessionEvents = new SessionEventManager();
+    when(session.getQuery("Entity.getByName")).thenReturn(new ReadAllQuery(String.class));
+    when(session.getDescriptor(String.class)).thenReturn(descriptor);
+    when(session.getEventManager()).thenReturn(sessionEvents);
+    configure("Entity.getByName");
+    DescriptorEventListener changeListener =
+        (DescriptorEventListener) descriptor.getEventManager().getEventListeners().get(0);
+    SessionEventListener commitListener = sessionEvents.getListeners().get(0);
+    DescriptorEvent change = mock(DescriptorEvent.class);
+    when(change.getDescriptor()).thenReturn(descriptor);
+    SessionEvent event = mock(SessionEvent.class);
+
+    changeListener.postInsert(change);
+    commitListener.postRollbackTransaction(event);
+    commitListener.postCommitUnitOfWork(event);
+
+    verify(eventService, never()).publish(any());
+  }
+
+  @Test
+  public void shouldInvalidateResultsOfQueriesReadingChangedEntities() {
+    IdentityMapAccessor identityMapAccessor = mock(IdentityMapAccessor.class);
+    when(session.getQuery("Entity.getByName")).thenReturn(new ReadAllQuery(String.class));
+    when(session.getEventManager()).thenReturn(new SessionEventManager());
+    when(session.getIdentityMapAccessor()).thenReturn(identityMapAccessor);
+    EntityCacheConfigurator configurator = configure("Entity.getByName");
+
+    configurator.invalidateQueryResults(
+        ImmutableSet.of(String.class.getName(), Integer.class.getName()));
+
+    verify(identityMapAccessor).invalidateQueryCache(String.class);
+    verify(identityMapAccessor, never()).invalidateQueryCache(Integer.class);
+  }
+
+  @Test
+  public void shouldCountCacheHitsAndMissesOfRegisteredEntities() {
+    EntityCacheProfiler profiler = new EntityCacheProfiler(ImmutableSet.of(String.class));
+
+    profiler.occurred(SessionProfiler.CacheHits, new ReadObjectQuery(String.class), session);
+    profiler.occurred(SessionProfiler.CacheHits, new ReadAllQuery(String.class), session);
+    profiler.occurred(SessionProfiler.CacheMisses, new ReadObjectQuery(String.class), session);
+    profiler.occurred(SessionProfiler.CacheHits, new ReadObjectQuery(Integer.class), session);
+    profiler.occurred(SessionProfiler.Caching, new ReadObjectQuery(String.class), session);
+
+    assertEquals(profiler.getHits(String.class), 2);
+    assertEquals(profiler.getMisses(String.class), 1);
+    assertEquals(profiler.getHits(Integer.class), 0);
+  }
+
+  /** Configures the mocked session as if the cache was enabled with the given queries. */
+  private EntityCacheConfigurator configure(String... queries) {
+    EntityCacheConfigurator configurator =
+        new EntityCacheConfigurator(
+            dbInitializer,
+            emFactory,
+            eventService,
+            false,
+            100,
+            60,
+            ImmutableSet.of(),
+            ImmutableSet.of());
+    configurator.configure(session, ImmutableSet.copyOf(queries), 100, 60_000);
+    return configurator;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventListener;
+import org.eclipse.persistence.sessions.SessionEventManager;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class TransactionCompletionActionsTest {
+
+  @Mock private AbstractSession session;
+  @Mock private SessionEvent event;
+
+  private TransactionCompletionActions completionActions;
+  private SessionEventListener completionListener;
+
+  @BeforeMethod
+  public void setUp() {
+    SessionEventManager sessionEvents = new SessionEventManager();
+    when(session.getEventManager()).thenReturn(sessionEvents);
+    completionActions = new TransactionCompletionActions(session);
+    completionListener = sessionEvents.getListeners().get(0);
+  }
+
+  @Test
+  public void shouldRunActionsOnceTransactionIsCommitted() {
+    Runnable action = mock(Runnable.class);
+
+    completionActions.afterCompletion(action);
+    verify(action, never()).run();
+    completionListener.postCommitUnitOfWork(event);
+    completionListener.postReleaseUnitOfWork(event);
+
+    verify(action).run();
+  }
+
+  @Test
+  public void shouldRunActionsOnceTransactionIsRolledBack() {
+    Runnable action = mock(Runnable.class);
+
+    completionActions.afterCompletion(action);
+    completionListener.postRollbackTransaction(event);
+
+    verify(action).run();
+  }
+
+  @Test
+  public void shouldRunActionsWhenPreviousActionFails() {
+    Runnable failing = mock(Runnable.class);
+    Runnable action = mock(Runnable.class);
+    doThrow(new IllegalStateException("failure")).when(failing).run();
+
+    completionActions.afterCompletion(failing);
+    completionActions.afterCompletion(action);
+    completionListener.postCommitUnitOfWork(event);
+
+    verify(action).run();
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.che.multiuser.api.distributed.lock.WorkspaceLockMeterBinder;
+
+/**
+ * A Guice module to bind metric binders of the distributed components to a single multi-binder.
+ * The set of all metric binders is used to produce the Prometheus metrics on request.
+ */
+public class DistributedMetricsModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    Multibinder<MeterBinder> meterMultibinder =
+        Multibinder.newSetBinder(binder(), MeterBinder.class);
+
+    meterMultibinder.addBinding().to(WorkspaceLockMeterBinder.class);
+  }
+}
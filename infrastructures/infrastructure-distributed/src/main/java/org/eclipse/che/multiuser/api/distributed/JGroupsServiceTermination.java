@@ -17,9 +17,13 @@ import com.google.inject.Singleton;
 import java.util.Set;
 import org.eclipse.che.api.system.server.ServiceTermination;
 import org.eclipse.che.api.workspace.server.WorkspaceServiceTermination;
+import org.eclipse.che.multiuser.api.distributed.cache.DistributedEntityCacheInvalidator;
 import org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache;
 import org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService;
+import org.eclipse.che.multiuser.api.distributed.machine.DistributedMachineTokenCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.permission.DistributedPermissionsCacheInvalidator;
 import org.eclipse.che.multiuser.api.distributed.subscription.DistributedRemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.distributed.websocket.DistributedWebSocketMessageTransmitter;
 
 /**
  * Terminates jgroups components.
@@ -32,15 +36,27 @@ public class JGroupsServiceTermination implements ServiceTermination {
   private final JGroupsWorkspaceLockService workspaceLockService;
   private final JGroupsWorkspaceStatusCache workspaceStatusCache;
   private final DistributedRemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final DistributedWebSocketMessageTransmitter webSocketMessageTransmitter;
+  private final DistributedMachineTokenCacheInvalidator machineTokenCacheInvalidator;
+  private final DistributedPermissionsCacheInvalidator permissionsCacheInvalidator;
+  private final DistributedEntityCacheInvalidator entityCacheInvalidator;
 
   @Inject
   public JGroupsServiceTermination(
       JGroupsWorkspaceLockService workspaceLockService,
       JGroupsWorkspaceStatusCache workspaceStatusCache,
-      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage) {
+      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage,
+      DistributedWebSocketMessageTransmitter webSocketMessageTransmitter,
+      DistributedMachineTokenCacheInvalidator machineTokenCacheInvalidator,
+      DistributedPermissionsCacheInvalidator permissionsCacheInvalidator,
+      DistributedEntityCacheInvalidator entityCacheInvalidator) {
     this.workspaceLockService = workspaceLockService;
     this.workspaceStatusCache = workspaceStatusCache;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
+    this.webSocketMessageTransmitter = webSocketMessageTransmitter;
+    this.machineTokenCacheInvalidator = machineTokenCacheInvalidator;
+    this.permissionsCacheInvalidator = permissionsCacheInvalidator;
+    this.entityCacheInvalidator = entityCacheInvalidator;
   }
 
   @Override
@@ -53,6 +69,10 @@ public class JGroupsServiceTermination implements ServiceTermination {
     workspaceLockService.shutdown();
     workspaceStatusCache.shutdown();
     remoteSubscriptionStorage.shutdown();
+    webSocketMessageTransmitter.shutdown();
+    machineTokenCacheInvalidator.shutdown();
+    permissionsCacheInvalidator.shutdown();
+    entityCacheInvalidator.shutdown();
   }
 
   @Override
@@ -15,7 +15,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.cache.ObservableWorkspaceStatusCache;
 import org.eclipse.che.multiuser.api.distributed.cache.StatusChangeListener;
 import org.eclipse.che.workspace.infrastructure.kubernetes.event.KubernetesRuntimeStoppedEvent;
 import org.eclipse.che.workspace.infrastructure.kubernetes.event.KubernetesRuntimeStoppingEvent;
@@ -36,7 +36,7 @@ public class WorkspaceStopPropagator implements StatusChangeListener {
 
   @Inject
   public WorkspaceStopPropagator(
-      EventService eventService, JGroupsWorkspaceStatusCache statusCache) {
+      EventService eventService, ObservableWorkspaceStatusCache statusCache) {
     this.eventService = eventService;
     statusCache.subscribe(this);
   }
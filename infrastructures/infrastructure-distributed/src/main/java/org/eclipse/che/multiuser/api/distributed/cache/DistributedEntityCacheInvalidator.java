@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.core.db.jpa.eclipselink.CachedEntitiesChangedEvent;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
+import org.jgroups.JChannel;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
+import org.slf4j.Logger;
+
+/**
+ * Invalidates query results cached by {@link EntityCacheConfigurator} of other Che Servers of the
+ * cluster when the queried entities are changed on this Che Server.
+ *
+ * <p>All the cached query results are invalidated when the cluster view changes since
+ * invalidations might have been missed by Che Servers which were disconnected from the cluster.
+ * The channel isn't created and events aren't listened to when the cache is disabled.
+ */
+@Singleton
+public class DistributedEntityCacheInvalidator
+    implements EventSubscriber<CachedEntitiesChangedEvent> {
+
+  private static final Logger LOG = getLogger(DistributedEntityCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "EntityCacheInvalidation";
+
+  private static final Class<?>[] ENTITIES_TYPES = {String[].class};
+
+  private final EntityCacheConfigurator entityCache;
+  private final JChannel channel;
+  private final RpcDispatcher dispatcher;
+
+  @Inject
+  public DistributedEntityCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      EntityCacheConfigurator entityCache,
+      EventService eventService)
+      throws Exception {
+    this.entityCache = entityCache;
+    if (!entityCache.isEnabled()) {
+      channel = null;
+      dispatcher = null;
+      return;
+    }
+    try {
+      channel = new JChannel(confFile);
+      dispatcher =
+          new RpcDispatcher(channel, new InvalidationEndpoint())
+              .setMembershipListener(
+                  new ReceiverAdapter() {
+                    @Override
+                    public void viewAccepted(View view) {
+                      entityCache.invalidateAllQueryResults();
+                    }
+                  });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception e) {
+      LOG.error("Unable to create distributed entity cache invalidator.", e);
+      throw e;
+    }
+    eventService.subscribe(this, CachedEntitiesChangedEvent.class);
+  }
+
+  @Override
+  public void onEvent(CachedEntitiesChangedEvent event) {
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          "invalidate",
+          new Object[] {event.getEntityClassNames().toArray(new String[0])},
+          ENTITIES_TYPES,
+          RequestOptions.ASYNC().setExclusionList(channel.getAddress()));
+    } catch (Exception e) {
+      LOG.warn(
+          "Failed to invalidate cached results of queries of '{}' on other Che Servers. Cause: {}",
+          event.getEntityClassNames(),
+          e.getMessage());
+    }
+  }
+
+  /** Stops distributed entity cache invalidation. */
+  public void shutdown() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop entity cache invalidation. Cause: " + ex.getMessage());
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class InvalidationEndpoint {
+
+    public void invalidate(String[] entityClassNames) {
+      entityCache.invalidateQueryResults(Arrays.asList(entityClassNames));
+    }
+  }
+}
@@ -11,101 +11,323 @@
  */
 package org.eclipse.che.multiuser.api.distributed.cache;
 
-import java.io.IOException;
+import com.google.common.collect.Maps;
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.jgroups.Address;
 import org.jgroups.JChannel;
-import org.jgroups.blocks.ReplicatedHashMap;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
+import org.jgroups.util.Rsp;
+import org.jgroups.util.RspList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * JGroups based implementation of {@link WorkspaceStatusCache}.
  *
+ * <p>Every Che Server keeps a full local copy of the statuses, so reads are local memory lookups.
+ * Changes are applied locally first and then synchronously replicated to the other members of the
+ * cluster, so once a change made under the workspace lock returns, the next holder of the lock
+ * sees it on any Che Server. Each entry is versioned with a Lamport clock, ties are broken by the
+ * Che Server which made the change, so a late replication message never overrides a newer status
+ * and concurrent changes converge to the same status on every member. Listeners subscribed with
+ * {@link #subscribe(StatusChangeListener)} are notified about local and remote changes.
+ *
  * @author Anton Korneta
  */
 @Singleton
-public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
+public class JGroupsWorkspaceStatusCache implements ObservableWorkspaceStatusCache {
 
   private static final String CHANNEL_NAME = "WorkspaceStateCache";
   private static final Logger LOG = LoggerFactory.getLogger(JGroupsWorkspaceStatusCache.class);
 
-  private final ReplicatedHashMap<String, WorkspaceStatus> delegate;
+  private static final long REPLICATION_TIMEOUT_MS = 5000;
+  private static final Class<?>[] UPDATE_TYPES = {String.class, VersionedStatus.class};
+  private static final Class<?>[] REMOVE_TYPES = {String.class, long.class, String.class};
+
+  private final ConcurrentMap<String, VersionedStatus> statuses = new ConcurrentHashMap<>();
+  private final Map<String, WorkspaceStatus> statusesView =
+      Collections.unmodifiableMap(Maps.transformValues(statuses, v -> v.status));
+  private final Set<StatusChangeListener> listeners = new CopyOnWriteArraySet<>();
+  private final AtomicLong clock = new AtomicLong();
+  private final String origin = UUID.randomUUID().toString();
+  private final JChannel channel;
+  private final RpcDispatcher dispatcher;
 
   @Inject
   public JGroupsWorkspaceStatusCache(@Named("jgroups.config.file") String confFile) {
     try {
-      JChannel channel = new JChannel(confFile).connect(CHANNEL_NAME);
-      delegate = new ReplicatedHashMap<>(channel);
-      delegate.setBlockingUpdates(true);
-      delegate.start(5000);
+      channel = new JChannel(confFile);
+      dispatcher = new RpcDispatcher(channel, new ReplicationEndpoint());
+      channel.connect(CHANNEL_NAME);
     } catch (Exception ex) {
       throw new RuntimeException("Jgroups cache creation failed. Cause :" + ex.getMessage());
     }
+    fetchState();
   }
 
   @Override
   public WorkspaceStatus get(String workspaceId) {
-    return delegate.get(workspaceId);
+    VersionedStatus versioned = statuses.get(workspaceId);
+    return versioned != null ? versioned.status : null;
   }
 
   @Override
   public WorkspaceStatus replace(String workspaceId, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, newStatus);
+    VersionedStatus[] previous = new VersionedStatus[1];
+    VersionedStatus updated =
+        statuses.computeIfPresent(
+            workspaceId,
+            (id, current) -> {
+              previous[0] = current;
+              return new VersionedStatus(newStatus, clock.incrementAndGet(), origin);
+            });
+    if (updated == null) {
+      return null;
+    }
+    notifyChanged(workspaceId, newStatus);
+    replicate("replaceEntry", workspaceId, updated);
+    return previous[0].status;
   }
 
   @Override
   public boolean replace(
       String workspaceId, WorkspaceStatus prevStatus, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, prevStatus, newStatus);
+    boolean[] replaced = new boolean[1];
+    VersionedStatus updated =
+        statuses.computeIfPresent(
+            workspaceId,
+            (id, current) -> {
+              if (current.status != prevStatus) {
+                return current;
+              }
+              replaced[0] = true;
+              return new VersionedStatus(newStatus, clock.incrementAndGet(), origin);
+            });
+    if (!replaced[0]) {
+      return false;
+    }
+    notifyChanged(workspaceId, newStatus);
+    replicate("replaceEntry", workspaceId, updated);
+    return true;
   }
 
   @Override
   public WorkspaceStatus remove(String workspaceId) {
-    return delegate.remove(workspaceId);
+    VersionedStatus removed = statuses.remove(workspaceId);
+    if (removed == null) {
+      return null;
+    }
+    notifyChanged(workspaceId, WorkspaceStatus.STOPPED);
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          "removeEntry",
+          new Object[] {workspaceId, clock.incrementAndGet(), origin},
+          REMOVE_TYPES,
+          syncOptions());
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to replicate removal of workspace '{}' status. Cause: {}",
+          workspaceId,
+          ex.getMessage());
+    }
+    return removed.status;
   }
 
   @Override
   public WorkspaceStatus putIfAbsent(String workspaceId, WorkspaceStatus status) {
-    return delegate.putIfAbsent(workspaceId, status);
+    VersionedStatus[] created = new VersionedStatus[1];
+    VersionedStatus existing =
+        statuses.computeIfAbsent(
+            workspaceId,
+            id -> created[0] = new VersionedStatus(status, clock.incrementAndGet(), origin));
+    if (created[0] == null) {
+      return existing.status;
+    }
+    notifyChanged(workspaceId, status);
+    replicate("putEntry", workspaceId, created[0]);
+    return null;
   }
 
+  /** Returns unmodifiable view of this cache. */
   @Override
   public Map<String, WorkspaceStatus> asMap() {
-    return new HashMap<>(delegate);
+    return statusesView;
   }
 
-  /**
-   * Subscribes status changes listener.
-   *
-   * @param listener listener instance that will receive status changed events
-   */
+  @Override
   public void subscribe(StatusChangeListener listener) {
-    delegate.addNotifier(
-        new ReplicatedMapNotificationAdapter() {
-          @Override
-          public void entrySet(Object workspaceId, Object workspaceStatus) {
-            listener.statusChanged((String) workspaceId, (WorkspaceStatus) workspaceStatus);
-          }
-
-          @Override
-          public void entryRemoved(Object workspaceId) {
-            listener.statusChanged((String) workspaceId, WorkspaceStatus.STOPPED);
-          }
-        });
+    listeners.add(listener);
   }
 
   /** Stops workspace status cache. */
   public void shutdown() {
     try {
-      delegate.close();
-    } catch (IOException | RuntimeException ex) {
+      channel.close();
+    } catch (RuntimeException ex) {
       LOG.error("Failed to stop workspace status cache. Cause: " + ex.getMessage());
     }
   }
+
+  private RequestOptions syncOptions() {
+    return RequestOptions.SYNC().setTimeout(REPLICATION_TIMEOUT_MS);
+  }
+
+  private void replicate(String method, String workspaceId, VersionedStatus status) {
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          method,
+          new Object[] {workspaceId, status},
+          UPDATE_TYPES,
+          syncOptions().setExclusionList(channel.getAddress()));
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to replicate status '{}' of workspace '{}'. Cause: {}",
+          status.status,
+          workspaceId,
+          ex.getMessage());
+    }
+  }
+
+  /** Fetches statuses from the other members when this Che Server joins the cluster. */
+  private void fetchState() {
+    try {
+      RspList<HashMap<String, VersionedStatus>> responses =
+          dispatcher.callRemoteMethods(
+              null,
+              "getEntries",
+              new Object[0],
+              new Class<?>[0],
+              syncOptions().setExclusionList(channel.getAddress()));
+      for (Rsp<HashMap<String, VersionedStatus>> rsp : responses.values()) {
+        if (rsp.wasReceived() && rsp.getValue() != null) {
+          rsp.getValue().forEach(this::applyPut);
+        }
+      }
+    } catch (Exception ex) {
+      LOG.warn("Failed to fetch workspace statuses from the cluster. Cause: {}", ex.getMessage());
+    }
+  }
+
+  private void applyPut(String workspaceId, VersionedStatus status) {
+    clock.accumulateAndGet(status.version, Math::max);
+    boolean[] applied = new boolean[1];
+    statuses.compute(
+        workspaceId,
+        (id, current) -> {
+          if (current != null && !status.isNewerThan(current.version, current.origin)) {
+            return current;
+          }
+          applied[0] = true;
+          return status;
+        });
+    if (applied[0]) {
+      notifyChanged(workspaceId, status.status);
+    }
+  }
+
+  private void applyReplace(String workspaceId, VersionedStatus status) {
+    clock.accumulateAndGet(status.version, Math::max);
+    boolean[] applied = new boolean[1];
+    statuses.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          if (!status.isNewerThan(current.version, current.origin)) {
+            return current;
+          }
+          applied[0] = true;
+          return status;
+        });
+    if (applied[0]) {
+      notifyChanged(workspaceId, status.status);
+    }
+  }
+
+  private void applyRemove(String workspaceId, long version, String origin) {
+    clock.accumulateAndGet(version, Math::max);
+    boolean[] applied = new boolean[1];
+    statuses.computeIfPresent(
+        workspaceId,
+        (id, current) -> {
+          if (!VersionedStatus.isNewer(version, origin, current.version, current.origin)) {
+            return current;
+          }
+          applied[0] = true;
+          return null;
+        });
+    if (applied[0]) {
+      notifyChanged(workspaceId, WorkspaceStatus.STOPPED);
+    }
+  }
+
+  private void notifyChanged(String workspaceId, WorkspaceStatus status) {
+    for (StatusChangeListener listener : listeners) {
+      try {
+        listener.statusChanged(workspaceId, status);
+      } catch (RuntimeException ex) {
+        LOG.error(ex.getMessage(), ex);
+      }
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class ReplicationEndpoint {
+
+    public void putEntry(String workspaceId, VersionedStatus status) {
+      applyPut(workspaceId, status);
+    }
+
+    public void replaceEntry(String workspaceId, VersionedStatus status) {
+      applyReplace(workspaceId, status);
+    }
+
+    public void removeEntry(String workspaceId, long version, String origin) {
+      applyRemove(workspaceId, version, origin);
+    }
+
+    public HashMap<String, VersionedStatus> getEntries() {
+      return new HashMap<>(statuses);
+    }
+  }
+
+  /** Workspace status along with the logical time and the origin of its last change. */
+  public static class VersionedStatus implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    final WorkspaceStatus status;
+    final long version;
+    final String origin;
+
+    VersionedStatus(WorkspaceStatus status, long version, String origin) {
+      this.status = status;
+      this.version = version;
+      this.origin = origin;
+    }
+
+    boolean isNewerThan(long otherVersion, String otherOrigin) {
+      return isNewer(version, origin, otherVersion, otherOrigin);
+    }
+
+    /** Orders changes by their logical time, changes made at the same time by their origin. */
+    static boolean isNewer(long version, String origin, long otherVersion, String otherOrigin) {
+      return version > otherVersion
+          || version == otherVersion && origin.compareTo(otherOrigin) > 0;
+    }
+  }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+
+/**
+ * Distributed {@link WorkspaceStatusCache} which notifies about status changes made by any Che
+ * Server of the cluster.
+ */
+public interface ObservableWorkspaceStatusCache extends WorkspaceStatusCache {
+
+  /**
+   * Subscribes status changes listener.
+   *
+   * @param listener listener instance that will receive status changed events
+   */
+  void subscribe(StatusChangeListener listener);
+}
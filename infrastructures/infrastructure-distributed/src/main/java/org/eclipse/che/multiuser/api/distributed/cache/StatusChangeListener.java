@@ -15,10 +15,10 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 
 /**
  * Listener interface for being notified about workspace status changes in {@link
- * JGroupsWorkspaceStatusCache}.
+ * ObservableWorkspaceStatusCache}.
  *
- * <p>Note that JGroupsWorkspaceStatusCache is distributed cache and listener will receiver changes
- * that are made by this instance or any another is a cluster.
+ * <p>Note that ObservableWorkspaceStatusCache is distributed cache and listener will receiver
+ * changes that are made by this instance or any another is a cluster.
  *
  * @author Sergii Leshchenko
  */
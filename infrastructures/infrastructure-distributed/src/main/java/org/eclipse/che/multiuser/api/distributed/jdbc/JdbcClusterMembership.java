@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.core.db.UnpooledConnections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Membership of this Che Server in the cluster coordinated through the database.
+ *
+ * <p>Every member holds the shared advisory lock {@link #MEMBERSHIP_KEY} in a dedicated session
+ * for as long as it runs. A Che Server which acquires the exclusive lock on start is the only
+ * member of the cluster, so it removes the workspace statuses and the remote subscriptions left by
+ * the previous run of the cluster before joining, as no workspace can be running and no endpoint
+ * can be connected after a full cluster restart. Other Che Servers wait for the cleanup while
+ * acquiring the shared lock. Components which depend on the cleanup {@link #join() join} the
+ * cluster before they read the shared data.
+ *
+ * <p>The session is checked periodically and re-established with the shared lock if it's lost,
+ * e.g. on a database restart. Until then a starting Che Server may consider itself the first
+ * member, so the database should not be restarted while Che Servers are starting.
+ */
+@Singleton
+public class JdbcClusterMembership {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcClusterMembership.class);
+
+  static final String MEMBERSHIP_KEY = "che_cluster_membership";
+
+  private static final int VALIDATION_TIMEOUT_SEC = 5;
+
+  private final DataSource dataSource;
+  private final long lockId = JdbcWorkspaceLockService.lockId(MEMBERSHIP_KEY);
+  private Connection session;
+  private boolean joined;
+
+  @Inject
+  public JdbcClusterMembership(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Joins the cluster, removing the data left by the previous run of the cluster if this Che
+   * Server is its first member. Does nothing if this Che Server has already joined the cluster.
+   *
+   * @throws RuntimeException when the cluster can not be joined
+   */
+  @PostConstruct
+  public synchronized void join() {
+    if (joined) {
+      return;
+    }
+    try {
+      session = UnpooledConnections.open(dataSource);
+      session.setAutoCommit(true);
+      if (JdbcWorkspaceLockService.call(session, "pg_try_advisory_lock", lockId)) {
+        LOG.info("This Che Server is the first member of the cluster, removing stale data");
+        removeStaleData();
+        JdbcWorkspaceLockService.call(session, "pg_advisory_lock_shared", lockId);
+        JdbcWorkspaceLockService.call(session, "pg_advisory_unlock", lockId);
+      } else {
+        JdbcWorkspaceLockService.call(session, "pg_advisory_lock_shared", lockId);
+      }
+      joined = true;
+    } catch (SQLException ex) {
+      closeSession();
+      throw new RuntimeException("Failed to join the cluster. Cause: " + ex.getMessage(), ex);
+    }
+  }
+
+  /** Re-establishes the session holding the membership lock if it's lost. */
+  @ScheduleDelay(initialDelay = 30, delay = 30)
+  synchronized void check() {
+    if (!joined) {
+      return;
+    }
+    try {
+      if (session != null && session.isValid(VALIDATION_TIMEOUT_SEC)) {
+        return;
+      }
+      LOG.warn("Database session of the cluster membership is lost, rejoining the cluster");
+      closeSession();
+      session = UnpooledConnections.open(dataSource);
+      session.setAutoCommit(true);
+      JdbcWorkspaceLockService.call(session, "pg_advisory_lock_shared", lockId);
+    } catch (SQLException ex) {
+      closeSession();
+      LOG.error("Failed to rejoin the cluster. Cause: {}", ex.getMessage());
+    }
+  }
+
+  /** Leaves the cluster by releasing the membership lock. */
+  public synchronized void shutdown() {
+    closeSession();
+    joined = false;
+  }
+
+  private void removeStaleData() throws SQLException {
+    session.setAutoCommit(false);
+    try (Statement statement = session.createStatement()) {
+      statement.executeUpdate("DELETE FROM che_workspace_status");
+      statement.executeUpdate("DELETE FROM che_remote_subscription");
+      session.commit();
+    } catch (SQLException ex) {
+      session.rollback();
+      throw ex;
+    } finally {
+      session.setAutoCommit(true);
+    }
+  }
+
+  private void closeSession() {
+    if (session == null) {
+      return;
+    }
+    try {
+      JdbcWorkspaceLockService.closeSession(session);
+    } catch (SQLException ex) {
+      LOG.warn("Failed to close cluster membership session. Cause: {}", ex.getMessage());
+    }
+    session = null;
+  }
+}
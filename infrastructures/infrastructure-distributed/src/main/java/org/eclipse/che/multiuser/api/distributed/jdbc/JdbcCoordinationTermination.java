@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Set;
+import org.eclipse.che.api.system.server.ServiceTermination;
+import org.eclipse.che.api.workspace.server.WorkspaceServiceTermination;
+import org.eclipse.che.multiuser.api.distributed.machine.DistributedMachineTokenCacheInvalidator;
+import org.eclipse.che.multiuser.api.distributed.websocket.DistributedWebSocketMessageTransmitter;
+
+/** Terminates components of the database based cluster coordination. */
+@Singleton
+public class JdbcCoordinationTermination implements ServiceTermination {
+
+  private final JdbcNotificationListener notificationListener;
+  private final JdbcWorkspaceLockService lockService;
+  private final JdbcClusterMembership clusterMembership;
+  private final DistributedWebSocketMessageTransmitter webSocketMessageTransmitter;
+  private final DistributedMachineTokenCacheInvalidator machineTokenCacheInvalidator;
+
+  @Inject
+  public JdbcCoordinationTermination(
+      JdbcNotificationListener notificationListener,
+      JdbcWorkspaceLockService lockService,
+      JdbcClusterMembership clusterMembership,
+      DistributedWebSocketMessageTransmitter webSocketMessageTransmitter,
+      DistributedMachineTokenCacheInvalidator machineTokenCacheInvalidator) {
+    this.notificationListener = notificationListener;
+    this.lockService = lockService;
+    this.clusterMembership = clusterMembership;
+    this.webSocketMessageTransmitter = webSocketMessageTransmitter;
+    this.machineTokenCacheInvalidator = machineTokenCacheInvalidator;
+  }
+
+  @Override
+  public void terminate() {
+    suspend();
+  }
+
+  @Override
+  public void suspend() {
+    notificationListener.shutdown();
+    lockService.shutdown();
+    clusterMembership.shutdown();
+    webSocketMessageTransmitter.shutdown();
+    machineTokenCacheInvalidator.shutdown();
+  }
+
+  @Override
+  public String getServiceName() {
+    return "ReplicationService";
+  }
+
+  @Override
+  public Set<String> getDependencies() {
+    return ImmutableSet.of(WorkspaceServiceTermination.SERVICE_NAME);
+  }
+}
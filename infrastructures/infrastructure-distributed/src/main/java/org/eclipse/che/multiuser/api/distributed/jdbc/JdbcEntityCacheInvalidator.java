@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.core.db.jpa.eclipselink.CachedEntitiesChangedEvent;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
+import org.eclipse.che.multiuser.api.distributed.cache.DistributedEntityCacheInvalidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Database based alternative to {@link DistributedEntityCacheInvalidator}.
+ *
+ * <p>Changes of the entities read by the cached queries are announced with the PostgreSQL {@code
+ * NOTIFY} on the {@value #CHANNEL} channel, and other Che Servers invalidate the query results
+ * cached by their {@link EntityCacheConfigurator}. All the cached query results are invalidated
+ * when the notifications connection is (re)established, as notifications might have been missed
+ * meanwhile. Neither notifications nor events are listened to when the cache is disabled.
+ */
+@Singleton
+public class JdbcEntityCacheInvalidator implements EventSubscriber<CachedEntitiesChangedEvent> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcEntityCacheInvalidator.class);
+
+  static final String CHANNEL = "che_entity_cache_invalidation";
+
+  private final DataSource dataSource;
+  private final JdbcNotificationListener notificationListener;
+  private final EntityCacheConfigurator entityCache;
+  private final EventService eventService;
+  private final String origin = UUID.randomUUID().toString();
+  private final Gson gson = new Gson();
+
+  @Inject
+  public JdbcEntityCacheInvalidator(
+      DataSource dataSource,
+      JdbcNotificationListener notificationListener,
+      EntityCacheConfigurator entityCache,
+      EventService eventService) {
+    this.dataSource = dataSource;
+    this.notificationListener = notificationListener;
+    this.entityCache = entityCache;
+    this.eventService = eventService;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (!entityCache.isEnabled()) {
+      return;
+    }
+    notificationListener.listen(CHANNEL, this::onNotification);
+    eventService.subscribe(this, CachedEntitiesChangedEvent.class);
+  }
+
+  @Override
+  public void onEvent(CachedEntitiesChangedEvent event) {
+    String[] values = new String[event.getEntityClassNames().size() + 1];
+    values[0] = origin;
+    int i = 1;
+    for (String name : event.getEntityClassNames()) {
+      values[i++] = name;
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(true);
+      JdbcNotificationListener.sendNotification(connection, CHANNEL, gson.toJson(values));
+    } catch (SQLException ex) {
+      LOG.warn(
+          "Failed to invalidate cached results of queries of '{}' on other Che Servers. Cause: {}",
+          event.getEntityClassNames(),
+          ex.getMessage());
+    }
+  }
+
+  private void onNotification(String payload) {
+    if (payload == null) {
+      // connection is reestablished, missed notifications can't be recovered
+      entityCache.invalidateAllQueryResults();
+      return;
+    }
+    String[] values;
+    try {
+      values = gson.fromJson(payload, String[].class);
+    } catch (JsonParseException ex) {
+      values = null;
+    }
+    if (values == null || values.length == 0) {
+      LOG.warn("Unexpected entity cache invalidation notification '{}'", payload);
+      entityCache.invalidateAllQueryResults();
+    } else if (!origin.equals(values[0])) {
+      entityCache.invalidateQueryResults(Arrays.asList(values).subList(1, values.length));
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import java.sql.SQLException;
+
+/** Helps to handle errors of the database based cluster coordination. */
+final class JdbcErrors {
+
+  /** SQL state of the unique constraint violation, the same for PostgreSQL and H2. */
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  /** Returns true if the given exception is caused by the unique constraint violation. */
+  static boolean isUniqueViolation(SQLException ex) {
+    return UNIQUE_VIOLATION.equals(ex.getSQLState());
+  }
+
+  private JdbcErrors() {}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+
+/**
+ * Delivers PostgreSQL {@code NOTIFY} messages to the handlers of the channels.
+ *
+ * <p>A single dedicated connection listens to all the registered channels. When the connection is
+ * (re)established, handlers are called with {@code null} payload, as notifications sent while
+ * there was no connection are lost and handlers must consider that anything could have changed.
+ */
+@Singleton
+public class JdbcNotificationListener {
+
+  private static final Logger LOG = getLogger(JdbcNotificationListener.class);
+
+  private static final int POLL_TIMEOUT_MS = 1000;
+  private static final long RECONNECT_DELAY_MS = 5000;
+
+  private final DataSource dataSource;
+  private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+  private volatile boolean running;
+
+  @Inject
+  public JdbcNotificationListener(DataSource dataSource) {
+    this.dataSource = dataSource;
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("JdbcNotificationListener")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
+  }
+
+  /**
+   * Registers the handler of the notifications sent to the given channel.
+   *
+   * @param channel lower case channel name
+   * @param handler consumer of the notification payloads
+   */
+  public synchronized void listen(String channel, Consumer<String> handler) {
+    handlers.put(channel, handler);
+    if (!running) {
+      running = true;
+      executor.execute(this::run);
+    }
+  }
+
+  /**
+   * Sends notification using the given connection, the notification is delivered when the
+   * connection's transaction is committed.
+   */
+  public static void sendNotification(Connection connection, String channel, String payload)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+      statement.setString(1, channel);
+      statement.setString(2, payload);
+      statement.execute();
+    }
+  }
+
+  /** Stops listening to the notifications. */
+  public void shutdown() {
+    running = false;
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(POLL_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Unable to terminate database notifications listener");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Set<String> listening = new HashSet<>();
+        while (running) {
+          for (Map.Entry<String, Consumer<String>> entry : handlers.entrySet()) {
+            if (listening.add(entry.getKey())) {
+              try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + entry.getKey());
+              }
+              handle(entry.getValue(), null);
+            }
+          }
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              Consumer<String> handler = handlers.get(notification.getName());
+              if (handler != null) {
+                handle(handler, notification.getParameter());
+              }
+            }
+          }
+        }
+      } catch (SQLException ex) {
+        if (!running) {
+          return;
+        }
+        LOG.warn("Database notifications listener failed. Cause: {}", ex.getMessage());
+        try {
+          Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void handle(Consumer<String> handler, String payload) {
+    try {
+      handler.accept(payload);
+    } catch (RuntimeException ex) {
+      LOG.error(ex.getMessage(), ex);
+    }
+  }
+}
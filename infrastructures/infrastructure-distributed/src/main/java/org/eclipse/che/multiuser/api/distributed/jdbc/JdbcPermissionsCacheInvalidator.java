@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.distributed.permission.DistributedPermissionsCacheInvalidator;
+import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Database based alternative to {@link DistributedPermissionsCacheInvalidator}.
+ *
+ * <p>Changes of permissions made on this Che Server are announced with the PostgreSQL {@code
+ * NOTIFY} on the {@value #CHANNEL} channel, and other Che Servers invalidate the permissions cached
+ * by their {@link PermissionCheckerImpl}. All the cached permissions are invalidated when the
+ * notifications connection is (re)established, as notifications might have been missed meanwhile.
+ */
+@Singleton
+public class JdbcPermissionsCacheInvalidator implements EventSubscriber<PermissionsEvent> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcPermissionsCacheInvalidator.class);
+
+  static final String CHANNEL = "che_permissions_invalidation";
+
+  private final DataSource dataSource;
+  private final JdbcNotificationListener notificationListener;
+  private final PermissionCheckerImpl permissionChecker;
+  private final EventService eventService;
+  private final String origin = UUID.randomUUID().toString();
+  private final Gson gson = new Gson();
+
+  @Inject
+  public JdbcPermissionsCacheInvalidator(
+      DataSource dataSource,
+      JdbcNotificationListener notificationListener,
+      PermissionCheckerImpl permissionChecker,
+      EventService eventService) {
+    this.dataSource = dataSource;
+    this.notificationListener = notificationListener;
+    this.permissionChecker = permissionChecker;
+    this.eventService = eventService;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    notificationListener.listen(CHANNEL, this::onNotification);
+    eventService.subscribe(this, PermissionsEvent.class);
+  }
+
+  @Override
+  public void onEvent(PermissionsEvent event) {
+    Permissions permissions = event.getPermissions();
+    String payload =
+        gson.toJson(
+            new String[] {
+              origin,
+              permissions.getUserId(),
+              permissions.getDomainId(),
+              permissions.getInstanceId()
+            });
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(true);
+      JdbcNotificationListener.sendNotification(connection, CHANNEL, payload);
+    } catch (SQLException ex) {
+      LOG.warn(
+          "Failed to invalidate permissions of user '{}' to '{}' of domain '{}' on other Che"
+              + " Servers. Cause: {}",
+          permissions.getUserId(),
+          permissions.getInstanceId(),
+          permissions.getDomainId(),
+          ex.getMessage());
+    }
+  }
+
+  private void onNotification(String payload) {
+    if (payload == null) {
+      // connection is reestablished, missed notifications can't be recovered
+      permissionChecker.invalidateAll();
+      return;
+    }
+    String[] values;
+    try {
+      values = gson.fromJson(payload, String[].class);
+    } catch (JsonParseException ex) {
+      values = null;
+    }
+    if (values == null || values.length != 4) {
+      LOG.warn("Unexpected permissions invalidation notification '{}'", payload);
+      permissionChecker.invalidateAll();
+    } else if (!origin.equals(values[0])) {
+      permissionChecker.invalidate(values[1], values[2], values[3]);
+    }
+  }
+}
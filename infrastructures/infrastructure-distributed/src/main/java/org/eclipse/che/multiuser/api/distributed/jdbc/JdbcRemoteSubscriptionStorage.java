@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Database based implementation of {@link RemoteSubscriptionStorage}.
+ *
+ * <p>Subscriptions are stored in the {@code che_remote_subscription} table, one row per method,
+ * endpoint and scope, as an endpoint may subscribe to the same method with different scopes, e.g.
+ * to the statuses of different workspaces. Subscriptions of a method are cached locally until a
+ * change of the method's subscriptions is announced with the PostgreSQL {@code NOTIFY} on the
+ * {@value #CHANNEL} channel.
+ */
+@Singleton
+public class JdbcRemoteSubscriptionStorage implements RemoteSubscriptionStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcRemoteSubscriptionStorage.class);
+
+  static final String CHANNEL = "che_remote_subscription";
+
+  private static final Type SCOPE_TYPE = new TypeToken<Map<String, String>>() {}.getType();
+
+  private final DataSource dataSource;
+  private final JdbcNotificationListener notificationListener;
+  private final JdbcClusterMembership clusterMembership;
+  private final Gson gson = new Gson();
+  private final Map<String, Set<RemoteSubscriptionContext>> cache = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation, so that concurrently loaded stale data is not cached. */
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Creates the storage. The storage joins the cluster on initialization, so that subscriptions
+   * left by the previous run of the cluster are removed before the storage is used.
+   */
+  @Inject
+  public JdbcRemoteSubscriptionStorage(
+      DataSource dataSource,
+      JdbcNotificationListener notificationListener,
+      JdbcClusterMembership clusterMembership) {
+    this.dataSource = dataSource;
+    this.notificationListener = notificationListener;
+    this.clusterMembership = clusterMembership;
+  }
+
+  @PostConstruct
+  void init() {
+    clusterMembership.join();
+    notificationListener.listen(CHANNEL, this::invalidate);
+  }
+
+  @Override
+  public Set<RemoteSubscriptionContext> getByMethod(String method) {
+    Set<RemoteSubscriptionContext> cached = cache.get(method);
+    if (cached != null) {
+      return cached;
+    }
+    long loadedAt = generation.get();
+    Set<RemoteSubscriptionContext> loaded;
+    try {
+      loaded = Collections.unmodifiableSet(load(method));
+    } catch (SQLException ex) {
+      LOG.error("Failed to fetch subscriptions of method '{}'. Cause: {}", method, ex.getMessage());
+      return Collections.emptySet();
+    }
+    if (generation.get() == loadedAt) {
+      cache.putIfAbsent(method, loaded);
+    }
+    return loaded;
+  }
+
+  @Override
+  public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
+    modify(
+        method,
+        "INSERT INTO che_remote_subscription (method, endpoint_id, scope) VALUES (?, ?, ?)",
+        remoteSubscriptionContext.getEndpointId(),
+        toJson(remoteSubscriptionContext.getScope()));
+  }
+
+  /** Removes subscriptions of the endpoint to the method with any scope. */
+  @Override
+  public void removeSubscription(String method, String endpointId) {
+    modify(
+        method,
+        "DELETE FROM che_remote_subscription WHERE method = ? AND endpoint_id = ?",
+        endpointId);
+  }
+
+  private void modify(String method, String sql, String... parameters) {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        statement.setString(1, method);
+        for (int i = 0; i < parameters.length; i++) {
+          statement.setString(i + 2, parameters[i]);
+        }
+        statement.executeUpdate();
+        JdbcNotificationListener.sendNotification(connection, CHANNEL, method);
+        connection.commit();
+      } catch (SQLException ex) {
+        connection.rollback();
+        if (!JdbcErrors.isUniqueViolation(ex)) {
+          throw ex;
+        }
+        // the same subscription already exists
+      }
+    } catch (SQLException ex) {
+      LOG.error(
+          "Failed to update subscriptions of method '{}'. Cause: {}", method, ex.getMessage());
+    } finally {
+      invalidate(method);
+    }
+  }
+
+  private Set<RemoteSubscriptionContext> load(String method) throws SQLException {
+    Set<RemoteSubscriptionContext> subscriptions = new HashSet<>();
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "SELECT endpoint_id, scope FROM che_remote_subscription WHERE method = ?")) {
+      statement.setString(1, method);
+      try (ResultSet result = statement.executeQuery()) {
+        while (result.next()) {
+          Map<String, String> scope = gson.fromJson(result.getString(2), SCOPE_TYPE);
+          subscriptions.add(new RemoteSubscriptionContext(result.getString(1), scope));
+        }
+      }
+    }
+    return subscriptions;
+  }
+
+  /** Serializes the scope so that equal scopes are always serialized the same way. */
+  private String toJson(Map<String, String> scope) {
+    return gson.toJson(scope == null ? Collections.emptyMap() : new TreeMap<>(scope));
+  }
+
+  /** Drops cached subscriptions of the method, or all of them if the method is null. */
+  private void invalidate(String method) {
+    generation.incrementAndGet();
+    if (method == null) {
+      cache.clear();
+    } else {
+      cache.remove(method);
+    }
+  }
+}
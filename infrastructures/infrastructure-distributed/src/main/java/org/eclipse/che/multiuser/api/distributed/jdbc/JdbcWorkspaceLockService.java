@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.api.workspace.server.WorkspaceLockService;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.core.db.UnpooledConnections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PostgreSQL advisory locks based implementation of {@link WorkspaceLockService}.
+ *
+ * <p>Advisory locks belong to a database session, so all the locks of this Che Server are held in a
+ * single dedicated session instead of occupying a pooled connection per lock. The session's
+ * connection doesn't belong to the pool, so the pool never reclaims it. Threads of this Che Server
+ * are coordinated locally, while the session holds the shared advisory lock of a key as long as
+ * there are local readers of the key and the exclusive one while there is a local writer. So only
+ * the first reader and the writer make database round trips. Advisory locks are acquired with the
+ * {@code pg_try_advisory_lock} functions retried until the lock timeout passes, so waiting for a
+ * lock held by another Che Server doesn't block the session.
+ *
+ * <p>The write lock is reentrant and its holder may acquire read locks of the same key. A read
+ * lock may be upgraded to the write lock too: readers waiting for the write lock of a key don't
+ * block other writers of the key, so their read sections must expect the data to change while
+ * they wait for the write lock.
+ *
+ * <p>When the session fails or is found invalid by the periodic check, all the advisory locks of
+ * this Che Server are lost. Local state of the locks is not trusted then: the next reader or
+ * writer of a key acquires its advisory lock in a new session, while the reentrant acquisitions
+ * by the threads which held the lost lock fail.
+ *
+ * <p>Lock keys are workspace ids. Once this Che Server acquires the advisory lock of a key, the
+ * status of the workspace is reloaded by {@link JdbcWorkspaceStatusCache}, as the notification
+ * about its change made by the previous holder of the lock may not be delivered yet.
+ */
+@Singleton
+public class JdbcWorkspaceLockService implements WorkspaceLockService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcWorkspaceLockService.class);
+
+  private static final long LOCK_TIMEOUT_MS = 60_000;
+  private static final long MIN_RETRY_DELAY_MS = 10;
+  private static final long MAX_RETRY_DELAY_MS = 500;
+  private static final int VALIDATION_TIMEOUT_SEC = 5;
+
+  private final DataSource dataSource;
+  private final JdbcWorkspaceStatusCache statusCache;
+  private final long lockTimeoutMs;
+  private final Map<String, KeyLock> locks = new ConcurrentHashMap<>();
+  private final Object sessionLock = new Object();
+  private Connection session;
+  private long lastSessionId;
+  /** Identifier of the open session, 0 if there is no session. */
+  private volatile long sessionId;
+
+  @Inject
+  public JdbcWorkspaceLockService(DataSource dataSource, JdbcWorkspaceStatusCache statusCache) {
+    this(dataSource, statusCache, LOCK_TIMEOUT_MS);
+  }
+
+  @VisibleForTesting
+  JdbcWorkspaceLockService(
+      DataSource dataSource, JdbcWorkspaceStatusCache statusCache, long lockTimeoutMs) {
+    this.dataSource = dataSource;
+    this.statusCache = statusCache;
+    this.lockTimeoutMs = lockTimeoutMs;
+  }
+
+  @Override
+  public Unlocker readLock(String key) {
+    final Thread current = Thread.currentThread();
+    final KeyLock lock = withLock(key, l -> l.enterReader(current));
+    return () -> lock.exitReader(current);
+  }
+
+  @Override
+  public Unlocker writeLock(String key) {
+    final Thread current = Thread.currentThread();
+    final KeyLock lock = withLock(key, l -> l.enterWriter(current));
+    return lock::exitWriter;
+  }
+
+  /** Closes the session, which releases all the advisory locks of this Che Server. */
+  public void shutdown() {
+    synchronized (sessionLock) {
+      closeSession();
+    }
+  }
+
+  /** Closes the session if it's lost, so the locks held in it are acquired again when needed. */
+  @ScheduleDelay(initialDelay = 10, delay = 10)
+  void checkSession() {
+    synchronized (sessionLock) {
+      try {
+        if (session == null || session.isValid(VALIDATION_TIMEOUT_SEC)) {
+          return;
+        }
+      } catch (SQLException ex) {
+        LOG.warn("Failed to validate workspace locks session. Cause: {}", ex.getMessage());
+      }
+      LOG.error(
+          "Database session of workspace locks is lost, locks held by this Che Server are lost");
+      closeSession();
+    }
+  }
+
+  /**
+   * Calls the advisory lock function in the session of the locks. Returns identifier of the
+   * session if the function succeeds, or 0 if it returns false.
+   */
+  private long callInSession(String function, long lockId) throws SQLException {
+    synchronized (sessionLock) {
+      if (session == null) {
+        session = UnpooledConnections.open(dataSource);
+        session.setAutoCommit(true);
+        sessionId = ++lastSessionId;
+      }
+      try {
+        return call(session, function, lockId) ? sessionId : 0;
+      } catch (SQLException ex) {
+        LOG.error(
+            "Database session of workspace locks failed, locks held by this Che Server are lost");
+        closeSession();
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Calls the advisory unlock function in the given session, does nothing if the session is lost
+   * as its locks are released by the database.
+   */
+  private void releaseInSession(String function, long lockId, long heldSessionId)
+      throws SQLException {
+    synchronized (sessionLock) {
+      if (heldSessionId == sessionId) {
+        callInSession(function, lockId);
+      }
+    }
+  }
+
+  private void closeSession() {
+    if (session == null) {
+      return;
+    }
+    sessionId = 0;
+    try {
+      closeSession(session);
+    } catch (SQLException ex) {
+      LOG.warn("Failed to close workspace locks session. Cause: {}", ex.getMessage());
+    }
+    session = null;
+  }
+
+  /**
+   * Applies the given action to the lock of the key, retrying with a new lock if the action was
+   * applied to a lock which had been evicted concurrently.
+   */
+  private KeyLock withLock(String key, Predicate<KeyLock> action) {
+    while (true) {
+      final KeyLock lock = locks.computeIfAbsent(key, KeyLock::new);
+      if (action.test(lock)) {
+        return lock;
+      }
+    }
+  }
+
+  /** Returns the result of the given advisory lock function, true if it returns nothing. */
+  static boolean call(Connection connection, String function, long lockId) throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement("SELECT " + function + "(?)")) {
+      statement.setLong(1, lockId);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() && !Boolean.FALSE.equals(result.getObject(1));
+      }
+    }
+  }
+
+  /**
+   * Releases all the advisory locks of the session and closes it. The locks must be released
+   * explicitly, as a pooled connection keeps the session open when it is closed.
+   */
+  static void closeSession(Connection session) throws SQLException {
+    try (Connection closed = session;
+        PreparedStatement statement = session.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+      statement.execute();
+    }
+  }
+
+  static long lockId(String key) {
+    return Hashing.murmur3_128().hashString(key, UTF_8).asLong();
+  }
+
+  /** Local state of a read/write lock. All the methods return false if the lock is evicted. */
+  private class KeyLock {
+    final String key;
+    final long lockId;
+    final Map<Thread, Integer> readers = new HashMap<>();
+    final Set<Thread> upgrading = new HashSet<>();
+    Thread writer;
+    int writeHolds;
+    /** Whether the session holds the shared advisory lock of the key. */
+    boolean shared;
+    /** Whether the session holds the exclusive advisory lock of the key. */
+    boolean exclusive;
+    /** Identifier of the session which holds the advisory locks of the key. */
+    long heldSessionId;
+    /** Whether the exclusive advisory lock of the current writer is lost with the session. */
+    boolean writerLost;
+    /** Whether the session is acquiring an advisory lock of the key. */
+    boolean acquiring;
+    boolean evicted;
+
+    KeyLock(String key) {
+      this.key = key;
+      this.lockId = lockId(key);
+    }
+
+    synchronized boolean enterReader(Thread thread) {
+      boolean interrupted = false;
+      // readers which already hold the lock are not blocked, the same as writer's own reads
+      while (!evicted
+          && writer != thread
+          && !readers.containsKey(thread)
+          && (writer != null || acquiring)) {
+        interrupted |= awaitUninterruptibly(0);
+      }
+      if (interrupted) {
+        thread.interrupt();
+      }
+      if (evicted) {
+        return false;
+      }
+      checkLost();
+      if (writer == thread) {
+        if (writerLost) {
+          throw lostException();
+        }
+      } else if (writer == null && !shared) {
+        // the first reader of this Che Server or the first one after the session is lost
+        try {
+          acquire("pg_try_advisory_lock_shared");
+        } catch (RuntimeException ex) {
+          evictIfIdle();
+          throw ex;
+        }
+        shared = true;
+      }
+      readers.merge(thread, 1, Integer::sum);
+      return true;
+    }
+
+    synchronized void exitReader(Thread thread) {
+      readers.computeIfPresent(thread, (k, holds) -> holds == 1 ? null : holds - 1);
+      checkLost();
+      if (readers.isEmpty() && shared) {
+        shared = false;
+        release("pg_advisory_unlock_shared", heldSessionId);
+      }
+      notifyAll();
+      evictIfIdle();
+    }
+
+    synchronized boolean enterWriter(Thread thread) {
+      if (evicted) {
+        return false;
+      }
+      if (writer == thread) {
+        checkLost();
+        if (writerLost) {
+          throw lostException();
+        }
+        writeHolds++;
+        return true;
+      }
+      if (readers.containsKey(thread)) {
+        upgrading.add(thread);
+        notifyAll();
+      }
+      boolean interrupted = false;
+      try {
+        while (!evicted && (writer != null || acquiring || hasReadersExcept(thread))) {
+          interrupted |= awaitUninterruptibly(0);
+        }
+      } finally {
+        upgrading.remove(thread);
+      }
+      if (interrupted) {
+        thread.interrupt();
+      }
+      if (evicted) {
+        return false;
+      }
+      writer = thread;
+      writeHolds = 1;
+      writerLost = false;
+      try {
+        checkLost();
+        if (shared) {
+          // only readers waiting for the write lock are left, they don't block other writers
+          shared = false;
+          release("pg_advisory_unlock_shared", heldSessionId);
+        }
+        acquire("pg_try_advisory_lock");
+        exclusive = true;
+      } catch (RuntimeException ex) {
+        writer = null;
+        writeHolds = 0;
+        restoreShared();
+        notifyAll();
+        evictIfIdle();
+        throw ex;
+      }
+      return true;
+    }
+
+    synchronized void exitWriter() {
+      if (--writeHolds > 0) {
+        return;
+      }
+      writer = null;
+      checkLost();
+      if (writerLost) {
+        writerLost = false;
+      } else {
+        final long exclusiveSessionId = heldSessionId;
+        // the session holds the exclusive lock, so the shared one is acquired immediately
+        restoreShared();
+        release("pg_advisory_unlock", exclusiveSessionId);
+      }
+      exclusive = false;
+      notifyAll();
+      evictIfIdle();
+    }
+
+    /**
+     * Forgets the advisory locks of the key if the session which held them is lost, so they are
+     * acquired again in a new session instead of being trusted.
+     */
+    private void checkLost() {
+      if ((shared || exclusive) && heldSessionId != sessionId) {
+        LOG.error("Lock of workspace '{}' is lost along with the database session", key);
+        shared = false;
+        if (exclusive) {
+          exclusive = false;
+          writerLost = true;
+        }
+      }
+    }
+
+    private RuntimeException lostException() {
+      return new RuntimeException(
+          "Lock of workspace '"
+              + key
+              + "' held by this thread is lost along with the database session");
+    }
+
+    /** Acquires the shared advisory lock for the readers left without it, if there are any. */
+    private void restoreShared() {
+      if (readers.isEmpty() || shared) {
+        return;
+      }
+      try {
+        final long acquiredSessionId = callInSession("pg_try_advisory_lock_shared", lockId);
+        if (acquiredSessionId != 0) {
+          shared = true;
+          heldSessionId = acquiredSessionId;
+        }
+      } catch (SQLException ex) {
+        LOG.error("Failed to keep read lock of workspace '{}'. Cause: {}", key, ex.getMessage());
+      }
+      if (!shared) {
+        LOG.error("Readers of workspace '{}' are left without the read lock", key);
+      }
+    }
+
+    /**
+     * Acquires the advisory lock of the key with the given function, waiting on this monitor
+     * between the attempts, so the lock's state may change meanwhile.
+     */
+    private void acquire(String function) {
+      acquiring = true;
+      try {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lockTimeoutMs);
+        long delayMs = MIN_RETRY_DELAY_MS;
+        boolean interrupted = false;
+        long acquiredSessionId;
+        while ((acquiredSessionId = callInSession(function, lockId)) == 0) {
+          final long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+          if (remainingMs <= 0) {
+            throw new RuntimeException(
+                "Failed to acquire workspace lock '" + key + "' in " + lockTimeoutMs + "ms");
+          }
+          interrupted |= awaitUninterruptibly(Math.min(delayMs, remainingMs));
+          delayMs = Math.min(delayMs * 2, MAX_RETRY_DELAY_MS);
+        }
+        heldSessionId = acquiredSessionId;
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      } catch (SQLException ex) {
+        throw new RuntimeException(
+            "Failed to acquire workspace lock '" + key + "'. Cause: " + ex.getMessage(), ex);
+      } finally {
+        acquiring = false;
+        notifyAll();
+      }
+      statusCache.invalidate(key);
+    }
+
+    private void release(String function, long releasedSessionId) {
+      try {
+        releaseInSession(function, lockId, releasedSessionId);
+      } catch (SQLException ex) {
+        LOG.error("Failed to release workspace lock '{}'. Cause: {}", key, ex.getMessage());
+      }
+    }
+
+    private boolean hasReadersExcept(Thread thread) {
+      for (Thread reader : readers.keySet()) {
+        if (reader != thread && !upgrading.contains(reader)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Waits for the given time or, if it is 0, until notified. Returns true if interrupted. */
+    private boolean awaitUninterruptibly(long timeoutMs) {
+      try {
+        wait(timeoutMs);
+        return false;
+      } catch (InterruptedException ex) {
+        return true;
+      }
+    }
+
+    private void evictIfIdle() {
+      if (readers.isEmpty() && writer == null && !shared && !acquiring) {
+        evicted = true;
+        locks.remove(key, this);
+        notifyAll();
+      }
+    }
+  }
+}
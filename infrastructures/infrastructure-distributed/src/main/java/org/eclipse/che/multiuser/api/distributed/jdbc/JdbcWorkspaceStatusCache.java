@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import com.google.common.util.concurrent.Striped;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.cache.ObservableWorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.cache.StatusChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Database based implementation of {@link WorkspaceStatusCache}.
+ *
+ * <p>Statuses are stored in the {@code che_workspace_status} table, so all the Che Servers of the
+ * cluster share them without any additional replication. Every change is announced with the
+ * PostgreSQL {@code NOTIFY} on the {@value #CHANNEL} channel in the same transaction, so the
+ * {@link StatusChangeListener listeners} are notified when the change is committed.
+ *
+ * <p>Each Che Server keeps a local copy of the statuses, so reads don't query the database. The
+ * copy is loaded once, changes made by this Che Server are applied to it when they are committed,
+ * and the statuses changed by other Che Servers are reloaded on the next read after the change
+ * notification is received. As notifications are delivered asynchronously, the status of a
+ * workspace is also reloaded when {@link JdbcWorkspaceLockService} acquires its lock, so the
+ * holder of the workspace lock always reads the latest status.
+ */
+@Singleton
+public class JdbcWorkspaceStatusCache implements ObservableWorkspaceStatusCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcWorkspaceStatusCache.class);
+
+  static final String CHANNEL = "che_workspace_status";
+
+  private static final char PAYLOAD_SEPARATOR = ':';
+
+  private final DataSource dataSource;
+  private final JdbcNotificationListener notificationListener;
+  private final JdbcClusterMembership clusterMembership;
+  private final Set<StatusChangeListener> listeners = new CopyOnWriteArraySet<>();
+  private final String origin = UUID.randomUUID().toString();
+  private final ConcurrentMap<String, WorkspaceStatus> statuses = new ConcurrentHashMap<>();
+  private final Map<String, WorkspaceStatus> statusesView = Collections.unmodifiableMap(statuses);
+  /** Ids of the workspaces which statuses must be reloaded before they are read. */
+  private final Set<String> stale = ConcurrentHashMap.newKeySet();
+  /** Full loading of the statuses excludes loading and changing statuses of single workspaces. */
+  private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+  /** Serializes loading and changing statuses of the same workspace. */
+  private final Striped<Lock> workspaceLocks = Striped.lock(64);
+  private volatile boolean loaded;
+
+  /**
+   * Creates the cache. The cache joins the cluster on initialization, so that statuses left by the
+   * previous run of the cluster are removed before the cache is used.
+   */
+  @Inject
+  public JdbcWorkspaceStatusCache(
+      DataSource dataSource,
+      JdbcNotificationListener notificationListener,
+      JdbcClusterMembership clusterMembership) {
+    this.dataSource = dataSource;
+    this.notificationListener = notificationListener;
+    this.clusterMembership = clusterMembership;
+  }
+
+  @PostConstruct
+  void init() {
+    clusterMembership.join();
+    notificationListener.listen(CHANNEL, this::onNotification);
+  }
+
+  @Override
+  public WorkspaceStatus get(String workspaceId) {
+    ensureLoaded();
+    if (stale.contains(workspaceId)) {
+      reload(workspaceId);
+    }
+    return statuses.get(workspaceId);
+  }
+
+  @Override
+  public WorkspaceStatus replace(String workspaceId, WorkspaceStatus newStatus) {
+    return change(
+        "replace",
+        workspaceId,
+        connection -> {
+          WorkspaceStatus previous = select(connection, workspaceId, true);
+          if (previous == null) {
+            return Change.none(null);
+          }
+          update(connection, workspaceId, newStatus);
+          sendNotification(connection, workspaceId, newStatus);
+          return Change.of(previous, newStatus);
+        });
+  }
+
+  @Override
+  public boolean replace(
+      String workspaceId, WorkspaceStatus prevStatus, WorkspaceStatus newStatus) {
+    return change(
+        "replace",
+        workspaceId,
+        connection -> {
+          try (PreparedStatement statement =
+              connection.prepareStatement(
+                  "UPDATE che_workspace_status SET status = ? "
+                      + "WHERE workspace_id = ? AND status = ?")) {
+            statement.setString(1, newStatus.name());
+            statement.setString(2, workspaceId);
+            statement.setString(3, prevStatus.name());
+            if (statement.executeUpdate() != 1) {
+              return Change.none(false);
+            }
+          }
+          sendNotification(connection, workspaceId, newStatus);
+          return Change.of(true, newStatus);
+        });
+  }
+
+  @Override
+  public WorkspaceStatus remove(String workspaceId) {
+    return change(
+        "remove",
+        workspaceId,
+        connection -> {
+          WorkspaceStatus previous = select(connection, workspaceId, true);
+          if (previous == null) {
+            return Change.none(null);
+          }
+          try (PreparedStatement statement =
+              connection.prepareStatement(
+                  "DELETE FROM che_workspace_status WHERE workspace_id = ?")) {
+            statement.setString(1, workspaceId);
+            statement.executeUpdate();
+          }
+          sendNotification(connection, workspaceId, WorkspaceStatus.STOPPED);
+          return Change.of(previous, null);
+        });
+  }
+
+  @Override
+  public WorkspaceStatus putIfAbsent(String workspaceId, WorkspaceStatus status) {
+    return change(
+        "put",
+        workspaceId,
+        connection -> {
+          WorkspaceStatus existing = select(connection, workspaceId, false);
+          if (existing != null) {
+            return Change.none(existing);
+          }
+          Savepoint savepoint = connection.setSavepoint();
+          try (PreparedStatement statement =
+              connection.prepareStatement(
+                  "INSERT INTO che_workspace_status (workspace_id, status) VALUES (?, ?)")) {
+            statement.setString(1, workspaceId);
+            statement.setString(2, status.name());
+            statement.executeUpdate();
+          } catch (SQLException ex) {
+            if (!JdbcErrors.isUniqueViolation(ex)) {
+              throw ex;
+            }
+            // inserted concurrently by another Che Server
+            connection.rollback(savepoint);
+            return Change.none(select(connection, workspaceId, false));
+          }
+          sendNotification(connection, workspaceId, status);
+          return Change.of(null, status);
+        });
+  }
+
+  @Override
+  public Map<String, WorkspaceStatus> asMap() {
+    ensureLoaded();
+    for (String workspaceId : stale) {
+      reload(workspaceId);
+    }
+    return statusesView;
+  }
+
+  @Override
+  public void subscribe(StatusChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  /** Makes the next read of the workspace status load it from the database. */
+  void invalidate(String workspaceId) {
+    stale.add(workspaceId);
+  }
+
+  /** Makes the next read load all the statuses from the database. */
+  private void invalidateAll() {
+    loadLock.writeLock().lock();
+    try {
+      loaded = false;
+    } finally {
+      loadLock.writeLock().unlock();
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loadLock.writeLock().lock();
+    try {
+      if (loaded) {
+        return;
+      }
+      stale.clear();
+      statuses.clear();
+      try (Connection connection = dataSource.getConnection();
+          PreparedStatement statement =
+              connection.prepareStatement("SELECT workspace_id, status FROM che_workspace_status");
+          ResultSet result = statement.executeQuery()) {
+        while (result.next()) {
+          statuses.put(result.getString(1), WorkspaceStatus.valueOf(result.getString(2)));
+        }
+      }
+      loaded = true;
+    } catch (SQLException ex) {
+      statuses.clear();
+      throw new RuntimeException("Failed to fetch workspace statuses. Cause: " + ex.getMessage());
+    } finally {
+      loadLock.writeLock().unlock();
+    }
+  }
+
+  private void reload(String workspaceId) {
+    final Lock workspaceLock = workspaceLocks.get(workspaceId);
+    loadLock.readLock().lock();
+    workspaceLock.lock();
+    try (Connection connection = dataSource.getConnection()) {
+      // the status might have been reloaded concurrently
+      if (stale.remove(workspaceId)) {
+        apply(workspaceId, select(connection, workspaceId, false));
+      }
+    } catch (SQLException ex) {
+      stale.add(workspaceId);
+      throw new RuntimeException(errorMessage("get", workspaceId, ex), ex);
+    } finally {
+      workspaceLock.unlock();
+      loadLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Runs the transaction changing the workspace status and applies the change to the local copy
+   * once the transaction is committed.
+   */
+  private <T> T change(String operation, String workspaceId, Transaction<T> transaction) {
+    final Lock workspaceLock = workspaceLocks.get(workspaceId);
+    loadLock.readLock().lock();
+    workspaceLock.lock();
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      final Change<T> change;
+      try {
+        change = transaction.run(connection);
+        connection.commit();
+      } catch (SQLException ex) {
+        connection.rollback();
+        throw ex;
+      }
+      if (change.changed && loaded) {
+        apply(workspaceId, change.status);
+      }
+      return change.result;
+    } catch (SQLException ex) {
+      throw new RuntimeException(errorMessage(operation, workspaceId, ex), ex);
+    } finally {
+      workspaceLock.unlock();
+      loadLock.readLock().unlock();
+    }
+  }
+
+  private void apply(String workspaceId, WorkspaceStatus status) {
+    if (status == null) {
+      statuses.remove(workspaceId);
+    } else {
+      statuses.put(workspaceId, status);
+    }
+  }
+
+  private void onNotification(String payload) {
+    if (payload == null) {
+      // connection is reestablished, missed notifications can't be recovered
+      invalidateAll();
+      return;
+    }
+    int originEndIdx = payload.indexOf(PAYLOAD_SEPARATOR);
+    int statusStartIdx = payload.lastIndexOf(PAYLOAD_SEPARATOR);
+    if (originEndIdx < 0 || originEndIdx == statusStartIdx) {
+      LOG.warn("Unexpected workspace status notification '{}'", payload);
+      return;
+    }
+    String workspaceId = payload.substring(originEndIdx + 1, statusStartIdx);
+    WorkspaceStatus status = WorkspaceStatus.valueOf(payload.substring(statusStartIdx + 1));
+    if (!origin.equals(payload.substring(0, originEndIdx))) {
+      invalidate(workspaceId);
+    }
+    for (StatusChangeListener listener : listeners) {
+      try {
+        listener.statusChanged(workspaceId, status);
+      } catch (RuntimeException ex) {
+        LOG.error(ex.getMessage(), ex);
+      }
+    }
+  }
+
+  private void sendNotification(Connection connection, String workspaceId, WorkspaceStatus status)
+      throws SQLException {
+    JdbcNotificationListener.sendNotification(
+        connection,
+        CHANNEL,
+        origin + PAYLOAD_SEPARATOR + workspaceId + PAYLOAD_SEPARATOR + status.name());
+  }
+
+  private static WorkspaceStatus select(Connection connection, String workspaceId, boolean lock)
+      throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            "SELECT status FROM che_workspace_status WHERE workspace_id = ?"
+                + (lock ? " FOR UPDATE" : ""))) {
+      statement.setString(1, workspaceId);
+      try (ResultSet result = statement.executeQuery()) {
+        return result.next() ? WorkspaceStatus.valueOf(result.getString(1)) : null;
+      }
+    }
+  }
+
+  private static void update(Connection connection, String workspaceId, WorkspaceStatus status)
+      throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            "UPDATE che_workspace_status SET status = ? WHERE workspace_id = ?")) {
+      statement.setString(1, status.name());
+      statement.setString(2, workspaceId);
+      statement.executeUpdate();
+    }
+  }
+
+  private static String errorMessage(String operation, String workspaceId, SQLException ex) {
+    return String.format(
+        "Failed to %s status of workspace '%s'. Cause: %s",
+        operation, workspaceId, ex.getMessage());
+  }
+
+  private interface Transaction<T> {
+    Change<T> run(Connection connection) throws SQLException;
+  }
+
+  /** Result of a transaction along with the workspace status it leaves, null if removed. */
+  private static class Change<T> {
+    final T result;
+    final boolean changed;
+    final WorkspaceStatus status;
+
+    private Change(T result, boolean changed, WorkspaceStatus status) {
+      this.result = result;
+      this.changed = changed;
+      this.status = status;
+    }
+
+    static <T> Change<T> of(T result, WorkspaceStatus status) {
+      return new Change<>(result, true, status);
+    }
+
+    static <T> Change<T> none(T result) {
+      return new Change<>(result, false, null);
+    }
+  }
+}
@@ -11,20 +11,54 @@
  */
 package org.eclipse.che.multiuser.api.distributed.lock;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.WorkspaceLockService;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.jgroups.Address;
 import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
 import org.jgroups.blocks.locking.LockService;
+import org.jgroups.util.Rsp;
+import org.jgroups.util.RspList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * JGroups based implementation of {@link WorkspaceLockService}.
  *
+ * <p>Write locks are cluster wide exclusive locks provided by {@link LockService}. Read locks are
+ * acquired locally, without any network round trips: each Che Server keeps a read gate per key
+ * which is closed by the holder of the write lock. After acquiring the cluster lock a writer
+ * closes the gate of the key on every Che Server of the cluster and waits for the current readers
+ * to leave, so when the write lock is acquired there are no readers of the key in the cluster and
+ * new ones wait until the writer opens the gates again. If the gates can't be closed in time the
+ * write lock acquisition fails. Every closing is identified by a token, so repeated or reordered
+ * gate messages are harmless. Gates closed by a Che Server which left the cluster are opened on
+ * the view change, while a Che Server joining the cluster closes the gates of the write locks
+ * currently held by the other members before it starts serving readers.
+ *
+ * <p>The write lock is reentrant and its holder may acquire read locks of the same key. A read
+ * lock may be upgraded to the write lock too: readers waiting for the write lock of a key don't
+ * block other writers of the key, so their read sections must expect the data to change while
+ * they wait for the write lock.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -33,45 +67,92 @@ public class JGroupsWorkspaceLockService implements WorkspaceLockService {
 
   private static final String CHANNEL_NAME = "WorkspaceLocks";
 
+  private static final long GATE_TIMEOUT_MS = 60_000;
+  private static final Class<?>[] GATE_TYPES = {String.class, Address.class, long.class};
+
   private final LockService lockService;
   private final JChannel channel;
+  private final RpcDispatcher dispatcher;
+  private final long gateTimeoutMs;
+  private final Map<String, ReadGate> gates = new ConcurrentHashMap<>();
+  private final AtomicLong tokens = new AtomicLong();
+  private final LockStatistics readStatistics = new LockStatistics();
+  private final LockStatistics writeStatistics = new LockStatistics();
 
   @Inject
   public JGroupsWorkspaceLockService(@Named("jgroups.config.file") String confFile) {
+    this(confFile, GATE_TIMEOUT_MS);
+  }
+
+  @VisibleForTesting
+  JGroupsWorkspaceLockService(String confFile, long gateTimeoutMs) {
+    this.gateTimeoutMs = gateTimeoutMs;
     try {
       this.channel = new JChannel(confFile);
       this.lockService = new LockService(channel);
+      this.dispatcher =
+          new RpcDispatcher(channel, new GateEndpoint())
+              .setMembershipListener(
+                  new ReceiverAdapter() {
+                    @Override
+                    public void viewAccepted(View view) {
+                      openGatesOfLeftMembers(view);
+                    }
+                  });
       channel.connect(CHANNEL_NAME);
     } catch (Exception ex) {
       throw new RuntimeException(ex);
     }
+    syncGates();
   }
 
   @Override
   public Unlocker readLock(String key) {
-    // JGroups lock service does not contain an associated pair of read/write locks, that's why
-    // there no way provide a reliable version of a read lock.
-    return writeLock(key);
+    final long start = System.nanoTime();
+    final Thread current = Thread.currentThread();
+    final ReadGate gate = withGate(key, g -> g.enterReader(current));
+    readStatistics.acquired(System.nanoTime() - start);
+    return () -> gate.exitReader(current);
   }
 
   @Override
   public Unlocker writeLock(String key) {
-    final Lock lock = lockService.getLock(key);
-    lock.lock();
-    return new UnlockerImpl(lock);
-  }
-
-  private class UnlockerImpl implements Unlocker {
-    private final Lock lock;
-
-    public UnlockerImpl(Lock lock) {
-      this.lock = lock;
+    final long start = System.nanoTime();
+    final Thread current = Thread.currentThread();
+    final Lock lock = acquireClusterLock(key, current);
+    final ReadGate held = gates.get(key);
+    if (held != null && held.reenterWriter(current)) {
+      // reentrant acquisition, gates are already closed by this thread
+      writeStatistics.acquired(System.nanoTime() - start);
+      return () -> release(key, held, lock);
     }
 
-    @Override
-    public void unlock() {
+    final Address local = channel.getAddress();
+    final long token = tokens.incrementAndGet();
+    final ReadGate gate = withGate(key, g -> g.close(local, token, current, gateTimeoutMs));
+    try {
+      if (!gate.isDrained(current)) {
+        throw notDrained(key, local);
+      }
+      closeRemoteGates(key, local, token);
+    } catch (RuntimeException ex) {
+      openGates(key, local, token);
       lock.unlock();
+      throw ex;
     }
+    gate.enterWriter(current, token);
+    writeStatistics.acquired(System.nanoTime() - start);
+    return () -> release(key, gate, lock);
+  }
+
+  /** Returns statistics of read locks acquisition. */
+  public LockStatistics getReadStatistics() {
+    return readStatistics;
+  }
+
+  /** Returns statistics of write locks acquisition. */
+  public LockStatistics getWriteStatistics() {
+    return writeStatistics;
   }
 
   /** Stops the workspace lock service. */
@@ -82,4 +163,370 @@ public class JGroupsWorkspaceLockService implements WorkspaceLockService {
       LOG.error("Failed to stop workspace locks service. Cause: " + ex.getMessage());
     }
   }
+
+  /**
+   * Acquires the cluster lock of the key. While a reader of the key waits for the lock, the gates
+   * don't wait for it to leave, otherwise two upgrading readers would wait for each other.
+   */
+  private Lock acquireClusterLock(String key, Thread current) {
+    final Lock lock = lockService.getLock(key);
+    final ReadGate reading = gates.get(key);
+    if (reading == null || !reading.startUpgrade(current)) {
+      lock.lock();
+      return lock;
+    }
+    try {
+      lock.lock();
+    } finally {
+      reading.endUpgrade(current);
+    }
+    return lock;
+  }
+
+  private void closeRemoteGates(String key, Address local, long token) {
+    final RspList<Object> responses;
+    try {
+      responses =
+          dispatcher.callRemoteMethods(
+              null,
+              "closeGate",
+              new Object[] {key, local, token},
+              GATE_TYPES,
+              RequestOptions.SYNC()
+                  .setTimeout(gateTimeoutMs)
+                  .setFlags(Message.Flag.OOB)
+                  .setExclusionList(local));
+    } catch (Exception ex) {
+      throw new RuntimeException(
+          "Failed to acquire workspace lock '" + key + "'. Cause: " + ex.getMessage(), ex);
+    }
+    for (Map.Entry<Address, Rsp<Object>> entry : responses.entrySet()) {
+      final Rsp<Object> rsp = entry.getValue();
+      if (rsp.hasException()) {
+        throw new RuntimeException(
+            "Failed to acquire workspace lock '" + key + "'. Cause: " + rsp.getException(),
+            rsp.getException());
+      }
+      // members which left the cluster have no readers to wait for
+      if (rsp.wasReceived()
+          ? Boolean.FALSE.equals(rsp.getValue())
+          : !rsp.wasSuspected() && !rsp.wasUnreachable()) {
+        throw notDrained(key, entry.getKey());
+      }
+    }
+  }
+
+  private RuntimeException notDrained(String key, Address member) {
+    return new RuntimeException(
+        "Failed to acquire workspace lock '"
+            + key
+            + "'. Readers on '"
+            + member
+            + "' didn't release it in "
+            + gateTimeoutMs
+            + "ms");
+  }
+
+  private void release(String key, ReadGate gate, Lock lock) {
+    try {
+      final long token = gate.exitWriter();
+      if (token != 0) {
+        openGates(key, channel.getAddress(), token);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void openGates(String key, Address owner, long token) {
+    withGate(key, g -> g.open(owner, token));
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          "openGate",
+          new Object[] {key, owner, token},
+          GATE_TYPES,
+          RequestOptions.ASYNC().setFlags(Message.Flag.OOB).setExclusionList(owner));
+    } catch (Exception ex) {
+      LOG.error("Failed to release workspace lock '{}'. Cause: {}", key, ex.getMessage());
+    }
+  }
+
+  private void openGatesOfLeftMembers(View view) {
+    for (ReadGate gate : gates.values()) {
+      gate.openIf(address -> !view.containsMember(address));
+    }
+  }
+
+  /**
+   * Asks the other members of the cluster to close the gates of the write locks they hold on this
+   * Che Server, so readers don't enter them until the locks are released.
+   */
+  private void syncGates() {
+    final Address local = channel.getAddress();
+    try {
+      final RspList<Object> responses =
+          dispatcher.callRemoteMethods(
+              null,
+              "syncGates",
+              new Object[] {local},
+              new Class<?>[] {Address.class},
+              RequestOptions.SYNC()
+                  .setTimeout(gateTimeoutMs)
+                  .setFlags(Message.Flag.OOB)
+                  .setExclusionList(local));
+      for (Map.Entry<Address, Rsp<Object>> entry : responses.entrySet()) {
+        if (entry.getValue().hasException() || !entry.getValue().wasReceived()) {
+          LOG.warn("Failed to fetch workspace locks held by '{}'", entry.getKey());
+        }
+      }
+    } catch (Exception ex) {
+      LOG.warn("Failed to fetch workspace locks held in the cluster. Cause: {}", ex.getMessage());
+    }
+  }
+
+  /**
+   * Applies the given action to the gate of the key, retrying with a new gate if the action was
+   * applied to a gate which had been evicted concurrently.
+   */
+  private ReadGate withGate(String key, Predicate<ReadGate> action) {
+    while (true) {
+      final ReadGate gate = gates.computeIfAbsent(key, ReadGate::new);
+      if (action.test(gate)) {
+        return gate;
+      }
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class GateEndpoint {
+
+    /**
+     * Closes the gate of the key for new readers and waits for the current ones to leave. Returns
+     * false if they didn't leave in time.
+     */
+    public boolean closeGate(String key, Address owner, long token) {
+      return withGate(key, g -> g.close(owner, token, null, gateTimeoutMs)).isDrained(null);
+    }
+
+    /** Opens the gate of the key previously closed by the given owner. */
+    public void openGate(String key, Address owner, long token) {
+      withGate(key, g -> g.open(owner, token));
+    }
+
+    /** Closes the gates of the write locks held by this Che Server on the joined member. */
+    public void syncGates(Address joined) throws Exception {
+      final Address local = channel.getAddress();
+      for (ReadGate gate : gates.values()) {
+        gate.syncTo(joined, local);
+      }
+    }
+  }
+
+  /** Local state of a read/write lock. All the methods return false if the gate is evicted. */
+  private class ReadGate {
+    final String key;
+    final Map<Address, Set<Long>> closedBy = new HashMap<>();
+    final Map<Thread, Integer> readers = new HashMap<>();
+    final Set<Thread> upgrading = new HashSet<>();
+    Thread writer;
+    long writeToken;
+    int writeHolds;
+    boolean evicted;
+
+    ReadGate(String key) {
+      this.key = key;
+    }
+
+    synchronized boolean enterReader(Thread thread) {
+      boolean interrupted = false;
+      // readers which already hold the lock are not blocked, the same as writer's own reads
+      while (!evicted && !closedBy.isEmpty() && writer != thread && !readers.containsKey(thread)) {
+        interrupted |= awaitUninterruptibly();
+      }
+      if (interrupted) {
+        thread.interrupt();
+      }
+      if (evicted) {
+        return false;
+      }
+      readers.merge(thread, 1, Integer::sum);
+      return true;
+    }
+
+    synchronized void exitReader(Thread thread) {
+      readers.computeIfPresent(thread, (k, holds) -> holds == 1 ? null : holds - 1);
+      notifyAll();
+      evictIfIdle();
+    }
+
+    /** Returns false if the thread doesn't hold the read lock of this gate. */
+    synchronized boolean startUpgrade(Thread thread) {
+      if (evicted || !readers.containsKey(thread)) {
+        return false;
+      }
+      upgrading.add(thread);
+      notifyAll();
+      return true;
+    }
+
+    synchronized void endUpgrade(Thread thread) {
+      upgrading.remove(thread);
+    }
+
+    /**
+     * Closes the gate for new readers and waits at most the given time for the current ones to
+     * leave, except for the closing writer and readers waiting for the write lock. Stops waiting
+     * if the gate is opened with the same token.
+     */
+    synchronized boolean close(Address owner, long token, Thread closing, long timeoutMs) {
+      if (evicted) {
+        return false;
+      }
+      closedBy.computeIfAbsent(owner, k -> new HashSet<>()).add(token);
+      final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+      boolean interrupted = false;
+      long remaining;
+      while (isClosedBy(owner, token)
+          && hasReadersExcept(closing)
+          && (remaining = deadline - System.nanoTime()) > 0) {
+        interrupted |= awaitUninterruptibly(remaining);
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      return true;
+    }
+
+    /** Returns true if there are no readers the closing thread must wait for. */
+    synchronized boolean isDrained(Thread closing) {
+      return !hasReadersExcept(closing);
+    }
+
+    synchronized boolean open(Address owner, long token) {
+      if (evicted) {
+        return false;
+      }
+      final Set<Long> closings = closedBy.get(owner);
+      if (closings != null && closings.remove(token) && closings.isEmpty()) {
+        closedBy.remove(owner);
+      }
+      notifyAll();
+      evictIfIdle();
+      return true;
+    }
+
+    synchronized void openIf(Predicate<Address> predicate) {
+      if (closedBy.keySet().removeIf(predicate)) {
+        notifyAll();
+        evictIfIdle();
+      }
+    }
+
+    /**
+     * Closes the gate on the joined member if it is closed by this Che Server. Holding the monitor
+     * guarantees the gate is opened on the joined member after it is closed there.
+     */
+    synchronized void syncTo(Address joined, Address local) throws Exception {
+      final Set<Long> closings = closedBy.get(local);
+      if (evicted || closings == null) {
+        return;
+      }
+      for (long token : closings) {
+        dispatcher.callRemoteMethod(
+            joined,
+            "closeGate",
+            new Object[] {key, local, token},
+            GATE_TYPES,
+            RequestOptions.SYNC().setTimeout(gateTimeoutMs).setFlags(Message.Flag.OOB));
+      }
+    }
+
+    synchronized void enterWriter(Thread thread, long token) {
+      writer = thread;
+      writeToken = token;
+      writeHolds = 1;
+    }
+
+    synchronized boolean reenterWriter(Thread thread) {
+      if (evicted || writer != thread) {
+        return false;
+      }
+      writeHolds++;
+      return true;
+    }
+
+    /**
+     * Returns the token the gates are closed with when the write lock is released completely and
+     * the gates must be opened, otherwise returns 0.
+     */
+    synchronized long exitWriter() {
+      if (--writeHolds > 0) {
+        return 0;
+      }
+      writer = null;
+      return writeToken;
+    }
+
+    private boolean isClosedBy(Address owner, long token) {
+      final Set<Long> closings = closedBy.get(owner);
+      return closings != null && closings.contains(token);
+    }
+
+    private boolean hasReadersExcept(Thread closing) {
+      for (Thread reader : readers.keySet()) {
+        if (reader != closing && !upgrading.contains(reader)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean awaitUninterruptibly() {
+      try {
+        wait();
+        return false;
+      } catch (InterruptedException ex) {
+        return true;
+      }
+    }
+
+    private boolean awaitUninterruptibly(long nanos) {
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, nanos);
+        return false;
+      } catch (InterruptedException ex) {
+        return true;
+      }
+    }
+
+    private void evictIfIdle() {
+      if (readers.isEmpty() && writer == null && closedBy.isEmpty()) {
+        evicted = true;
+        gates.remove(key, this);
+        notifyAll();
+      }
+    }
+  }
+
+  /** Statistics of locks acquisition. */
+  public static class LockStatistics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /** Returns the number of acquired locks. */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /** Returns the total time spent waiting for locks in the given unit. */
+    public double getTotalTime(TimeUnit unit) {
+      return (double) totalNanos.sum() / unit.toNanos(1);
+    }
+
+    private void acquired(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+    }
+  }
 }
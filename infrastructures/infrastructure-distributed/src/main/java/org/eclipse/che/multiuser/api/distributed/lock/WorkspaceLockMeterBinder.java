@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.lock;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService.LockStatistics;
+
+/** Provides the acquisition latency of {@link JGroupsWorkspaceLockService} workspace locks. */
+@Singleton
+public class WorkspaceLockMeterBinder implements MeterBinder {
+
+  private final JGroupsWorkspaceLockService lockService;
+
+  @Inject
+  public WorkspaceLockMeterBinder(JGroupsWorkspaceLockService lockService) {
+    this.lockService = lockService;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindTimer(registry, "read", lockService.getReadStatistics());
+    bindTimer(registry, "write", lockService.getWriteStatistics());
+  }
+
+  private void bindTimer(MeterRegistry registry, String mode, LockStatistics statistics) {
+    FunctionTimer.builder(
+            "che.workspace.lock.acquire",
+            statistics,
+            LockStatistics::getCount,
+            s -> s.getTotalTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS)
+        .tags("mode", mode)
+        .description("Time spent waiting for workspace locks")
+        .register(registry);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.machine;
+
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.multiuser.machine.authentication.server.MachineLoginFilter;
+import org.jgroups.JChannel;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
+import org.slf4j.Logger;
+
+/**
+ * Invalidates machine tokens cached by {@link MachineLoginFilter} of other Che Servers of the
+ * cluster when a workspace is stopped on this Che Server, as its machine tokens and signature keys
+ * are removed.
+ *
+ * <p>All the cached tokens are invalidated when the cluster view changes since invalidations might
+ * have been missed by Che Servers which were disconnected from the cluster.
+ */
+@Singleton
+public class DistributedMachineTokenCacheInvalidator
+    implements EventSubscriber<WorkspaceStatusEvent> {
+
+  private static final Logger LOG = getLogger(DistributedMachineTokenCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "MachineTokenCacheInvalidation";
+
+  private final MachineLoginFilter machineLoginFilter;
+  private final JChannel channel;
+  private final RpcDispatcher dispatcher;
+
+  @Inject
+  public DistributedMachineTokenCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      MachineLoginFilter machineLoginFilter,
+      EventService eventService)
+      throws Exception {
+    this.machineLoginFilter = machineLoginFilter;
+    try {
+      channel = new JChannel(confFile);
+      dispatcher =
+          new RpcDispatcher(channel, new InvalidationEndpoint())
+              .setMembershipListener(
+                  new ReceiverAdapter() {
+                    @Override
+                    public void viewAccepted(View view) {
+                      machineLoginFilter.invalidateAll();
+                    }
+                  });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception e) {
+      LOG.error("Unable to create distributed machine token cache invalidator.", e);
+      throw e;
+    }
+    eventService.subscribe(this, WorkspaceStatusEvent.class);
+  }
+
+  @Override
+  public void onEvent(WorkspaceStatusEvent event) {
+    if (event.getStatus() != STOPPED) {
+      return;
+    }
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          "invalidate",
+          new Object[] {event.getWorkspaceId()},
+          new Class<?>[] {String.class},
+          RequestOptions.ASYNC().setExclusionList(channel.getAddress()));
+    } catch (Exception e) {
+      LOG.warn(
+          "Failed to invalidate machine tokens of workspace '{}' on other Che Servers. Cause: {}",
+          event.getWorkspaceId(),
+          e.getMessage());
+    }
+  }
+
+  /** Stops distributed machine token cache invalidation. */
+  public void shutdown() {
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop machine token cache invalidation. Cause: " + ex.getMessage());
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class InvalidationEndpoint {
+
+    public void invalidate(String workspaceId) {
+      machineLoginFilter.invalidate(workspaceId);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.permission;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.jgroups.JChannel;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
+import org.slf4j.Logger;
+
+/**
+ * Invalidates permissions cached by {@link PermissionCheckerImpl} of other Che Servers of the
+ * cluster when permissions are changed on this Che Server.
+ *
+ * <p>All the cached permissions are invalidated when the cluster view changes since invalidations
+ * might have been missed by Che Servers which were disconnected from the cluster.
+ */
+@Singleton
+public class DistributedPermissionsCacheInvalidator implements EventSubscriber<PermissionsEvent> {
+
+  private static final Logger LOG = getLogger(DistributedPermissionsCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "PermissionsCacheInvalidation";
+
+  private static final Class<?>[] PERMISSIONS_TYPES = {String.class, String.class, String.class};
+
+  private final PermissionCheckerImpl permissionChecker;
+  private final JChannel channel;
+  private final RpcDispatcher dispatcher;
+
+  @Inject
+  public DistributedPermissionsCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      PermissionCheckerImpl permissionChecker,
+      EventService eventService)
+      throws Exception {
+    this.permissionChecker = permissionChecker;
+    try {
+      channel = new JChannel(confFile);
+      dispatcher =
+          new RpcDispatcher(channel, new InvalidationEndpoint())
+              .setMembershipListener(
+                  new ReceiverAdapter() {
+                    @Override
+                    public void viewAccepted(View view) {
+                      permissionChecker.invalidateAll();
+                    }
+                  });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception e) {
+      LOG.error("Unable to create distributed permissions cache invalidator.", e);
+      throw e;
+    }
+    eventService.subscribe(this, PermissionsEvent.class);
+  }
+
+  @Override
+  public void onEvent(PermissionsEvent event) {
+    Permissions permissions = event.getPermissions();
+    try {
+      dispatcher.callRemoteMethods(
+          null,
+          "invalidate",
+          new Object[] {
+            permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId()
+          },
+          PERMISSIONS_TYPES,
+          RequestOptions.ASYNC().setExclusionList(channel.getAddress()));
+    } catch (Exception e) {
+      LOG.warn(
+          "Failed to invalidate permissions of user '{}' to '{}' of domain '{}' on other Che"
+              + " Servers. Cause: {}",
+          permissions.getUserId(),
+          permissions.getInstanceId(),
+          permissions.getDomainId(),
+          e.getMessage());
+    }
+  }
+
+  /** Stops distributed permissions cache invalidation. */
+  public void shutdown() {
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop permissions cache invalidation. Cause: " + ex.getMessage());
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class InvalidationEndpoint {
+
+    public void invalidate(String userId, String domainId, String instanceId) {
+      permissionChecker.invalidate(userId, domainId, instanceId);
+    }
+  }
+}
@@ -14,23 +14,32 @@ package org.eclipse.che.multiuser.api.distributed.subscription;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.inject.Singleton;
+import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.distributed.cache.ReplicatedMapNotificationAdapter;
 import org.jgroups.JChannel;
 import org.jgroups.blocks.ReplicatedHashMap;
-import org.jgroups.blocks.locking.LockService;
 import org.slf4j.Logger;
 
 /**
  * Replicated map-based implementation of {@link RemoteSubscriptionStorage}
  *
+ * <p>Each subscription is stored under its own (method, endpoint, scope) key, so adding or removing
+ * a subscription replicates a single entry and doesn't need a cluster lock. An endpoint may have
+ * several subscriptions to the same method with different scopes, e.g. to the statuses of
+ * different workspaces. Subscriptions are additionally indexed by method locally, the index is
+ * maintained by the replicated map change notifications.
+ *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
 @Singleton
@@ -40,64 +49,57 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
 
   private static final String CHANNEL_NAME = "RemoteSubscriptionChannel";
 
-  private final ReplicatedHashMap<String, Set<RemoteSubscriptionContext>> subscriptions;
-  private final LockService lockService;
+  private final ReplicatedHashMap<SubscriptionKey, RemoteSubscriptionContext> subscriptions;
+  private final Map<String, Map<SubscriptionKey, RemoteSubscriptionContext>> methodIndex;
   private final JChannel channel;
 
   @Inject
   public DistributedRemoteSubscriptionStorage(@Named("jgroups.config.file") String confFile)
       throws Exception {
+    this.methodIndex = new ConcurrentHashMap<>();
     try {
       channel = new JChannel(confFile);
-      this.lockService = new LockService(channel);
       channel.connect(CHANNEL_NAME);
       subscriptions = new ReplicatedHashMap<>(channel);
       subscriptions.setBlockingUpdates(true);
+      subscriptions.addNotifier(new IndexUpdater());
       subscriptions.start(5000);
     } catch (Exception e) {
       LOG.error("Unable to create distributed event subscriptions map.", e);
       throw e;
     }
+    subscriptions.forEach(this::index);
   }
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
-    return subscriptions.getOrDefault(method, Collections.emptySet());
+    Map<SubscriptionKey, RemoteSubscriptionContext> byKey = methodIndex.get(method);
+    if (byKey == null) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(byKey.values());
   }
 
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
-    try {
-      Set<RemoteSubscriptionContext> existing =
-          subscriptions.getOrDefault(method, ConcurrentHashMap.newKeySet(1));
-      existing.add(remoteSubscriptionContext);
-      subscriptions.put(method, existing);
-    } finally {
-      lock.unlock();
-    }
+    subscriptions.put(
+        new SubscriptionKey(
+            method,
+            remoteSubscriptionContext.getEndpointId(),
+            remoteSubscriptionContext.getScope()),
+        remoteSubscriptionContext);
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
-    try {
-      Set<RemoteSubscriptionContext> existing = subscriptions.get(method);
-      if (existing == null) {
-        return;
-      }
-      existing.removeIf(
-          remoteSubscriptionContext ->
-              Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
-      if (existing.isEmpty()) {
-        subscriptions.remove(method);
-      } else {
-        subscriptions.put(method, existing);
+    Map<SubscriptionKey, RemoteSubscriptionContext> byKey = methodIndex.get(method);
+    if (byKey == null) {
+      return;
+    }
+    for (SubscriptionKey key : byKey.keySet()) {
+      if (Objects.equals(key.endpointId, endpointId)) {
+        subscriptions.remove(key);
       }
-    } finally {
-      lock.unlock();
     }
   }
 
@@ -109,4 +111,76 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
       LOG.error("Failed to stop remote subscription storage. Cause: " + ex.getMessage());
     }
   }
+
+  private void index(SubscriptionKey key, RemoteSubscriptionContext context) {
+    methodIndex.computeIfAbsent(key.method, k -> new ConcurrentHashMap<>()).put(key, context);
+  }
+
+  private void unindex(SubscriptionKey key) {
+    methodIndex.computeIfPresent(
+        key.method,
+        (k, byKey) -> {
+          byKey.remove(key);
+          return byKey.isEmpty() ? null : byKey;
+        });
+  }
+
+  /** Keeps the local method index in sync with the replicated subscriptions. */
+  private class IndexUpdater extends ReplicatedMapNotificationAdapter {
+    @Override
+    public void entrySet(Object key, Object value) {
+      index((SubscriptionKey) key, (RemoteSubscriptionContext) value);
+    }
+
+    @Override
+    public void entryRemoved(Object key) {
+      unindex((SubscriptionKey) key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void contentsSet(Map entries) {
+      ((Map<SubscriptionKey, RemoteSubscriptionContext>) entries)
+          .forEach(DistributedRemoteSubscriptionStorage.this::index);
+    }
+
+    @Override
+    public void contentsCleared() {
+      methodIndex.clear();
+    }
+  }
+
+  /** Replicated map key of a single subscription. */
+  static class SubscriptionKey implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    final String method;
+    final String endpointId;
+    final HashMap<String, String> scope;
+
+    SubscriptionKey(String method, String endpointId, Map<String, String> scope) {
+      this.method = method;
+      this.endpointId = endpointId;
+      this.scope = scope == null ? new HashMap<>() : new HashMap<>(scope);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof SubscriptionKey)) {
+        return false;
+      }
+      final SubscriptionKey that = (SubscriptionKey) obj;
+      return Objects.equals(method, that.method)
+          && Objects.equals(endpointId, that.endpointId)
+          && scope.equals(that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(method, endpointId, scope);
+    }
+  }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.websocket;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionListener;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.blocks.MethodCall;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.RpcDispatcher;
+import org.jgroups.util.Rsp;
+import org.jgroups.util.RspList;
+import org.slf4j.Logger;
+
+/**
+ * Cluster aware implementation of {@link WebSocketMessageTransmitter}.
+ *
+ * <p>Messages for endpoints which have a session registered on this Che Server are sent directly.
+ * Otherwise the endpoint directory, which is replicated between all the Che Servers of the cluster,
+ * is used to find the Che Server the endpoint is connected to and the message is forwarded to it.
+ * Messages for endpoints which are not connected to any Che Server are added to {@link
+ * MessagesReSender} to be sent when the endpoint reconnects to this Che Server.
+ *
+ * <p>Forwarded messages which are not delivered by the owner, e.g. because the session was closed
+ * or moved to another Che Server meanwhile, are counted, logged and added to {@link
+ * MessagesReSender} of this Che Server.
+ */
+@Singleton
+public class DistributedWebSocketMessageTransmitter
+    implements WebSocketMessageTransmitter, WebSocketSessionListener {
+
+  private static final Logger LOG = getLogger(DistributedWebSocketMessageTransmitter.class);
+
+  private static final String CHANNEL_NAME = "WebSocketRouting";
+  private static final long DIRECTORY_SYNC_TIMEOUT_MS = 5000;
+  private static final long DELIVERY_TIMEOUT_MS = 5000;
+
+  private static final Class<?>[] ENDPOINT_TYPES = {String.class, Address.class};
+  private static final Class<?>[] MESSAGE_TYPES = {String.class, String.class};
+
+  private final BasicWebSocketMessageTransmitter localTransmitter;
+  private final MessagesReSender reSender;
+  private final Map<String, Address> directory;
+  private final JChannel channel;
+  private final RpcDispatcher dispatcher;
+  private final LongAdder failedDeliveries;
+
+  @Inject
+  public DistributedWebSocketMessageTransmitter(
+      @Named("jgroups.config.file") String confFile,
+      BasicWebSocketMessageTransmitter localTransmitter,
+      MessagesReSender reSender,
+      WebSocketSessionRegistry registry)
+      throws Exception {
+    this.localTransmitter = localTransmitter;
+    this.reSender = reSender;
+    this.directory = new ConcurrentHashMap<>();
+    this.failedDeliveries = new LongAdder();
+    try {
+      channel = new JChannel(confFile);
+      dispatcher =
+          new RpcDispatcher(channel, new RoutingEndpoint())
+              .setMembershipListener(
+                  new ReceiverAdapter() {
+                    @Override
+                    public void viewAccepted(View view) {
+                      // forget endpoints of the Che Servers which left the cluster
+                      directory.values().removeIf(address -> !view.containsMember(address));
+                    }
+                  });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception e) {
+      LOG.error("Unable to create distributed web socket messages transmitter.", e);
+      throw e;
+    }
+    registry.addListener(this);
+    syncDirectory();
+  }
+
+  @Override
+  public void transmit(String endpointId, String message) {
+    if (localTransmitter.transmitLocally(endpointId, message)) {
+      return;
+    }
+
+    Address owner = directory.get(endpointId);
+    if (owner == null || owner.equals(channel.getAddress())) {
+      reSender.add(endpointId, message);
+      return;
+    }
+
+    try {
+      dispatcher
+          .<Boolean>callRemoteMethodWithFuture(
+              owner,
+              new MethodCall("deliver", new Object[] {endpointId, message}, MESSAGE_TYPES),
+              RequestOptions.SYNC().setTimeout(DELIVERY_TIMEOUT_MS))
+          .whenComplete(
+              (delivered, error) -> {
+                if (error != null || !Boolean.TRUE.equals(delivered)) {
+                  onDeliveryFailed(endpointId, message, owner, error);
+                }
+              });
+    } catch (Exception e) {
+      onDeliveryFailed(endpointId, message, owner, e);
+    }
+  }
+
+  /** Returns the address of the Che Server the endpoint is connected to or null if unknown. */
+  @VisibleForTesting
+  Address getOwner(String endpointId) {
+    return directory.get(endpointId);
+  }
+
+  /** Returns the number of forwarded messages which were not delivered by their owners. */
+  public long getFailedDeliveriesCount() {
+    return failedDeliveries.sum();
+  }
+
+  @Override
+  public void sessionAdded(String endpointId) {
+    Address local = channel.getAddress();
+    directory.put(endpointId, local);
+    broadcast("endpointAdded", endpointId, local);
+  }
+
+  @Override
+  public void sessionRemoved(String endpointId) {
+    Address local = channel.getAddress();
+    directory.remove(endpointId, local);
+    broadcast("endpointRemoved", endpointId, local);
+  }
+
+  /** Stops distributed web socket messages transmitter. */
+  public void shutdown() {
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop web socket messages routing. Cause: " + ex.getMessage());
+    }
+  }
+
+  private void onDeliveryFailed(String endpointId, String message, Address owner, Throwable error) {
+    failedDeliveries.increment();
+    LOG.warn(
+        "Message for endpoint '{}' was not delivered by '{}'. Cause: {}",
+        endpointId,
+        owner,
+        error == null ? "endpoint is not connected" : error.getMessage());
+    reSender.add(endpointId, message);
+  }
+
+  private void broadcast(String method, String endpointId, Address address) {
+    try {
+      dispatcher.callRemoteMethods(
+          null, method, new Object[] {endpointId, address}, ENDPOINT_TYPES, RequestOptions.ASYNC());
+    } catch (Exception e) {
+      LOG.warn(
+          "Failed to replicate registration of web socket endpoint '{}'. Cause: {}",
+          endpointId,
+          e.getMessage());
+    }
+  }
+
+  /** Fetches endpoints which are connected to other Che Servers when this one joins the cluster. */
+  private void syncDirectory() {
+    try {
+      RspList<String[]> responses =
+          dispatcher.callRemoteMethods(
+              null,
+              "getLocalEndpoints",
+              new Object[0],
+              new Class<?>[0],
+              RequestOptions.SYNC().setTimeout(DIRECTORY_SYNC_TIMEOUT_MS));
+      for (Map.Entry<Address, Rsp<String[]>> response : responses.entrySet()) {
+        Rsp<String[]> rsp = response.getValue();
+        if (rsp.wasReceived() && rsp.getValue() != null) {
+          for (String endpointId : rsp.getValue()) {
+            directory.putIfAbsent(endpointId, response.getKey());
+          }
+        }
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to fetch web socket endpoints directory. Cause: {}", e.getMessage());
+    }
+  }
+
+  /** Methods invoked by other Che Servers of the cluster. */
+  public class RoutingEndpoint {
+
+    /** Returns {@code false} when the endpoint isn't connected to this Che Server anymore. */
+    public boolean deliver(String endpointId, String message) {
+      return localTransmitter.transmitLocally(endpointId, message);
+    }
+
+    public void endpointAdded(String endpointId, Address address) {
+      directory.put(endpointId, address);
+    }
+
+    public void endpointRemoved(String endpointId, Address address) {
+      directory.remove(endpointId, address);
+    }
+
+    public String[] getLocalEndpoints() {
+      Address local = channel.getAddress();
+      return directory
+          .entrySet()
+          .stream()
+          .filter(entry -> local.equals(entry.getValue()))
+          .map(Map.Entry::getKey)
+          .toArray(String[]::new);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.websocket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Provides the number of web socket messages forwarded to other Che Servers but not delivered. */
+@Singleton
+public class WebSocketRoutingMeterBinder implements MeterBinder {
+
+  private final DistributedWebSocketMessageTransmitter transmitter;
+
+  @Inject
+  public WebSocketRoutingMeterBinder(DistributedWebSocketMessageTransmitter transmitter) {
+    this.transmitter = transmitter;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "che.websocket.routing.failed",
+            transmitter,
+            DistributedWebSocketMessageTransmitter::getFailedDeliveriesCount)
+        .description("Web socket messages forwarded to other Che Servers but not delivered")
+        .register(registry);
+  }
+}
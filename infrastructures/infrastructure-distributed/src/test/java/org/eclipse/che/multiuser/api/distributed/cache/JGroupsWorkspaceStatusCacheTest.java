@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link JGroupsWorkspaceStatusCache} with two Che Servers joined into an in-process
+ * cluster.
+ */
+public class JGroupsWorkspaceStatusCacheTest {
+
+  private static final String CONF_FILE = "jgroups/che-test.xml";
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final long TIMEOUT_MS = 30_000;
+  private static final int THREADS_PER_MEMBER = 4;
+  private static final int CHANGES_PER_THREAD = 50;
+
+  private ExecutorService executor;
+  private JGroupsWorkspaceStatusCache cache1;
+  private JGroupsWorkspaceStatusCache cache2;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    cache1 = new JGroupsWorkspaceStatusCache(CONF_FILE);
+    cache2 = new JGroupsWorkspaceStatusCache(CONF_FILE);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    cache1.shutdown();
+    cache2.shutdown();
+  }
+
+  @Test
+  public void shouldReplicateStatusTransitionBeforeReturning() {
+    cache1.putIfAbsent(WORKSPACE_ID, STARTING);
+
+    assertEquals(cache1.replace(WORKSPACE_ID, RUNNING), STARTING);
+
+    assertEquals(cache2.get(WORKSPACE_ID), RUNNING);
+    assertTrue(cache2.replace(WORKSPACE_ID, RUNNING, STOPPING));
+    assertEquals(cache1.get(WORKSPACE_ID), STOPPING);
+  }
+
+  @Test
+  public void shouldReplicateRemoval() {
+    cache1.putIfAbsent(WORKSPACE_ID, RUNNING);
+
+    assertEquals(cache2.remove(WORKSPACE_ID), RUNNING);
+
+    assertNull(cache1.get(WORKSPACE_ID));
+  }
+
+  @Test
+  public void shouldFetchStatusesWhenJoiningTheCluster() {
+    cache1.putIfAbsent(WORKSPACE_ID, RUNNING);
+
+    JGroupsWorkspaceStatusCache joined = new JGroupsWorkspaceStatusCache(CONF_FILE);
+    try {
+      assertEquals(joined.get(WORKSPACE_ID), RUNNING);
+    } finally {
+      joined.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldSeeChangesOfOtherMembersUnderWorkspaceLock() throws Exception {
+    JGroupsWorkspaceLockService locks1 = new JGroupsWorkspaceLockService(CONF_FILE);
+    JGroupsWorkspaceLockService locks2 = new JGroupsWorkspaceLockService(CONF_FILE);
+    try {
+      cache1.putIfAbsent(WORKSPACE_ID, RUNNING);
+      AtomicInteger failedChanges = new AtomicInteger();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS_PER_MEMBER; i++) {
+        futures.add(executor.submit(() -> toggle(locks1, cache1, failedChanges)));
+        futures.add(executor.submit(() -> toggle(locks2, cache2, failedChanges)));
+      }
+      for (Future<?> future : futures) {
+        future.get(TIMEOUT_MS, MILLISECONDS);
+      }
+
+      assertEquals(failedChanges.get(), 0);
+      assertEquals(cache1.get(WORKSPACE_ID), cache2.get(WORKSPACE_ID));
+    } finally {
+      locks1.shutdown();
+      locks2.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldConvergeConcurrentStatusTransitionsOfDifferentMembers() throws Exception {
+    cache1.putIfAbsent(WORKSPACE_ID, STARTING);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS_PER_MEMBER; i++) {
+      futures.add(executor.submit(() -> transit(start, cache1, RUNNING)));
+      futures.add(executor.submit(() -> transit(start, cache2, STOPPING)));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(TIMEOUT_MS, MILLISECONDS);
+    }
+
+    assertEquals(cache1.get(WORKSPACE_ID), cache2.get(WORKSPACE_ID));
+  }
+
+  /** Switches the status with compare-and-set under the write lock of the workspace. */
+  private static void toggle(
+      JGroupsWorkspaceLockService locks,
+      JGroupsWorkspaceStatusCache cache,
+      AtomicInteger failedChanges) {
+    for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+      try (Unlocker unlocker = locks.writeLock(WORKSPACE_ID)) {
+        WorkspaceStatus current = cache.get(WORKSPACE_ID);
+        WorkspaceStatus next = current == RUNNING ? STOPPING : RUNNING;
+        if (!cache.replace(WORKSPACE_ID, current, next)) {
+          failedChanges.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  private static Void transit(
+      CountDownLatch start, JGroupsWorkspaceStatusCache cache, WorkspaceStatus status)
+      throws InterruptedException {
+    start.await();
+    for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+      cache.replace(WORKSPACE_ID, status);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.h2.jdbc.JdbcConnection;
+
+/**
+ * Emulates the PostgreSQL functions used by the database based cluster coordination in H2.
+ *
+ * <p>Notifications are dropped, so only the database state is tested with H2. Advisory locks are
+ * held by H2 sessions with the PostgreSQL semantics, except that the blocking functions fail
+ * instead of waiting, as a waiting function would block the whole H2 database.
+ */
+public final class H2PostgresFunctions {
+
+  private static final Map<Long, AdvisoryLock> LOCKS = new HashMap<>();
+
+  /** Creates the function aliases in the database. */
+  public static void create(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      alias(statement, "pg_notify", "notify");
+      alias(statement, "pg_try_advisory_lock", "tryLock");
+      alias(statement, "pg_try_advisory_lock_shared", "tryLockShared");
+      alias(statement, "pg_advisory_lock", "lock");
+      alias(statement, "pg_advisory_lock_shared", "lockShared");
+      alias(statement, "pg_advisory_unlock", "unlock");
+      alias(statement, "pg_advisory_unlock_shared", "unlockShared");
+      alias(statement, "pg_advisory_unlock_all", "unlockAll");
+    }
+  }
+
+  public static void notify(String channel, String payload) {}
+
+  public static synchronized boolean tryLock(Connection connection, long id) throws SQLException {
+    AdvisoryLock lock = LOCKS.computeIfAbsent(id, k -> new AdvisoryLock());
+    Object session = session(connection);
+    if (lock.isHeldByOtherThan(session, true)) {
+      return false;
+    }
+    lock.exclusive.merge(session, 1, Integer::sum);
+    return true;
+  }
+
+  public static synchronized boolean tryLockShared(Connection connection, long id)
+      throws SQLException {
+    AdvisoryLock lock = LOCKS.computeIfAbsent(id, k -> new AdvisoryLock());
+    Object session = session(connection);
+    if (lock.isHeldByOtherThan(session, false)) {
+      return false;
+    }
+    lock.shared.merge(session, 1, Integer::sum);
+    return true;
+  }
+
+  public static void lock(Connection connection, long id) throws SQLException {
+    if (!tryLock(connection, id)) {
+      throw new SQLException("Advisory lock " + id + " is held by another session");
+    }
+  }
+
+  public static void lockShared(Connection connection, long id) throws SQLException {
+    if (!tryLockShared(connection, id)) {
+      throw new SQLException("Advisory lock " + id + " is held by another session");
+    }
+  }
+
+  public static synchronized boolean unlock(Connection connection, long id) throws SQLException {
+    return release(id, session(connection), true);
+  }
+
+  public static synchronized boolean unlockShared(Connection connection, long id)
+      throws SQLException {
+    return release(id, session(connection), false);
+  }
+
+  public static synchronized void unlockAll(Connection connection) throws SQLException {
+    Object session = session(connection);
+    for (AdvisoryLock lock : LOCKS.values()) {
+      lock.exclusive.remove(session);
+      lock.shared.remove(session);
+    }
+    LOCKS.values().removeIf(AdvisoryLock::isFree);
+  }
+
+  private static boolean release(long id, Object session, boolean exclusive) {
+    AdvisoryLock lock = LOCKS.get(id);
+    Map<Object, Integer> holds = lock == null ? null : exclusive ? lock.exclusive : lock.shared;
+    if (holds == null || !holds.containsKey(session)) {
+      return false;
+    }
+    holds.computeIfPresent(session, (k, count) -> count == 1 ? null : count - 1);
+    if (lock.isFree()) {
+      LOCKS.remove(id);
+    }
+    return true;
+  }
+
+  /** The connection passed to the functions is created per call, unlike the session. */
+  private static Object session(Connection connection) throws SQLException {
+    return connection.unwrap(JdbcConnection.class).getSession();
+  }
+
+  private static void alias(Statement statement, String function, String method)
+      throws SQLException {
+    statement.execute(
+        "CREATE ALIAS IF NOT EXISTS "
+            + function
+            + " FOR \""
+            + H2PostgresFunctions.class.getName()
+            + '.'
+            + method
+            + '"');
+  }
+
+  private static class AdvisoryLock {
+    final Map<Object, Integer> exclusive = new HashMap<>();
+    final Map<Object, Integer> shared = new HashMap<>();
+
+    boolean isHeldByOtherThan(Object session, boolean includingShared) {
+      for (Object holder : exclusive.keySet()) {
+        if (holder != session) {
+          return true;
+        }
+      }
+      if (includingShared) {
+        for (Object holder : shared.keySet()) {
+          if (holder != session) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    boolean isFree() {
+      return exclusive.isEmpty() && shared.isEmpty();
+    }
+  }
+
+  private H2PostgresFunctions() {}
+}
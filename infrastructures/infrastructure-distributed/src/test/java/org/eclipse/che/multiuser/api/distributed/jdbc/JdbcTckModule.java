@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.commons.test.tck.TckModule;
+import org.eclipse.che.core.db.schema.SchemaInitializationException;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+
+/** Runs the database based cluster coordination tck tests on H2. */
+public class JdbcTckModule extends TckModule {
+
+  @Override
+  protected void configure() {
+    H2DBTestServer server = H2DBTestServer.startDefault();
+    DataSource dataSource = server.getDataSource();
+    try {
+      new FlywaySchemaInitializer(dataSource, "che-schema").init();
+      H2PostgresFunctions.create(dataSource);
+    } catch (SchemaInitializationException | SQLException ex) {
+      throw new RuntimeException(ex.getMessage(), ex);
+    }
+    bind(DataSource.class).toInstance(dataSource);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc.tck;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.commons.test.tck.TckListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcClusterMembership;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcNotificationListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcRemoteSubscriptionStorage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link JdbcRemoteSubscriptionStorage} contract, two storages act as two Che Servers. */
+@Listeners(TckListener.class)
+@Test(suiteName = JdbcRemoteSubscriptionStorageTest.SUITE_NAME)
+public class JdbcRemoteSubscriptionStorageTest {
+
+  static final String SUITE_NAME = "JdbcRemoteSubscriptionStorageTck";
+
+  private static final String METHOD = "workspace/statusChanged";
+
+  @Inject private DataSource dataSource;
+
+  private JdbcClusterMembership membership;
+  private JdbcRemoteSubscriptionStorage storage1;
+  private JdbcRemoteSubscriptionStorage storage2;
+
+  @BeforeMethod
+  public void setUp() {
+    membership = new JdbcClusterMembership(dataSource);
+    membership.join();
+    storage1 = createStorage();
+    storage2 = createStorage();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    membership.shutdown();
+  }
+
+  @Test
+  public void shouldKeepSubscriptionsOfEndpointWithDifferentScopes() {
+    storage1.addSubscription(METHOD, context("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage1.addSubscription(METHOD, context("endpoint1", singletonMap("workspaceId", "ws2")));
+
+    assertEquals(
+        subscriptions(storage2),
+        ImmutableSet.of(
+            entry("endpoint1", singletonMap("workspaceId", "ws1")),
+            entry("endpoint1", singletonMap("workspaceId", "ws2"))));
+  }
+
+  @Test
+  public void shouldNotDuplicateSubscriptionWithTheSameScope() {
+    storage1.addSubscription(
+        METHOD, context("endpoint1", ImmutableMap.of("workspaceId", "ws1", "type", "a")));
+    storage2.addSubscription(
+        METHOD, context("endpoint1", ImmutableMap.of("type", "a", "workspaceId", "ws1")));
+
+    assertEquals(storage1.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionsOfEndpointWithAllScopes() {
+    storage1.addSubscription(METHOD, context("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage1.addSubscription(METHOD, context("endpoint1", singletonMap("workspaceId", "ws2")));
+    storage1.addSubscription(METHOD, context("endpoint2", singletonMap("workspaceId", "ws1")));
+
+    storage2.removeSubscription(METHOD, "endpoint1");
+
+    assertEquals(
+        subscriptions(createStorage()),
+        ImmutableSet.of(entry("endpoint2", singletonMap("workspaceId", "ws1"))));
+  }
+
+  @Test
+  public void shouldStoreSubscriptionWithoutScope() {
+    storage1.addSubscription(METHOD, context("endpoint1", null));
+
+    assertEquals(subscriptions(storage2), ImmutableSet.of(entry("endpoint1", emptyMap())));
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionsLeftByPreviousRunOfCluster() {
+    storage1.addSubscription(METHOD, context("endpoint1", emptyMap()));
+    membership.shutdown();
+
+    membership = new JdbcClusterMembership(dataSource);
+
+    membership.join();
+
+    assertTrue(createStorage().getByMethod(METHOD).isEmpty());
+  }
+
+  private JdbcRemoteSubscriptionStorage createStorage() {
+    return new JdbcRemoteSubscriptionStorage(
+        dataSource, new JdbcNotificationListener(dataSource), membership);
+  }
+
+  /** Returns pairs of endpoint and scope, as subscription contexts are compared by identity. */
+  private static Set<Entry<String, Map<String, String>>> subscriptions(
+      JdbcRemoteSubscriptionStorage storage) {
+    return storage
+        .getByMethod(METHOD)
+        .stream()
+        .map(context -> entry(context.getEndpointId(), context.getScope()))
+        .collect(toSet());
+  }
+
+  private static Entry<String, Map<String, String>> entry(
+      String endpointId, Map<String, String> scope) {
+    return new SimpleEntry<>(endpointId, scope);
+  }
+
+  private static RemoteSubscriptionContext context(String endpointId, Map<String, String> scope) {
+    return new RemoteSubscriptionContext(endpointId, scope);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc.tck;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.commons.test.tck.TckListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcClusterMembership;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcNotificationListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceLockService;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceStatusCache;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link JdbcWorkspaceLockService} contract, two lock services act as two Che Servers, so
+ * they hold the advisory locks in different database sessions.
+ */
+@Listeners(TckListener.class)
+@Test(suiteName = JdbcWorkspaceLockServiceTest.SUITE_NAME)
+public class JdbcWorkspaceLockServiceTest {
+
+  static final String SUITE_NAME = "JdbcWorkspaceLockServiceTck";
+
+  private static final long AWAIT_MS = 500;
+
+  @Inject private DataSource dataSource;
+
+  private ExecutorService executor;
+  private JdbcClusterMembership membership;
+  private JdbcWorkspaceStatusCache cache1;
+  private JdbcWorkspaceStatusCache cache2;
+  private JdbcWorkspaceLockService lockService1;
+  private JdbcWorkspaceLockService lockService2;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    membership = new JdbcClusterMembership(dataSource);
+    membership.join();
+    cache1 = createCache();
+    cache2 = createCache();
+    lockService1 = new JdbcWorkspaceLockService(dataSource, cache1);
+    lockService2 = new JdbcWorkspaceLockService(dataSource, cache2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    lockService1.shutdown();
+    lockService2.shutdown();
+    membership.shutdown();
+  }
+
+  @Test
+  public void shouldBlockWriterOfOtherServerUntilWriteLockIsReleased() throws Exception {
+    Unlocker unlocker = lockService1.writeLock("ws1");
+    Future<?> writer = executor.submit(() -> lockService2.writeLock("ws1").unlock());
+    assertBlocked(writer);
+
+    unlocker.unlock();
+
+    writer.get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldBlockWriterOfOtherServerUntilReadLocksAreReleased() throws Exception {
+    Unlocker unlocker1 = lockService1.readLock("ws1");
+    Unlocker unlocker2 = lockService1.readLock("ws1");
+    Future<?> writer = executor.submit(() -> lockService2.writeLock("ws1").unlock());
+    assertBlocked(writer);
+
+    unlocker1.unlock();
+    assertBlocked(writer);
+    unlocker2.unlock();
+
+    writer.get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldBlockReaderOfOtherServerUntilWriteLockIsReleased() throws Exception {
+    Unlocker unlocker = lockService1.writeLock("ws1");
+    Future<?> reader = executor.submit(() -> lockService2.readLock("ws1").unlock());
+    assertBlocked(reader);
+
+    unlocker.unlock();
+
+    reader.get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldShareReadLockBetweenServers() throws Exception {
+    Unlocker unlocker = lockService1.readLock("ws1");
+    try {
+      executor.submit(() -> lockService2.readLock("ws1").unlock()).get(10, SECONDS);
+    } finally {
+      unlocker.unlock();
+    }
+  }
+
+  @Test
+  public void shouldNotBlockDifferentKeys() throws Exception {
+    Unlocker unlocker = lockService1.writeLock("ws1");
+    try {
+      executor.submit(() -> lockService2.writeLock("ws2").unlock()).get(10, SECONDS);
+    } finally {
+      unlocker.unlock();
+    }
+  }
+
+  @Test
+  public void shouldBlockLocalWriterUntilLocalReaderReleasesLock() throws Exception {
+    Unlocker unlocker = lockService1.readLock("ws1");
+    Future<?> writer = executor.submit(() -> lockService1.writeLock("ws1").unlock());
+    assertBlocked(writer);
+
+    unlocker.unlock();
+
+    writer.get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldAllowReentrantWriteLockAndReadsOfWriter() throws Exception {
+    try (Unlocker ignored = lockService1.writeLock("ws1");
+        Unlocker ignored2 = lockService1.writeLock("ws1");
+        Unlocker ignored3 = lockService1.readLock("ws1")) {
+      Future<?> writer = executor.submit(() -> lockService2.writeLock("ws1").unlock());
+      assertBlocked(writer);
+    }
+
+    executor.submit(() -> lockService2.writeLock("ws1").unlock()).get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldUpgradeReadLockToWriteLock() throws Exception {
+    try (Unlocker ignored = lockService1.readLock("ws1");
+        Unlocker ignored2 = lockService1.writeLock("ws1")) {
+      Future<?> reader = executor.submit(() -> lockService2.readLock("ws1").unlock());
+      assertBlocked(reader);
+    }
+
+    executor.submit(() -> lockService2.writeLock("ws1").unlock()).get(10, SECONDS);
+  }
+
+  @Test
+  public void shouldReloadWorkspaceStatusWhenLockIsAcquired() {
+    cache1.putIfAbsent("ws1", STARTING);
+    assertEquals(cache2.get("ws1"), STARTING);
+
+    try (Unlocker ignored = lockService1.writeLock("ws1")) {
+      cache1.replace("ws1", RUNNING);
+    }
+
+    try (Unlocker ignored = lockService2.writeLock("ws1")) {
+      assertEquals(cache2.get("ws1"), RUNNING);
+    }
+  }
+
+  private void assertBlocked(Future<?> future) throws Exception {
+    try {
+      future.get(AWAIT_MS, MILLISECONDS);
+      fail("Lock must not be acquired");
+    } catch (TimeoutException expected) {
+      assertFalse(future.isDone());
+    }
+  }
+
+  private JdbcWorkspaceStatusCache createCache() {
+    return new JdbcWorkspaceStatusCache(
+        dataSource, new JdbcNotificationListener(dataSource), membership);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.jdbc.tck;
+
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import org.eclipse.che.commons.test.tck.TckListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcClusterMembership;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcNotificationListener;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceLockService;
+import org.eclipse.che.multiuser.api.distributed.jdbc.JdbcWorkspaceStatusCache;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link JdbcWorkspaceStatusCache} contract, two caches act as two Che Servers. */
+@Listeners(TckListener.class)
+@Test(suiteName = JdbcWorkspaceStatusCacheTest.SUITE_NAME)
+public class JdbcWorkspaceStatusCacheTest {
+
+  static final String SUITE_NAME = "JdbcWorkspaceStatusCacheTck";
+
+  @Inject private DataSource dataSource;
+
+  private JdbcClusterMembership membership;
+  private JdbcWorkspaceStatusCache cache1;
+  private JdbcWorkspaceStatusCache cache2;
+
+  @BeforeMethod
+  public void setUp() {
+    membership = new JdbcClusterMembership(dataSource);
+    membership.join();
+    cache1 = createCache();
+    cache2 = createCache();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    membership.shutdown();
+  }
+
+  @Test
+  public void shouldPutStatusIfAbsent() {
+    assertNull(cache1.putIfAbsent("ws1", STARTING));
+
+    assertEquals(cache1.putIfAbsent("ws1", RUNNING), STARTING);
+    assertEquals(cache2.putIfAbsent("ws1", RUNNING), STARTING);
+    assertEquals(cache1.get("ws1"), STARTING);
+    assertEquals(cache2.get("ws1"), STARTING);
+  }
+
+  @Test
+  public void shouldReplaceStatus() {
+    cache1.putIfAbsent("ws1", STARTING);
+
+    assertEquals(cache1.replace("ws1", RUNNING), STARTING);
+    assertEquals(cache1.get("ws1"), RUNNING);
+    assertNull(cache1.replace("ws2", RUNNING));
+    assertNull(cache1.get("ws2"));
+  }
+
+  @Test
+  public void shouldReplaceStatusOnlyIfItIsExpectedOne() {
+    cache1.putIfAbsent("ws1", STARTING);
+    cache2.get("ws1");
+    cache1.replace("ws1", RUNNING);
+
+    assertFalse(cache2.replace("ws1", STARTING, STOPPING));
+    assertTrue(cache2.replace("ws1", RUNNING, STOPPING));
+    assertEquals(cache2.get("ws1"), STOPPING);
+  }
+
+  @Test
+  public void shouldRemoveStatus() {
+    cache1.putIfAbsent("ws1", RUNNING);
+
+    assertEquals(cache2.remove("ws1"), RUNNING);
+    assertNull(cache2.remove("ws1"));
+    assertNull(cache2.get("ws1"));
+  }
+
+  @Test
+  public void shouldReturnAllStatuses() {
+    cache1.putIfAbsent("ws1", RUNNING);
+    cache1.putIfAbsent("ws2", STARTING);
+
+    assertEquals(cache2.asMap(), ImmutableMap.of("ws1", RUNNING, "ws2", STARTING));
+  }
+
+  @Test
+  public void shouldReadLocalCopyUntilWorkspaceLockIsAcquired() {
+    JdbcWorkspaceLockService lockService = new JdbcWorkspaceLockService(dataSource, cache2);
+    cache1.putIfAbsent("ws1", STARTING);
+    assertEquals(cache2.get("ws1"), STARTING);
+
+    cache1.replace("ws1", RUNNING);
+    assertEquals(cache2.get("ws1"), STARTING);
+
+    try {
+      lockService.writeLock("ws1").unlock();
+      assertEquals(cache2.get("ws1"), RUNNING);
+      assertEquals(cache2.asMap(), ImmutableMap.of("ws1", RUNNING));
+    } finally {
+      lockService.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldRemoveStatusesLeftByPreviousRunOfCluster() {
+    cache1.putIfAbsent("ws1", RUNNING);
+    membership.shutdown();
+
+    membership = new JdbcClusterMembership(dataSource);
+
+    membership.join();
+
+    assertTrue(createCache().asMap().isEmpty());
+  }
+
+  @Test
+  public void shouldKeepStatusesWhenMemberJoinsRunningCluster() {
+    cache1.putIfAbsent("ws1", RUNNING);
+
+    JdbcClusterMembership joined = new JdbcClusterMembership(dataSource);
+
+    joined.join();
+    try {
+      assertEquals(createCache().asMap(), ImmutableMap.of("ws1", RUNNING));
+    } finally {
+      joined.shutdown();
+    }
+  }
+
+  private JdbcWorkspaceStatusCache createCache() {
+    return new JdbcWorkspaceStatusCache(
+        dataSource, new JdbcNotificationListener(dataSource), membership);
+  }
+}
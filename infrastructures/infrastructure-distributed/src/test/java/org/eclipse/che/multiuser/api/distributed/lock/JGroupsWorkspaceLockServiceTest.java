@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link JGroupsWorkspaceLockService} with two Che Servers joined into an in-process
+ * cluster.
+ */
+public class JGroupsWorkspaceLockServiceTest {
+
+  private static final String CONF_FILE = "jgroups/che-test.xml";
+  private static final String KEY = "workspace123";
+  private static final long GATE_TIMEOUT_MS = 1000;
+  private static final long TIMEOUT_MS = 5000;
+  private static final long BLOCKED_MS = 300;
+
+  private ExecutorService executor;
+  private JGroupsWorkspaceLockService service1;
+  private JGroupsWorkspaceLockService service2;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    service1 = new JGroupsWorkspaceLockService(CONF_FILE, GATE_TIMEOUT_MS);
+    service2 = new JGroupsWorkspaceLockService(CONF_FILE, GATE_TIMEOUT_MS);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    service1.shutdown();
+    service2.shutdown();
+  }
+
+  @Test
+  public void shouldBlockReadersOnOtherMembersWhileWriteLockIsHeld() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> writer = hold(() -> service1.writeLock(KEY), release);
+
+    Future<?> reader = executor.submit(() -> service2.readLock(KEY).unlock());
+    assertBlocked(reader);
+
+    release.countDown();
+    writer.get(TIMEOUT_MS, MILLISECONDS);
+    reader.get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldWaitForReadersOnOtherMembersBeforeAcquiringWriteLock() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> reader = hold(() -> service2.readLock(KEY), release);
+
+    Future<?> writer = executor.submit(() -> service1.writeLock(KEY).unlock());
+    assertBlocked(writer);
+
+    release.countDown();
+    reader.get(TIMEOUT_MS, MILLISECONDS);
+    writer.get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldNotBlockReadersOfTheSameMember() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> reader = hold(() -> service1.readLock(KEY), release);
+
+    executor.submit(() -> service1.readLock(KEY).unlock()).get(TIMEOUT_MS, MILLISECONDS);
+    executor.submit(() -> service2.readLock(KEY).unlock()).get(TIMEOUT_MS, MILLISECONDS);
+
+    release.countDown();
+    reader.get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldAllowReentrantWriteLockAndReadsOfItsHolder() throws Exception {
+    executor
+        .submit(
+            () -> {
+              try (Unlocker write = service1.writeLock(KEY);
+                  Unlocker reentrantWrite = service1.writeLock(KEY);
+                  Unlocker read = service1.readLock(KEY)) {
+                // all the locks are acquired by the same thread
+              }
+            })
+        .get(TIMEOUT_MS, MILLISECONDS);
+
+    // gates are opened once the outermost write lock is released
+    executor.submit(() -> service2.readLock(KEY).unlock()).get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldUpgradeReadLockToWriteLock() throws Exception {
+    executor
+        .submit(
+            () -> {
+              try (Unlocker read = service1.readLock(KEY);
+                  Unlocker write = service1.writeLock(KEY)) {
+                // the read lock is upgraded
+              }
+            })
+        .get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldUpgradeReadLocksOfSeveralThreadsWithoutDeadlock() throws Exception {
+    CountDownLatch readersEntered = new CountDownLatch(2);
+    Runnable upgrade =
+        () -> {
+          try (Unlocker read = service1.readLock(KEY)) {
+            readersEntered.countDown();
+            readersEntered.await();
+            service1.writeLock(KEY).unlock();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    Future<?> upgrade1 = executor.submit(upgrade);
+    Future<?> upgrade2 = executor.submit(upgrade);
+
+    upgrade1.get(TIMEOUT_MS, MILLISECONDS);
+    upgrade2.get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldFailToAcquireWriteLockWhenReadersDoNotLeaveInTime() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> reader = hold(() -> service2.readLock(KEY), release);
+
+    Future<?> writer = executor.submit(() -> service1.writeLock(KEY).unlock());
+    try {
+      writer.get(TIMEOUT_MS, MILLISECONDS);
+      fail("Write lock must not be acquired while the reader holds the lock");
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof RuntimeException);
+    }
+
+    // failed acquisition releases the cluster lock and opens the gates
+    executor.submit(() -> service1.readLock(KEY).unlock()).get(TIMEOUT_MS, MILLISECONDS);
+    release.countDown();
+    reader.get(TIMEOUT_MS, MILLISECONDS);
+    executor.submit(() -> service1.writeLock(KEY).unlock()).get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldCloseGatesOnMemberJoiningWhileWriteLockIsHeld() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> writer = hold(() -> service1.writeLock(KEY), release);
+
+    JGroupsWorkspaceLockService joined =
+        new JGroupsWorkspaceLockService(CONF_FILE, GATE_TIMEOUT_MS);
+    try {
+      Future<?> reader = executor.submit(() -> joined.readLock(KEY).unlock());
+      assertBlocked(reader);
+
+      release.countDown();
+      writer.get(TIMEOUT_MS, MILLISECONDS);
+      reader.get(TIMEOUT_MS, MILLISECONDS);
+    } finally {
+      joined.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldOpenGatesClosedByMemberWhichLeftTheCluster() throws Exception {
+    hold(() -> service1.writeLock(KEY), new CountDownLatch(1));
+
+    Future<?> reader = executor.submit(() -> service2.readLock(KEY).unlock());
+    assertBlocked(reader);
+
+    service1.shutdown();
+    reader.get(TIMEOUT_MS, MILLISECONDS);
+  }
+
+  /** Acquires the lock in a separate thread and holds it until the latch is released. */
+  private Future<?> hold(LockAction action, CountDownLatch release) throws Exception {
+    CountDownLatch acquired = new CountDownLatch(1);
+    Future<?> holder =
+        executor.submit(
+            () -> {
+              try (Unlocker unlocker = action.lock()) {
+                acquired.countDown();
+                release.await();
+              }
+              return null;
+            });
+    assertTrue(acquired.await(TIMEOUT_MS, MILLISECONDS), "Lock is not acquired in time");
+    return holder;
+  }
+
+  private static void assertBlocked(Future<?> future) throws Exception {
+    try {
+      future.get(BLOCKED_MS, MILLISECONDS);
+      fail("Lock must not be acquired");
+    } catch (TimeoutException expected) {
+      assertFalse(future.isDone());
+    }
+  }
+
+  private interface LockAction {
+    Unlocker lock();
+  }
+}
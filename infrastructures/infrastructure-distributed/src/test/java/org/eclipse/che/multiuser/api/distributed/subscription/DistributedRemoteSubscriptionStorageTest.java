@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.subscription;
+
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link DistributedRemoteSubscriptionStorage} with two Che Servers joined into an
+ * in-process cluster.
+ */
+public class DistributedRemoteSubscriptionStorageTest {
+
+  private static final String CONF_FILE = "jgroups/che-test.xml";
+  private static final String METHOD = "workspace/statusChanged";
+  private static final String ENDPOINT_ID = "endpoint123";
+
+  private DistributedRemoteSubscriptionStorage storage1;
+  private DistributedRemoteSubscriptionStorage storage2;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    storage1 = new DistributedRemoteSubscriptionStorage(CONF_FILE);
+    storage2 = new DistributedRemoteSubscriptionStorage(CONF_FILE);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    storage1.shutdown();
+    storage2.shutdown();
+  }
+
+  @Test
+  public void shouldKeepSubscriptionsWithDifferentScopesOfTheSameEndpoint() {
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws1"));
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws2"));
+
+    assertEquals(workspaceIds(storage1.getByMethod(METHOD)), ImmutableSet.of("ws1", "ws2"));
+    assertEquals(workspaceIds(storage2.getByMethod(METHOD)), ImmutableSet.of("ws1", "ws2"));
+  }
+
+  @Test
+  public void shouldNotDuplicateSubscriptionWithTheSameScope() {
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws1"));
+    storage2.addSubscription(METHOD, context(ENDPOINT_ID, "ws1"));
+
+    assertEquals(storage1.getByMethod(METHOD).size(), 1);
+    assertEquals(storage2.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionsOfAllScopesOfTheEndpoint() {
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws1"));
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws2"));
+    storage1.addSubscription(METHOD, context("endpoint234", "ws1"));
+    storage1.addSubscription("runtime/log", context(ENDPOINT_ID, "ws1"));
+
+    storage2.removeSubscription(METHOD, ENDPOINT_ID);
+
+    for (DistributedRemoteSubscriptionStorage storage : ImmutableSet.of(storage1, storage2)) {
+      Set<RemoteSubscriptionContext> subscriptions = storage.getByMethod(METHOD);
+      assertEquals(subscriptions.size(), 1);
+      assertEquals(subscriptions.iterator().next().getEndpointId(), "endpoint234");
+      assertEquals(storage.getByMethod("runtime/log").size(), 1);
+    }
+  }
+
+  @Test
+  public void shouldReturnEmptySetWhenThereAreNoSubscriptions() {
+    storage1.addSubscription(METHOD, context(ENDPOINT_ID, "ws1"));
+    storage1.removeSubscription(METHOD, ENDPOINT_ID);
+
+    assertTrue(storage1.getByMethod(METHOD).isEmpty());
+    assertTrue(storage2.getByMethod(METHOD).isEmpty());
+  }
+
+  private static RemoteSubscriptionContext context(String endpointId, String workspaceId) {
+    Map<String, String> scope = ImmutableMap.of("workspaceId", workspaceId);
+    return new RemoteSubscriptionContext(endpointId, scope);
+  }
+
+  private static Set<String> workspaceIds(Set<RemoteSubscriptionContext> subscriptions) {
+    return subscriptions.stream().map(c -> c.getScope().get("workspaceId")).collect(toSet());
+  }
+}
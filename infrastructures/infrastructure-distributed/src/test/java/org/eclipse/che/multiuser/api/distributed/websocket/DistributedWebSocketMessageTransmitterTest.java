@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.websocket;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.jgroups.Address;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link DistributedWebSocketMessageTransmitter} with two Che Servers joined into an
+ * in-process cluster.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DistributedWebSocketMessageTransmitterTest {
+
+  private static final String CONF_FILE = "jgroups/che-test.xml";
+  private static final String ENDPOINT_ID = "endpoint123";
+  private static final String MESSAGE = "message";
+  private static final long TIMEOUT_MS = 5000;
+
+  @Mock private BasicWebSocketMessageTransmitter localTransmitter1;
+  @Mock private BasicWebSocketMessageTransmitter localTransmitter2;
+  @Mock private MessagesReSender reSender1;
+  @Mock private MessagesReSender reSender2;
+  @Mock private WebSocketSessionRegistry registry;
+
+  private DistributedWebSocketMessageTransmitter transmitter1;
+  private DistributedWebSocketMessageTransmitter transmitter2;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    transmitter1 =
+        new DistributedWebSocketMessageTransmitter(
+            CONF_FILE, localTransmitter1, reSender1, registry);
+    transmitter2 =
+        new DistributedWebSocketMessageTransmitter(
+            CONF_FILE, localTransmitter2, reSender2, registry);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transmitter1.shutdown();
+    transmitter2.shutdown();
+  }
+
+  @Test
+  public void shouldForwardMessageToServerEndpointIsConnectedTo() throws Exception {
+    when(localTransmitter2.transmitLocally(ENDPOINT_ID, MESSAGE)).thenReturn(true);
+    transmitter2.sessionAdded(ENDPOINT_ID);
+    awaitOwner(transmitter1, ENDPOINT_ID);
+
+    transmitter1.transmit(ENDPOINT_ID, MESSAGE);
+
+    verify(localTransmitter2, timeout(TIMEOUT_MS)).transmitLocally(ENDPOINT_ID, MESSAGE);
+    verify(reSender2, never()).add(ENDPOINT_ID, MESSAGE);
+  }
+
+  @Test
+  public void shouldCountAndKeepMessageWhenEndpointIsNotConnectedToOwnerAnymore()
+      throws Exception {
+    transmitter2.sessionAdded(ENDPOINT_ID);
+    awaitOwner(transmitter1, ENDPOINT_ID);
+
+    transmitter1.transmit(ENDPOINT_ID, MESSAGE);
+
+    verify(reSender1, timeout(TIMEOUT_MS)).add(ENDPOINT_ID, MESSAGE);
+    verify(localTransmitter2).transmitLocally(ENDPOINT_ID, MESSAGE);
+    assertEquals(transmitter1.getFailedDeliveriesCount(), 1);
+  }
+
+  @Test
+  public void shouldKeepMessageWhenEndpointIsNotConnectedToAnyServer() {
+    transmitter1.transmit(ENDPOINT_ID, MESSAGE);
+
+    verify(reSender1).add(ENDPOINT_ID, MESSAGE);
+    assertEquals(transmitter1.getFailedDeliveriesCount(), 0);
+  }
+
+  private static void awaitOwner(DistributedWebSocketMessageTransmitter transmitter, String id)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    Address owner = transmitter.getOwner(id);
+    while (owner == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      owner = transmitter.getOwner(id);
+    }
+    assertNotNull(owner, "Endpoint " + id + " is not replicated");
+  }
+}
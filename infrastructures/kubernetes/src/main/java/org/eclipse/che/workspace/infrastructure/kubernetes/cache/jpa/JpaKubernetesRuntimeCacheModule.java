@@ -23,6 +23,8 @@ public class JpaKubernetesRuntimeCacheModule extends AbstractModule {
     bind(KubernetesMachineCache.class).to(JpaKubernetesMachineCache.class);
     bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimeBeforeWorkspaceRemoved.class)
         .asEagerSingleton();
+    bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimesBeforeWorkspacesRemoved.class)
+        .asEagerSingleton();
     bind(JpaKubernetesMachineCache.RemoveKubernetesMachinesBeforeRuntimesRemoved.class)
         .asEagerSingleton();
   }
@@ -15,6 +15,7 @@ import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -32,6 +33,7 @@ import org.eclipse.che.api.core.model.workspace.config.Command;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -179,6 +181,38 @@ public class JpaKubernetesRuntimeStateCache implements KubernetesRuntimeStateCac
     }
   }
 
+  @Transactional(rollbackOn = InfrastructureException.class)
+  protected List<KubernetesRuntimeState> findAll(Collection<String> workspaceIds)
+      throws InfrastructureException {
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("KubernetesRuntime.getByWorkspaceIds", KubernetesRuntimeState.class)
+          .setParameter("workspaceIds", workspaceIds)
+          .getResultList();
+    } catch (RuntimeException x) {
+      throw new InfrastructureException(x.getMessage(), x);
+    }
+  }
+
+  /** Removes runtime state which is left while its workspace is being removed. */
+  private void removeLeftRuntimeState(KubernetesRuntimeState runtimeState)
+      throws InfrastructureException {
+    RuntimeIdentity runtimeId = runtimeState.getRuntimeId();
+
+    // It is not normal case when non STOPPED workspace is going to be removed.
+    // Need to log error to investigate why it may happen
+    // and clean up existing runtime not to lock removing of workspace.
+    LOG.error(
+        format(
+            "Workspace is being removed while Kubernetes runtime state '%s:%s:%s' exists. "
+                + "This situation indicates a bug that needs to be reported. Runtime state "
+                + "will be removed from DB, but Kubernetes resources (pods, pvcs, etc.) "
+                + "won't be cleaned up.",
+            runtimeId.getWorkspaceId(), runtimeId.getEnvName(), runtimeId.getOwnerId()));
+    remove(runtimeId);
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
   protected void doRemove(RuntimeIdentity runtimeIdentity) throws ServerException {
     EntityManager em = managerProvider.get();
@@ -272,20 +306,27 @@ public class JpaKubernetesRuntimeStateCache implements KubernetesRuntimeStateCac
       Optional<KubernetesRuntimeState> k8sRuntimeStateOpt =
           k8sRuntimes.find(event.getWorkspace().getId());
       if (k8sRuntimeStateOpt.isPresent()) {
-        KubernetesRuntimeState existingK8sRuntimeState = k8sRuntimeStateOpt.get();
-        RuntimeIdentity runtimeId = existingK8sRuntimeState.getRuntimeId();
-
-        // It is not normal case when non STOPPED workspace is going to be removed.
-        // Need to log error to investigate why it may happen
-        // and clean up existing runtime not to lock removing of workspace.
-        LOG.error(
-            format(
-                "Workspace is being removed while Kubernetes runtime state '%s:%s:%s' exists. "
-                    + "This situation indicates a bug that needs to be reported. Runtime state "
-                    + "will be removed from DB, but Kubernetes resources (pods, pvcs, etc.) "
-                    + "won't be cleaned up.",
-                runtimeId.getWorkspaceId(), runtimeId.getEnvName(), runtimeId.getOwnerId()));
-        k8sRuntimes.remove(runtimeId);
+        k8sRuntimes.removeLeftRuntimeState(k8sRuntimeStateOpt.get());
+      }
+    }
+  }
+
+  @Singleton
+  public static class RemoveKubernetesRuntimesBeforeWorkspacesRemoved
+      extends CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> {
+
+    @Inject private EventService eventService;
+    @Inject private JpaKubernetesRuntimeStateCache k8sRuntimes;
+
+    @PostConstruct
+    public void subscribe() {
+      eventService.subscribe(this, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @Override
+    public void onCascadeEvent(BeforeWorkspacesRemovedEvent event) throws Exception {
+      for (KubernetesRuntimeState runtimeState : k8sRuntimes.findAll(event.getWorkspaceIds())) {
+        k8sRuntimes.removeLeftRuntimeState(runtimeState);
       }
     }
   }
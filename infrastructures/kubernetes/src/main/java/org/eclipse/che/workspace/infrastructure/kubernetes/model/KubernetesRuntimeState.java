@@ -35,7 +35,10 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 @Entity(name = "KubernetesRuntime")
 @Table(name = "che_k8s_runtime")
 @NamedQueries({
-  @NamedQuery(name = "KubernetesRuntime.getAll", query = "SELECT r FROM KubernetesRuntime r")
+  @NamedQuery(name = "KubernetesRuntime.getAll", query = "SELECT r FROM KubernetesRuntime r"),
+  @NamedQuery(
+      name = "KubernetesRuntime.getByWorkspaceIds",
+      query = "SELECT r FROM KubernetesRuntime r WHERE r.workspaceId IN :workspaceIds")
 })
 public class KubernetesRuntimeState {
   @Id
@@ -11,28 +11,241 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>Actions of the checked permissions are cached by user, domain and instance, so the repeated
+ * checks don't hit the database. The cached actions are invalidated on {@link PermissionsEvent
+ * permissions events} published by this Che Server, other Che Servers of the cluster are supposed
+ * to call {@link #invalidate(String, String, String)} for their changes. Removals of permissions
+ * which don't publish events, e.g. cascade removals, are covered by expiration of cached actions.
+ *
  * @author Sergii Leschenko
  */
+@Singleton
 public class PermissionCheckerImpl implements PermissionChecker {
   private final PermissionsManager permissionsManager;
+  private final Cache<Key, Set<String>> actionsCache;
+  private final AtomicLong invalidations;
 
   @Inject
-  public PermissionCheckerImpl(PermissionsManager permissionsManager) {
+  public PermissionCheckerImpl(
+      PermissionsManager permissionsManager,
+      EventService eventService,
+      @Named("che.authorization.permissions_cache.size") long cacheSize,
+      @Named("che.authorization.permissions_cache.expire_sec") long expireAfterSec) {
     this.permissionsManager = permissionsManager;
+    this.invalidations = new AtomicLong();
+    if (cacheSize > 0) {
+      this.actionsCache =
+          CacheBuilder.newBuilder()
+              .maximumSize(cacheSize)
+              .expireAfterWrite(expireAfterSec, TimeUnit.SECONDS)
+              .recordStats()
+              .build();
+      eventService.subscribe(this::onPermissionsEvent, PermissionsEvent.class);
+    } else {
+      this.actionsCache = null;
+    }
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    if (actionsCache == null) {
+      return permissionsManager.exists(user, domain, instance, action)
+          || permissionsManager.exists("*", domain, instance, action);
+    }
+    // throws NotFoundException for unsupported domains as the permissions manager does
+    permissionsManager.getDomain(domain);
+    return getActions(user, domain, instance).contains(action)
+        || getActions("*", domain, instance).contains(action);
+  }
+
+  @Override
+  public Set<String> hasPermissions(
+      String user, String domain, Collection<String> instances, String action)
+      throws ServerException, NotFoundException, ConflictException {
+    // throws NotFoundException for unsupported domains as the permissions manager does
+    permissionsManager.getDomain(domain);
+    final Set<String> permitted = new HashSet<>();
+    final List<String> unresolved = new ArrayList<>();
+    final Map<String, Set<String>> usersActions = getActions(user, domain, instances);
+    for (String instance : instances) {
+      if (usersActions.get(instance).contains(action)) {
+        permitted.add(instance);
+      } else {
+        unresolved.add(instance);
+      }
+    }
+    if (!unresolved.isEmpty()) {
+      final Map<String, Set<String>> publicActions = getActions("*", domain, unresolved);
+      for (String instance : unresolved) {
+        if (publicActions.get(instance).contains(action)) {
+          permitted.add(instance);
+        }
+      }
+    }
+    return permitted;
+  }
+
+  /**
+   * Invalidates cached actions of permissions of the given user to the given instance. Cached
+   * actions of all the users are invalidated when the given user is {@code *} since such public
+   * permissions are checked for every user.
+   */
+  public void invalidate(String user, String domain, @Nullable String instance) {
+    if (actionsCache == null) {
+      return;
+    }
+    invalidations.incrementAndGet();
+    if ("*".equals(user)) {
+      actionsCache.asMap().keySet().removeIf(key -> key.isOf(domain, instance));
+    } else {
+      actionsCache.invalidate(new Key(user, domain, instance));
+    }
+  }
+
+  /** Invalidates all the cached actions. */
+  public void invalidateAll() {
+    if (actionsCache != null) {
+      invalidations.incrementAndGet();
+      actionsCache.invalidateAll();
+    }
+  }
+
+  /** Returns the cache of actions or null when caching is disabled. */
+  @Nullable
+  Cache<?, ?> getActionsCache() {
+    return actionsCache;
+  }
+
+  private Set<String> getActions(String user, String domain, String instance)
+      throws ServerException, ConflictException {
+    final Key key = new Key(user, domain, instance);
+    Set<String> actions = actionsCache.getIfPresent(key);
+    if (actions == null) {
+      // actions loaded concurrently with invalidation may be stale, so they are not cached
+      final long invalidationsBefore = invalidations.get();
+      actions = loadActions(user, domain, instance);
+      if (invalidationsBefore == invalidations.get()) {
+        actionsCache.put(key, actions);
+      }
+    }
+    return actions;
+  }
+
+  /** Returns actions of the user for each of the given instances, empty when there are none. */
+  private Map<String, Set<String>> getActions(
+      String user, String domain, Collection<String> instances)
+      throws ServerException, NotFoundException {
+    final Map<String, Set<String>> actions = new HashMap<>();
+    final List<String> missing = new ArrayList<>();
+    for (String instance : instances) {
+      final Set<String> cached =
+          actionsCache == null ? null : actionsCache.getIfPresent(new Key(user, domain, instance));
+      if (cached != null) {
+        actions.put(instance, cached);
+      } else {
+        missing.add(instance);
+      }
+    }
+    if (missing.isEmpty()) {
+      return actions;
+    }
+    final long invalidationsBefore = invalidations.get();
+    final Map<String, Set<String>> loaded = new HashMap<>();
+    for (String instance : missing) {
+      loaded.put(instance, ImmutableSet.of());
+    }
+    for (AbstractPermissions permissions :
+        permissionsManager.getByUserAndInstances(user, domain, missing)) {
+      final Set<String> loadedActions = ImmutableSet.copyOf(permissions.getActions());
+      if (permissions.getInstanceId() == null) {
+        // permissions of domains which don't require instances apply to any instance
+        missing.forEach(instance -> loaded.put(instance, loadedActions));
+      } else {
+        loaded.put(permissions.getInstanceId(), loadedActions);
+      }
+    }
+    if (actionsCache != null && invalidationsBefore == invalidations.get()) {
+      loaded.forEach((instance, set) -> actionsCache.put(new Key(user, domain, instance), set));
+    }
+    actions.putAll(loaded);
+    return actions;
+  }
+
+  private Set<String> loadActions(String user, String domain, String instance)
+      throws ServerException, ConflictException {
+    try {
+      return ImmutableSet.copyOf(permissionsManager.get(user, domain, instance).getActions());
+    } catch (NotFoundException e) {
+      return ImmutableSet.of();
+    }
+  }
+
+  private void onPermissionsEvent(PermissionsEvent event) {
+    final Permissions permissions = event.getPermissions();
+    invalidate(permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId());
+  }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+
+    private Key(String user, String domain, String instance) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+    }
+
+    private boolean isOf(String domain, String instance) {
+      return this.domain.equals(domain) && Objects.equals(this.instance, instance);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return user.equals(that.user)
+          && domain.equals(that.domain)
+          && Objects.equals(instance, that.instance);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(user, domain, instance);
+    }
   }
 }
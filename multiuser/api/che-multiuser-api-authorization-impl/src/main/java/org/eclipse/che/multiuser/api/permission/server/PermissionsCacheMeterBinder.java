@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import com.google.common.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Provides the size, hits and misses of the {@link PermissionCheckerImpl} permissions cache. */
+@Singleton
+public class PermissionsCacheMeterBinder implements MeterBinder {
+
+  private static final String CACHE_NAME = "che.permissions";
+
+  private final PermissionCheckerImpl permissionChecker;
+
+  @Inject
+  public PermissionsCacheMeterBinder(PermissionCheckerImpl permissionChecker) {
+    this.permissionChecker = permissionChecker;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Cache<?, ?> cache = permissionChecker.getActionsCache();
+    if (cache == null) {
+      return;
+    }
+    new GuavaCacheMetrics(cache, CACHE_NAME, Tags.empty()).bindTo(registry);
+    Gauge.builder("che.permissions.cache.hit.ratio", cache, c -> c.stats().hitRate())
+        .description("Ratio of permission checks served from the cache")
+        .register(registry);
+  }
+}
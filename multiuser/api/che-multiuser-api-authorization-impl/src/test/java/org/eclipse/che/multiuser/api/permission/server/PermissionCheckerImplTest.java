@@ -11,24 +11,52 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
-import org.mockito.InjectMocks;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 @Listeners(MockitoTestNGListener.class)
 public class PermissionCheckerImplTest {
   @Mock private PermissionsManager permissionsManager;
+  @Mock private EventService eventService;
 
-  @InjectMocks private PermissionCheckerImpl permissionChecker;
+  @Captor private ArgumentCaptor<EventSubscriber<PermissionsEvent>> subscriberCaptor;
+
+  private PermissionCheckerImpl permissionChecker;
+
+  @BeforeMethod
+  public void setUp() {
+    permissionChecker = new PermissionCheckerImpl(permissionsManager, eventService, 0, 0);
+  }
 
   @Test
   public void shouldCheckExistingDirectUsersPermissions() throws Exception {
@@ -57,4 +85,165 @@ public class PermissionCheckerImplTest {
     verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
     verify(permissionsManager).exists("*", "domain123", "instance123", "test");
   }
+
+  @Test
+  public void shouldNotSubscribeOnPermissionsEventsWhenCacheIsDisabled() {
+    verifyZeroInteractions(eventService);
+  }
+
+  @Test
+  public void shouldCheckCachedActionsOfUsersPermissions() throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    mockPermissions("user123", "read", "write");
+
+    assertTrue(cachingChecker.hasPermission("user123", "domain123", "instance123", "read"));
+    assertTrue(cachingChecker.hasPermission("user123", "domain123", "instance123", "write"));
+
+    verify(permissionsManager, times(1)).get("user123", "domain123", "instance123");
+    verify(permissionsManager, never()).get("*", "domain123", "instance123");
+    verify(permissionsManager, never())
+        .exists(anyString(), anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldCheckCachedActionsOfPublicPermissionsIfThereIsNoUsersPermissions()
+      throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    doThrow(new NotFoundException("not found"))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
+    mockPermissions("*", "read");
+
+    assertTrue(cachingChecker.hasPermission("user123", "domain123", "instance123", "read"));
+    assertFalse(cachingChecker.hasPermission("user123", "domain123", "instance123", "write"));
+
+    verify(permissionsManager, times(1)).get("user123", "domain123", "instance123");
+    verify(permissionsManager, times(1)).get("*", "domain123", "instance123");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenDomainIsUnsupported() throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    doThrow(new NotFoundException("unsupported")).when(permissionsManager).getDomain("domain123");
+
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+  }
+
+  @Test
+  public void shouldInvalidateCachedActionsOnPermissionsEvent() throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    mockPermissions("user123", "read");
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+
+    subscriberCaptor.getValue().onEvent(mockEvent("user123"));
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+
+    verify(permissionsManager, times(2)).get("user123", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldInvalidateCachedActionsOfAllUsersOnPublicPermissionsEvent() throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    mockPermissions("user123", "read");
+    mockPermissions("user234", "read");
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+    cachingChecker.hasPermission("user234", "domain123", "instance123", "read");
+
+    subscriberCaptor.getValue().onEvent(mockEvent("*"));
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+    cachingChecker.hasPermission("user234", "domain123", "instance123", "read");
+
+    verify(permissionsManager, times(2)).get("user123", "domain123", "instance123");
+    verify(permissionsManager, times(2)).get("user234", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldCheckPermissionsToSeveralInstancesAtOnce() throws Exception {
+    AbstractPermissions instance1 = mockInstancePermissions("instance1", "read");
+    AbstractPermissions instance2 = mockInstancePermissions("instance2", "write");
+    AbstractPermissions publicInstance3 = mockInstancePermissions("instance3", "read");
+    doReturn(asList(instance1, instance2))
+        .when(permissionsManager)
+        .getByUserAndInstances(
+            "user123", "domain123", asList("instance1", "instance2", "instance3"));
+    doReturn(singletonList(publicInstance3))
+        .when(permissionsManager)
+        .getByUserAndInstances("*", "domain123", asList("instance2", "instance3"));
+
+    Set<String> permitted =
+        permissionChecker.hasPermissions(
+            "user123", "domain123", asList("instance1", "instance2", "instance3"), "read");
+
+    assertEquals(permitted, ImmutableSet.of("instance1", "instance3"));
+    verify(permissionsManager, never()).get(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldApplyPermissionsWithoutInstanceToEachOfSeveralInstances() throws Exception {
+    AbstractPermissions system = mockInstancePermissions(null, "read");
+    doReturn(singletonList(system))
+        .when(permissionsManager)
+        .getByUserAndInstances("user123", "domain123", asList("instance1", "instance2"));
+
+    Set<String> permitted =
+        permissionChecker.hasPermissions(
+            "user123", "domain123", asList("instance1", "instance2"), "read");
+
+    assertEquals(permitted, ImmutableSet.of("instance1", "instance2"));
+  }
+
+  @Test
+  public void shouldCheckPermissionsToSeveralInstancesUsingCachedActions() throws Exception {
+    PermissionCheckerImpl cachingChecker = createCachingChecker();
+    mockPermissions("user123", "read");
+    cachingChecker.hasPermission("user123", "domain123", "instance123", "read");
+    AbstractPermissions instance234 = mockInstancePermissions("instance234", "read");
+    doReturn(singletonList(instance234))
+        .when(permissionsManager)
+        .getByUserAndInstances("user123", "domain123", singletonList("instance234"));
+
+    Set<String> permitted =
+        cachingChecker.hasPermissions(
+            "user123", "domain123", asList("instance123", "instance234"), "read");
+    Set<String> permittedAgain =
+        cachingChecker.hasPermissions(
+            "user123", "domain123", asList("instance123", "instance234"), "read");
+
+    assertEquals(permitted, ImmutableSet.of("instance123", "instance234"));
+    assertEquals(permittedAgain, permitted);
+    verify(permissionsManager, times(1))
+        .getByUserAndInstances("user123", "domain123", singletonList("instance234"));
+  }
+
+  private PermissionCheckerImpl createCachingChecker() {
+    PermissionCheckerImpl cachingChecker =
+        new PermissionCheckerImpl(permissionsManager, eventService, 100, 60);
+    verify(eventService).subscribe(subscriberCaptor.capture(), eq(PermissionsEvent.class));
+    return cachingChecker;
+  }
+
+  private void mockPermissions(String user, String... actions) throws Exception {
+    AbstractPermissions permissions = mock(AbstractPermissions.class);
+    List<String> actionsList = asList(actions);
+    when(permissions.getActions()).thenReturn(actionsList);
+    doReturn(permissions).when(permissionsManager).get(user, "domain123", "instance123");
+  }
+
+  private AbstractPermissions mockInstancePermissions(String instance, String... actions) {
+    AbstractPermissions permissions = mock(AbstractPermissions.class);
+    List<String> actionsList = asList(actions);
+    when(permissions.getInstanceId()).thenReturn(instance);
+    when(permissions.getActions()).thenReturn(actionsList);
+    return permissions;
+  }
+
+  private PermissionsEvent mockEvent(String user) {
+    Permissions permissions = mock(Permissions.class);
+    when(permissions.getUserId()).thenReturn(user);
+    when(permissions.getDomainId()).thenReturn("domain123");
+    when(permissions.getInstanceId()).thenReturn("instance123");
+    PermissionsEvent event = mock(PermissionsEvent.class);
+    when(event.getPermissions()).thenReturn(permissions);
+    return event;
+  }
 }
@@ -12,7 +12,10 @@
 package org.eclipse.che.multiuser.api.permission.server;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptySet;
 
+import java.util.Collection;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -59,6 +62,22 @@ public class AuthorizedSubject implements Subject {
     }
   }
 
+  @Override
+  public Set<String> hasPermissions(String domain, Collection<String> instances, String action) {
+    try {
+      return permissionChecker.hasPermissions(getUserId(), domain, instances, action);
+    } catch (NotFoundException nfe) {
+      return emptySet();
+    } catch (ServerException | ConflictException e) {
+      LOG.error(
+          format(
+              "Can't check permissions for user '%s' and instances %s of domain '%s'",
+              getUserId(), instances, domain),
+          e);
+      throw new RuntimeException("Can't check user's permissions", e);
+    }
+  }
+
   @Override
   public void checkPermission(String domain, String instance, String action)
       throws ForbiddenException {
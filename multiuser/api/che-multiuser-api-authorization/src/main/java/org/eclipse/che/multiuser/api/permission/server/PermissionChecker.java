@@ -11,6 +11,9 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -36,4 +39,30 @@ public interface PermissionChecker {
    */
   boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException;
+
+  /**
+   * Checks user's permission to perform some action with several instances at once.
+   *
+   * <p>Implementations should check permissions to all the instances at once, the default
+   * implementation checks each instance separately.
+   *
+   * @param user user id
+   * @param domain domain id
+   * @param instances non null instances ids
+   * @param action action name
+   * @return ids of those of the given instances the user has given permission to
+   * @throws NotFoundException when given domain is unsupported
+   * @throws ServerException when any other error occurs during permissions existence checking
+   */
+  default Set<String> hasPermissions(
+      String user, String domain, Collection<String> instances, String action)
+      throws ServerException, NotFoundException, ConflictException {
+    final Set<String> permitted = new HashSet<>();
+    for (String instance : instances) {
+      if (hasPermission(user, domain, instance, action)) {
+        permitted.add(instance);
+      }
+    }
+    return permitted;
+  }
 }
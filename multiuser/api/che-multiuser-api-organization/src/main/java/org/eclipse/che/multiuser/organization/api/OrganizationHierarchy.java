@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.organization.api;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Pages;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.core.db.jpa.eclipselink.TransactionCompletionActions;
+import org.eclipse.che.multiuser.organization.api.event.BeforeOrganizationRemovedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationPersistedEvent;
+import org.eclipse.che.multiuser.organization.shared.model.Organization;
+
+/**
+ * In-memory index of parents and children of organizations, so ancestors and descendants of an
+ * organization are resolved without walking the organizations tree in the database each time.
+ *
+ * <p>Parent of an organization never changes, while children of an organization are invalidated
+ * when a suborganization is created or removed on this Che Server, and once more after the
+ * transaction which creates or removes it is completed. Indexed children expire, so
+ * suborganizations created or removed by other Che Servers of the cluster are eventually indexed.
+ * All the suborganizations of an organization which are not indexed yet are loaded at once.
+ *
+ * @see OrganizationManager
+ */
+@Singleton
+public class OrganizationHierarchy {
+
+  private final OrganizationManager organizationManager;
+  private final TransactionCompletionActions completionActions;
+  private final Cache<String, Optional<String>> parents;
+  private final Cache<String, List<String>> children;
+  private final AtomicLong invalidations;
+
+  @Inject
+  public OrganizationHierarchy(
+      OrganizationManager organizationManager,
+      TransactionCompletionActions completionActions,
+      @Named("che.organization.hierarchy_cache.size") long cacheSize,
+      @Named("che.organization.hierarchy_cache.expire_sec") long expireAfterSec) {
+    this.organizationManager = organizationManager;
+    this.completionActions = completionActions;
+    this.parents = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    this.children =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(expireAfterSec, TimeUnit.SECONDS)
+            .build();
+    this.invalidations = new AtomicLong();
+  }
+
+  @Inject
+  public void subscribe(EventService eventService) {
+    eventService.subscribe(
+        new EventSubscriber<OrganizationPersistedEvent>() {
+          @Override
+          public void onEvent(OrganizationPersistedEvent event) {
+            onChildrenChanged(event.getOrganization());
+          }
+        },
+        OrganizationPersistedEvent.class);
+    eventService.subscribe(
+        new EventSubscriber<BeforeOrganizationRemovedEvent>() {
+          @Override
+          public void onEvent(BeforeOrganizationRemovedEvent event) {
+            onRemoved(event.getOrganization());
+          }
+        },
+        BeforeOrganizationRemovedEvent.class);
+  }
+
+  /**
+   * Returns identifier of the root organization of the organizations tree which contains the
+   * organization with given id, or the given id when the organization is root itself.
+   *
+   * @throws NotFoundException when organization with given id or any of its ancestors doesn't
+   *     exist
+   * @throws ServerException when any other error occurs
+   */
+  public String getRootId(String organizationId) throws NotFoundException, ServerException {
+    String rootId = organizationId;
+    Optional<String> parent = getParentId(rootId);
+    while (parent.isPresent()) {
+      rootId = parent.get();
+      parent = getParentId(rootId);
+    }
+    return rootId;
+  }
+
+  /**
+   * Returns identifier of the parent organization or empty optional for root organization.
+   *
+   * @throws NotFoundException when organization with given id doesn't exist
+   * @throws ServerException when any other error occurs
+   */
+  public Optional<String> getParentId(String organizationId)
+      throws NotFoundException, ServerException {
+    Optional<String> parent = parents.getIfPresent(organizationId);
+    if (parent == null) {
+      parent = Optional.ofNullable(organizationManager.getById(organizationId).getParent());
+      parents.put(organizationId, parent);
+    }
+    return parent;
+  }
+
+  /**
+   * Returns identifiers of all the direct and nested suborganizations of the organization with
+   * given id. Parents are returned before their suborganizations.
+   *
+   * @throws ServerException when any error occurs
+   */
+  public List<String> getSuborganizationIds(String organizationId) throws ServerException {
+    Map<String, List<String>> subtree = getIndexedSubtree(organizationId);
+    if (subtree == null) {
+      // suborganizations loaded concurrently with invalidation may be stale, so aren't indexed
+      final long invalidationsBefore = invalidations.get();
+      subtree = loadSubtree(organizationId);
+      if (invalidationsBefore == invalidations.get()) {
+        children.putAll(subtree);
+      }
+    }
+    final List<String> suborganizations = new ArrayList<>();
+    final Deque<String> toVisit = new ArrayDeque<>();
+    toVisit.add(organizationId);
+    while (!toVisit.isEmpty()) {
+      for (String child : subtree.getOrDefault(toVisit.poll(), ImmutableList.of())) {
+        suborganizations.add(child);
+        toVisit.add(child);
+      }
+    }
+    return suborganizations;
+  }
+
+  /** Invalidates all the indexed organizations. */
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    parents.invalidateAll();
+    children.invalidateAll();
+  }
+
+  /**
+   * Returns indexed children of the organization with given id and of each of its suborganizations,
+   * or null when children of any of them are not indexed.
+   */
+  private Map<String, List<String>> getIndexedSubtree(String organizationId) {
+    final Map<String, List<String>> subtree = new HashMap<>();
+    final Deque<String> toVisit = new ArrayDeque<>();
+    toVisit.add(organizationId);
+    while (!toVisit.isEmpty()) {
+      final String id = toVisit.poll();
+      final List<String> childIds = children.getIfPresent(id);
+      if (childIds == null) {
+        return null;
+      }
+      subtree.put(id, childIds);
+      toVisit.addAll(childIds);
+    }
+    return subtree;
+  }
+
+  /**
+   * Loads all the direct and nested suborganizations of the organization with given id at once and
+   * returns children of the organization and of each of its suborganizations.
+   */
+  private Map<String, List<String>> loadSubtree(String organizationId) throws ServerException {
+    final Organization organization;
+    try {
+      organization = organizationManager.getById(organizationId);
+    } catch (NotFoundException e) {
+      return ImmutableMap.of();
+    }
+    parents.put(organizationId, Optional.ofNullable(organization.getParent()));
+    final Map<String, ImmutableList.Builder<String>> builders = new HashMap<>();
+    builders.put(organizationId, ImmutableList.builder());
+    final List<Organization> suborganizations = new ArrayList<>();
+    for (Organization suborganization :
+        Pages.iterate(
+            (maxItems, skipCount) ->
+                organizationManager.getSuborganizations(
+                    organization.getQualifiedName(), maxItems, skipCount))) {
+      suborganizations.add(suborganization);
+      builders.put(suborganization.getId(), ImmutableList.builder());
+    }
+    for (Organization suborganization : suborganizations) {
+      final ImmutableList.Builder<String> siblings = builders.get(suborganization.getParent());
+      if (siblings != null) {
+        siblings.add(suborganization.getId());
+        parents.put(suborganization.getId(), Optional.of(suborganization.getParent()));
+      }
+    }
+    final Map<String, List<String>> subtree = new HashMap<>();
+    builders.forEach((id, builder) -> subtree.put(id, builder.build()));
+    return subtree;
+  }
+
+  private void onRemoved(Organization organization) {
+    parents.invalidate(organization.getId());
+    children.invalidate(organization.getId());
+    onChildrenChanged(organization);
+  }
+
+  private void onChildrenChanged(Organization organization) {
+    invalidateChildren(organization);
+    // suborganizations loaded before the changes are committed are invalidated once more
+    completionActions.afterCompletion(() -> invalidateChildren(organization));
+  }
+
+  private void invalidateChildren(Organization organization) {
+    invalidations.incrementAndGet();
+    if (organization.getParent() != null) {
+      children.invalidate(organization.getParent());
+    }
+  }
+}
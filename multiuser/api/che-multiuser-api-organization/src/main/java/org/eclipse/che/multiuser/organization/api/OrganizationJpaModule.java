@@ -14,6 +14,7 @@ package org.eclipse.che.multiuser.organization.api;
 import com.google.inject.AbstractModule;
 import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
@@ -22,6 +23,7 @@ import org.eclipse.che.multiuser.organization.spi.MemberDao;
 import org.eclipse.che.multiuser.organization.spi.OrganizationDao;
 import org.eclipse.che.multiuser.organization.spi.OrganizationDistributedResourcesDao;
 import org.eclipse.che.multiuser.organization.spi.impl.MemberImpl;
+import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
 import org.eclipse.che.multiuser.organization.spi.jpa.JpaMemberDao;
 import org.eclipse.che.multiuser.organization.spi.jpa.JpaOrganizationDao;
 import org.eclipse.che.multiuser.organization.spi.jpa.JpaOrganizationDistributedResourcesDao;
@@ -42,5 +44,8 @@ public class OrganizationJpaModule extends AbstractModule {
 
     bind(OrganizationDistributedResourcesDao.class)
         .to(JpaOrganizationDistributedResourcesDao.class);
+
+    EntityCacheConfigurator.cacheEntities(binder(), OrganizationImpl.class);
+    EntityCacheConfigurator.cacheQueryResults(binder(), "Organization.getByName");
   }
 }
@@ -20,8 +20,8 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.multiuser.organization.api.OrganizationHierarchy;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
 import org.eclipse.che.multiuser.organization.shared.model.Organization;
 import org.eclipse.che.multiuser.resource.api.AvailableResourcesProvider;
@@ -53,15 +53,18 @@ public class OrganizationalAccountAvailableResourcesProvider implements Availabl
   private final Provider<ResourceManager> resourceManagerProvider;
   private final ResourceAggregator resourceAggregator;
   private final OrganizationManager organizationManager;
+  private final OrganizationHierarchy organizationHierarchy;
 
   @Inject
   public OrganizationalAccountAvailableResourcesProvider(
       Provider<ResourceManager> resourceManagerProvider,
       ResourceAggregator resourceAggregator,
-      OrganizationManager organizationManager) {
+      OrganizationManager organizationManager,
+      OrganizationHierarchy organizationHierarchy) {
     this.resourceManagerProvider = resourceManagerProvider;
     this.resourceAggregator = resourceAggregator;
     this.organizationManager = organizationManager;
+    this.organizationHierarchy = organizationHierarchy;
   }
 
   @Override
@@ -96,7 +99,7 @@ public class OrganizationalAccountAvailableResourcesProvider implements Availabl
     final List<? extends Resource> total = resourceManager.getTotalResources(organization.getId());
     final List<Resource> unavailable =
         new ArrayList<>(resourceManager.getUsedResources(organization.getId()));
-    unavailable.addAll(getUsedResourcesBySuborganizations(organization.getQualifiedName()));
+    unavailable.addAll(getUsedResourcesBySuborganizations(organization.getId()));
     try {
       return resourceAggregator.deduct(total, unavailable);
     } catch (NoEnoughResourcesException e) {
@@ -114,21 +117,17 @@ public class OrganizationalAccountAvailableResourcesProvider implements Availabl
    *
    * <p>Note that the result will includes used resources of all direct and nested suborganizations.
    *
-   * @param parentQualifiedName parent qualified name, e.g. 'parentName/suborgName
+   * @param parentId parent organization id
    * @return resources which are used by suborganizations of specified organization.
    * @throws ServerException when any other exception occurs on calculation of used resources
    */
   @VisibleForTesting
-  List<Resource> getUsedResourcesBySuborganizations(String parentQualifiedName)
+  List<Resource> getUsedResourcesBySuborganizations(String parentId)
       throws NotFoundException, ServerException {
     ResourceManager resourceManager = resourceManagerProvider.get();
     List<Resource> usedResources = new ArrayList<>();
-    for (Organization suborganization :
-        Pages.iterate(
-            (maxItems, skipCount) ->
-                organizationManager.getSuborganizations(
-                    parentQualifiedName, maxItems, skipCount))) {
-      usedResources.addAll(resourceManager.getUsedResources(suborganization.getId()));
+    for (String suborganizationId : organizationHierarchy.getSuborganizationIds(parentId)) {
+      usedResources.addAll(resourceManager.getUsedResources(suborganizationId));
     }
     return usedResources;
   }
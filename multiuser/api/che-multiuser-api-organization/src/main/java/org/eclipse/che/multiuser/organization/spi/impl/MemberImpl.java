@@ -39,6 +39,12 @@ import org.eclipse.che.multiuser.organization.shared.model.Member;
           "SELECT m "
               + "FROM Member m "
               + "WHERE m.userId = :userId AND m.organizationId = :organizationId"),
+  @NamedQuery(
+      name = "Member.getByUserAndOrganizations",
+      query =
+          "SELECT m "
+              + "FROM Member m "
+              + "WHERE m.userId = :userId AND m.organizationId IN :organizationIds"),
   @NamedQuery(
       name = "Member.getByOrganization",
       query = "SELECT m " + "FROM Member m " + "WHERE m.organizationId = :organizationId"),
@@ -12,11 +12,13 @@
 package org.eclipse.che.multiuser.organization.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.inject.persist.Transactional;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -61,6 +63,24 @@ public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implemen
     return getMemberships(userId);
   }
 
+  @Override
+  public List<MemberImpl> getByUserAndInstances(String userId, Collection<String> instanceIds)
+      throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    requireNonNull(instanceIds, "Required non-null organization ids");
+    if (instanceIds.isEmpty()) {
+      return emptyList();
+    }
+    try {
+      return doGetByUserAndOrganizations(wildcardToNull(userId), instanceIds)
+          .stream()
+          .map(MemberImpl::new)
+          .collect(toList());
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+  }
+
   @Override
   public void remove(String userId, String organizationId) throws ServerException {
     requireNonNull(organizationId, "Required non-null organization id");
@@ -192,6 +212,17 @@ public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implemen
     }
   }
 
+  @Transactional
+  protected List<MemberImpl> doGetByUserAndOrganizations(
+      String userId, Collection<String> organizationIds) {
+    return managerProvider
+        .get()
+        .createNamedQuery("Member.getByUserAndOrganizations", MemberImpl.class)
+        .setParameter("userId", userId)
+        .setParameter("organizationIds", organizationIds)
+        .getResultList();
+  }
+
   @Transactional
   protected MemberImpl doGet(String userId, String instanceId) {
     return managerProvider
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.organization.api;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.core.db.jpa.eclipselink.TransactionCompletionActions;
+import org.eclipse.che.multiuser.organization.api.event.BeforeOrganizationRemovedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationPersistedEvent;
+import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link OrganizationHierarchy}. */
+@Listeners(MockitoTestNGListener.class)
+public class OrganizationHierarchyTest {
+  private static final OrganizationImpl ROOT = new OrganizationImpl("root", "root", null);
+  private static final OrganizationImpl SUBORG = new OrganizationImpl("sub", "root/sub", "root");
+  private static final OrganizationImpl SUBSUBORG =
+      new OrganizationImpl("subsub", "root/sub/subsub", "sub");
+
+  @Mock private OrganizationManager organizationManager;
+  @Mock private TransactionCompletionActions completionActions;
+
+  private List<Runnable> pendingActions;
+  private EventService eventService;
+  private OrganizationHierarchy organizationHierarchy;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lenient().when(organizationManager.getById("root")).thenReturn(ROOT);
+    lenient().when(organizationManager.getById("sub")).thenReturn(SUBORG);
+    lenient().when(organizationManager.getById("subsub")).thenReturn(SUBSUBORG);
+    mockSuborganizations("root", SUBORG, SUBSUBORG);
+    pendingActions = new ArrayList<>();
+    lenient()
+        .doAnswer(
+            invocation -> {
+              pendingActions.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(completionActions)
+        .afterCompletion(any());
+
+    eventService = new EventService();
+    organizationHierarchy =
+        new OrganizationHierarchy(organizationManager, completionActions, 100, 60);
+    organizationHierarchy.subscribe(eventService);
+  }
+
+  @Test
+  public void shouldReturnRootIdAndKeepParentsInMemory() throws Exception {
+    assertEquals(organizationHierarchy.getRootId("subsub"), "root");
+    assertEquals(organizationHierarchy.getRootId("subsub"), "root");
+    assertEquals(organizationHierarchy.getParentId("root"), Optional.empty());
+
+    verify(organizationManager).getById("subsub");
+    verify(organizationManager).getById("sub");
+    verify(organizationManager).getById("root");
+  }
+
+  @Test
+  public void shouldLoadDirectAndNestedSuborganizationsAtOnceAndKeepThemInMemory()
+      throws Exception {
+    assertEquals(organizationHierarchy.getSuborganizationIds("root"), asList("sub", "subsub"));
+    assertEquals(organizationHierarchy.getSuborganizationIds("root"), asList("sub", "subsub"));
+    assertEquals(organizationHierarchy.getSuborganizationIds("sub"), asList("subsub"));
+    // parents are known from the loaded suborganizations
+    assertEquals(organizationHierarchy.getRootId("subsub"), "root");
+
+    verify(organizationManager).getSuborganizations(eq("root"), anyInt(), anyLong());
+    verify(organizationManager, never()).getByParent(any(), anyInt(), anyLong());
+    verify(organizationManager).getById("root");
+  }
+
+  @Test
+  public void shouldReturnNoSuborganizationsWhenOrganizationDoesNotExist() throws Exception {
+    lenient().when(organizationManager.getById("unknown")).thenThrow(new NotFoundException(""));
+
+    assertEquals(organizationHierarchy.getSuborganizationIds("unknown"), emptyList());
+  }
+
+  @Test
+  public void shouldReloadSuborganizationsOfParentWhenOrganizationIsPersisted() throws Exception {
+    organizationHierarchy.getSuborganizationIds("root");
+    final OrganizationImpl newSuborg = new OrganizationImpl("newSub", "root/newSub", "root");
+    mockSuborganizations("root", SUBORG, SUBSUBORG, newSuborg);
+
+    eventService.publish(new OrganizationPersistedEvent(newSuborg));
+
+    assertEquals(
+        organizationHierarchy.getSuborganizationIds("root"), asList("sub", "newSub", "subsub"));
+    verify(organizationManager, times(2)).getSuborganizations(eq("root"), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldReloadSuborganizationsOfParentWhenOrganizationIsRemoved() throws Exception {
+    organizationHierarchy.getSuborganizationIds("root");
+    mockSuborganizations("root");
+
+    eventService.publish(new BeforeOrganizationRemovedEvent(SUBORG));
+
+    assertEquals(organizationHierarchy.getSuborganizationIds("root"), emptyList());
+    verify(organizationManager, times(2)).getSuborganizations(eq("root"), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldReloadSuborganizationsLoadedBeforeTransactionIsCompleted() throws Exception {
+    final OrganizationImpl newSuborg = new OrganizationImpl("newSub", "root/newSub", "root");
+    eventService.publish(new OrganizationPersistedEvent(newSuborg));
+    // the persisted organization is not committed yet
+    assertEquals(organizationHierarchy.getSuborganizationIds("root"), asList("sub", "subsub"));
+    mockSuborganizations("root", SUBORG, SUBSUBORG, newSuborg);
+
+    pendingActions.forEach(Runnable::run);
+
+    assertEquals(
+        organizationHierarchy.getSuborganizationIds("root"), asList("sub", "newSub", "subsub"));
+  }
+
+  private void mockSuborganizations(String parentId, OrganizationImpl... suborganizations)
+      throws Exception {
+    final List<OrganizationImpl> items = asList(suborganizations);
+    lenient()
+        .doReturn(new Page<>(items, 0, Math.max(items.size(), 1), items.size()))
+        .when(organizationManager)
+        .getSuborganizations(eq(parentId), anyInt(), anyLong());
+  }
+}
@@ -14,11 +14,13 @@ package org.eclipse.che.multiuser.organization.api.resource;
 import static org.mockito.Mockito.lenient;
 import static org.testng.Assert.assertEquals;
 
+import org.eclipse.che.core.db.jpa.eclipselink.TransactionCompletionActions;
+import org.eclipse.che.multiuser.organization.api.OrganizationHierarchy;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
@@ -31,8 +33,16 @@ import org.testng.annotations.Test;
 @Listeners(MockitoTestNGListener.class)
 public class OrganizationResourceLockKeyProviderTest {
   @Mock private OrganizationManager organizationManager;
+  @Mock private TransactionCompletionActions completionActions;
 
-  @InjectMocks private OrganizationResourceLockKeyProvider lockProvider;
+  private OrganizationResourceLockKeyProvider lockProvider;
+
+  @BeforeMethod
+  public void setUp() {
+    lockProvider =
+        new OrganizationResourceLockKeyProvider(
+            new OrganizationHierarchy(organizationManager, completionActions, 100, 60));
+  }
 
   @Test
   public void shouldReturnRootOrganizationId() throws Exception {
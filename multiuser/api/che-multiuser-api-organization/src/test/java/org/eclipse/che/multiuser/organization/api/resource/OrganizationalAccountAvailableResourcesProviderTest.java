@@ -15,16 +15,12 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -33,8 +29,8 @@ import static org.testng.Assert.assertTrue;
 import java.util.List;
 import javax.inject.Provider;
 import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.multiuser.organization.api.OrganizationHierarchy;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
 import org.eclipse.che.multiuser.organization.shared.model.Organization;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
@@ -63,6 +59,7 @@ public class OrganizationalAccountAvailableResourcesProviderTest {
   @Mock private ResourceManager resourceManager;
   @Mock private ResourceAggregator resourceAggregator;
   @Mock private OrganizationManager organizationManager;
+  @Mock private OrganizationHierarchy organizationHierarchy;
 
   @InjectMocks @Spy
   private OrganizationalAccountAvailableResourcesProvider availableResourcesProvider;
@@ -159,7 +156,7 @@ public class OrganizationalAccountAvailableResourcesProviderTest {
     assertEquals(availableResources.get(0), availableResource);
     verify(resourceManager).getTotalResources(ROOT_ORG_ID);
     verify(resourceManager).getUsedResources(ROOT_ORG_ID);
-    verify(availableResourcesProvider).getUsedResourcesBySuborganizations(ROOT_ORG_NAME);
+    verify(availableResourcesProvider).getUsedResourcesBySuborganizations(ROOT_ORG_ID);
     verify(resourceAggregator)
         .deduct(
             singletonList(totalResource),
@@ -198,7 +195,7 @@ public class OrganizationalAccountAvailableResourcesProviderTest {
     assertEquals(availableResources.get(0), excessiveTotalResource);
     verify(resourceManager).getTotalResources(ROOT_ORG_ID);
     verify(resourceManager).getUsedResources(ROOT_ORG_ID);
-    verify(availableResourcesProvider).getUsedResourcesBySuborganizations(ROOT_ORG_NAME);
+    verify(availableResourcesProvider).getUsedResourcesBySuborganizations(ROOT_ORG_ID);
     verify(resourceAggregator)
         .deduct(asList(totalResource, excessiveTotalResource), singletonList(usedResource));
     verify(resourceAggregator)
@@ -208,10 +205,9 @@ public class OrganizationalAccountAvailableResourcesProviderTest {
   @Test
   public void shouldCalculateUsedResourceBySuborganizations() throws Exception {
     // given
-    doReturn(new Page<>(singletonList(suborganization), 0, 1, 2))
-        .doReturn(new Page<>(singletonList(subsuborganization), 1, 1, 2))
-        .when(organizationManager)
-        .getSuborganizations(anyString(), anyInt(), anyLong());
+    doReturn(asList(SUBORG_ID, SUBSUBORG_ID))
+        .when(organizationHierarchy)
+        .getSuborganizationIds(ROOT_ORG_ID);
     ResourceImpl usedBySuborgResource = new ResourceImpl("test", 1500, "unit");
     doReturn(singletonList(usedBySuborgResource)).when(resourceManager).getUsedResources(SUBORG_ID);
     ResourceImpl usedBySubsuborgResource = new ResourceImpl("test", 2000, "unit");
@@ -221,14 +217,13 @@ public class OrganizationalAccountAvailableResourcesProviderTest {
 
     // when
     List<? extends Resource> usedResources =
-        availableResourcesProvider.getUsedResourcesBySuborganizations(ROOT_ORG_NAME);
+        availableResourcesProvider.getUsedResourcesBySuborganizations(ROOT_ORG_ID);
 
     // then
     assertEquals(usedResources.size(), 2);
     assertTrue(usedResources.contains(usedBySuborgResource));
     assertTrue(usedResources.contains(usedBySubsuborgResource));
-    verify(organizationManager, times(2))
-        .getSuborganizations(eq(ROOT_ORG_NAME), anyInt(), anyLong());
+    verify(organizationHierarchy).getSuborganizationIds(ROOT_ORG_ID);
     verify(resourceManager).getUsedResources(SUBORG_ID);
     verify(resourceManager).getUsedResources(SUBSUBORG_ID);
   }
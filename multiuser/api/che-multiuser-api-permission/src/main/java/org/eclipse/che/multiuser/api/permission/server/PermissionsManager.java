@@ -17,6 +17,7 @@ import static org.eclipse.che.multiuser.api.permission.server.AbstractPermission
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +39,7 @@ import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.multiuser.api.permission.server.event.PermissionsCreatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.event.PermissionsRemovedEvent;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsUpdatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
@@ -132,6 +134,23 @@ public class PermissionsManager {
     return getPermissionsDao(domainId).get(userId, instanceId);
   }
 
+  /**
+   * Returns user's permissions for several instances of specified domain
+   *
+   * @param userId user id
+   * @param domainId domain id
+   * @param instanceIds instances ids
+   * @return userId's permissions for those of the specified instances the user has permissions to
+   * @throws NotFoundException when given domainId is unsupported
+   * @throws ServerException when any other error occurs during permissions fetching
+   */
+  public List<AbstractPermissions> getByUserAndInstances(
+      String userId, String domainId, Collection<String> instanceIds)
+      throws ServerException, NotFoundException {
+    return ImmutableList.copyOf(
+        getPermissionsDao(domainId).getByUserAndInstances(userId, instanceIds));
+  }
+
   /**
    * Returns users' permissions for specified instance
    *
@@ -233,10 +252,12 @@ public class PermissionsManager {
         permissionsDomain.newInstance(userId, instanceId, permissions.getActions());
     checkActionsSupporting(permissionsDomain, permission.getActions());
     final Optional<T> existing = dao.store(permission);
+    Subject subject = EnvironmentContext.getCurrent().getSubject();
+    final String initiator = subject.isAnonymous() ? null : subject.getUserName();
     if (!existing.isPresent()) {
-      Subject subject = EnvironmentContext.getCurrent().getSubject();
-      final String initiator = subject.isAnonymous() ? null : subject.getUserName();
       eventService.publish(new PermissionsCreatedEvent(initiator, permissions));
+    } else {
+      eventService.publish(new PermissionsUpdatedEvent(initiator, permissions));
     }
   }
 
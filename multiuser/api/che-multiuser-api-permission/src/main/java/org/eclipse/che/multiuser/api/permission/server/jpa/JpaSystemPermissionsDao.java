@@ -13,10 +13,12 @@ package org.eclipse.che.multiuser.api.permission.server.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.PostConstruct;
@@ -98,6 +100,26 @@ public class JpaSystemPermissionsDao extends AbstractJpaPermissionsDao<SystemPer
     }
   }
 
+  @Override
+  public List<SystemPermissionsImpl> getByUserAndInstances(
+      String userId, Collection<String> instanceIds) throws ServerException {
+    requireNonNull(userId, "User identifier required");
+    requireNonNull(instanceIds, "Instance identifiers required");
+    if (instanceIds.isEmpty()) {
+      return emptyList();
+    }
+    // instanceIds are ignored because system domain doesn't require them, the returned permissions
+    // have no instance and apply to each of the instances
+    try {
+      return doGetByUser(wildcardToNull(userId))
+          .stream()
+          .map(SystemPermissionsImpl::new)
+          .collect(toList());
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+  }
+
   @Override
   protected SystemPermissionsImpl getEntity(String userId, String instanceId)
       throws NotFoundException, ServerException {
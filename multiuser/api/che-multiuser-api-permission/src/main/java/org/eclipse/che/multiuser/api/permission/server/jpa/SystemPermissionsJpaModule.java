@@ -14,6 +14,7 @@ package org.eclipse.che.multiuser.api.permission.server.jpa;
 import com.google.inject.AbstractModule;
 import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
 import org.eclipse.che.multiuser.api.permission.server.SystemDomain;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
@@ -34,5 +35,8 @@ public class SystemPermissionsJpaModule extends AbstractModule {
         Multibinder.newSetBinder(
             binder(), new TypeLiteral<PermissionsDao<? extends AbstractPermissions>>() {});
     storages.addBinding().to(JpaSystemPermissionsDao.class);
+
+    EntityCacheConfigurator.cacheEntities(binder(), SystemPermissionsImpl.class);
+    EntityCacheConfigurator.cacheQueryResults(binder(), "SystemPermissions.getByUserId");
   }
 }
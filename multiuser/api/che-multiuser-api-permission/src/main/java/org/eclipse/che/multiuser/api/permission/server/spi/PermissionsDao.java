@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.multiuser.api.permission.server.spi;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.NotFoundException;
@@ -73,6 +75,34 @@ public interface PermissionsDao<T extends AbstractPermissions> {
    */
   List<T> getByUser(String userId) throws ServerException, NotFoundException;
 
+  /**
+   * Gets permissions of the user to several instances at once.
+   *
+   * <p>Implementations should fetch all the permissions at once, the default implementation gets
+   * permissions to each instance separately.
+   *
+   * <p>Permissions of domains which don't require instances have no instance id and apply to each
+   * of the given instances.
+   *
+   * @param userId user id
+   * @param instanceIds instances ids
+   * @return permissions of the user to those of the given instances the user has permissions to,
+   *     in no particular order
+   * @throws ServerException when any other error occurs during permissions fetching
+   */
+  default List<T> getByUserAndInstances(String userId, Collection<String> instanceIds)
+      throws ServerException {
+    final List<T> permissions = new ArrayList<>(instanceIds.size());
+    for (String instanceId : instanceIds) {
+      try {
+        permissions.add(get(userId, instanceId));
+      } catch (NotFoundException ignored) {
+        // the user doesn't have permissions to this instance
+      }
+    }
+    return permissions;
+  }
+
   /**
    * @param userId user id
    * @param instanceId instance id
@@ -102,6 +102,20 @@ public class PermissionsManagerTest {
                     permissions.getUserId(), permissions.getDomainId(), permissions.getActions()));
   }
 
+  @Test
+  public void shouldGetPermissionsOfUserToSeveralInstances() throws Exception {
+    final TestPermissionsImpl permissions =
+        new TestPermissionsImpl("user", "test", "test123", singletonList("read"));
+    doReturn(singletonList(permissions))
+        .when(permissionsDao)
+        .getByUserAndInstances("user", asList("test123", "test234"));
+
+    final List<AbstractPermissions> result =
+        permissionsManager.getByUserAndInstances("user", "test", asList("test123", "test234"));
+
+    assertEquals(result, singletonList(permissions));
+  }
+
   @Test(
       expectedExceptions = ConflictException.class,
       expectedExceptionsMessageRegExp =
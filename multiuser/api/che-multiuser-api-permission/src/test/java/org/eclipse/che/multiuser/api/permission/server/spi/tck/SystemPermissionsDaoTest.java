@@ -12,6 +12,7 @@
 package org.eclipse.che.multiuser.api.permission.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -106,6 +107,14 @@ public class SystemPermissionsDaoTest {
     assertEquals(result2, systemPermissions[1]);
   }
 
+  @Test
+  public void shouldGetPermissionsByUserAndInstances() throws Exception {
+    final List<SystemPermissionsImpl> result =
+        dao.getByUserAndInstances(systemPermissions[1].getUserId(), singletonList(null));
+
+    assertEquals(result, singletonList(systemPermissions[1]));
+  }
+
   public static class TestDomain extends AbstractPermissionsDomain<SystemPermissionsImpl> {
     public TestDomain() {
       super("system", asList("read", "write", "use"));
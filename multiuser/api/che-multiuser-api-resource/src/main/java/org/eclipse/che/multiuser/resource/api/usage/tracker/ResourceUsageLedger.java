@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Pages;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of workspaces, runtimes and RAM used by accounts, so checks of resources availability
+ * don't load all the workspaces of an account each time.
+ *
+ * <p>Usage of an account is loaded from its workspaces on the first request and then updated on
+ * creation, removal and status changes of the workspaces. Loaded usage is dropped periodically, so
+ * changes which are not observed by this Che Server, e.g. made by other Che Servers of the
+ * cluster, are reconciled on the next request. Non positive reconcile period disables keeping of
+ * the usage, then it is loaded on each request.
+ *
+ * <p>Usage loaded concurrently with creation or removal of a workspace of the same account is not
+ * kept, as it may miss the change. Status events carry no account, so the workspaces whose status
+ * is changed during a load are refreshed after the load instead.
+ */
+@Singleton
+public class ResourceUsageLedger {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResourceUsageLedger.class);
+
+  private final Provider<WorkspaceManager> workspaceManagerProvider;
+  private final AccountManager accountManager;
+  private final EnvironmentRamCalculator environmentRamCalculator;
+  private final EventService eventService;
+  private final long reconcilePeriodSec;
+  private final boolean enabled;
+
+  // guarded by this
+  private final Map<String, AccountUsage> accounts;
+  private final Map<String, WorkspaceUsage> workspaces;
+  private final List<Loading> loadings;
+
+  private final EventSubscriber<WorkspaceCreatedEvent> createdSubscriber;
+  private final EventSubscriber<WorkspaceRemovedEvent> removedSubscriber;
+  private final EventSubscriber<WorkspaceStatusEvent> statusSubscriber;
+
+  private ScheduledExecutorService reconcileExecutor;
+
+  @Inject
+  public ResourceUsageLedger(
+      Provider<WorkspaceManager> workspaceManagerProvider,
+      AccountManager accountManager,
+      EnvironmentRamCalculator environmentRamCalculator,
+      EventService eventService,
+      @Named("che.limits.usage.reconcile_period_sec") long reconcilePeriodSec) {
+    this.workspaceManagerProvider = workspaceManagerProvider;
+    this.accountManager = accountManager;
+    this.environmentRamCalculator = environmentRamCalculator;
+    this.eventService = eventService;
+    this.reconcilePeriodSec = reconcilePeriodSec;
+    this.enabled = reconcilePeriodSec > 0;
+    this.accounts = new HashMap<>();
+    this.workspaces = new HashMap<>();
+    this.loadings = new ArrayList<>();
+    this.createdSubscriber = event -> onCreated(event.getWorkspace());
+    this.removedSubscriber = event -> onRemoved(event.getWorkspace());
+    this.statusSubscriber = this::onStatusChanged;
+  }
+
+  /**
+   * Returns resources used by the account with given id.
+   *
+   * @throws NotFoundException when account with given id doesn't exist
+   * @throws ServerException when any other error occurs
+   */
+  public Usage getUsage(String accountId) throws NotFoundException, ServerException {
+    final String namespace = accountManager.getById(accountId).getName();
+    final Loading loading = new Loading(namespace);
+    synchronized (this) {
+      final AccountUsage accountUsage = accounts.get(namespace);
+      if (accountUsage != null) {
+        return accountUsage.toUsage();
+      }
+      if (enabled) {
+        loadings.add(loading);
+      }
+    }
+    final List<WorkspaceUsage> loaded;
+    try {
+      loaded = load(namespace);
+    } finally {
+      if (enabled) {
+        synchronized (this) {
+          loadings.remove(loading);
+        }
+      }
+    }
+    final AccountUsage accountUsage = new AccountUsage();
+    loaded.forEach(accountUsage::add);
+    final Usage usage = accountUsage.toUsage();
+    if (enabled && keep(loading, accountUsage, loaded)) {
+      for (WorkspaceUsage workspaceUsage : loaded) {
+        if (loading.statusChanged.contains(workspaceUsage.id)) {
+          refresh(workspaceUsage);
+        }
+      }
+    }
+    return usage;
+  }
+
+  /**
+   * Keeps the loaded usage unless the account's workspaces were created or removed while loading,
+   * as the loaded usage may miss such changes.
+   */
+  private synchronized boolean keep(
+      Loading loading, AccountUsage accountUsage, List<WorkspaceUsage> loaded) {
+    if (loading.changed || accounts.containsKey(loading.namespace)) {
+      return false;
+    }
+    accounts.put(loading.namespace, accountUsage);
+    loaded.forEach(workspaceUsage -> workspaces.put(workspaceUsage.id, workspaceUsage));
+    return true;
+  }
+
+  /** Drops all the kept usage, so it is loaded again on the next requests. */
+  synchronized void reconcile() {
+    accounts.clear();
+    workspaces.clear();
+    loadings.forEach(loading -> loading.changed = true);
+  }
+
+  @PostConstruct
+  void start() {
+    if (enabled) {
+      eventService.subscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+      eventService.subscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+      eventService.subscribe(statusSubscriber, WorkspaceStatusEvent.class);
+      reconcileExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setNameFormat("ResourceUsageLedger")
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setDaemon(true)
+                  .build());
+      reconcileExecutor.scheduleWithFixedDelay(
+          this::reconcile, reconcilePeriodSec, reconcilePeriodSec, TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    if (enabled) {
+      eventService.unsubscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+      eventService.unsubscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+      eventService.unsubscribe(statusSubscriber, WorkspaceStatusEvent.class);
+      reconcileExecutor.shutdownNow();
+    }
+  }
+
+  /** Returns true if kept usage is reconciled periodically. */
+  @VisibleForTesting
+  boolean isReconcileScheduled() {
+    return reconcileExecutor != null && !reconcileExecutor.isShutdown();
+  }
+
+  @VisibleForTesting
+  synchronized void onCreated(Workspace workspace) {
+    final AccountUsage accountUsage = accounts.get(workspace.getNamespace());
+    if (accountUsage == null) {
+      markChanged(workspace.getNamespace());
+      return;
+    }
+    if (!workspaces.containsKey(workspace.getId())) {
+      final WorkspaceUsage workspaceUsage =
+          new WorkspaceUsage(workspace.getId(), workspace.getNamespace(), STOPPED, 0);
+      workspaces.put(workspaceUsage.id, workspaceUsage);
+      accountUsage.add(workspaceUsage);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void onRemoved(Workspace workspace) {
+    final WorkspaceUsage workspaceUsage = workspaces.remove(workspace.getId());
+    if (workspaceUsage == null) {
+      markChanged(workspace.getNamespace());
+      return;
+    }
+    accounts.get(workspaceUsage.namespace).remove(workspaceUsage);
+  }
+
+  @VisibleForTesting
+  void onStatusChanged(WorkspaceStatusEvent event) {
+    final String workspaceId = event.getWorkspaceId();
+    final WorkspaceStatus status = event.getStatus();
+    final WorkspaceUsage workspaceUsage;
+    final long version;
+    synchronized (this) {
+      workspaceUsage = workspaces.get(workspaceId);
+      if (workspaceUsage == null) {
+        // the workspace may belong to an account being loaded, then it is refreshed after the load
+        loadings.forEach(loading -> loading.statusChanged.add(workspaceId));
+        return;
+      }
+      update(workspaceUsage, status, status == STOPPED ? 0 : workspaceUsage.ram);
+      version = workspaceUsage.version;
+    }
+    if (status != STARTING && status != RUNNING) {
+      return;
+    }
+    final long ram;
+    try {
+      ram = calculateRam(workspaceManagerProvider.get().getWorkspace(workspaceId), status);
+    } catch (NotFoundException e) {
+      // removal of the workspace is tracked separately
+      return;
+    } catch (ServerException e) {
+      LOG.warn(
+          "Unable to calculate RAM used by workspace {}. Cause: {}", workspaceId, e.getMessage());
+      forget(workspaceUsage.namespace);
+      return;
+    }
+    synchronized (this) {
+      // skip the calculated RAM when the workspace status was changed again meanwhile
+      if (workspaces.get(workspaceId) == workspaceUsage && workspaceUsage.version == version) {
+        update(workspaceUsage, status, ram);
+      }
+    }
+  }
+
+  /**
+   * Updates the kept usage of the workspace according to its current status, unless the status is
+   * changed again meanwhile.
+   */
+  private void refresh(WorkspaceUsage workspaceUsage) {
+    final long version;
+    synchronized (this) {
+      if (workspaces.get(workspaceUsage.id) != workspaceUsage) {
+        return;
+      }
+      version = workspaceUsage.version;
+    }
+    final WorkspaceStatus status;
+    final long ram;
+    try {
+      final WorkspaceImpl workspace =
+          workspaceManagerProvider.get().getWorkspace(workspaceUsage.id);
+      status = workspace.getStatus();
+      ram = calculateRam(workspace, status);
+    } catch (NotFoundException e) {
+      // removal of the workspace is tracked separately
+      return;
+    } catch (ServerException e) {
+      LOG.warn(
+          "Unable to refresh usage of workspace {}. Cause: {}", workspaceUsage.id, e.getMessage());
+      forget(workspaceUsage.namespace);
+      return;
+    }
+    synchronized (this) {
+      if (workspaces.get(workspaceUsage.id) == workspaceUsage
+          && workspaceUsage.version == version) {
+        update(workspaceUsage, status, ram);
+      }
+    }
+  }
+
+  /** Drops kept usage of the account, so it is loaded again on the next request. */
+  private synchronized void forget(String namespace) {
+    accounts.remove(namespace);
+    workspaces.values().removeIf(workspaceUsage -> workspaceUsage.namespace.equals(namespace));
+    markChanged(namespace);
+  }
+
+  /** Prevents the usage of the account being loaded from being kept. */
+  private void markChanged(String namespace) {
+    for (Loading loading : loadings) {
+      if (loading.namespace.equals(namespace)) {
+        loading.changed = true;
+      }
+    }
+  }
+
+  private void update(WorkspaceUsage workspaceUsage, WorkspaceStatus status, long ram) {
+    final AccountUsage accountUsage = accounts.get(workspaceUsage.namespace);
+    accountUsage.remove(workspaceUsage);
+    workspaceUsage.status = status;
+    workspaceUsage.ram = ram;
+    workspaceUsage.version++;
+    accountUsage.add(workspaceUsage);
+  }
+
+  private List<WorkspaceUsage> load(String namespace) throws ServerException {
+    final List<WorkspaceUsage> loaded = new ArrayList<>();
+    for (WorkspaceImpl workspace :
+        Pages.iterate(
+            (maxItems, skipCount) ->
+                workspaceManagerProvider
+                    .get()
+                    .getByNamespace(namespace, true, maxItems, skipCount))) {
+      loaded.add(
+          new WorkspaceUsage(
+              workspace.getId(),
+              namespace,
+              workspace.getStatus(),
+              calculateRam(workspace, workspace.getStatus())));
+    }
+    return loaded;
+  }
+
+  /** Returns RAM in megabytes used by the workspace in the given status. */
+  private long calculateRam(WorkspaceImpl workspace, WorkspaceStatus status)
+      throws ServerException {
+    if (status == STOPPED || workspace.getRuntime() == null) {
+      return 0;
+    }
+    if (status == STARTING) {
+      // starting workspace may not have all machine in runtime
+      // it is need to calculate ram from environment config
+      final WorkspaceConfigImpl config = workspace.getConfig();
+      if (config != null) {
+        final EnvironmentImpl startingEnvironment =
+            config.getEnvironments().get(workspace.getRuntime().getActiveEnv());
+        if (startingEnvironment != null) {
+          return environmentRamCalculator.calculate(startingEnvironment);
+        }
+      }
+      // Estimation of memory for starting workspace with Devfile is not implemented yet
+      // just ignore such
+      return 0;
+    }
+    return environmentRamCalculator.calculate(workspace.getRuntime());
+  }
+
+  /** Resources used by an account. */
+  public static class Usage {
+    private final long workspaces;
+    private final long runtimes;
+    private final long ram;
+
+    private Usage(long workspaces, long runtimes, long ram) {
+      this.workspaces = workspaces;
+      this.runtimes = runtimes;
+      this.ram = ram;
+    }
+
+    /** Returns the number of workspaces of the account. */
+    public long getWorkspaces() {
+      return workspaces;
+    }
+
+    /** Returns the number of workspaces of the account which are not stopped. */
+    public long getRuntimes() {
+      return runtimes;
+    }
+
+    /** Returns RAM in megabytes used by the workspaces of the account which are not stopped. */
+    public long getRam() {
+      return ram;
+    }
+  }
+
+  private static class AccountUsage {
+    long workspaces;
+    long runtimes;
+    long ram;
+
+    void add(WorkspaceUsage workspaceUsage) {
+      workspaces++;
+      if (workspaceUsage.status != STOPPED) {
+        runtimes++;
+      }
+      ram += workspaceUsage.ram;
+    }
+
+    void remove(WorkspaceUsage workspaceUsage) {
+      workspaces--;
+      if (workspaceUsage.status != STOPPED) {
+        runtimes--;
+      }
+      ram -= workspaceUsage.ram;
+    }
+
+    Usage toUsage() {
+      return new Usage(workspaces, runtimes, ram);
+    }
+  }
+
+  /** Changes observed while the usage of an account is loaded. */
+  private static class Loading {
+    final String namespace;
+    final Set<String> statusChanged = new HashSet<>();
+    boolean changed;
+
+    Loading(String namespace) {
+      this.namespace = namespace;
+    }
+  }
+
+  private static class WorkspaceUsage {
+    final String id;
+    final String namespace;
+    WorkspaceStatus status;
+    long ram;
+    long version;
+
+    WorkspaceUsage(String id, String namespace, WorkspaceStatus status, long ram) {
+      this.id = id;
+      this.namespace = namespace;
+      this.status = status;
+      this.ram = ram;
+    }
+  }
+}
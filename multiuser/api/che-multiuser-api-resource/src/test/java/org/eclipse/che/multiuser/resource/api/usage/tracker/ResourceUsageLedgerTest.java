@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import javax.inject.Provider;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.model.workspace.Runtime;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.Environment;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.multiuser.resource.api.usage.tracker.ResourceUsageLedger.Usage;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ResourceUsageLedger}. */
+@Listeners(MockitoTestNGListener.class)
+public class ResourceUsageLedgerTest {
+
+  private static final String ACCOUNT_ID = "account123";
+  private static final String ACCOUNT_NAME = "testAccount";
+  private static final String ACTIVE_ENV_NAME = "default";
+
+  @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
+  @Mock private WorkspaceManager workspaceManager;
+  @Mock private AccountManager accountManager;
+  @Mock private Account account;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
+
+  private ResourceUsageLedger ledger;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lenient().when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    lenient().when(accountManager.getById(ACCOUNT_ID)).thenReturn(account);
+    lenient().when(account.getName()).thenReturn(ACCOUNT_NAME);
+    ledger = createLedger(60);
+  }
+
+  @Test
+  public void shouldLoadUsageOfAccountOnce() throws Exception {
+    final WorkspaceImpl runningWs = createWorkspace("ws2", RUNNING);
+    mockWorkspaces(createWorkspace("ws1", STOPPED), runningWs);
+    when(envRamCalculator.calculate(runningWs.getRuntime())).thenReturn(1000L);
+
+    ledger.getUsage(ACCOUNT_ID);
+    final Usage usage = ledger.getUsage(ACCOUNT_ID);
+
+    assertUsage(usage, 2, 1, 1000);
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldLoadUsageOfAccountOnEachRequestWhenReconcilePeriodIsNotPositive()
+      throws Exception {
+    ledger = createLedger(0);
+    mockWorkspaces(createWorkspace("ws1", STOPPED));
+
+    ledger.getUsage(ACCOUNT_ID);
+    ledger.getUsage(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldNotTrackChangesNorScheduleReconciliationWhenReconcilePeriodIsNotPositive() {
+    for (long period : new long[] {0, -1}) {
+      ledger = createLedger(period);
+
+      ledger.start();
+
+      assertFalse(ledger.isReconcileScheduled());
+      ledger.stop();
+    }
+    verifyZeroInteractions(eventService);
+  }
+
+  @Test
+  public void shouldTrackChangesAndScheduleReconciliationWhenReconcilePeriodIsPositive() {
+    ledger.start();
+
+    assertTrue(ledger.isReconcileScheduled());
+    verify(eventService).subscribe(any(), eq(WorkspaceStatusEvent.class));
+
+    ledger.stop();
+
+    assertFalse(ledger.isReconcileScheduled());
+    verify(eventService).unsubscribe(any(), eq(WorkspaceStatusEvent.class));
+  }
+
+  @Test
+  public void shouldLoadUsageOfAccountAgainAfterReconciliation() throws Exception {
+    mockWorkspaces(createWorkspace("ws1", STOPPED));
+    ledger.getUsage(ACCOUNT_ID);
+
+    ledger.reconcile();
+    ledger.getUsage(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldUpdateUsageOnWorkspaceCreationAndRemoval() throws Exception {
+    mockWorkspaces();
+    ledger.getUsage(ACCOUNT_ID);
+    final Workspace workspace = mock(Workspace.class);
+    when(workspace.getId()).thenReturn("ws1");
+    when(workspace.getNamespace()).thenReturn(ACCOUNT_NAME);
+
+    ledger.onCreated(workspace);
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 1, 0, 0);
+
+    ledger.onRemoved(workspace);
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 0, 0, 0);
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldUpdateUsageOnWorkspaceStatusChanges() throws Exception {
+    mockWorkspaces(createWorkspace("ws1", STOPPED));
+    ledger.getUsage(ACCOUNT_ID);
+    when(envRamCalculator.calculate(any(Environment.class))).thenReturn(500L);
+    when(envRamCalculator.calculate(any(Runtime.class))).thenReturn(700L);
+
+    when(workspaceManager.getWorkspace("ws1")).thenReturn(createWorkspace("ws1", STARTING));
+    ledger.onStatusChanged(createStatusEvent("ws1", STARTING));
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 1, 1, 500);
+
+    when(workspaceManager.getWorkspace("ws1")).thenReturn(createWorkspace("ws1", RUNNING));
+    ledger.onStatusChanged(createStatusEvent("ws1", RUNNING));
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 1, 1, 700);
+
+    ledger.onStatusChanged(createStatusEvent("ws1", STOPPED));
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 1, 0, 0);
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldKeepUsageLoadedConcurrentlyWithStatusChangesOfOtherWorkspaces()
+      throws Exception {
+    final WorkspaceStatusEvent event = createStatusEvent("ws2", STARTING);
+    when(workspaceManager.getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              ledger.onStatusChanged(event);
+              return new Page<>(asList(createWorkspace("ws1", STOPPED)), 0, 1, 1);
+            });
+
+    ledger.getUsage(ACCOUNT_ID);
+    ledger.getUsage(ACCOUNT_ID);
+
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRefreshLoadedWorkspaceWhoseStatusIsChangedConcurrentlyWithLoading()
+      throws Exception {
+    final WorkspaceStatusEvent event = createStatusEvent("ws1", STARTING);
+    when(workspaceManager.getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              ledger.onStatusChanged(event);
+              return new Page<>(asList(createWorkspace("ws1", STOPPED)), 0, 1, 1);
+            });
+    when(workspaceManager.getWorkspace("ws1")).thenReturn(createWorkspace("ws1", STARTING));
+    when(envRamCalculator.calculate(any(Environment.class))).thenReturn(500L);
+
+    ledger.getUsage(ACCOUNT_ID);
+
+    assertUsage(ledger.getUsage(ACCOUNT_ID), 1, 1, 500);
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldNotKeepUsageLoadedConcurrentlyWithCreationOfWorkspaceOfSameAccount()
+      throws Exception {
+    final Workspace workspace = mock(Workspace.class);
+    when(workspace.getNamespace()).thenReturn(ACCOUNT_NAME);
+    when(workspaceManager.getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              ledger.onCreated(workspace);
+              return new Page<>(asList(createWorkspace("ws1", STOPPED)), 0, 1, 1);
+            });
+
+    ledger.getUsage(ACCOUNT_ID);
+    ledger.getUsage(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldKeepUsageLoadedConcurrentlyWithCreationOfWorkspaceOfOtherAccount()
+      throws Exception {
+    final Workspace workspace = mock(Workspace.class);
+    when(workspace.getNamespace()).thenReturn("otherAccount");
+    when(workspaceManager.getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              ledger.onCreated(workspace);
+              return new Page<>(asList(createWorkspace("ws1", STOPPED)), 0, 1, 1);
+            });
+
+    ledger.getUsage(ACCOUNT_ID);
+    ledger.getUsage(ACCOUNT_ID);
+
+    verify(workspaceManager).getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong());
+  }
+
+  private ResourceUsageLedger createLedger(long reconcilePeriodSec) {
+    return new ResourceUsageLedger(
+        workspaceManagerProvider,
+        accountManager,
+        envRamCalculator,
+        eventService,
+        reconcilePeriodSec);
+  }
+
+  private void mockWorkspaces(WorkspaceImpl... workspaces) throws Exception {
+    when(workspaceManager.getByNamespace(eq(ACCOUNT_NAME), eq(true), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(workspaces), 0, workspaces.length, workspaces.length));
+  }
+
+  private static void assertUsage(Usage usage, long workspaces, long runtimes, long ram) {
+    assertEquals(usage.getWorkspaces(), workspaces);
+    assertEquals(usage.getRuntimes(), runtimes);
+    assertEquals(usage.getRam(), ram);
+  }
+
+  private static WorkspaceStatusEvent createStatusEvent(String id, WorkspaceStatus status) {
+    final WorkspaceStatusEvent event = mock(WorkspaceStatusEvent.class);
+    when(event.getWorkspaceId()).thenReturn(id);
+    when(event.getStatus()).thenReturn(status);
+    return event;
+  }
+
+  private static WorkspaceImpl createWorkspace(String id, WorkspaceStatus status) {
+    return WorkspaceImpl.builder()
+        .setId(id)
+        .setConfig(
+            WorkspaceConfigImpl.builder()
+                .setEnvironments(
+                    ImmutableMap.of(ACTIVE_ENV_NAME, new EnvironmentImpl(null, new HashMap<>())))
+                .build())
+        .setRuntime(new RuntimeImpl(ACTIVE_ENV_NAME, new HashMap<>(), null))
+        .setStatus(status)
+        .build();
+  }
+}
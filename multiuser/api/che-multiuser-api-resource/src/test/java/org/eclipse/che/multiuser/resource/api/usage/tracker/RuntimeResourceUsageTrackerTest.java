@@ -34,11 +34,11 @@ import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -56,11 +56,17 @@ public class RuntimeResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private Account account;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
+  private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    runtimeResourceUsageTracker =
+        new RuntimeResourceUsageTracker(
+            new ResourceUsageLedger(
+                workspaceManagerProvider, accountManager, envRamCalculator, eventService, 0));
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
   }
 
@@ -108,7 +114,7 @@ public class RuntimeResourceUsageTrackerTest {
         usedRuntimes.getAmount(), WorkspaceStatus.values().length - 1); // except stopped workspaces
     assertEquals(usedRuntimes.getUnit(), RuntimeResourceType.UNIT);
     verify(accountManager).getById(eq("account123"));
-    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(false), anyInt(), anyLong());
+    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(true), anyInt(), anyLong());
   }
 
   /** Creates users workspace object based on the status. */
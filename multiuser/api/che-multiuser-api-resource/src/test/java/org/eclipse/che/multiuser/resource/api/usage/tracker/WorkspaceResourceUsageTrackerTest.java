@@ -31,11 +31,11 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -52,11 +52,17 @@ public class WorkspaceResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private Account account;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private WorkspaceResourceUsageTracker workspaceResourceUsageTracker;
+  private WorkspaceResourceUsageTracker workspaceResourceUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
+    workspaceResourceUsageTracker =
+        new WorkspaceResourceUsageTracker(
+            new ResourceUsageLedger(
+                workspaceManagerProvider, accountManager, envRamCalculator, eventService, 0));
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
   }
 
@@ -106,6 +112,6 @@ public class WorkspaceResourceUsageTrackerTest {
     assertEquals(usedWorkspaces.getAmount(), 3);
     assertEquals(usedWorkspaces.getUnit(), WorkspaceResourceType.UNIT);
     verify(accountManager).getById(eq("account123"));
-    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(false), anyInt(), anyLong());
+    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(true), anyInt(), anyLong());
   }
 }
@@ -56,8 +56,10 @@ public class MultiUserWorkspaceActivityManager extends WorkspaceActivityManager
       AccountManager accountManager,
       ResourceManager resourceManager,
       @Named("che.limits.workspace.idle.timeout") long defaultTimeout,
-      @Named("che.limits.workspace.run.timeout") long runTimeout) {
-    super(workspaceManager, activityDao, eventService, defaultTimeout, runTimeout);
+      @Named("che.limits.workspace.run.timeout") long runTimeout,
+      @Named("che.workspace.activity_flush_period_s") long flushPeriodSec) {
+    super(
+        workspaceManager, activityDao, eventService, defaultTimeout, runTimeout, flushPeriodSec);
     this.accountManager = accountManager;
     this.resourceManager = resourceManager;
     this.defaultTimeout = defaultTimeout;
@@ -60,7 +60,8 @@ public class MultiUserWorkspaceActivityManagerTest {
             accountManager,
             resourceManager,
             DEFAULT_TIMEOUT,
-            DEFAULT_RUN_TIMEOUT);
+            DEFAULT_RUN_TIMEOUT,
+            -1);
 
     when(account.getId()).thenReturn("account123");
     when(accountManager.getByName(anyString())).thenReturn(account);
@@ -251,6 +251,12 @@ public class JpaEntitiesCascadeRemovalTest {
                 MapBinder.newMapBinder(binder(), String.class, InternalEnvironmentFactory.class);
                 bind(PermissionsManager.class);
                 bind(PermissionChecker.class).to(PermissionCheckerImpl.class);
+                bindConstant()
+                    .annotatedWith(Names.named("che.authorization.permissions_cache.size"))
+                    .to(0L);
+                bindConstant()
+                    .annotatedWith(Names.named("che.authorization.permissions_cache.expire_sec"))
+                    .to(0L);
                 bind(AccountManager.class);
                 bind(Boolean.class)
                     .annotatedWith(Names.named("che.workspace.auto_snapshot"))
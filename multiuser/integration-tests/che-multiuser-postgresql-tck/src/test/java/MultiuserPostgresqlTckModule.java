@@ -37,6 +37,7 @@ import javax.inject.Provider;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.spi.PersistenceUnitTransactionType;
+import javax.sql.DataSource;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.devfile.server.model.impl.UserDevfileImpl;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
@@ -120,6 +121,7 @@ public class MultiuserPostgresqlTckModule extends TckModule {
     dataSource.setPassword(dbPassword);
     dataSource.setUrl(dbUrl);
     bind(SchemaInitializer.class).toInstance(new FlywaySchemaInitializer(dataSource, "che-schema"));
+    bind(DataSource.class).toInstance(dataSource);
     bind(DBInitializer.class).asEagerSingleton();
     bind(TckResourcesCleaner.class).to(JpaCleaner.class);
 
@@ -12,17 +12,25 @@
 package org.eclipse.che.multiuser.keycloak.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
 
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -32,7 +40,6 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import org.eclipse.che.api.core.ConflictException;
-import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -50,6 +57,14 @@ import org.slf4j.LoggerFactory;
 /**
  * Sets subject attribute into session based on keycloak authentication data.
  *
+ * <p>Verified tokens are cached until their expiration time, so the signature of a token is checked
+ * once during its lifetime instead of on each request. The cache is keyed by the hash of a token
+ * and also keeps the subject constructed for it. Tokens without expiration time are not cached.
+ *
+ * <p>Emails of new users retrieved from Keycloak profiles are cached by user id for a short time,
+ * including the absence of email, so a burst of logins of a new user retrieves the profile once.
+ * Existing users are looked up through the users cached by {@link KeycloakUserManager}.
+ *
  * @author Max Shaposhnik (mshaposhnik@redhat.com)
  */
 @Singleton
@@ -65,6 +80,9 @@ public class KeycloakEnvironmentInitializationFilter
   private final KeycloakSettings keycloakSettings;
   private final JwtParser jwtParser;
   private final Map<String, String> userNameReplacementPatterns;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+  private final Cache<String, Optional<String>> profileEmails;
+  private final Striped<Lock> profileLocks = Striped.lazyWeakLock(32);
 
   @Inject
   public KeycloakEnvironmentInitializationFilter(
@@ -76,7 +94,10 @@ public class KeycloakEnvironmentInitializationFilter
       PermissionChecker permissionChecker,
       KeycloakSettings settings,
       @Nullable @Named("che.keycloak.username.replacement_patterns")
-          String userNameReplacementPatterns) {
+          String userNameReplacementPatterns,
+      @Named("che.keycloak.verified_token_cache_size") long verifiedTokenCacheSize,
+      @Named("che.keycloak.profile_cache.size") long profileCacheSize,
+      @Named("che.keycloak.profile_cache.expire_sec") long profileCacheExpireSec) {
     super(sessionStore, tokenExtractor);
     this.jwtParser = jwtParser;
     this.userManager = userManager;
@@ -87,6 +108,12 @@ public class KeycloakEnvironmentInitializationFilter
         isNullOrEmpty(userNameReplacementPatterns)
             ? Collections.emptyMap()
             : Splitter.on(",").withKeyValueSeparator("=").split(userNameReplacementPatterns);
+    this.verifiedTokens = CacheBuilder.newBuilder().maximumSize(verifiedTokenCacheSize).build();
+    this.profileEmails =
+        CacheBuilder.newBuilder()
+            .maximumSize(profileCacheSize)
+            .expireAfterWrite(profileCacheExpireSec, TimeUnit.SECONDS)
+            .build();
   }
 
   @Override
@@ -107,18 +134,44 @@ public class KeycloakEnvironmentInitializationFilter
 
   @Override
   protected String getUserId(String token) {
-    Claims claims = jwtParser.parseClaimsJws(token).getBody();
-    return claims.getSubject();
+    return verify(token).claims.getSubject();
   }
 
   @Override
   public Subject extractSubject(String token) throws ServletException {
+    VerifiedToken verifiedToken = verify(token);
+    Subject subject = verifiedToken.subject;
+    if (subject == null) {
+      subject = createSubject(token, verifiedToken.claims);
+      verifiedToken.subject = subject;
+    }
+    return subject;
+  }
 
+  /**
+   * Returns cached verification result of given token or verifies the token and caches the result
+   * if the token has expiration time.
+   */
+  private VerifiedToken verify(String token) {
+    String key = Hashing.sha256().hashString(token, UTF_8).toString();
+    VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+    if (verifiedToken != null) {
+      if (verifiedToken.expiresAt > System.currentTimeMillis()) {
+        return verifiedToken;
+      }
+      verifiedTokens.invalidate(key);
+    }
     Jws<Claims> jwt = jwtParser.parseClaimsJws(token);
-    Claims claims = jwt.getBody();
     LOG.debug("JWT = {}", jwt);
-    // OK, we can trust this JWT
+    verifiedToken = new VerifiedToken(jwt.getBody());
+    if (verifiedToken.expiresAt != Long.MAX_VALUE) {
+      verifiedTokens.put(key, verifiedToken);
+    }
+    return verifiedToken;
+  }
 
+  private Subject createSubject(String token, Claims claims) throws ServletException {
+    // OK, we can trust this JWT
     try {
       String username =
           claims.get(
@@ -159,18 +212,46 @@ public class KeycloakEnvironmentInitializationFilter
       throws ServerException {
     String email = claims.get("email", String.class);
 
-    if (isNullOrEmpty(email)) {
+    if (isNullOrEmpty(email) && !userManager.findUser(id).isPresent()) {
+      return retrieveProfileEmail(token, id);
+    }
+    return Optional.ofNullable(email);
+  }
+
+  /** Returns cached email from Keycloak profile of the user or retrieves and caches it. */
+  private Optional<String> retrieveProfileEmail(String token, String id) throws ServerException {
+    Optional<String> email = profileEmails.getIfPresent(id);
+    if (email == null) {
+      final Lock lock = profileLocks.get(id);
+      lock.lock();
       try {
-        userManager.getById(id);
-      } catch (NotFoundException e) {
-        Map<String, String> profileAttributes =
-            keycloakProfileRetriever.retrieveKeycloakAttributes("Bearer " + token);
-        email = profileAttributes.get("email");
+        email = profileEmails.getIfPresent(id);
+        if (email == null) {
+          Map<String, String> profileAttributes =
+              keycloakProfileRetriever.retrieveKeycloakAttributes("Bearer " + token);
+          email = Optional.ofNullable(profileAttributes.get("email"));
+          profileEmails.put(id, email);
+        }
+      } finally {
+        lock.unlock();
       }
     }
-    return Optional.ofNullable(email);
+    return email;
   }
 
   @Override
   public void destroy() {}
+
+  /** Claims of verified token and the subject constructed for it. */
+  private static class VerifiedToken {
+    final Claims claims;
+    final long expiresAt;
+    volatile Subject subject;
+
+    VerifiedToken(Claims claims) {
+      this.claims = claims;
+      Date expiration = claims.getExpiration();
+      this.expiresAt = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+  }
 }
@@ -11,8 +11,6 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
-import com.auth0.jwk.GuavaCachedJwkProvider;
-import com.auth0.jwk.JwkProvider;
 import com.auth0.jwk.UrlJwkProvider;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -20,10 +18,13 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import org.eclipse.che.inject.ConfigurationException;
 
-/** Constructs {@link UrlJwkProvider} based on Jwk endpoint from keycloak settings */
-public class KeycloakJwkProvider implements Provider<JwkProvider> {
+/**
+ * Constructs {@link UrlJwkProvider} based on Jwk endpoint from keycloak settings. The provider
+ * doesn't cache keys, they are cached by {@link KeycloakSigningKeyResolver}.
+ */
+public class KeycloakJwkProvider implements Provider<UrlJwkProvider> {
 
-  private final JwkProvider jwkProvider;
+  private final UrlJwkProvider jwkProvider;
 
   @Inject
   public KeycloakJwkProvider(OIDCInfo oidcInfo) throws MalformedURLException {
@@ -32,11 +33,11 @@ public class KeycloakJwkProvider implements Provider<JwkProvider> {
     if (jwksUrl == null) {
       throw new ConfigurationException("Jwks endpoint url not found in keycloak settings");
     }
-    this.jwkProvider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(jwksUrl)));
+    this.jwkProvider = new UrlJwkProvider(new URL(jwksUrl));
   }
 
   @Override
-  public JwkProvider get() {
+  public UrlJwkProvider get() {
     return jwkProvider;
   }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Provides the metrics of public keys cached by {@link KeycloakSigningKeyResolver}. */
+@Singleton
+public class KeycloakSigningKeyMeterBinder implements MeterBinder {
+
+  private final KeycloakSigningKeyResolver signingKeyResolver;
+
+  @Inject
+  public KeycloakSigningKeyMeterBinder(KeycloakSigningKeyResolver signingKeyResolver) {
+    this.signingKeyResolver = signingKeyResolver;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "che.keycloak.jwks.misses",
+            signingKeyResolver,
+            KeycloakSigningKeyResolver::getMissCount)
+        .description("Lookups of public keys which were not loaded yet")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.keycloak.jwks.rotations",
+            signingKeyResolver,
+            KeycloakSigningKeyResolver::getAddedKeyCount)
+        .tags("change", "added")
+        .description("Public keys loaded from the identity provider")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.keycloak.jwks.rotations",
+            signingKeyResolver,
+            KeycloakSigningKeyResolver::getRemovedKeyCount)
+        .tags("change", "removed")
+        .description("Public keys removed because the identity provider doesn't provide them")
+        .register(registry);
+    Gauge.builder(
+            "che.keycloak.jwks.keys", signingKeyResolver, KeycloakSigningKeyResolver::getKeyCount)
+        .description("Public keys cached by Che Server")
+        .register(registry);
+  }
+}
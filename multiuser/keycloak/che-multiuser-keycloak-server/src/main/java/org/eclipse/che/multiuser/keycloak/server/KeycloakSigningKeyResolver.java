@@ -11,32 +11,130 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
 import com.auth0.jwk.JwkException;
-import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.UrlJwkProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SigningKeyResolverAdapter;
 import java.security.Key;
 import java.security.PublicKey;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Resolves signing key based on id from JWT header */
+/**
+ * Resolves signing key based on id from JWT header.
+ *
+ * <p>Public keys are kept in an immutable map, so resolving a known key takes no locks. The map is
+ * replaced as a whole by a refresh which loads all the keys of the identity provider with a single
+ * request. Only one refresh runs at a time, lookups of unknown keys wait for the refresh in
+ * progress instead of starting their own. Keys older than the refresh period are still returned
+ * while they are refreshed in the background, and keys the provider doesn't know anymore are
+ * dropped.
+ *
+ * <p>A key id which is still unknown after a refresh is remembered as unknown for the minimal
+ * refresh interval, and lookups of unknown keys don't refresh the keys more often than that. So
+ * tokens with made-up key ids can't flood the identity provider with requests.
+ */
 @Singleton
 public class KeycloakSigningKeyResolver extends SigningKeyResolverAdapter {
 
-  private final JwkProvider jwkProvider;
-
   private static final Logger LOG = LoggerFactory.getLogger(KeycloakSigningKeyResolver.class);
 
+  private static final int UNKNOWN_KEYS_CACHE_SIZE = 1000;
+
+  private final UrlJwkProvider jwkProvider;
+  private final long refreshPeriodMs;
+  private final long minRefreshIntervalMs;
+  private final ExecutorService refreshExecutor;
+  private final Clock clock;
+  private final Cache<String, Boolean> unknownKeys;
+  private final AtomicReference<CompletableFuture<Map<String, PublicKey>>> refreshInProgress =
+      new AtomicReference<>();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder addedKeys = new LongAdder();
+  private final LongAdder removedKeys = new LongAdder();
+
+  private volatile Map<String, PublicKey> keys = emptyMap();
+  private volatile long refreshedAt;
+  private volatile long refreshStartedAt;
+
   @Inject
-  KeycloakSigningKeyResolver(JwkProvider jwkProvider) {
+  KeycloakSigningKeyResolver(
+      UrlJwkProvider jwkProvider,
+      @Named("che.keycloak.jwks_refresh_period_sec") long refreshPeriodSec,
+      @Named("che.keycloak.jwks_min_refresh_interval_sec") long minRefreshIntervalSec) {
+    this(
+        jwkProvider,
+        SECONDS.toMillis(refreshPeriodSec),
+        SECONDS.toMillis(minRefreshIntervalSec),
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("KeycloakJwksRefresher-%s")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build()),
+        Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  KeycloakSigningKeyResolver(
+      UrlJwkProvider jwkProvider,
+      long refreshPeriodMs,
+      long minRefreshIntervalMs,
+      ExecutorService refreshExecutor,
+      Clock clock) {
     this.jwkProvider = jwkProvider;
+    this.refreshPeriodMs = refreshPeriodMs;
+    this.minRefreshIntervalMs = minRefreshIntervalMs;
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+    this.refreshStartedAt = clock.millis() - minRefreshIntervalMs;
+    this.unknownKeys =
+        CacheBuilder.newBuilder()
+            .maximumSize(UNKNOWN_KEYS_CACHE_SIZE)
+            .expireAfterWrite(minRefreshIntervalMs, MILLISECONDS)
+            .ticker(
+                new Ticker() {
+                  @Override
+                  public long read() {
+                    return MILLISECONDS.toNanos(clock.millis());
+                  }
+                })
+            .build();
   }
 
   @Override
@@ -55,18 +153,133 @@ public class KeycloakSigningKeyResolver extends SigningKeyResolverAdapter {
     return getJwtPublicKey(header);
   }
 
-  private synchronized PublicKey getJwtPublicKey(JwsHeader<?> header) {
+  /** Returns the number of lookups of keys which were not loaded yet. */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Returns the number of keys loaded from the provider, including the initial ones. */
+  public long getAddedKeyCount() {
+    return addedKeys.sum();
+  }
+
+  /** Returns the number of keys dropped because the provider doesn't know them anymore. */
+  public long getRemovedKeyCount() {
+    return removedKeys.sum();
+  }
+
+  /** Returns the number of currently cached keys. */
+  public int getKeyCount() {
+    return keys.size();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private PublicKey getJwtPublicKey(JwsHeader<?> header) {
     String kid = header.getKeyId();
     if (header.getKeyId() == null) {
       LOG.warn(
           "'kid' is missing in the JWT token header. This is not possible to validate the token with OIDC provider keys");
       throw new JwtException("'kid' is missing in the JWT token header.");
     }
+    PublicKey key = keys.get(kid);
+    if (key != null) {
+      if (refreshPeriodMs > 0 && clock.millis() - refreshedAt > refreshPeriodMs) {
+        scheduleRefresh();
+      }
+      return key;
+    }
+    misses.increment();
+    CompletableFuture<Map<String, PublicKey>> refresh = refreshInProgress.get();
+    if (refresh == null) {
+      if (unknownKeys.getIfPresent(kid) != null || !isRefreshAllowed()) {
+        throw new JwtException("Public key '" + kid + "' is not provided by the identity provider");
+      }
+      refresh = refresh(MoreExecutors.directExecutor());
+    }
     try {
-      return jwkProvider.get(kid).getPublicKey();
-    } catch (JwkException e) {
+      key = refresh.join().get(kid);
+    } catch (CompletionException e) {
       throw new JwtException(
-          "Error during the retrieval of the public key during JWT token validation", e);
+          "Error during the retrieval of the public key during JWT token validation",
+          e.getCause());
+    }
+    if (key == null) {
+      unknownKeys.put(kid, Boolean.TRUE);
+      throw new JwtException("Public key '" + kid + "' is not provided by the identity provider");
+    }
+    return key;
+  }
+
+  private boolean isRefreshAllowed() {
+    return clock.millis() - refreshStartedAt >= minRefreshIntervalMs;
+  }
+
+  private void scheduleRefresh() {
+    if (refreshInProgress.get() != null || !isRefreshAllowed()) {
+      return;
+    }
+    refresh(refreshExecutor)
+        .exceptionally(
+            e -> {
+              LOG.warn("Failed to refresh public keys: {}", e.getMessage());
+              return null;
+            });
+  }
+
+  /**
+   * Refreshes all the keys with the given executor unless a refresh is already in progress, in this
+   * case returns the result of the refresh in progress. The refresh is registered before it is
+   * submitted, so at most one refresh is ever submitted at a time.
+   */
+  private CompletableFuture<Map<String, PublicKey>> refresh(Executor executor) {
+    CompletableFuture<Map<String, PublicKey>> future = new CompletableFuture<>();
+    CompletableFuture<Map<String, PublicKey>> inProgress =
+        refreshInProgress.compareAndExchange(null, future);
+    if (inProgress != null) {
+      return inProgress;
+    }
+    refreshStartedAt = clock.millis();
+    try {
+      executor.execute(() -> doRefresh(future));
+    } catch (RejectedExecutionException e) {
+      refreshInProgress.compareAndSet(future, null);
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private void doRefresh(CompletableFuture<Map<String, PublicKey>> future) {
+    try {
+      Map<String, PublicKey> loaded = new HashMap<>();
+      for (Jwk jwk : jwkProvider.getAll()) {
+        if (jwk.getId() == null) {
+          continue;
+        }
+        try {
+          loaded.put(jwk.getId(), jwk.getPublicKey());
+        } catch (InvalidPublicKeyException e) {
+          LOG.debug("Public key '{}' of type '{}' is not supported", jwk.getId(), jwk.getType());
+        }
+      }
+      Map<String, PublicKey> previous = keys;
+      Set<String> removed =
+          ImmutableSet.copyOf(Sets.difference(previous.keySet(), loaded.keySet()));
+      addedKeys.add(Sets.difference(loaded.keySet(), previous.keySet()).size());
+      if (!removed.isEmpty()) {
+        removedKeys.add(removed.size());
+        LOG.info("Public keys {} are not provided anymore and removed", removed);
+      }
+      keys = ImmutableMap.copyOf(loaded);
+      refreshedAt = clock.millis();
+      future.complete(keys);
+    } catch (JwkException | RuntimeException e) {
+      future.completeExceptionally(e);
+    } finally {
+      refreshInProgress.compareAndSet(future, null);
     }
   }
 }
@@ -16,10 +16,16 @@ import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyList;
 import static org.eclipse.che.commons.lang.NameGenerator.generate;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
@@ -35,6 +41,7 @@ import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.core.db.jpa.eclipselink.TransactionCompletionActions;
 import org.eclipse.che.multiuser.api.account.personal.PersonalAccountUserManager;
 
 /**
@@ -42,11 +49,23 @@ import org.eclipse.che.multiuser.api.account.personal.PersonalAccountUserManager
  * overriding create/remove operations to be compatible with {@link
  * org.eclipse.che.multiuser.keycloak.server.dao.KeycloakProfileDao}
  *
+ * <p>Users resolved by {@link #getOrCreateUser(String, String, String)} are cached by id, so the
+ * repeated logins of a user don't hit the database. Concurrent resolutions of the same user are
+ * performed once, while the other callers wait for the result. Cached users are invalidated on
+ * updates and removals made by this Che Server, a removed user is invalidated once more after the
+ * removal is committed. Changes made by other Che Servers of the cluster are covered by expiration
+ * of cached users.
+ *
  * @author Mykhailo Kuznietsov
  */
 @Singleton
 public class KeycloakUserManager extends PersonalAccountUserManager {
 
+  private final Striped<Lock> resolveLocks = Striped.lazyWeakLock(32);
+  private final Cache<String, User> resolvedUsers;
+  private final AtomicLong invalidations;
+  private final TransactionCompletionActions completionActions;
+
   @Inject
   public KeycloakUserManager(
       UserDao userDao,
@@ -54,8 +73,27 @@ public class KeycloakUserManager extends PersonalAccountUserManager {
       PreferenceDao preferencesDao,
       AccountManager accountManager,
       EventService eventService,
-      @Named("che.auth.reserved_user_names") String[] reservedNames) {
+      TransactionCompletionActions completionActions,
+      @Named("che.auth.reserved_user_names") String[] reservedNames,
+      @Named("che.keycloak.user_cache.size") long userCacheSize,
+      @Named("che.keycloak.user_cache.expire_sec") long userCacheExpireSec) {
     super(userDao, profileDao, preferencesDao, reservedNames, accountManager, eventService);
+    this.resolvedUsers =
+        CacheBuilder.newBuilder()
+            .maximumSize(userCacheSize)
+            .expireAfterWrite(userCacheExpireSec, TimeUnit.SECONDS)
+            .build();
+    this.invalidations = new AtomicLong();
+    this.completionActions = completionActions;
+  }
+
+  @Override
+  public void update(User user) throws NotFoundException, ServerException, ConflictException {
+    try {
+      super.update(user);
+    } finally {
+      invalidate(user.getId());
+    }
   }
 
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
@@ -81,6 +119,33 @@ public class KeycloakUserManager extends PersonalAccountUserManager {
     preferencesDao.remove(id);
     eventService.publish(new BeforeUserRemovedEvent(user)).propagateException();
     userDao.remove(id);
+    invalidate(id);
+    // the user may be resolved again before the removal is committed
+    completionActions.afterCompletion(() -> invalidate(id));
+  }
+
+  /** Invalidates the cached user with given id. */
+  public void invalidate(String id) {
+    invalidations.incrementAndGet();
+    resolvedUsers.invalidate(id);
+  }
+
+  /**
+   * Returns cached user with given id or reads the user from the database and caches it. Returns
+   * empty optional when there is no such user.
+   */
+  public Optional<User> findUser(String id) throws ServerException {
+    final User cached = resolvedUsers.getIfPresent(id);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    // users read concurrently with invalidation may be stale, so they are not cached
+    final long invalidationsBefore = invalidations.get();
+    final Optional<User> user = getUserById(id);
+    if (user.isPresent() && invalidationsBefore == invalidations.get()) {
+      resolvedUsers.put(id, user.get());
+    }
+    return user;
   }
 
   /**
@@ -105,6 +170,30 @@ public class KeycloakUserManager extends PersonalAccountUserManager {
    */
   public User getOrCreateUser(String id, String email, String username)
       throws ServerException, ConflictException {
+    User user = resolvedUsers.getIfPresent(id);
+    if (user == null) {
+      final Lock lock = resolveLocks.get(id);
+      lock.lock();
+      try {
+        user = resolvedUsers.getIfPresent(id);
+        if (user == null) {
+          // users resolved concurrently with invalidation may be stale, so they are not cached
+          final long invalidationsBefore = invalidations.get();
+          user = resolveUser(id, email, username);
+          if (invalidationsBefore == invalidations.get()) {
+            resolvedUsers.put(id, user);
+          }
+          return user;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return actualizeUserEmail(user, email);
+  }
+
+  private User resolveUser(String id, String email, String username)
+      throws ServerException, ConflictException {
     Optional<User> userById = getUserById(id);
     if (!userById.isPresent()) {
       synchronized (this) {
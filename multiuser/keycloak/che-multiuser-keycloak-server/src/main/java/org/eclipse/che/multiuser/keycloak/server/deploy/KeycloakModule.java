@@ -12,8 +12,11 @@
 package org.eclipse.che.multiuser.keycloak.server.deploy;
 
 import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.UrlJwkProvider;
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
 import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.user.server.TokenValidator;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
@@ -21,6 +24,7 @@ import org.eclipse.che.multiuser.api.account.personal.PersonalAccountUserManager
 import org.eclipse.che.multiuser.keycloak.server.KeycloakConfigurationService;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakJwkProvider;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakJwtParserProvider;
+import org.eclipse.che.multiuser.keycloak.server.KeycloakSigningKeyMeterBinder;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakTokenValidator;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakUserManager;
 import org.eclipse.che.multiuser.keycloak.server.OIDCInfo;
@@ -38,11 +42,16 @@ public class KeycloakModule extends AbstractModule {
     bind(KeycloakConfigurationService.class);
 
     bind(ProfileDao.class).to(KeycloakProfileDao.class);
-    bind(JwkProvider.class).toProvider(KeycloakJwkProvider.class);
+    bind(UrlJwkProvider.class).toProvider(KeycloakJwkProvider.class);
+    bind(JwkProvider.class).to(UrlJwkProvider.class);
     bind(JwtParser.class).toProvider(KeycloakJwtParserProvider.class);
     bind(OIDCInfo.class).toProvider(OIDCInfoProvider.class).asEagerSingleton();
     bind(PersonalAccountUserManager.class).to(KeycloakUserManager.class);
 
     bind(OAuthAPI.class).toProvider(OAuthAPIProvider.class);
+
+    Multibinder.newSetBinder(binder(), MeterBinder.class)
+        .addBinding()
+        .to(KeycloakSigningKeyMeterBinder.class);
   }
 }
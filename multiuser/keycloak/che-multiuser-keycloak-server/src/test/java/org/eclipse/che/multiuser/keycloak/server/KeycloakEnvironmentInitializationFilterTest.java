@@ -20,7 +20,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -34,14 +36,15 @@ import io.jsonwebtoken.impl.DefaultJwsHeader;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
-import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
@@ -98,7 +101,10 @@ public class KeycloakEnvironmentInitializationFilterTest {
             tokenExtractor,
             permissionChecker,
             keycloakSettings,
-            "\\\\=-");
+            "\\\\=-",
+            1000,
+            1000,
+            60);
     final KeyPair kp = new KeyPair(mock(PublicKey.class), mock(PrivateKey.class));
     lenient().when(keyManager.getOrCreateKeyPair(anyString())).thenReturn(kp);
     keycloakAttributes.clear();
@@ -131,7 +137,10 @@ public class KeycloakEnvironmentInitializationFilterTest {
             tokenExtractor,
             permissionChecker,
             keycloakSettings,
-            "\\\\=-,@=-at-");
+            "\\\\=-,@=-at-",
+            1000,
+            1000,
+            60);
     // when
     filter.doFilter(request, response, chain);
 
@@ -161,7 +170,10 @@ public class KeycloakEnvironmentInitializationFilterTest {
             tokenExtractor,
             permissionChecker,
             keycloakSettings,
-            null);
+            null,
+            1000,
+            1000,
+            60);
     // when
     filter.doFilter(request, response, chain);
 
@@ -191,7 +203,7 @@ public class KeycloakEnvironmentInitializationFilterTest {
     // given
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
     when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
-    when(userManager.getById(anyString())).thenThrow(NotFoundException.class);
+    when(userManager.findUser(anyString())).thenReturn(Optional.empty());
 
     // when
     filter.doFilter(request, response, chain);
@@ -214,7 +226,7 @@ public class KeycloakEnvironmentInitializationFilterTest {
     // given
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
     when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
-    when(userManager.getById(anyString())).thenThrow(NotFoundException.class);
+    when(userManager.findUser(anyString())).thenReturn(Optional.empty());
     when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
     keycloakAttributes.put("email", "test@test.com");
 
@@ -229,6 +241,50 @@ public class KeycloakEnvironmentInitializationFilterTest {
     verify(userManager).getOrCreateUser("id", "test@test.com", "username");
   }
 
+  @Test
+  public void shouldRetrieveProfileOfNewUserOnce() throws Exception {
+    // given
+    Map<String, Object> claimParams = new HashMap<>();
+    claimParams.put("preferred_username", "username");
+    Claims claims = new DefaultClaims(claimParams).setSubject("id");
+    DefaultJws<Claims> jws = new DefaultJws<>(new DefaultJwsHeader(), claims, "");
+    keycloakSettingsMap.put(KeycloakConstants.USERNAME_CLAIM_SETTING, "preferred_username");
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
+    when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
+    when(userManager.findUser(anyString())).thenReturn(Optional.empty());
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString()))
+        .thenReturn(new UserImpl("id", "test@test.com", "username"));
+    keycloakAttributes.put("email", "test@test.com");
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(keycloakProfileRetriever).retrieveKeycloakAttributes("Bearer token");
+    verify(userManager, times(2)).getOrCreateUser("id", "test@test.com", "username");
+  }
+
+  @Test
+  public void shouldNotRetrieveProfileOfExistingUser() throws Exception {
+    // given
+    Map<String, Object> claimParams = new HashMap<>();
+    claimParams.put("preferred_username", "username");
+    Claims claims = new DefaultClaims(claimParams).setSubject("id");
+    DefaultJws<Claims> jws = new DefaultJws<>(new DefaultJwsHeader(), claims, "");
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
+    when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
+    when(userManager.findUser("id"))
+        .thenReturn(Optional.of(new UserImpl("id", "test@test.com", "username")));
+
+    // when
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(keycloakProfileRetriever, never()).retrieveKeycloakAttributes(anyString());
+    verify(userManager, never()).getById(anyString());
+  }
+
   @Test
   public void shouldRefreshSubjectWhenTokensNotMatch() throws Exception {
 
@@ -260,6 +316,43 @@ public class KeycloakEnvironmentInitializationFilterTest {
     assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(1).getUserName());
   }
 
+  @Test
+  public void shouldVerifyTokenAndCreateSubjectOnceDuringTokenLifetime() throws Exception {
+    // given
+    DefaultJws<Claims> jws = createJws();
+    jws.getBody().setExpiration(new Date(System.currentTimeMillis() + 60_000));
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
+    when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString()))
+        .thenReturn(new UserImpl("id2", "test@test.com", "username"));
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(jwtParser).parseClaimsJws("token");
+    verify(userManager).getOrCreateUser("id2", "test@test.com", "username");
+  }
+
+  @Test
+  public void shouldVerifyTokenAgainAfterItExpired() throws Exception {
+    // given
+    DefaultJws<Claims> jws = createJws();
+    jws.getBody().setExpiration(new Date(System.currentTimeMillis() - 1));
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
+    when(jwtParser.parseClaimsJws(anyString())).thenReturn(jws);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString()))
+        .thenReturn(new UserImpl("id2", "test@test.com", "username"));
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(jwtParser, times(4)).parseClaimsJws("token");
+  }
+
   private DefaultJws<Claims> createJws() {
     Map<String, Object> claimParams = new HashMap<>();
     claimParams.put("email", "test@test.com");
@@ -11,35 +11,58 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.UrlJwkProvider;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.impl.DefaultClaims;
 import io.jsonwebtoken.impl.DefaultJwsHeader;
 import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.time.Clock;
 import java.util.HashMap;
 import java.util.Map;
-import org.mockito.InjectMocks;
+import java.util.concurrent.ExecutorService;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 @Listeners(MockitoTestNGListener.class)
 public class KeycloakSigningKeyResolverTest {
 
-  @Mock private JwkProvider jwkProvider;
+  private static final long REFRESH_PERIOD_MS = 3_600_000;
+  private static final long MIN_REFRESH_INTERVAL_MS = 10_000;
 
-  @InjectMocks private KeycloakSigningKeyResolver signingKeyResolver;
+  @Mock private UrlJwkProvider jwkProvider;
+  @Mock private Clock clock;
+
+  private KeycloakSigningKeyResolver signingKeyResolver;
+
+  @BeforeMethod
+  public void setUp() {
+    signingKeyResolver =
+        new KeycloakSigningKeyResolver(
+            jwkProvider,
+            REFRESH_PERIOD_MS,
+            MIN_REFRESH_INTERVAL_MS,
+            MoreExecutors.newDirectExecutorService(),
+            clock);
+  }
 
   @Test(expectedExceptions = MachineTokenJwtException.class)
   public void shouldThrowMachineTokenExceptionOnMachineTokensWithPlainText() {
@@ -70,18 +93,108 @@ public class KeycloakSigningKeyResolverTest {
 
   @Test
   public void shouldReturnPublicKey() throws Exception {
-    final String kid = "123";
-    final Jwk jwk = mock(Jwk.class);
+    final KeyPair keyPair = generateKeyPair();
+    final Jwk jwk = mockJwk("123", keyPair);
+    when(jwkProvider.getAll()).thenReturn(asList(jwk));
+
+    Key actual = signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    assertEquals(actual, keyPair.getPublic());
+  }
+
+  @Test
+  public void shouldLoadAllPublicKeysWithOneRefresh() throws Exception {
+    final KeyPair keyPair1 = generateKeyPair();
+    final KeyPair keyPair2 = generateKeyPair();
+    final Jwk jwk1 = mockJwk("123", keyPair1);
+    final Jwk jwk2 = mockJwk("456", keyPair2);
+    when(jwkProvider.getAll()).thenReturn(asList(jwk1, jwk2));
+
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+    Key actual = signingKeyResolver.resolveSigningKey(header("456"), "plaintext");
+
+    assertEquals(actual, keyPair2.getPublic());
+    verify(jwkProvider).getAll();
+    assertEquals(signingKeyResolver.getMissCount(), 1);
+    assertEquals(signingKeyResolver.getAddedKeyCount(), 2);
+  }
+
+  @Test
+  public void shouldRemovePublicKeyWhichIsNotProvidedAnymoreOnRefresh() throws Exception {
+    final KeyPair keyPair = generateKeyPair();
+    final Jwk jwk = mockJwk("123", keyPair);
+    when(jwkProvider.getAll()).thenReturn(asList(jwk)).thenReturn(emptyList());
+    when(clock.millis()).thenReturn(0L);
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+    when(clock.millis()).thenReturn(REFRESH_PERIOD_MS + 1);
+
+    Key actual = signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    assertEquals(actual, keyPair.getPublic());
+    verify(jwkProvider, times(2)).getAll();
+    assertEquals(signingKeyResolver.getKeyCount(), 0);
+    assertEquals(signingKeyResolver.getRemovedKeyCount(), 1);
+  }
+
+  @Test
+  public void shouldNotSubmitRefreshWhileOneIsInProgress() throws Exception {
+    final ExecutorService executor = mock(ExecutorService.class);
+    final Jwk jwk = mockJwk("123", generateKeyPair());
+    when(jwkProvider.getAll()).thenReturn(asList(jwk));
+    when(clock.millis()).thenReturn(0L);
+    signingKeyResolver =
+        new KeycloakSigningKeyResolver(
+            jwkProvider, REFRESH_PERIOD_MS, MIN_REFRESH_INTERVAL_MS, executor, clock);
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+    when(clock.millis()).thenReturn(REFRESH_PERIOD_MS + 1);
+
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+    signingKeyResolver.resolveSigningKey(header("123"), "plaintext");
+
+    verify(executor).execute(any());
+  }
+
+  @Test
+  public void shouldNotRefreshPublicKeysForUnknownKeyWithinMinimalInterval() throws Exception {
+    when(jwkProvider.getAll()).thenReturn(emptyList());
+    when(clock.millis()).thenReturn(0L);
+
+    resolveUnknownKey("123");
+    resolveUnknownKey("123");
+    resolveUnknownKey("456");
+    verify(jwkProvider).getAll();
+
+    when(clock.millis()).thenReturn(MIN_REFRESH_INTERVAL_MS);
+    resolveUnknownKey("456");
+
+    verify(jwkProvider, times(2)).getAll();
+    assertEquals(signingKeyResolver.getKeyCount(), 0);
+  }
+
+  private void resolveUnknownKey(String kid) {
+    try {
+      signingKeyResolver.resolveSigningKey(header(kid), "plaintext");
+      fail("JwtException expected");
+    } catch (JwtException ignored) {
+    }
+  }
+
+  private static DefaultJwsHeader header(String kid) {
     final Map<String, Object> param = new HashMap<>();
     param.put("kid", kid);
-    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
-    kpg.initialize(1024);
-    final KeyPair keyPair = kpg.generateKeyPair();
+    return new DefaultJwsHeader(param);
+  }
 
+  private static Jwk mockJwk(String kid, KeyPair keyPair) throws Exception {
+    final Jwk jwk = mock(Jwk.class);
+    when(jwk.getId()).thenReturn(kid);
     when(jwk.getPublicKey()).thenReturn(keyPair.getPublic());
-    when(jwkProvider.get(eq(kid))).thenReturn(jwk);
+    return jwk;
+  }
 
-    Key actual = signingKeyResolver.resolveSigningKey(new DefaultJwsHeader(param), "plaintext");
-    assertEquals(actual, keyPair.getPublic());
+  private static KeyPair generateKeyPair() throws Exception {
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(1024);
+    return kpg.generateKeyPair();
   }
 }
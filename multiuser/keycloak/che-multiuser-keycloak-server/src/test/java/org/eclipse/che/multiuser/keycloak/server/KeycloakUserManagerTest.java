@@ -19,12 +19,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.AssertJUnit.assertEquals;
 
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import java.util.Optional;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
@@ -33,6 +35,7 @@ import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.core.db.jpa.eclipselink.TransactionCompletionActions;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -51,6 +54,7 @@ public class KeycloakUserManagerTest {
   @Mock private EventService eventService;
   @Mock private PostUserPersistedEvent postUserPersistedEvent;
   @Mock private BeforeUserRemovedEvent beforeUserRemovedEvent;
+  @Mock private TransactionCompletionActions completionActions;
 
   KeycloakUserManager keycloakUserManager;
 
@@ -59,7 +63,15 @@ public class KeycloakUserManagerTest {
     initMocks(this);
     keycloakUserManager =
         new KeycloakUserManager(
-            userDao, profileDao, preferenceDao, accountManager, eventService, new String[] {});
+            userDao,
+            profileDao,
+            preferenceDao,
+            accountManager,
+            eventService,
+            completionActions,
+            new String[] {},
+            100,
+            60);
 
     when(eventService.publish(any()))
         .thenAnswer(
@@ -86,6 +98,63 @@ public class KeycloakUserManagerTest {
     assertEquals("name", user.getName());
   }
 
+  @Test
+  public void shouldReturnCachedUser() throws Exception {
+    when(userDao.getById(eq("id"))).thenReturn(new UserImpl("id", "user@mail.com", "name"));
+
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+    User user = keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+
+    verify(userDao).getById("id");
+    assertEquals("id", user.getId());
+    assertEquals("user@mail.com", user.getEmail());
+  }
+
+  @Test
+  public void shouldResolveUserAgainAfterItIsInvalidated() throws Exception {
+    when(userDao.getById(eq("id"))).thenReturn(new UserImpl("id", "user@mail.com", "name"));
+
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+    keycloakUserManager.invalidate("id");
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+
+    verify(userDao, times(2)).getById("id");
+  }
+
+  @Test
+  public void shouldFindUserAndKeepItInMemory() throws Exception {
+    when(userDao.getById(eq("id"))).thenReturn(new UserImpl("id", "user@mail.com", "name"));
+
+    keycloakUserManager.findUser("id");
+    Optional<User> user = keycloakUserManager.findUser("id");
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+
+    verify(userDao).getById("id");
+    assertEquals("id", user.get().getId());
+  }
+
+  @Test
+  public void shouldNotFindUserWhichDoesNotExist() throws Exception {
+    when(userDao.getById(eq("id"))).thenThrow(NotFoundException.class);
+
+    assertFalse(keycloakUserManager.findUser("id").isPresent());
+  }
+
+  @Test
+  public void shouldInvalidateRemovedUserOnceMoreAfterRemovalIsCompleted() throws Exception {
+    when(userDao.getById(eq("id"))).thenReturn(new UserImpl("id", "user@mail.com", "name"));
+    keycloakUserManager.remove("id");
+    // the user is resolved again before the removal is committed
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+    ArgumentCaptor<Runnable> actionCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(completionActions).afterCompletion(actionCaptor.capture());
+
+    actionCaptor.getValue().run();
+    keycloakUserManager.getOrCreateUser("id", "user@mail.com", "name");
+
+    verify(userDao, times(3)).getById("id");
+  }
+
   @Test
   public void shouldReturnUserAndUpdateHisEmail() throws Exception {
     // given
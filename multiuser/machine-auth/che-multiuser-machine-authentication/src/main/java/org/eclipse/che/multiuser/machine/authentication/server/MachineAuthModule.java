@@ -14,10 +14,12 @@ package org.eclipse.che.multiuser.machine.authentication.server;
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.eclipse.che.api.workspace.server.spi.provision.env.EnvVarProvider;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureAlgorithmEnvProvider;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
+import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyPairPoolMeterBinder;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignaturePublicKeyEnvProvider;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.jpa.JpaSignatureKeyDao;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.spi.SignatureKeyDao;
@@ -41,6 +43,11 @@ public class MachineAuthModule extends AbstractModule {
     bind(SignatureKeyDao.class).to(JpaSignatureKeyDao.class);
     bind(JpaSignatureKeyDao.RemoveKeyPairsBeforeWorkspaceRemovedEventSubscriber.class)
         .asEagerSingleton();
+    bind(JpaSignatureKeyDao.RemoveKeyPairsBeforeWorkspacesRemovedEventSubscriber.class)
+        .asEagerSingleton();
+    Multibinder.newSetBinder(binder(), MeterBinder.class)
+        .addBinding()
+        .to(SignatureKeyPairPoolMeterBinder.class);
     final Multibinder<EnvVarProvider> envVarProviders =
         Multibinder.newSetBinder(binder(), EnvVarProvider.class);
     envVarProviders.addBinding().to(SignaturePublicKeyEnvProvider.class);
@@ -12,16 +12,24 @@
 package org.eclipse.che.multiuser.machine.authentication.server;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.USER_ID_CLAIM;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.WORKSPACE_ID_CLAIM;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -30,7 +38,9 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
@@ -41,6 +51,13 @@ import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
 /**
  * Handles requests that comes from machines with specific machine token.
  *
+ * <p>Claims of verified tokens are cached, so the signature of a token is not checked on each
+ * request. Existence of the token user is still checked each time a subject is constructed, so
+ * tokens of removed users are rejected right away. Cached tokens of a workspace are {@link
+ * #invalidate(String) invalidated} when the workspace is stopped, together with removal of its
+ * machine tokens and signature keys. In a cluster, Che Servers other than the one which stopped the
+ * workspace are expected to be notified by a distributed invalidator.
+ *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
  * @author Anton Korneta
  */
@@ -50,6 +67,8 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
   private final UserManager userManager;
   private final JwtParser jwtParser;
   private final PermissionChecker permissionChecker;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+  private final AtomicLong invalidations;
 
   @Inject
   public MachineLoginFilter(
@@ -57,11 +76,21 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
       RequestTokenExtractor tokenExtractor,
       UserManager userManager,
       MachineSigningKeyResolver machineKeyResolver,
-      PermissionChecker permissionChecker) {
+      PermissionChecker permissionChecker,
+      EventService eventService,
+      @Named("che.auth.machine_token.verified_cache.size") long verifiedCacheSize,
+      @Named("che.auth.machine_token.verified_cache.expire_sec") long verifiedCacheExpireSec) {
     super(sessionStore, tokenExtractor);
     this.userManager = userManager;
     this.jwtParser = Jwts.parser().setSigningKeyResolver(machineKeyResolver);
     this.permissionChecker = permissionChecker;
+    this.verifiedTokens =
+        CacheBuilder.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfterWrite(verifiedCacheExpireSec, TimeUnit.SECONDS)
+            .build();
+    this.invalidations = new AtomicLong();
+    eventService.subscribe(this::onWorkspaceStatusEvent, WorkspaceStatusEvent.class);
   }
 
   @Override
@@ -86,13 +115,13 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
   @Override
   public Subject extractSubject(String token) {
     try {
-      final Claims claims = jwtParser.parseClaimsJws(token).getBody();
-      final String userId = claims.get(USER_ID_CLAIM, String.class);
+      final VerifiedToken verifiedToken = verify(token);
       // check if user with such id exists
-      final String userName = userManager.getById(userId).getName();
-      final String workspaceId = claims.get(WORKSPACE_ID_CLAIM, String.class);
+      final String userName = userManager.getById(verifiedToken.userId).getName();
       return new MachineTokenAuthorizedSubject(
-          new SubjectImpl(userName, userId, token, false), permissionChecker, workspaceId);
+          new SubjectImpl(userName, verifiedToken.userId, token, false),
+          permissionChecker,
+          verifiedToken.workspaceId);
     } catch (NotFoundException e) {
       throw new JwtException("Corresponding user doesn't exist.");
     } catch (ServerException | JwtException e) {
@@ -102,8 +131,40 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
 
   @Override
   protected String getUserId(String token) {
-    final Claims claims = jwtParser.parseClaimsJws(token).getBody();
-    return claims.get(USER_ID_CLAIM, String.class);
+    return verify(token).userId;
+  }
+
+  /** Invalidates cached verified tokens of the given workspace. */
+  public void invalidate(String workspaceId) {
+    invalidations.incrementAndGet();
+    verifiedTokens.asMap().values().removeIf(token -> workspaceId.equals(token.workspaceId));
+  }
+
+  /** Invalidates all the cached verified tokens. */
+  public void invalidateAll() {
+    invalidations.incrementAndGet();
+    verifiedTokens.invalidateAll();
+  }
+
+  private void onWorkspaceStatusEvent(WorkspaceStatusEvent event) {
+    if (event.getStatus() == STOPPED) {
+      invalidate(event.getWorkspaceId());
+    }
+  }
+
+  /** Returns cached verification result of given token or verifies the token and caches it. */
+  private VerifiedToken verify(String token) {
+    final String key = Hashing.sha256().hashString(token, UTF_8).toString();
+    VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+    if (verifiedToken == null) {
+      // token verified concurrently with invalidation may be signed with removed key
+      final long invalidationsBefore = invalidations.get();
+      verifiedToken = new VerifiedToken(jwtParser.parseClaimsJws(token).getBody());
+      if (invalidationsBefore == invalidations.get()) {
+        verifiedTokens.put(key, verifiedToken);
+      }
+    }
+    return verifiedToken;
   }
 
   @Override
@@ -115,4 +176,15 @@ public class MachineLoginFilter extends MultiUserEnvironmentInitializationFilter
 
   @Override
   public void destroy() {}
+
+  /** Claims of verified token. */
+  private static class VerifiedToken {
+    final String userId;
+    final String workspaceId;
+
+    VerifiedToken(Claims claims) {
+      this.userId = claims.get(USER_ID_CLAIM, String.class);
+      this.workspaceId = claims.get(WORKSPACE_ID_CLAIM, String.class);
+    }
+  }
 }
@@ -11,6 +11,11 @@
  */
 package org.eclipse.che.multiuser.machine.authentication.server;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+import java.util.Collection;
+import java.util.Set;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
@@ -40,4 +45,14 @@ public class MachineTokenAuthorizedSubject extends AuthorizedSubject {
     }
     return super.hasPermission(domain, instance, action);
   }
+
+  @Override
+  public Set<String> hasPermissions(String domain, Collection<String> instances, String action) {
+    if (domain.equals(WorkspaceDomain.DOMAIN_ID)) {
+      return instances.contains(claimsWorkspaceId)
+          ? super.hasPermissions(domain, singleton(claimsWorkspaceId), action)
+          : emptySet();
+    }
+    return super.hasPermissions(domain, instances, action);
+  }
 }
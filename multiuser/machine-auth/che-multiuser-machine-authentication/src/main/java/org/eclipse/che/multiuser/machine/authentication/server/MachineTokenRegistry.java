@@ -16,8 +16,6 @@ import static java.lang.String.format;
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import java.security.PrivateKey;
@@ -25,8 +23,10 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
@@ -39,26 +39,26 @@ import org.eclipse.che.multiuser.machine.authentication.server.signature.Signatu
 import org.eclipse.che.multiuser.machine.authentication.shared.Constants;
 
 /**
- * Table-based storage of machine security tokens. Table rows is workspace id's, columns - user
- * id's. Table is synchronized externally as required by its javadoc.
+ * Storage of machine security tokens. Tokens are grouped by workspace id and then by user id.
+ *
+ * <p>Tokens are read without locking. A token is created only once for each workspace and user,
+ * concurrent requests for the same token wait for its creation while requests for other tokens
+ * are not blocked by it.
  *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
- * @see HashBasedTable
  */
 @Singleton
 public class MachineTokenRegistry {
 
   private final SignatureKeyManager signatureKeyManager;
   private final UserManager userManager;
-  private final Table<String, String, String> tokens;
-  private final ReadWriteLock lock;
+  private final ConcurrentMap<String, ConcurrentMap<String, CompletableFuture<String>>> tokens;
 
   @Inject
   public MachineTokenRegistry(SignatureKeyManager signatureKeyManager, UserManager userManager) {
     this.signatureKeyManager = signatureKeyManager;
     this.userManager = userManager;
-    this.tokens = HashBasedTable.create();
-    this.lock = new ReentrantReadWriteLock();
+    this.tokens = new ConcurrentHashMap<>();
   }
 
   /**
@@ -71,16 +71,59 @@ public class MachineTokenRegistry {
    * @throws MachineTokenException when user with given id not found or any errors occurs
    */
   public String getOrCreateToken(String userId, String workspaceId) throws MachineTokenException {
-    lock.writeLock().lock();
-    try {
-      final Map<String, String> wsRow = tokens.row(workspaceId);
-      String token = wsRow.get(userId);
+    final ConcurrentMap<String, CompletableFuture<String>> wsTokens =
+        tokens.computeIfAbsent(workspaceId, id -> new ConcurrentHashMap<>());
+    CompletableFuture<String> token = wsTokens.get(userId);
+    if (token == null) {
+      final CompletableFuture<String> newToken = new CompletableFuture<>();
+      token = wsTokens.putIfAbsent(userId, newToken);
       if (token == null) {
-        token = createToken(userId, workspaceId);
+        try {
+          final String created = createToken(userId, workspaceId);
+          if (tokens.get(workspaceId) != wsTokens) {
+            // tokens were removed while this one was being created, and it may be signed with
+            // the key pair re-created after the removal, so it must not be published
+            throw new MachineTokenException(
+                format(
+                    "Machine tokens of workspace '%s' were invalidated while the token of user '%s'"
+                        + " was being created",
+                    workspaceId, userId));
+          }
+          newToken.complete(created);
+          return created;
+        } catch (MachineTokenException | RuntimeException ex) {
+          // failures are not kept so the next request tries to create the token again
+          wsTokens.remove(userId, newToken);
+          newToken.completeExceptionally(ex);
+          throw ex;
+        }
+      }
+    }
+    return await(token, userId, workspaceId);
+  }
+
+  /** Waits for the token which is created by another thread. */
+  private String await(CompletableFuture<String> token, String userId, String workspaceId)
+      throws MachineTokenException {
+    try {
+      return token.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MachineTokenException(
+          format(
+              "Interrupted while waiting for machine token of user '%s' and workspace '%s'",
+              userId, workspaceId),
+          ex);
+    } catch (ExecutionException ex) {
+      final Throwable cause = ex.getCause();
+      if (cause instanceof MachineTokenException) {
+        throw (MachineTokenException) cause;
       }
-      return token;
-    } finally {
-      lock.writeLock().unlock();
+      throw new MachineTokenException(
+          format(
+              "Failed to generate machine token for user '%s' and workspace '%s'. Cause: '%s'",
+              userId, workspaceId, cause.getMessage()),
+          cause);
     }
   }
 
@@ -105,10 +148,11 @@ public class MachineTokenRegistry {
       claims.put(Claims.EXPIRATION, Instant.now().plus(365, DAYS).getEpochSecond());
       claims.put(Claims.NOT_BEFORE, -1); // always
       claims.put(Claims.ISSUED_AT, Instant.now().getEpochSecond());
-      final String token =
-          Jwts.builder().setClaims(claims).setHeader(header).signWith(RS256, privateKey).compact();
-      tokens.put(workspaceId, userId, token);
-      return token;
+      return Jwts.builder()
+          .setClaims(claims)
+          .setHeader(header)
+          .signWith(RS256, privateKey)
+          .compact();
     } catch (SignatureKeyManagerException | NotFoundException | ServerException ex) {
       throw new MachineTokenException(
           format(
@@ -119,19 +163,27 @@ public class MachineTokenRegistry {
   }
 
   /**
-   * Invalidates machine security tokens for all users of given workspace.
+   * Invalidates machine security tokens for all users of given workspace. Waits for the tokens of
+   * the workspace which are being created at the moment.
    *
    * @param workspaceId workspace to invalidate tokens
-   * @return the copy of the tokens row, where row is a map where key is user id and value is token
+   * @return the removed tokens, where key is user id and value is token
    */
   public Map<String, String> removeTokens(String workspaceId) {
-    lock.writeLock().lock();
-    try {
-      final Map<String, String> rowCopy = new HashMap<>(tokens.row(workspaceId));
-      tokens.row(workspaceId).clear();
-      return rowCopy;
-    } finally {
-      lock.writeLock().unlock();
+    final Map<String, CompletableFuture<String>> wsTokens = tokens.remove(workspaceId);
+    if (wsTokens == null) {
+      return new HashMap<>();
     }
+    final Map<String, String> removed = new HashMap<>();
+    wsTokens.forEach(
+        (userId, token) -> {
+          // waits for the tokens which are still being created, so each of them is either
+          // returned here or rejected by its creator, failed tokens are not returned
+          final String value = token.handle((created, ex) -> created).join();
+          if (value != null) {
+            removed.put(userId, value);
+          }
+        });
+    return removed;
   }
 }
@@ -17,7 +17,6 @@ import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import java.security.KeyFactory;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
@@ -27,7 +26,6 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
-import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -44,6 +42,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Manages signature keys.
  *
+ * <p>Key pairs for workspaces are taken from {@link SignatureKeyPairPool}, so they are usually
+ * generated before the workspaces are started.
+ *
  * @author Anton Korneta
  */
 @Beta
@@ -55,9 +56,7 @@ public class SignatureKeyManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(SignatureKeyManager.class);
 
-  private final int keySize;
-
-  private final String algorithm;
+  private final SignatureKeyPairPool keyPairPool;
   private final SignatureKeyDao signatureKeyDao;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
@@ -68,12 +67,10 @@ public class SignatureKeyManager {
 
   @Inject
   public SignatureKeyManager(
-      @Named("che.auth.signature_key_size") int keySize,
-      @Named("che.auth.signature_key_algorithm") String algorithm,
+      SignatureKeyPairPool keyPairPool,
       EventService eventService,
       SignatureKeyDao signatureKeyDao) {
-    this.keySize = keySize;
-    this.algorithm = algorithm;
+    this.keyPairPool = keyPairPool;
     this.eventService = eventService;
     this.signatureKeyDao = signatureKeyDao;
     this.workspaceEventsSubscriber =
@@ -127,15 +124,13 @@ public class SignatureKeyManager {
   SignatureKeyPair generateKeyPair(String workspaceId)
       throws NoSuchAlgorithmException, ServerException, ConflictException {
     try {
-      KeyPairGenerator kpg = KeyPairGenerator.getInstance(algorithm);
-      kpg.initialize(keySize);
-      final KeyPair pair = kpg.generateKeyPair();
+      final KeyPair pair = keyPairPool.take();
       final SignatureKeyPairImpl kp =
           new SignatureKeyPairImpl(workspaceId, pair.getPublic(), pair.getPrivate());
       LOG.debug(
           "Generated signature key pair with ws id {} and algorithm {}.",
           kp.getWorkspaceId(),
-          algorithm);
+          pair.getPublic().getAlgorithm());
       return signatureKeyDao.create(kp);
     } catch (NoSuchAlgorithmException | ConflictException | ServerException ex) {
       LOG.error(
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server.signature;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of signature key pairs generated ahead of time, so workspace starts don't wait for
+ * generation of the keys.
+ *
+ * <p>Key pairs are generated in background when the number of pooled key pairs drops below the low
+ * water mark, until the pool is full. When the pool is empty a key pair is generated in the calling
+ * thread. Pool of size 0 doesn't pre-generate key pairs at all.
+ */
+@Singleton
+public class SignatureKeyPairPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SignatureKeyPairPool.class);
+
+  private final int keySize;
+  private final String algorithm;
+  private final int size;
+  private final int lowWaterMark;
+  private final BlockingQueue<KeyPair> keyPairs;
+  private final ExecutorService executor;
+  private final AtomicBoolean refilling;
+  private final AtomicLong generatedCount;
+  private final AtomicLong generationTotalNanos;
+
+  @Inject
+  public SignatureKeyPairPool(
+      @Named("che.auth.signature_key_size") int keySize,
+      @Named("che.auth.signature_key_algorithm") String algorithm,
+      @Named("che.auth.signature_key_pool.size") int size,
+      @Named("che.auth.signature_key_pool.low_water_mark") int lowWaterMark,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    this(
+        keySize,
+        algorithm,
+        size,
+        lowWaterMark,
+        executorServiceWrapper.wrap(
+            Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("SignatureKeyPairPool-%s")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .build()),
+            SignatureKeyPairPool.class.getName()));
+  }
+
+  @VisibleForTesting
+  SignatureKeyPairPool(
+      int keySize, String algorithm, int size, int lowWaterMark, ExecutorService executor) {
+    this.keySize = keySize;
+    this.algorithm = algorithm;
+    this.size = size;
+    this.lowWaterMark = Math.min(lowWaterMark, size);
+    this.keyPairs = new LinkedBlockingQueue<>();
+    this.executor = executor;
+    this.refilling = new AtomicBoolean();
+    this.generatedCount = new AtomicLong();
+    this.generationTotalNanos = new AtomicLong();
+  }
+
+  /**
+   * Returns pooled key pair or generates a new one when the pool is empty. Each key pair is
+   * returned only once.
+   *
+   * @throws NoSuchAlgorithmException when key pairs of the configured algorithm can't be generated
+   */
+  public KeyPair take() throws NoSuchAlgorithmException {
+    KeyPair keyPair = keyPairs.poll();
+    if (keyPair == null) {
+      keyPair = generate();
+    }
+    if (keyPairs.size() < lowWaterMark) {
+      refill();
+    }
+    return keyPair;
+  }
+
+  /** Returns the number of pooled key pairs. */
+  public int getSize() {
+    return keyPairs.size();
+  }
+
+  /** Returns the number of key pairs generated so far, both in background and on demand. */
+  public long getGeneratedCount() {
+    return generatedCount.get();
+  }
+
+  /** Returns the total time spent on generation of key pairs. */
+  public long getGenerationTotalTime(TimeUnit unit) {
+    return unit.convert(generationTotalNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  @PostConstruct
+  void fill() {
+    if (size > 0) {
+      refill();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Starts background generation of key pairs unless it is already in progress. */
+  private void refill() {
+    if (!refilling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(this::generateUntilFull);
+    } catch (RejectedExecutionException e) {
+      refilling.set(false);
+    }
+  }
+
+  private void generateUntilFull() {
+    try {
+      while (keyPairs.size() < size) {
+        keyPairs.add(generate());
+      }
+    } catch (NoSuchAlgorithmException e) {
+      LOG.error("Unable to pre-generate signature key pairs. Cause: {}", e.getMessage());
+    } finally {
+      refilling.set(false);
+    }
+  }
+
+  private KeyPair generate() throws NoSuchAlgorithmException {
+    final long start = System.nanoTime();
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance(algorithm);
+    kpg.initialize(keySize);
+    final KeyPair keyPair = kpg.generateKeyPair();
+    generationTotalNanos.addAndGet(System.nanoTime() - start);
+    generatedCount.incrementAndGet();
+    return keyPair;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server.signature;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Provides the depth of the {@link SignatureKeyPairPool} and the time of key pairs generation. */
+@Singleton
+public class SignatureKeyPairPoolMeterBinder implements MeterBinder {
+
+  private final SignatureKeyPairPool keyPairPool;
+
+  @Inject
+  public SignatureKeyPairPoolMeterBinder(SignatureKeyPairPool keyPairPool) {
+    this.keyPairPool = keyPairPool;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("che.auth.signature_key.pool.size", keyPairPool, SignatureKeyPairPool::getSize)
+        .description("Number of signature key pairs generated ahead of workspace starts")
+        .register(registry);
+
+    FunctionTimer.builder(
+            "che.auth.signature_key.generation",
+            keyPairPool,
+            SignatureKeyPairPool::getGeneratedCount,
+            p -> p.getGenerationTotalTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS)
+        .description("Time of signature key pairs generation")
+        .register(registry);
+  }
+}
@@ -15,6 +15,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -27,6 +28,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
@@ -96,6 +98,30 @@ public class JpaSignatureKeyDao implements SignatureKeyDao {
     }
   }
 
+  @Override
+  public void removeAll(Collection<String> workspaceIds) throws ServerException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    if (workspaceIds.isEmpty()) {
+      return;
+    }
+    try {
+      doRemoveAll(workspaceIds);
+    } catch (RuntimeException ex) {
+      throw new ServerException(ex.getMessage(), ex);
+    }
+  }
+
+  @Transactional
+  protected void doRemoveAll(Collection<String> workspaceIds) {
+    final EntityManager manager = managerProvider.get();
+    manager
+        .createNamedQuery("SignKeyPair.getByWorkspaceIds", SignatureKeyPairImpl.class)
+        .setParameter("workspaceIds", workspaceIds)
+        .getResultList()
+        .forEach(manager::remove);
+    manager.flush();
+  }
+
   @Override
   @Transactional
   public SignatureKeyPairImpl get(String workspaceId) throws NotFoundException, ServerException {
@@ -135,4 +161,26 @@ public class JpaSignatureKeyDao implements SignatureKeyDao {
       signatureKeyDao.remove(event.getWorkspace().getId());
     }
   }
+
+  @Singleton
+  public static class RemoveKeyPairsBeforeWorkspacesRemovedEventSubscriber
+      extends CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> {
+    @Inject private EventService eventService;
+    @Inject private SignatureKeyDao signatureKeyDao;
+
+    @PostConstruct
+    public void subscribe() {
+      eventService.subscribe(this, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+      eventService.unsubscribe(this, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @Override
+    public void onCascadeEvent(BeforeWorkspacesRemovedEvent event) throws Exception {
+      signatureKeyDao.removeAll(event.getWorkspaceIds());
+    }
+  }
 }
@@ -33,6 +33,9 @@ import org.eclipse.che.multiuser.machine.authentication.server.signature.Signatu
   @NamedQuery(
       name = "SignKeyPair.getAll",
       query = "SELECT kp FROM SignKeyPair kp WHERE kp.workspaceId = :workspaceId"),
+  @NamedQuery(
+      name = "SignKeyPair.getByWorkspaceIds",
+      query = "SELECT kp FROM SignKeyPair kp WHERE kp.workspaceId IN :workspaceIds"),
 })
 public class SignatureKeyPairImpl implements SignatureKeyPair {
 
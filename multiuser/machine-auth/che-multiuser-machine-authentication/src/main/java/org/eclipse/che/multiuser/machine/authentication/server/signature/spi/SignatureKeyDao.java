@@ -12,6 +12,7 @@
 package org.eclipse.che.multiuser.machine.authentication.server.signature.spi;
 
 import com.google.common.annotations.Beta;
+import java.util.Collection;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -43,6 +44,14 @@ public interface SignatureKeyDao {
    */
   void remove(String workspaceId) throws ServerException;
 
+  /**
+   * Removes signature key pairs of given workspaces at once.
+   *
+   * @param workspaceIds identifiers of workspaces to remove keypairs from
+   * @throws ServerException when any errors occur while removing signature key pairs
+   */
+  void removeAll(Collection<String> workspaceIds) throws ServerException;
+
   /**
    * Returns signature key pair for given workspace id.
    *
@@ -12,6 +12,7 @@
 package org.eclipse.che.multiuser.machine.authentication.server;
 
 import static io.jsonwebtoken.SignatureAlgorithm.RS512;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -20,6 +21,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -38,9 +40,12 @@ import javax.servlet.http.HttpSession;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.multiuser.api.authentication.commons.SessionStore;
 import org.eclipse.che.multiuser.api.authentication.commons.token.RequestTokenExtractor;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
@@ -88,6 +93,7 @@ public class MachineLoginFilterTest {
   @Mock private HttpSession sessionMock;
   @Mock private HttpServletResponse responseMock;
 
+  private EventService eventService;
   private MachineLoginFilter machineLoginFilter;
 
   @BeforeMethod
@@ -102,13 +108,17 @@ public class MachineLoginFilterTest {
             .setHeader(HEADER)
             .signWith(RS512, keyPair.getPrivate())
             .compact();
+    eventService = new EventService();
     machineLoginFilter =
         new MachineLoginFilter(
             new SessionStore(),
             tokenExtractorMock,
             userManagerMock,
             new MachineSigningKeyResolver(keyManagerMock),
-            permissionCheckerMock);
+            permissionCheckerMock,
+            eventService,
+            100,
+            60);
 
     lenient().when(tokenExtractorMock.getToken(any(HttpServletRequest.class))).thenReturn(token);
     lenient().when(keyManagerMock.getOrCreateKeyPair(eq(WORKSPACE_ID))).thenReturn(keyPair);
@@ -126,6 +136,54 @@ public class MachineLoginFilterTest {
     verifyZeroInteractions(responseMock);
   }
 
+  @Test
+  public void testDoesNotVerifyCachedTokenAgain() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(keyManagerMock).getOrCreateKeyPair(eq(WORKSPACE_ID));
+    verify(userManagerMock, times(2)).getById(anyString());
+    verify(chainMock, times(2)).doFilter(any(), any());
+    verifyZeroInteractions(responseMock);
+  }
+
+  @Test
+  public void testRejectsCachedTokenWhenUserIsRemoved() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    when(userManagerMock.getById(SUBJECT.getUserId()))
+        .thenThrow(new NotFoundException("User not found"));
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(keyManagerMock).getOrCreateKeyPair(eq(WORKSPACE_ID));
+    verify(chainMock).doFilter(any(), any());
+    verify(responseMock)
+        .sendError(401, "Machine token authentication failed: Corresponding user doesn't exist.");
+  }
+
+  @Test
+  public void testVerifiesTokenAgainWhenWorkspaceIsStopped() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    eventService.publish(
+        DtoFactory.newDto(WorkspaceStatusEvent.class)
+            .withWorkspaceId(WORKSPACE_ID)
+            .withStatus(STOPPED));
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(keyManagerMock, times(2)).getOrCreateKeyPair(eq(WORKSPACE_ID));
+  }
+
+  @Test
+  public void testVerifiesTokenAgainWhenAllTokensAreInvalidated() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    machineLoginFilter.invalidateAll();
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(keyManagerMock, times(2)).getOrCreateKeyPair(eq(WORKSPACE_ID));
+  }
+
   @Test
   public void testNotProceedRequestWhenSignatureCheckIsFailed() throws Exception {
     final HttpServletRequest requestMock = getRequestMock();
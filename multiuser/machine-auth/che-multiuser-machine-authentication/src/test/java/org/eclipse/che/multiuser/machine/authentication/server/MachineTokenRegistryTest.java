@@ -11,10 +11,13 @@
  */
 package org.eclipse.che.multiuser.machine.authentication.server;
 
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.USER_ID_CLAIM;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.USER_NAME_CLAIM;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.WORKSPACE_ID_CLAIM;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -22,6 +25,8 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -29,6 +34,11 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.user.server.UserManager;
@@ -126,6 +136,81 @@ public class MachineTokenRegistryTest {
     assertNotEquals(tokenRegistry.getOrCreateToken(user2, workspace1), removedTokens.get(user2));
   }
 
+  @Test
+  public void shouldCreateTokenOnceWhenItIsRequestedConcurrently() throws Exception {
+    final User user = mock(User.class);
+    when(user.getName()).thenReturn(USER_NAME);
+    final CountDownLatch creationStarted = new CountDownLatch(1);
+    final CountDownLatch userFetched = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              creationStarted.countDown();
+              userFetched.await();
+              return user;
+            })
+        .when(userManager)
+        .getById(USER_ID);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<String> first =
+          executor.submit(() -> tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID));
+      assertTrue(creationStarted.await(10, SECONDS));
+      final Future<String> second =
+          executor.submit(() -> tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID));
+      userFetched.countDown();
+
+      assertEquals(second.get(10, SECONDS), first.get(10, SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(userManager).getById(USER_ID);
+  }
+
+  @Test
+  public void shouldCreateTokenAgainWhenPreviousCreationFailed() throws Exception {
+    final User user = mock(User.class);
+    when(user.getName()).thenReturn(USER_NAME);
+    when(userManager.getById(USER_ID))
+        .thenThrow(new NotFoundException("User not found"))
+        .thenReturn(user);
+    try {
+      tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID);
+      fail("Machine token must not be created");
+    } catch (MachineTokenException ignored) {
+    }
+
+    assertNotNull(tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID));
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotReturnTokenWhenWorkspaceTokensAreRemovedDuringItsCreation()
+      throws Exception {
+    final User user = mock(User.class);
+    when(user.getName()).thenReturn(USER_NAME);
+    final AtomicReference<Map<String, String>> removed = new AtomicReference<>();
+    final Thread remover = new Thread(() -> removed.set(tokenRegistry.removeTokens(WORKSPACE_ID)));
+    doAnswer(
+            invocation -> {
+              remover.start();
+              // the remover waits for the token which is being created
+              while (remover.getState() != Thread.State.WAITING) {
+                Thread.sleep(10);
+              }
+              return user;
+            })
+        .when(userManager)
+        .getById(USER_ID);
+
+    try {
+      tokenRegistry.getOrCreateToken(USER_ID, WORKSPACE_ID);
+      fail("Machine token must not be returned");
+    } catch (MachineTokenException ignored) {
+    }
+    remover.join();
+
+    assertEquals(removed.get(), emptyMap());
+  }
+
   private void mockUser(String userId, String userName) throws Exception {
     final User userMock = mock(User.class);
     lenient().when(userMock.getId()).thenReturn(userId);
@@ -11,9 +11,11 @@
  */
 package org.eclipse.che.multiuser.machine.authentication.server.signature;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +25,7 @@ import static org.testng.Assert.assertNotNull;
 import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -51,6 +54,7 @@ public class SignatureKeyManagerTest {
   private static final String ALGORITHM = "RSA";
 
   @Mock SignatureKeyDao signatureKeyDao;
+  @Mock SignatureKeyPairPool keyPairPool;
   @Mock EventService eventService;
 
   @Captor private ArgumentCaptor<EventSubscriber<WorkspaceStatusEvent>> captor;
@@ -62,8 +66,7 @@ public class SignatureKeyManagerTest {
   public void createEntities() throws Exception {
     kpg = KeyPairGenerator.getInstance(ALGORITHM);
     kpg.initialize(KEY_SIZE);
-    signatureKeyManager =
-        new SignatureKeyManager(KEY_SIZE, ALGORITHM, eventService, signatureKeyDao);
+    signatureKeyManager = new SignatureKeyManager(keyPairPool, eventService, signatureKeyDao);
   }
 
   @Test
@@ -106,6 +109,20 @@ public class SignatureKeyManagerTest {
     assertKeys(cachedPair.getPrivate(), kp.getPrivateKey());
   }
 
+  @Test
+  public void shouldCreateSignatureKeysFromPoolWhenWorkspaceHasNone() throws Exception {
+    final KeyPair pair = kpg.generateKeyPair();
+    doThrow(new NotFoundException("not found")).when(signatureKeyDao).get(anyString());
+    when(keyPairPool.take()).thenReturn(pair);
+    when(signatureKeyDao.create(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    final KeyPair created = signatureKeyManager.getOrCreateKeyPair("ws1");
+
+    verify(keyPairPool).take();
+    assertEquals(created.getPublic().getEncoded(), pair.getPublic().getEncoded());
+    assertEquals(created.getPrivate().getEncoded(), pair.getPrivate().getEncoded());
+  }
+
   private SignatureKeyPairImpl newKeyPair(String id) {
     final KeyPair pair = kpg.generateKeyPair();
     return new SignatureKeyPairImpl(id, pair.getPublic(), pair.getPrivate());
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server.signature;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.testng.annotations.Test;
+
+/** Tests {@link SignatureKeyPairPool}. */
+public class SignatureKeyPairPoolTest {
+
+  private static final int KEY_SIZE = 512;
+  private static final String ALGORITHM = "RSA";
+
+  @Test
+  public void shouldFillPoolOnStart() {
+    final SignatureKeyPairPool pool = createPool(3, 1);
+
+    pool.fill();
+
+    assertEquals(pool.getSize(), 3);
+    assertEquals(pool.getGeneratedCount(), 3);
+  }
+
+  @Test
+  public void shouldNotRefillPoolAboveLowWaterMark() throws Exception {
+    final SignatureKeyPairPool pool = createPool(3, 1);
+    pool.fill();
+
+    assertNotNull(pool.take());
+
+    assertEquals(pool.getSize(), 2);
+    assertEquals(pool.getGeneratedCount(), 3);
+  }
+
+  @Test
+  public void shouldRefillPoolBelowLowWaterMark() throws Exception {
+    final SignatureKeyPairPool pool = createPool(3, 3);
+    pool.fill();
+
+    assertNotNull(pool.take());
+
+    assertEquals(pool.getSize(), 3);
+    assertEquals(pool.getGeneratedCount(), 4);
+  }
+
+  @Test
+  public void shouldGenerateKeyPairWhenPoolIsEmpty() throws Exception {
+    final SignatureKeyPairPool pool = createPool(0, 0);
+    pool.fill();
+
+    assertNotNull(pool.take());
+
+    assertEquals(pool.getSize(), 0);
+    assertEquals(pool.getGeneratedCount(), 1);
+  }
+
+  private static SignatureKeyPairPool createPool(int size, int lowWaterMark) {
+    return new SignatureKeyPairPool(
+        KEY_SIZE, ALGORITHM, size, lowWaterMark, MoreExecutors.newDirectExecutorService());
+  }
+}
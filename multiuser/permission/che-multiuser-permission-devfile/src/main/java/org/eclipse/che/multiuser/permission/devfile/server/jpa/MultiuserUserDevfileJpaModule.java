@@ -24,6 +24,7 @@ import org.eclipse.che.multiuser.permission.devfile.server.model.impl.UserDevfil
 import org.eclipse.che.multiuser.permission.devfile.server.spi.UserDevfilePermissionDao;
 import org.eclipse.che.multiuser.permission.devfile.server.spi.jpa.JpaUserDevfilePermissionDao;
 import org.eclipse.che.multiuser.permission.devfile.server.spi.jpa.JpaUserDevfilePermissionDao.RemoveUserDevfilePermissionsBeforeUserDevfileRemovedEventSubscriber;
+import org.eclipse.che.multiuser.permission.devfile.server.spi.jpa.JpaUserDevfilePermissionDao.RemoveUserDevfilePermissionsBeforeUserDevfilesRemovedEventSubscriber;
 import org.eclipse.che.multiuser.permission.devfile.server.spi.jpa.JpaUserDevfilePermissionDao.RemoveUserDevfilePermissionsBeforeUserRemovedEventSubscriber;
 import org.eclipse.che.multiuser.permission.devfile.server.spi.jpa.MultiuserJpaUserDevfileDao;
 
@@ -37,6 +38,8 @@ public class MultiuserUserDevfileJpaModule extends AbstractModule {
     bind(RemoveUserDevfileBeforeAccountRemovedEventSubscriber.class).asEagerSingleton();
     bind(RemoveUserDevfilePermissionsBeforeUserDevfileRemovedEventSubscriber.class)
         .asEagerSingleton();
+    bind(RemoveUserDevfilePermissionsBeforeUserDevfilesRemovedEventSubscriber.class)
+        .asEagerSingleton();
     bind(RemoveUserDevfilePermissionsBeforeUserRemovedEventSubscriber.class).asEagerSingleton();
 
     bind(new TypeLiteral<AbstractPermissionsDomain<UserDevfilePermissionImpl>>() {})
@@ -39,6 +39,12 @@ import org.eclipse.che.multiuser.permission.devfile.server.model.UserDevfilePerm
           "SELECT permission "
               + "FROM UserDevfilePermission permission "
               + "WHERE permission.userDevfileId = :userDevfileId "),
+  @NamedQuery(
+      name = "UserDevfilePermission.getByUserDevfileIds",
+      query =
+          "SELECT permission "
+              + "FROM UserDevfilePermission permission "
+              + "WHERE permission.userDevfileId IN :userDevfileIds "),
   @NamedQuery(
       name = "UserDevfilePermission.getCountByUserDevfileId",
       query =
@@ -58,7 +64,14 @@ import org.eclipse.che.multiuser.permission.devfile.server.model.UserDevfilePerm
               + "FROM UserDevfilePermission permission "
               + "WHERE permission.userId = :userId "
               + "AND permission.userDevfileId = :userDevfileId ",
-      hints = {@QueryHint(name = "eclipselink.query-results-cache", value = "true")})
+      hints = {@QueryHint(name = "eclipselink.query-results-cache", value = "true")}),
+  @NamedQuery(
+      name = "UserDevfilePermission.getByUserAndUserDevfileIds",
+      query =
+          "SELECT permission "
+              + "FROM UserDevfilePermission permission "
+              + "WHERE permission.userId = :userId "
+              + "AND permission.userDevfileId IN :userDevfileIds ")
 })
 @Table(name = "che_userdevfile_permissions")
 public class UserDevfilePermissionImpl extends AbstractPermissions
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.multiuser.permission.devfile.server.spi;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.NotFoundException;
@@ -59,6 +60,15 @@ public interface UserDevfilePermissionDao {
    */
   void removeUserDevfilePermission(String userDevfileId, String userId) throws ServerException;
 
+  /**
+   * Removes all the userDevfilePermissions of given devfiles at once
+   *
+   * @param userDevfileIds devfile identifiers
+   * @throws NullPointerException when {@code userDevfileIds} is null
+   * @throws ServerException when any other error occurs during userDevfilePermissions removing
+   */
+  void removeUserDevfilePermissions(Collection<String> userDevfileIds) throws ServerException;
+
   /**
    * Gets userDevfilePermissions by user devfile id.
    *
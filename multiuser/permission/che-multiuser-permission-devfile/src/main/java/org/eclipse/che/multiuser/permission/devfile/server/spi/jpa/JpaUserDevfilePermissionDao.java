@@ -13,11 +13,13 @@ package org.eclipse.che.multiuser.permission.devfile.server.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -30,6 +32,7 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.devfile.server.event.BeforeDevfileRemovedEvent;
+import org.eclipse.che.api.devfile.server.event.BeforeDevfilesRemovedEvent;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
@@ -71,6 +74,24 @@ public class JpaUserDevfilePermissionDao
         .collect(toList());
   }
 
+  @Override
+  public List<UserDevfilePermissionImpl> getByUserAndInstances(
+      String userId, Collection<String> instanceIds) throws ServerException {
+    requireNonNull(userId, "User identifier required");
+    requireNonNull(instanceIds, "User devfile identifiers required");
+    if (instanceIds.isEmpty()) {
+      return emptyList();
+    }
+    try {
+      return doGetByUserAndUserDevfiles(wildcardToNull(userId), instanceIds)
+          .stream()
+          .map(UserDevfilePermissionImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<UserDevfilePermissionImpl> getByInstance(
@@ -133,6 +154,20 @@ public class JpaUserDevfilePermissionDao
     }
   }
 
+  @Override
+  public void removeUserDevfilePermissions(Collection<String> userDevfileIds)
+      throws ServerException {
+    requireNonNull(userDevfileIds, "User devfile identifiers required");
+    if (userDevfileIds.isEmpty()) {
+      return;
+    }
+    try {
+      doRemoveByUserDevfiles(userDevfileIds);
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+  }
+
   @Override
   public Page<UserDevfilePermissionImpl> getUserDevfilePermission(
       String userDevfileId, int maxItems, long skipCount) throws ServerException {
@@ -156,6 +191,30 @@ public class JpaUserDevfilePermissionDao
         .getSingleResult();
   }
 
+  @Transactional
+  protected List<UserDevfilePermissionImpl> doGetByUserAndUserDevfiles(
+      @Nullable String userId, Collection<String> userDevfileIds) {
+    return managerProvider
+        .get()
+        .createNamedQuery(
+            "UserDevfilePermission.getByUserAndUserDevfileIds", UserDevfilePermissionImpl.class)
+        .setParameter("userId", userId)
+        .setParameter("userDevfileIds", userDevfileIds)
+        .getResultList();
+  }
+
+  @Transactional
+  protected void doRemoveByUserDevfiles(Collection<String> userDevfileIds) {
+    final EntityManager manager = managerProvider.get();
+    manager
+        .createNamedQuery(
+            "UserDevfilePermission.getByUserDevfileIds", UserDevfilePermissionImpl.class)
+        .setParameter("userDevfileIds", userDevfileIds)
+        .getResultList()
+        .forEach(manager::remove);
+    manager.flush();
+  }
+
   @Transactional
   protected List<UserDevfilePermissionImpl> doGetByUser(@Nullable String userId)
       throws ServerException {
@@ -209,6 +268,28 @@ public class JpaUserDevfilePermissionDao
     }
   }
 
+  @Singleton
+  public static class RemoveUserDevfilePermissionsBeforeUserDevfilesRemovedEventSubscriber
+      extends CascadeEventSubscriber<BeforeDevfilesRemovedEvent> {
+    @Inject private EventService eventService;
+    @Inject private UserDevfilePermissionDao userDevfilePermissionDao;
+
+    @PostConstruct
+    public void subscribe() {
+      eventService.subscribe(this, BeforeDevfilesRemovedEvent.class);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+      eventService.unsubscribe(this, BeforeDevfilesRemovedEvent.class);
+    }
+
+    @Override
+    public void onCascadeEvent(BeforeDevfilesRemovedEvent event) throws Exception {
+      userDevfilePermissionDao.removeUserDevfilePermissions(event.getUserDevfileIds());
+    }
+  }
+
   @Singleton
   public static class RemoveUserDevfilePermissionsBeforeUserRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeUserRemovedEvent> {
@@ -20,7 +20,10 @@ import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.SERVER_STATUS_CHANGED_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STATUS_CHANGED_METHOD;
 
+import com.google.common.base.Splitter;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -33,12 +36,19 @@ import org.eclipse.che.multiuser.permission.workspace.server.WorkspaceDomain;
 /**
  * Holds and registers permissions checks for workspaces related events.
  *
+ * <p>Scope of a subscription names either one workspace with {@code workspaceId} or several
+ * comma-separated workspaces with {@code workspaceIds}, e.g. the workspaces of a listed page. The
+ * latter are authorized with one bulk permissions check instead of a check per workspace, and are
+ * supported only by subscriptions to workspace status changes.
+ *
  * @author Sergii Leshchenko
  */
 @Singleton
 public class WorkspaceRemoteSubscriptionPermissionFilter
     implements RemoteSubscriptionPermissionCheck {
 
+  private static final Splitter IDS_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
   @Inject
   public void register(RemoteSubscriptionPermissionManager permissionFilter) {
     permissionFilter.registerCheck(
@@ -56,12 +66,28 @@ public class WorkspaceRemoteSubscriptionPermissionFilter
   @Override
   public void check(String methodName, Map<String, String> scope) throws ForbiddenException {
     String workspaceId = scope.get("workspaceId");
+    String workspaceIds = scope.get("workspaceIds");
 
-    if (workspaceId == null) {
+    if (workspaceId == null && workspaceIds == null) {
       throw new ForbiddenException("Workspace id must be specified in scope");
     }
+    if (workspaceIds != null && !WORKSPACE_STATUS_CHANGED_METHOD.equals(methodName)) {
+      throw new ForbiddenException(
+          "Several workspace ids may be specified in scope only for method '"
+              + WORKSPACE_STATUS_CHANGED_METHOD
+              + "'");
+    }
 
     Subject currentSubject = EnvironmentContext.getCurrent().getSubject();
+    if (workspaceIds != null) {
+      Set<String> requested = new HashSet<>(IDS_SPLITTER.splitToList(workspaceIds));
+      if (workspaceId != null) {
+        requested.add(workspaceId);
+      }
+      checkPermissions(currentSubject, requested);
+      return;
+    }
+
     if (!currentSubject.hasPermission(WorkspaceDomain.DOMAIN_ID, workspaceId, WorkspaceDomain.RUN)
         && !currentSubject.hasPermission(
             WorkspaceDomain.DOMAIN_ID, workspaceId, WorkspaceDomain.USE)) {
@@ -69,4 +95,19 @@ public class WorkspaceRemoteSubscriptionPermissionFilter
           "The current user doesn't have permissions to listen to the specified workspace events");
     }
   }
+
+  private void checkPermissions(Subject subject, Set<String> workspaceIds)
+      throws ForbiddenException {
+    Set<String> forbidden = new HashSet<>(workspaceIds);
+    forbidden.removeAll(
+        subject.hasPermissions(WorkspaceDomain.DOMAIN_ID, forbidden, WorkspaceDomain.RUN));
+    if (!forbidden.isEmpty()) {
+      forbidden.removeAll(
+          subject.hasPermissions(WorkspaceDomain.DOMAIN_ID, forbidden, WorkspaceDomain.USE));
+    }
+    if (!forbidden.isEmpty()) {
+      throw new ForbiddenException(
+          "The current user doesn't have permissions to listen to the specified workspace events");
+    }
+  }
 }
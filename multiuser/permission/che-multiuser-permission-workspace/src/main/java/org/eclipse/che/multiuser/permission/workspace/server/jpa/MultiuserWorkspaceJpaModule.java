@@ -35,6 +35,7 @@ public class MultiuserWorkspaceJpaModule extends AbstractModule {
     bind(RemoveWorkspaceBeforeAccountRemovedEventSubscriber.class).asEagerSingleton();
 
     bind(JpaWorkerDao.RemoveWorkersBeforeWorkspaceRemovedEventSubscriber.class).asEagerSingleton();
+    bind(JpaWorkerDao.RemoveWorkersBeforeWorkspacesRemovedEventSubscriber.class).asEagerSingleton();
     bind(JpaWorkerDao.RemoveWorkersBeforeUserRemovedEventSubscriber.class).asEagerSingleton();
 
     bind(new TypeLiteral<AbstractPermissionsDomain<WorkerImpl>>() {}).to(WorkspaceDomain.class);
@@ -40,6 +40,9 @@ import org.eclipse.che.multiuser.permission.workspace.server.model.Worker;
       name = "Worker.getByWorkspaceId",
       query =
           "SELECT worker " + "FROM Worker worker " + "WHERE worker.workspaceId = :workspaceId "),
+  @NamedQuery(
+      name = "Worker.getByWorkspaceIds",
+      query = "SELECT worker FROM Worker worker WHERE worker.workspaceId IN :workspaceIds"),
   @NamedQuery(
       name = "Worker.getCountByWorkspaceId",
       query =
@@ -56,7 +59,14 @@ import org.eclipse.che.multiuser.permission.workspace.server.model.Worker;
               + "FROM Worker worker "
               + "WHERE worker.userId = :userId "
               + "AND worker.workspaceId = :workspaceId ",
-      hints = {@QueryHint(name = "eclipselink.query-results-cache", value = "true")})
+      hints = {@QueryHint(name = "eclipselink.query-results-cache", value = "true")}),
+  @NamedQuery(
+      name = "Worker.getByUserAndWorkspaceIds",
+      query =
+          "SELECT worker "
+              + "FROM Worker worker "
+              + "WHERE worker.userId = :userId "
+              + "AND worker.workspaceId IN :workspaceIds ")
 })
 @Table(name = "che_worker")
 public class WorkerImpl extends AbstractPermissions implements Worker {
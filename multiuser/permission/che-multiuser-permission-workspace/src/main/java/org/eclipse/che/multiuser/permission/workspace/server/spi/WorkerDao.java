@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.spi;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.NotFoundException;
@@ -61,6 +62,15 @@ public interface WorkerDao {
    */
   void removeWorker(String workspaceId, String userId) throws ServerException;
 
+  /**
+   * Removes all the workers of given workspaces at once
+   *
+   * @param workspaceIds workspace identifiers
+   * @throws NullPointerException when {@code workspaceIds} is null
+   * @throws ServerException when any other error occurs during workers removing
+   */
+  void removeWorkers(Collection<String> workspaceIds) throws ServerException;
+
   /**
    * Gets workers by workspace
    *
@@ -13,11 +13,13 @@ package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -31,6 +33,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
@@ -66,6 +69,19 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     }
   }
 
+  @Override
+  public void removeWorkers(Collection<String> workspaceIds) throws ServerException {
+    requireNonNull(workspaceIds, "Workspace identifiers required");
+    if (workspaceIds.isEmpty()) {
+      return;
+    }
+    try {
+      doRemoveByWorkspaces(workspaceIds);
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+  }
+
   @Override
   public Page<WorkerImpl> getWorkers(String workspaceId, int maxItems, long skipCount)
       throws ServerException {
@@ -95,6 +111,24 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     return doGetByUser(wildcardToNull(userId)).stream().map(WorkerImpl::new).collect(toList());
   }
 
+  @Override
+  public List<WorkerImpl> getByUserAndInstances(String userId, Collection<String> instanceIds)
+      throws ServerException {
+    requireNonNull(userId, "User identifier required");
+    requireNonNull(instanceIds, "Workspace identifiers required");
+    if (instanceIds.isEmpty()) {
+      return emptyList();
+    }
+    try {
+      return doGetByUserAndWorkspaces(wildcardToNull(userId), instanceIds)
+          .stream()
+          .map(WorkerImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkerImpl> getByInstance(String instanceId, int maxItems, long skipCount)
@@ -150,6 +184,28 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
         .getSingleResult();
   }
 
+  @Transactional
+  protected List<WorkerImpl> doGetByUserAndWorkspaces(
+      @Nullable String userId, Collection<String> workspaceIds) {
+    return managerProvider
+        .get()
+        .createNamedQuery("Worker.getByUserAndWorkspaceIds", WorkerImpl.class)
+        .setParameter("userId", userId)
+        .setParameter("workspaceIds", workspaceIds)
+        .getResultList();
+  }
+
+  @Transactional
+  protected void doRemoveByWorkspaces(Collection<String> workspaceIds) {
+    final EntityManager manager = managerProvider.get();
+    manager
+        .createNamedQuery("Worker.getByWorkspaceIds", WorkerImpl.class)
+        .setParameter("workspaceIds", workspaceIds)
+        .getResultList()
+        .forEach(manager::remove);
+    manager.flush();
+  }
+
   @Transactional
   protected List<WorkerImpl> doGetByUser(@Nullable String userId) throws ServerException {
     try {
@@ -200,6 +256,28 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     }
   }
 
+  @Singleton
+  public static class RemoveWorkersBeforeWorkspacesRemovedEventSubscriber
+      extends CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> {
+    @Inject private EventService eventService;
+    @Inject private WorkerDao workerDao;
+
+    @PostConstruct
+    public void subscribe() {
+      eventService.subscribe(this, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+      eventService.unsubscribe(this, BeforeWorkspacesRemovedEvent.class);
+    }
+
+    @Override
+    public void onCascadeEvent(BeforeWorkspacesRemovedEvent event) throws Exception {
+      workerDao.removeWorkers(event.getWorkspaceIds());
+    }
+  }
+
   @Singleton
   public static class RemoveWorkersBeforeUserRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeUserRemovedEvent> {
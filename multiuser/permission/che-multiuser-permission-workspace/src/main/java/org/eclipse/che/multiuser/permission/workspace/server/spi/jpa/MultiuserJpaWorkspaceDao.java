@@ -13,15 +13,18 @@ package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Map.of;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.core.Pages.iterateByKeyset;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
 import static org.eclipse.che.api.workspace.shared.Constants.REMOVE_WORKSPACE_AFTER_STOP;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -36,14 +39,19 @@ import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceRemover;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -64,6 +72,15 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
           + "          LEFT JOIN worker.workspace ws "
           + "          WHERE worker.userId = :userId "
           + "          AND 'read' MEMBER OF worker.actions";
+  private static final String findSummariesByWorkerQuery =
+      "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+          + "          ws.id, ws.name, a.name, ws.isTemporary, d.metadata.name) "
+          + "          FROM Worker worker "
+          + "          JOIN worker.workspace ws "
+          + "          JOIN ws.account a "
+          + "          LEFT JOIN ws.devfile d "
+          + "          WHERE worker.userId = :userId "
+          + "          AND 'read' MEMBER OF worker.actions";
   private static final String findByWorkerCountQuery =
       "SELECT COUNT(ws) FROM Worker worker  "
           + "          LEFT JOIN worker.workspace ws "
@@ -116,6 +133,22 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     return workspaceOpt;
   }
 
+  @Override
+  public List<WorkspaceImpl> removeAll(Collection<String> ids) throws ServerException {
+    requireNonNull(ids, "Required non-null ids");
+    if (ids.isEmpty()) {
+      return emptyList();
+    }
+    List<WorkspaceImpl> removed;
+    try {
+      removed = doRemoveAll(ids);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+    removed.forEach(workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
+    return removed;
+  }
+
   @Override
   @Transactional
   public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
@@ -181,6 +214,29 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getByNamespace(
+      String namespace, int maxItems, @Nullable String continuationToken) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final List<WorkspaceImpl> list =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getByNamespaceAfter", WorkspaceImpl.class)
+              .setParameter("namespace", namespace)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      return Pages.keysetPage(list, maxItems, WorkspaceImpl::getId);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
@@ -208,6 +264,33 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String userId, int maxItems, long skipCount) throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummaryImpl> list =
+          manager
+              .createQuery(findSummariesByWorkerQuery, WorkspaceSummaryImpl.class)
+              .setParameter("userId", userId)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      JpaWorkspaceDao.fetchAttributes(manager, list);
+
+      final long count =
+          manager
+              .createQuery(findByWorkerCountQuery, Long.class)
+              .setParameter("userId", userId)
+              .getSingleResult();
+
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -253,6 +336,30 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(
+      boolean isTemporary, int maxItems, @Nullable String continuationToken)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceImpl> list =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getByTemporaryAfter", WorkspaceImpl.class)
+              .setParameter("temporary", isTemporary)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      return Pages.keysetPage(list, maxItems, WorkspaceImpl::getId);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -278,6 +385,11 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     return Optional.of(workspace);
   }
 
+  @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
+  protected List<WorkspaceImpl> doRemoveAll(Collection<String> ids) throws ServerException {
+    return JpaWorkspaceRemover.removeAll(managerProvider.get(), eventService, ids);
+  }
+
   @Transactional
   protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
     EntityManager manager = managerProvider.get();
@@ -295,6 +407,7 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
   @Singleton
   public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
+    private static final int PAGE_SIZE = 100;
 
     @Inject private EventService eventService;
     @Inject private WorkspaceManager workspaceManager;
@@ -312,27 +425,34 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     @Override
     public void onCascadeEvent(BeforeAccountRemovedEvent event) throws Exception {
       boolean nonStoppedExists = false;
-      for (WorkspaceImpl workspace :
-          iterate(
-              (maxItems, skipCount) ->
-                  workspaceManager.getByNamespace(
-                      event.getAccount().getName(), false, maxItems, skipCount))) {
-        if (STOPPED.equals(workspace.getStatus())) {
-          workspaceManager.removeWorkspace(workspace.getId());
-          continue;
-        }
+      String continuationToken = null;
+      do {
+        Page<WorkspaceImpl> workspacesPage =
+            workspaceManager.getByNamespace(
+                event.getAccount().getName(), false, PAGE_SIZE, continuationToken);
+        List<String> stoppedIds = new ArrayList<>();
+        for (WorkspaceImpl workspace : workspacesPage.getItems()) {
+          if (STOPPED.equals(workspace.getStatus())) {
+            stoppedIds.add(workspace.getId());
+            continue;
+          }
 
-        nonStoppedExists = true;
+          nonStoppedExists = true;
 
-        if (STOPPING.equals(workspace.getStatus())) {
-          // it's not possible to forcibly stop workspace. Continue check other and fail after this
-          // to retry
-          continue;
-        }
+          if (STOPPING.equals(workspace.getStatus())) {
+            // it's not possible to forcibly stop workspace. Continue check other and fail after
+            // this to retry
+            continue;
+          }
 
-        // workspace is RUNNING or STARTING. It's needed to stop them and remove after
-        tryStopAndRemoveWithSA(workspace);
-      }
+          // workspace is RUNNING or STARTING. It's needed to stop them and remove after
+          tryStopAndRemoveWithSA(workspace);
+        }
+        if (!stoppedIds.isEmpty()) {
+          workspaceManager.removeWorkspaces(stoppedIds);
+        }
+        continuationToken = workspacesPage.getContinuationToken();
+      } while (continuationToken != null);
 
       if (!nonStoppedExists) {
         // all workspace are already removed
@@ -342,10 +462,10 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
       // There is at least one workspace that was marked to be stop/removed after stop.
       // It's needed to check if it's finished already
       for (WorkspaceImpl workspace :
-          iterate(
-              (maxItems, skipCount) ->
+          iterateByKeyset(
+              (maxItems, continuationToken) ->
                   workspaceManager.getByNamespace(
-                      event.getAccount().getName(), false, maxItems, skipCount))) {
+                      event.getAccount().getName(), false, maxItems, continuationToken))) {
         if (!STOPPED.equals(workspace.getStatus())) {
           throw new ConflictException("User has workspace that is not stopped yet. Try again");
         }
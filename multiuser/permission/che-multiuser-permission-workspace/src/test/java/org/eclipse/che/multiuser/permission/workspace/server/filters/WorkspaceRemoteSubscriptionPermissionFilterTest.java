@@ -23,9 +23,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.Collections;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -145,4 +147,53 @@ public class WorkspaceRemoteSubscriptionPermissionFilterTest {
     // when
     permissionFilter.check("ignored", ImmutableMap.of("workspaceId", "ws123"));
   }
+
+  @Test
+  public void shouldCheckPermissionsToSeveralWorkspacesAtOnce() throws Exception {
+    // given
+    doReturn(ImmutableSet.of("ws1"))
+        .when(subject)
+        .hasPermissions(
+            WorkspaceDomain.DOMAIN_ID, ImmutableSet.of("ws1", "ws2"), WorkspaceDomain.RUN);
+    doReturn(ImmutableSet.of("ws2"))
+        .when(subject)
+        .hasPermissions(WorkspaceDomain.DOMAIN_ID, ImmutableSet.of("ws2"), WorkspaceDomain.USE);
+
+    // when
+    permissionFilter.check(
+        WORKSPACE_STATUS_CHANGED_METHOD, ImmutableMap.of("workspaceIds", "ws1, ws2"));
+
+    // then
+    verify(subject, never()).hasPermission(any(), any(), any());
+  }
+
+  @Test(
+      expectedExceptions = ForbiddenException.class,
+      expectedExceptionsMessageRegExp =
+          "The current user doesn't have permissions to listen to the specified workspace events")
+  public void shouldThrowExceptionIfUserDoesNotHavePermissionsToAnyOfWorkspaces()
+      throws Exception {
+    // given
+    doReturn(ImmutableSet.of("ws1"))
+        .when(subject)
+        .hasPermissions(
+            WorkspaceDomain.DOMAIN_ID, ImmutableSet.of("ws1", "ws2"), WorkspaceDomain.RUN);
+    doReturn(ImmutableSet.of())
+        .when(subject)
+        .hasPermissions(WorkspaceDomain.DOMAIN_ID, ImmutableSet.of("ws2"), WorkspaceDomain.USE);
+
+    // when
+    permissionFilter.check(
+        WORKSPACE_STATUS_CHANGED_METHOD, ImmutableMap.of("workspaceIds", "ws1,ws2"));
+  }
+
+  @Test(
+      expectedExceptions = ForbiddenException.class,
+      expectedExceptionsMessageRegExp =
+          "Several workspace ids may be specified in scope only for method 'workspace/statusChanged'")
+  public void shouldThrowExceptionIfSeveralWorkspacesAreSpecifiedForOtherMethod()
+      throws Exception {
+    // when
+    permissionFilter.check(MACHINE_LOG_METHOD, ImmutableMap.of("workspaceIds", "ws1,ws2"));
+  }
 }
@@ -17,13 +17,16 @@ import static org.testng.Assert.assertTrue;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.MultiuserJpaWorkspaceDao;
@@ -144,4 +147,15 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindWorkspaceSummariesByPermissions() throws Exception {
+    Page<WorkspaceSummaryImpl> results = dao.getWorkspaceSummaries(users[0].getId(), 30, 0);
+    assertEquals(results.getTotalItemsCount(), 2);
+    assertEquals(
+        new HashSet<>(results.getItems()),
+        new HashSet<>(
+            Arrays.asList(
+                new WorkspaceSummaryImpl(workspaces[0]), new WorkspaceSummaryImpl(workspaces[1]))));
+  }
 }
@@ -13,11 +13,13 @@ package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
 import static org.eclipse.che.inject.Matchers.names;
 import static org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain.SET_PERMISSIONS;
+import static org.testng.Assert.assertEquals;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.matcher.Matchers;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import javax.persistence.EntityManager;
@@ -103,6 +105,30 @@ public class JpaWorkerDaoTest {
     workerDao.exists("user0", "workspaceId", SET_PERMISSIONS);
   }
 
+  @Test
+  public void shouldGetWorkersOfUserByWorkspaceIds() throws Exception {
+    final Account account = new AccountImpl("accountId", "namespace", "test");
+    final UserImpl user = new UserImpl("user0", "user0@com.com", "usr0");
+    final WorkerImpl worker1 = new WorkerImpl("ws1", "user0", Collections.singletonList("read"));
+    final WorkerImpl worker2 = new WorkerImpl("ws2", "user0", Collections.singletonList("run"));
+
+    manager.getTransaction().begin();
+    manager.persist(account);
+    manager.persist(user);
+    for (String id : Arrays.asList("ws1", "ws2", "ws3")) {
+      manager.persist(WorkspaceImpl.builder().setId(id).setAccount(account).build());
+    }
+    manager.persist(worker1);
+    manager.persist(worker2);
+    manager.getTransaction().commit();
+    manager.clear();
+
+    final List<WorkerImpl> workers =
+        workerDao.getByUserAndInstances("user0", Arrays.asList("ws1", "ws3"));
+
+    assertEquals(workers, Collections.singletonList(worker1));
+  }
+
   public class ExceptionEntityManagerModule extends TckModule {
 
     @Override
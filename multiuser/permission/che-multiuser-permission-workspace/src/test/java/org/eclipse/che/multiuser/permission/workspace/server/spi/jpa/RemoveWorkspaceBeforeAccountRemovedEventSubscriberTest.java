@@ -11,13 +11,14 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
+import static java.util.Collections.singletonList;
 import static java.util.Map.of;
 import static org.eclipse.che.api.workspace.shared.Constants.REMOVE_WORKSPACE_AFTER_STOP;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -65,8 +66,9 @@ public class RemoveWorkspaceBeforeAccountRemovedEventSubscriberTest {
   public void setUp() throws Exception {
     account = new AccountImpl("id", "name", "test");
     workspace = new WorkspaceImpl(workspaceId, account, new WorkspaceConfigImpl());
-    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
-        .thenReturn(new Page<>(Arrays.asList(workspace), 0, 1, 1));
+    when(workspaceManager.getByNamespace(
+            anyString(), anyBoolean(), anyInt(), nullable(String.class)))
+        .thenReturn(new Page<>(Arrays.asList(workspace), 0, 1, Page.UNKNOWN_TOTAL_COUNT, null));
   }
 
   @Test
@@ -88,7 +90,7 @@ public class RemoveWorkspaceBeforeAccountRemovedEventSubscriberTest {
     workspace.setStatus(WorkspaceStatus.STOPPED);
     subscriber.onCascadeEvent(new BeforeAccountRemovedEvent(account));
 
-    verify(workspaceManager).removeWorkspace(workspaceId);
+    verify(workspaceManager).removeWorkspaces(singletonList(workspaceId));
   }
 
   @Test
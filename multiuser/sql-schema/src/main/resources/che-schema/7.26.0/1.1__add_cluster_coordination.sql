@@ -0,0 +1,31 @@
+--
+-- Copyright (c) 2012-2021 Red Hat, Inc.
+-- This program and the accompanying materials are made
+-- available under the terms of the Eclipse Public License 2.0
+-- which is available at https://www.eclipse.org/legal/epl-2.0/
+--
+-- SPDX-License-Identifier: EPL-2.0
+--
+-- Contributors:
+--   Red Hat, Inc. - initial API and implementation
+--
+
+-- Workspace statuses shared by Che Servers of the cluster -------------------------------------
+CREATE TABLE che_workspace_status (
+  workspace_id     VARCHAR(255)         NOT NULL,
+  status           VARCHAR(255)         NOT NULL,
+
+  PRIMARY KEY (workspace_id)
+);
+--------------------------------------------------------------------------------
+
+
+-- Remote event subscriptions shared by Che Servers of the cluster -----------------------------
+CREATE TABLE che_remote_subscription (
+  method           VARCHAR(255)         NOT NULL,
+  endpoint_id      VARCHAR(255)         NOT NULL,
+  scope            VARCHAR(1024)        NOT NULL,
+
+  PRIMARY KEY (method, endpoint_id, scope)
+);
+--------------------------------------------------------------------------------
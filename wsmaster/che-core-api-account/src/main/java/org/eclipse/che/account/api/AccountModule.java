@@ -13,12 +13,17 @@ package org.eclipse.che.account.api;
 
 import com.google.inject.AbstractModule;
 import org.eclipse.che.account.spi.AccountDao;
+import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.account.spi.jpa.JpaAccountDao;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
 
 /** @author Sergii Leschenko */
 public class AccountModule extends AbstractModule {
   @Override
   protected void configure() {
     bind(AccountDao.class).to(JpaAccountDao.class);
+
+    EntityCacheConfigurator.cacheEntities(binder(), AccountImpl.class);
+    EntityCacheConfigurator.cacheQueryResults(binder(), "Account.getByName");
   }
 }
@@ -11,13 +11,12 @@
  */
 package org.eclipse.che.api.devfile.server;
 
-import static org.eclipse.che.api.core.Pages.iterate;
-
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.devfile.UserDevfile;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
@@ -29,6 +28,7 @@ import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 @Singleton
 public class RemoveUserDevfileBeforeAccountRemovedEventSubscriber
     extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
+  private static final int PAGE_SIZE = 100;
 
   private final EventService eventService;
   private final UserDevfileManager userDevfileManager;
@@ -52,12 +52,13 @@ public class RemoveUserDevfileBeforeAccountRemovedEventSubscriber
 
   @Override
   public void onCascadeEvent(BeforeAccountRemovedEvent event) throws Exception {
-    for (UserDevfile userDevfile :
-        iterate(
-            (maxItems, skipCount) ->
-                userDevfileManager.getByNamespace(
-                    event.getAccount().getName(), maxItems, skipCount))) {
-      userDevfileManager.removeUserDevfile(userDevfile.getId());
-    }
+    String continuationToken = null;
+    do {
+      Page<UserDevfile> devfilesPage =
+          userDevfileManager.getByNamespace(
+              event.getAccount().getName(), PAGE_SIZE, continuationToken);
+      userDevfileManager.removeUserDevfiles(devfilesPage.getItems(UserDevfile::getId));
+      continuationToken = devfilesPage.getContinuationToken();
+    } while (continuationToken != null);
   }
 }
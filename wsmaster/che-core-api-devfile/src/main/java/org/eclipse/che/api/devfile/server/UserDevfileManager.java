@@ -15,6 +15,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -122,6 +123,17 @@ public class UserDevfileManager {
         userDevfileDao.getByNamespace(namespace, maxItems, skipCount);
     return devfilesPage;
   }
+
+  /**
+   * Gets page of UserDevfiles in given namespace which follow the given continuation token.
+   *
+   * @see UserDevfileDao#getByNamespace(String, int, String)
+   */
+  public Page<UserDevfile> getByNamespace(
+      String namespace, int maxItems, String continuationToken) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    return userDevfileDao.getByNamespace(namespace, maxItems, continuationToken);
+  }
   /**
    * Updates an existing user devfile in accordance to the new configuration.
    *
@@ -169,6 +181,22 @@ public class UserDevfileManager {
         EnvironmentContext.getCurrent().getSubject().getUserName());
   }
 
+  /**
+   * Removes stored {@link UserDevfile}s with given identifiers at once.
+   *
+   * @param ids user devfile identifiers
+   * @throws NullPointerException when {@code ids} is null
+   * @throws ServerException when any server errors occurs
+   */
+  public void removeUserDevfiles(Collection<String> ids) throws ServerException {
+    requireNonNull(ids);
+    userDevfileDao.removeAll(ids);
+    LOG.debug(
+        "UserDevfiles with ids '{}' removed by user '{}'",
+        ids,
+        EnvironmentContext.getCurrent().getSubject().getUserName());
+  }
+
   /**
    * Gets list of devfiles. Parameters, returned values and possible exceptions are the same as in
    * {@link UserDevfileDao#getDevfiles(int, int, List, List)}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.devfile.server.event;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.api.devfile.server.model.impl.UserDevfileImpl;
+import org.eclipse.che.core.db.cascade.event.RemoveEvent;
+
+/**
+ * Published before several {@link UserDevfileImpl user devfiles} are removed at once, instead of
+ * publishing {@link BeforeDevfileRemovedEvent} for each of them. Subscribers which remove data
+ * related to user devfiles should handle both events.
+ */
+@EventOrigin("user")
+public class BeforeDevfilesRemovedEvent extends RemoveEvent {
+
+  private final List<UserDevfileImpl> userDevfiles;
+
+  public BeforeDevfilesRemovedEvent(List<UserDevfileImpl> userDevfiles) {
+    this.userDevfiles = userDevfiles;
+  }
+
+  public List<UserDevfileImpl> getUserDevfiles() {
+    return userDevfiles;
+  }
+
+  public List<String> getUserDevfileIds() {
+    return userDevfiles.stream().map(UserDevfileImpl::getId).collect(toList());
+  }
+}
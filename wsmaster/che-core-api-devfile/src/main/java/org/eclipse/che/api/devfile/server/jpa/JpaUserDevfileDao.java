@@ -23,6 +23,7 @@ import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,12 +41,15 @@ import org.eclipse.che.account.spi.AccountDao;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.devfile.UserDevfile;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.devfile.server.event.BeforeDevfileRemovedEvent;
+import org.eclipse.che.api.devfile.server.event.BeforeDevfilesRemovedEvent;
 import org.eclipse.che.api.devfile.server.model.impl.UserDevfileImpl;
 import org.eclipse.che.api.devfile.server.spi.UserDevfileDao;
+import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceRemover;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
@@ -127,6 +131,19 @@ public class JpaUserDevfileDao implements UserDevfileDao {
     }
   }
 
+  @Override
+  public void removeAll(Collection<String> ids) throws ServerException {
+    requireNonNull(ids);
+    if (ids.isEmpty()) {
+      return;
+    }
+    try {
+      doRemoveAll(ids);
+    } catch (RuntimeException ex) {
+      throw new ServerException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
   @Override
   @Transactional(rollbackOn = {ServerException.class, RuntimeException.class})
   public Optional<UserDevfile> getById(String id) throws ServerException {
@@ -142,6 +159,29 @@ public class JpaUserDevfileDao implements UserDevfileDao {
     }
   }
 
+  @Transactional(rollbackOn = {ServerException.class, RuntimeException.class})
+  @Override
+  public Page<UserDevfile> getByNamespace(
+      String namespace, int maxItems, String continuationToken) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final List<UserDevfile> list =
+          managerProvider
+              .get()
+              .createNamedQuery("UserDevfile.getByNamespaceAfter", UserDevfileImpl.class)
+              .setParameter("namespace", namespace)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(UserDevfileImpl::new)
+              .collect(Collectors.toList());
+      return Pages.keysetPage(list, maxItems, UserDevfile::getId);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional(rollbackOn = {ServerException.class, RuntimeException.class})
   @Override
   public Page<UserDevfile> getByNamespace(String namespace, int maxItems, long skipCount)
@@ -301,6 +341,38 @@ public class JpaUserDevfileDao implements UserDevfileDao {
     }
   }
 
+  @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
+  protected void doRemoveAll(Collection<String> ids) throws ServerException {
+    final EntityManager manager = managerProvider.get();
+    final List<UserDevfileImpl> devfiles =
+        manager
+            .createNamedQuery("UserDevfile.getByIds", UserDevfileImpl.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    if (devfiles.isEmpty()) {
+      return;
+    }
+    eventService
+        .publish(
+            new BeforeDevfilesRemovedEvent(
+                devfiles.stream().map(UserDevfileImpl::new).collect(toList())))
+        .propagateException();
+    manager.flush();
+    // bulk deletes bypass the persistence context, the removed entities must not be flushed again
+    devfiles.forEach(manager::detach);
+    final List<Long> devfileIds =
+        manager
+            .createQuery(
+                "SELECT d.id FROM UserDevfile u JOIN u.devfile d WHERE u.id IN :ids", Long.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    manager
+        .createQuery("DELETE FROM UserDevfile u WHERE u.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+    JpaWorkspaceRemover.removeDevfiles(manager, devfileIds);
+  }
+
   public static class UserDevfileSearchQueryBuilder {
     protected EntityManager entityManager;
     protected int maxItems;
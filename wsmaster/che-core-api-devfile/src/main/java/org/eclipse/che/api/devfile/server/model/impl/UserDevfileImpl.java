@@ -36,10 +36,19 @@ import org.eclipse.che.api.workspace.server.model.impl.devfile.MetadataImpl;
   @NamedQuery(
       name = "UserDevfile.getByNamespace",
       query = "SELECT d FROM UserDevfile d WHERE d.account.name = :namespace"),
+  @NamedQuery(
+      name = "UserDevfile.getByNamespaceAfter",
+      query =
+          "SELECT d FROM UserDevfile d "
+              + "WHERE d.account.name = :namespace AND d.id > :after "
+              + "ORDER BY d.id"),
   @NamedQuery(
       name = "UserDevfile.getByNamespaceCount",
       query = "SELECT COUNT(d) FROM UserDevfile d WHERE d.account.name = :namespace "),
   @NamedQuery(name = "UserDevfile.getAll", query = "SELECT d FROM UserDevfile d ORDER BY d.id"),
+  @NamedQuery(
+      name = "UserDevfile.getByIds",
+      query = "SELECT d FROM UserDevfile d WHERE d.id IN :ids"),
   @NamedQuery(name = "UserDevfile.getTotalCount", query = "SELECT COUNT(d) FROM UserDevfile d"),
 })
 @Beta
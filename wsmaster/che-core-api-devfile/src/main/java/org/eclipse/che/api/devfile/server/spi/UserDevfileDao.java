@@ -12,6 +12,7 @@
 package org.eclipse.che.api.devfile.server.spi;
 
 import com.google.common.annotations.Beta;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.ConflictException;
@@ -57,6 +58,17 @@ public interface UserDevfileDao {
    */
   void remove(String id) throws ServerException;
 
+  /**
+   * Removes several devfiles at once.
+   *
+   * <p>Doesn't throw an exception when some of devfiles with given identifiers do not exist
+   *
+   * @param ids devfile identifiers
+   * @throws NullPointerException when {@code ids} is null
+   * @throws ServerException when any other error occurs
+   */
+  void removeAll(Collection<String> ids) throws ServerException;
+
   /**
    * Gets devfile by identifier.
    *
@@ -79,6 +91,22 @@ public interface UserDevfileDao {
   Page<UserDevfile> getByNamespace(String namespace, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets page of UserDevfiles in given namespace which follow the given continuation token.
+   *
+   * <p>Unlike {@link #getByNamespace(String, int, long)} this method neither skips nor counts
+   * devfiles. The total count of returned page is {@link Page#UNKNOWN_TOTAL_COUNT}.
+   *
+   * @param namespace devfiles namespace
+   * @param maxItems the maximum number of devfiles to return
+   * @param continuationToken continuation token of the previous page or null to get the first page
+   * @return page of devfiles in given namespace, never null
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any other error occurs during devfiles fetching
+   */
+  Page<UserDevfile> getByNamespace(String namespace, int maxItems, String continuationToken)
+      throws ServerException;
+
   /**
    * Gets all devfiles which user can read filtered by given parameters in a given order
    *
@@ -256,6 +256,15 @@ public class UserDevfileDaoTest {
     assertFalse(result.isPresent());
   }
 
+  @Test
+  public void shouldRemoveSeveralDevfilesAtOnce() throws Exception {
+    userDevfileDaoDao.removeAll(asList(devfiles[0].getId(), devfiles[1].getId(), "non-existing"));
+
+    assertFalse(userDevfileDaoDao.getById(devfiles[0].getId()).isPresent());
+    assertFalse(userDevfileDaoDao.getById(devfiles[1].getId()).isPresent());
+    assertTrue(userDevfileDaoDao.getById(devfiles[2].getId()).isPresent());
+  }
+
   @Test
   public void shouldDoNothingWhenRemovingNonExistingUserDevfile() throws Exception {
     userDevfileDaoDao.remove("non-existing");
@@ -511,6 +520,28 @@ public class UserDevfileDaoTest {
     assertEquals(new HashSet<>(found.getItems()), new HashSet<>(asList(devfile1, devfile2)));
   }
 
+  @Test
+  public void shouldGetDevfilesByNamespaceByKeyset() throws Exception {
+    final UserDevfileImpl devfile1 = devfiles[0];
+    final UserDevfileImpl devfile2 = devfiles[1];
+    final String namespace = devfile1.getNamespace();
+
+    final Page<UserDevfile> first = userDevfileDaoDao.getByNamespace(namespace, 1, null);
+    final Page<UserDevfile> second =
+        userDevfileDaoDao.getByNamespace(namespace, 1, first.getContinuationToken());
+    final Page<UserDevfile> third =
+        userDevfileDaoDao.getByNamespace(namespace, 1, second.getContinuationToken());
+
+    assertEquals(first.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT);
+    assertEquals(first.getItemsCount(), 1);
+    assertEquals(second.getItemsCount(), 1);
+    assertTrue(third.isEmpty());
+    assertFalse(third.hasNextPage());
+    assertEquals(
+        new HashSet<>(asList(first.getItems().get(0), second.getItems().get(0))),
+        new HashSet<>(asList(devfile1, devfile2)));
+  }
+
   @Test
   public void emptyListShouldBeReturnedWhenThereAreNoDevfilesInGivenNamespace() throws Exception {
     assertTrue(userDevfileDaoDao.getByNamespace("non-existing-namespace", 30, 0).isEmpty());
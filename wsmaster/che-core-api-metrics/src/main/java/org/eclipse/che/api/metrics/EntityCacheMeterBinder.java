@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheProfiler;
+
+/** Provides cache hits, misses and hit ratio of the entities cached by Che Server. */
+@Singleton
+public class EntityCacheMeterBinder implements MeterBinder {
+
+  private final EntityCacheConfigurator cacheConfigurator;
+
+  @Inject
+  public EntityCacheMeterBinder(EntityCacheConfigurator cacheConfigurator) {
+    this.cacheConfigurator = cacheConfigurator;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!cacheConfigurator.isEnabled()) {
+      return;
+    }
+    EntityCacheProfiler profiler = cacheConfigurator.getProfiler();
+    for (Class<?> entity : profiler.getEntities()) {
+      Tags tags = Tags.of("entity", entity.getSimpleName());
+
+      FunctionCounter.builder("che.db.entity_cache.hits", profiler, p -> p.getHits(entity))
+          .tags(tags)
+          .description("Number of entity reads served from the cache")
+          .register(registry);
+
+      FunctionCounter.builder("che.db.entity_cache.misses", profiler, p -> p.getMisses(entity))
+          .tags(tags)
+          .description("Number of entity reads which went to the database")
+          .register(registry);
+
+      Gauge.builder("che.db.entity_cache.hit_ratio", profiler, p -> hitRatio(p, entity))
+          .tags(tags)
+          .description("Ratio of entity reads served from the cache")
+          .register(registry);
+    }
+  }
+
+  private static double hitRatio(EntityCacheProfiler profiler, Class<?> entity) {
+    long hits = profiler.getHits(entity);
+    long total = hits + profiler.getMisses(entity);
+    return total == 0 ? Double.NaN : (double) hits / total;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.AsyncDispatchStatistics;
+import org.eclipse.che.api.core.notification.EventService;
+
+/**
+ * Provides metrics of the asynchronous events delivery performed by {@link EventService}: the
+ * number of queued events, the number of dropped events and the dispatch latency.
+ */
+@Singleton
+public class EventServiceMeterBinder implements MeterBinder {
+
+  private final EventService eventService;
+
+  @Inject
+  public EventServiceMeterBinder(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    AsyncDispatchStatistics statistics = eventService.getAsyncStatistics();
+
+    Gauge.builder("che.event.async.queue.size", statistics, AsyncDispatchStatistics::getQueueSize)
+        .description("Number of events waiting for the delivery to asynchronous subscribers")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "che.event.async.dropped", statistics, AsyncDispatchStatistics::getDroppedCount)
+        .description("Number of events dropped because of asynchronous subscriber queue overflow")
+        .register(registry);
+
+    FunctionTimer.builder(
+            "che.event.async.dispatch",
+            statistics,
+            AsyncDispatchStatistics::getDispatchedCount,
+            s -> s.getDispatchTotalTime(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS)
+        .description("Time between publishing of an event and the end of its processing")
+        .register(registry);
+  }
+}
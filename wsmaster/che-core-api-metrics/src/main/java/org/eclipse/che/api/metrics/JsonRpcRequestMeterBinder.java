@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.api.core.jsonrpc.impl.RequestProcessingListener;
+import org.eclipse.che.api.core.jsonrpc.impl.ServerSideRequestProcessor;
+
+/**
+ * Provides metrics of JSON RPC requests processing: per method queueing and processing time, the
+ * number of rejected requests and the number of requests waiting in the per client queues.
+ *
+ * <p>Methods which have no registered handler are reported as {@code unknown}, so that arbitrary
+ * method names sent by clients don't produce an unbounded number of meters.
+ */
+@Singleton
+public class JsonRpcRequestMeterBinder implements MeterBinder {
+
+  private static final String UNKNOWN_METHOD = "unknown";
+
+  private final ServerSideRequestProcessor requestProcessor;
+  private final RequestHandlerManager requestHandlerManager;
+
+  @Inject
+  public JsonRpcRequestMeterBinder(
+      ServerSideRequestProcessor requestProcessor, RequestHandlerManager requestHandlerManager) {
+    this.requestProcessor = requestProcessor;
+    this.requestHandlerManager = requestHandlerManager;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(
+            "che.jsonrpc.request.queued",
+            requestProcessor,
+            ServerSideRequestProcessor::getQueuedRequests)
+        .description("Number of JSON RPC requests waiting in the per client queues")
+        .register(registry);
+
+    // meters are looked up once per method instead of being registered for each request
+    final Map<String, Timer> queueTimers = new ConcurrentHashMap<>();
+    final Map<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+    requestProcessor.addListener(
+        new RequestProcessingListener() {
+          @Override
+          public void requestProcessed(String method, long queueNanos, long processingNanos) {
+            String tag = methodTag(method);
+            queueTimers
+                .computeIfAbsent(
+                    tag,
+                    t ->
+                        Timer.builder("che.jsonrpc.request.queue")
+                            .description("Time JSON RPC requests wait for a processing thread")
+                            .tags("method", t)
+                            .register(registry))
+                .record(queueNanos, TimeUnit.NANOSECONDS);
+            processingTimers
+                .computeIfAbsent(
+                    tag,
+                    t ->
+                        Timer.builder("che.jsonrpc.request.processing")
+                            .description("Time of JSON RPC requests processing")
+                            .tags("method", t)
+                            .register(registry))
+                .record(processingNanos, TimeUnit.NANOSECONDS);
+          }
+
+          @Override
+          public void requestRejected(String method) {
+            rejectedCounters
+                .computeIfAbsent(
+                    methodTag(method),
+                    t ->
+                        Counter.builder("che.jsonrpc.request.rejected")
+                            .description("Number of JSON RPC requests rejected because of overload")
+                            .tags("method", t)
+                            .register(registry))
+                .increment();
+          }
+        });
+  }
+
+  private String methodTag(String method) {
+    return method != null && requestHandlerManager.isRegistered(method) ? method : UNKNOWN_METHOD;
+  }
+}
@@ -37,5 +37,8 @@ public class WsMasterMetricsModule extends AbstractModule {
     meterMultibinder.addBinding().to(UserMeterBinder.class);
     meterMultibinder.addBinding().to(RuntimeLogMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceMeterBinder.class);
+    meterMultibinder.addBinding().to(EventServiceMeterBinder.class);
+    meterMultibinder.addBinding().to(JsonRpcRequestMeterBinder.class);
+    meterMultibinder.addBinding().to(EntityCacheMeterBinder.class);
   }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.api.core.jsonrpc.impl.RequestProcessingListener;
+import org.eclipse.che.api.core.jsonrpc.impl.ServerSideRequestProcessor;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class JsonRpcRequestMeterBinderTest {
+
+  @Mock private ServerSideRequestProcessor requestProcessor;
+  @Mock private RequestHandlerManager requestHandlerManager;
+
+  private MeterRegistry registry;
+  private RequestProcessingListener listener;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    new JsonRpcRequestMeterBinder(requestProcessor, requestHandlerManager).bindTo(registry);
+    ArgumentCaptor<RequestProcessingListener> captor =
+        ArgumentCaptor.forClass(RequestProcessingListener.class);
+    verify(requestProcessor).addListener(captor.capture());
+    listener = captor.getValue();
+  }
+
+  @Test
+  public void shouldRecordProcessedRequestsByMethod() {
+    when(requestHandlerManager.isRegistered("method")).thenReturn(true);
+
+    listener.requestProcessed("method", MILLISECONDS.toNanos(1), MILLISECONDS.toNanos(2));
+    listener.requestProcessed("method", MILLISECONDS.toNanos(3), MILLISECONDS.toNanos(4));
+
+    assertEquals(
+        registry.find("che.jsonrpc.request.queue").tag("method", "method").timer().count(), 2);
+    assertEquals(
+        registry
+            .find("che.jsonrpc.request.processing")
+            .tag("method", "method")
+            .timer()
+            .totalTime(MILLISECONDS),
+        6.0);
+  }
+
+  @Test
+  public void shouldCountRejectedRequestsOfUnknownMethodsTogether() {
+    listener.requestRejected("foo");
+    listener.requestRejected("bar");
+    listener.requestRejected(null);
+
+    assertEquals(
+        registry.find("che.jsonrpc.request.rejected").tag("method", "unknown").counter().count(),
+        3.0);
+  }
+}
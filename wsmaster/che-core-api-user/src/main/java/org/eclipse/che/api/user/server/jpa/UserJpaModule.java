@@ -12,9 +12,12 @@
 package org.eclipse.che.api.user.server.jpa;
 
 import com.google.inject.AbstractModule;
+import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
 import org.eclipse.che.security.PBKDF2PasswordEncryptor;
 import org.eclipse.che.security.PasswordEncryptor;
 
@@ -27,5 +30,10 @@ public class UserJpaModule extends AbstractModule {
     bind(UserDao.class).to(JpaUserDao.class);
     bind(ProfileDao.class).to(JpaProfileDao.class);
     bind(PreferenceDao.class).to(JpaPreferenceDao.class);
+
+    EntityCacheConfigurator.cacheEntities(
+        binder(), UserImpl.class, ProfileImpl.class, PreferenceEntity.class);
+    EntityCacheConfigurator.cacheQueryResults(
+        binder(), "User.getByName", "User.getByEmail", "User.getByAlias");
   }
 }
@@ -11,14 +11,17 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 
@@ -37,6 +40,17 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
     findActivity(workspaceId).setExpiration(expirationTime);
   }
 
+  @Override
+  public void setExpirationTimes(Map<String, Long> expirationTimes) {
+    expirationTimes.forEach(
+        (workspaceId, expirationTime) -> {
+          WorkspaceActivity activity = findActivity(workspaceId);
+          if (activity.getStatus() != WorkspaceStatus.STOPPED) {
+            activity.setExpiration(expirationTime);
+          }
+        });
+  }
+
   @Override
   public void removeExpiration(String workspaceId) {
     findActivity(workspaceId).setExpiration(null);
@@ -147,6 +161,11 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
     workspaceActivities.remove(workspaceId);
   }
 
+  @Override
+  public void removeActivities(Collection<String> workspaceIds) {
+    workspaceActivities.keySet().removeAll(workspaceIds);
+  }
+
   @Override
   public void createActivity(WorkspaceActivity activity) throws ConflictException {
     if (workspaceActivities.containsKey(activity.getWorkspaceId())) {
@@ -165,6 +184,22 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
         workspaceActivities.size());
   }
 
+  @Override
+  public Page<WorkspaceActivity> getAll(int maxItems, String continuationToken) {
+    List<WorkspaceActivity> activities =
+        workspaceActivities
+            .values()
+            .stream()
+            .filter(
+                a ->
+                    continuationToken == null
+                        || a.getWorkspaceId().compareTo(continuationToken) > 0)
+            .sorted(comparing(WorkspaceActivity::getWorkspaceId))
+            .limit(maxItems)
+            .collect(toList());
+    return Pages.keysetPage(activities, maxItems, WorkspaceActivity::getWorkspaceId);
+  }
+
   private boolean isGreater(Long value, long threshold) {
     return value != null && value > threshold;
   }
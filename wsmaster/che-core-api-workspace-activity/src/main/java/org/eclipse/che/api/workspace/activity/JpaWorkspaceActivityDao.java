@@ -13,16 +13,25 @@ package org.eclipse.che.api.workspace.activity;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -36,6 +45,15 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 @Singleton
 public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
 
+  /**
+   * Maximum number of workspaces which expiration times are set by a single update, each of them
+   * takes 2 parameters of the update and 1 parameter of the query of existing records.
+   */
+  static final int EXPIRATION_UPDATE_BATCH_SIZE = 500;
+
+  private static final String EXPIRATION_UPDATE_QUERY =
+      buildExpirationUpdateQuery(EXPIRATION_UPDATE_BATCH_SIZE);
+
   @Inject private Provider<EntityManager> managerProvider;
 
   @Override
@@ -44,6 +62,23 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     doUpdate(workspaceId, a -> a.setExpiration(expirationTime));
   }
 
+  @Override
+  public void setExpirationTimes(Map<String, Long> expirationTimes) throws ServerException {
+    requireNonNull(expirationTimes, "Required non-null expiration times");
+    if (expirationTimes.isEmpty()) {
+      return;
+    }
+    try {
+      doSetExpirationTimes(expirationTimes);
+    } catch (IntegrityConstraintViolationException e) {
+      throw new ServerException(
+          "Can not create activity records since some of the specified workspaces don't exist.",
+          e);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getMessage(), x);
+    }
+  }
+
   @Override
   public void removeExpiration(String workspaceId) throws ServerException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -112,6 +147,28 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  public void removeActivities(Collection<String> workspaceIds) throws ServerException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    if (workspaceIds.isEmpty()) {
+      return;
+    }
+    try {
+      doRemoveAll(workspaceIds);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getMessage(), x);
+    }
+  }
+
+  @Transactional
+  void doRemoveAll(Collection<String> workspaceIds) {
+    managerProvider
+        .get()
+        .createNamedQuery("WorkspaceActivity.removeByWorkspaceIds")
+        .setParameter("workspaceIds", workspaceIds)
+        .executeUpdate();
+  }
+
   @Override
   public void setCreatedTime(String workspaceId, long createdTimestamp) throws ServerException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -253,6 +310,24 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  @Transactional(rollbackOn = ServerException.class)
+  public Page<WorkspaceActivity> getAll(int maxItems, String continuationToken)
+      throws ServerException {
+    try {
+      List<WorkspaceActivity> page =
+          managerProvider
+              .get()
+              .createNamedQuery("WorkspaceActivity.getAllAfter", WorkspaceActivity.class)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList();
+      return Pages.keysetPage(page, maxItems, WorkspaceActivity::getWorkspaceId);
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
   @Override
   public void createActivity(WorkspaceActivity activity) throws ConflictException, ServerException {
     try {
@@ -311,6 +386,68 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  /**
+   * Sets the expiration times with bulk updates of the existing records which aren't stopped, the
+   * records of the workspaces which don't have them yet are created. The workspaces are processed
+   * in batches of {@link #EXPIRATION_UPDATE_BATCH_SIZE}, so that the number of query parameters is
+   * bounded and the same update statement is used for every batch.
+   */
+  @Transactional
+  void doSetExpirationTimes(Map<String, Long> expirationTimes) {
+    EntityManager em = managerProvider.get();
+    for (List<String> batch :
+        Iterables.partition(expirationTimes.keySet(), EXPIRATION_UPDATE_BATCH_SIZE)) {
+      Set<String> existing =
+          new HashSet<>(
+              em.createNamedQuery("WorkspaceActivity.getWorkspaceIds", String.class)
+                  .setParameter("workspaceIds", batch)
+                  .getResultList());
+      if (!existing.isEmpty()) {
+        updateExpirationTimes(em, new ArrayList<>(existing), expirationTimes);
+      }
+      for (String workspaceId : batch) {
+        if (!existing.contains(workspaceId)) {
+          WorkspaceActivity activity = new WorkspaceActivity();
+          activity.setWorkspaceId(workspaceId);
+          activity.setExpiration(expirationTimes.get(workspaceId));
+          em.persist(activity);
+        }
+      }
+    }
+    em.flush();
+  }
+
+  /**
+   * Updates the expiration times of at most {@link #EXPIRATION_UPDATE_BATCH_SIZE} workspaces. A
+   * smaller batch is padded with its first workspace, which is harmless as the padding sets the
+   * same expiration time again.
+   */
+  private static void updateExpirationTimes(
+      EntityManager em, List<String> workspaceIds, Map<String, Long> expirationTimes) {
+    Query update = em.createQuery(EXPIRATION_UPDATE_QUERY);
+    for (int i = 0; i < EXPIRATION_UPDATE_BATCH_SIZE; i++) {
+      String workspaceId = workspaceIds.get(i < workspaceIds.size() ? i : 0);
+      update.setParameter("id" + i, workspaceId);
+      update.setParameter("expiration" + i, expirationTimes.get(workspaceId));
+    }
+    update.executeUpdate();
+  }
+
+  private static String buildExpirationUpdateQuery(int batchSize) {
+    StringBuilder jpql =
+        new StringBuilder("UPDATE WorkspaceActivity a SET a.expiration = CASE a.workspaceId");
+    StringJoiner ids = new StringJoiner(", ", "(", ")");
+    for (int i = 0; i < batchSize; i++) {
+      jpql.append(" WHEN :id").append(i).append(" THEN :expiration").append(i);
+      ids.add(":id" + i);
+    }
+    return jpql.append(" ELSE a.expiration END WHERE a.workspaceId IN ")
+        .append(ids)
+        .append(" AND (a.status IS NULL OR a.status <>")
+        .append(" org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED)")
+        .toString();
+  }
+
   @Transactional
   void doUpdate(boolean optional, String workspaceId, Consumer<WorkspaceActivity> updater) {
     EntityManager em = managerProvider.get();
@@ -83,9 +83,21 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
               + " WHERE a.status = org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING"
               + " AND a.lastStarting <= :time"),
   @NamedQuery(name = "WorkspaceActivity.getAll", query = "SELECT a FROM WorkspaceActivity a"),
+  @NamedQuery(
+      name = "WorkspaceActivity.getAllAfter",
+      query =
+          "SELECT a FROM WorkspaceActivity a"
+              + " WHERE a.workspaceId > :after"
+              + " ORDER BY a.workspaceId"),
   @NamedQuery(
       name = "WorkspaceActivity.getAllCount",
       query = "SELECT COUNT(a) FROM WorkspaceActivity a"),
+  @NamedQuery(
+      name = "WorkspaceActivity.getWorkspaceIds",
+      query = "SELECT a.workspaceId FROM WorkspaceActivity a WHERE a.workspaceId IN :workspaceIds"),
+  @NamedQuery(
+      name = "WorkspaceActivity.removeByWorkspaceIds",
+      query = "DELETE FROM WorkspaceActivity a WHERE a.workspaceId IN :workspaceIds"),
 })
 public class WorkspaceActivity {
 
@@ -34,8 +34,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Is in charge of checking the validity of the workspace activity records. The important methods
- * are {@link #expire()} which is run on a schedule to periodically stop the expired workspaces and
- * {@link #cleanup()} which will try to clean up and reconcile the possibly invalid activity
+ * are {@link #expireTracked()} which is run on a short schedule to stop the workspaces expired
+ * according to the expiration times tracked by {@link WorkspaceActivityManager}, {@link #expire()}
+ * which is run on a longer schedule to stop the expired workspaces found in the activity records
+ * and {@link #cleanup()} which will try to clean up and reconcile the possibly invalid activity
  * records.
  *
  * @author Lukas Krejci
@@ -55,6 +57,8 @@ public class WorkspaceActivityChecker {
   private final WorkspaceActivityManager workspaceActivityManager;
   private final Clock clock;
 
+  private volatile boolean expirationsLoaded;
+
   @Inject
   public WorkspaceActivityChecker(
       WorkspaceActivityDao activityDao,
@@ -92,6 +96,42 @@ public class WorkspaceActivityChecker {
     stopAllExpired();
   }
 
+  /**
+   * Stops the workspaces expired according to the tracked expiration times. The tracked times are
+   * loaded from the activity records on the first run. Workspaces which fail to be checked here are
+   * still stopped by {@link #expire()}.
+   */
+  @ScheduleDelay(
+      initialDelayParameterName = "che.workspace.activity_check_scheduler_delay_s",
+      delayParameterName = "che.workspace.activity_expiration_check_period_s")
+  @VisibleForTesting
+  void expireTracked() {
+    if (!expirationsLoaded) {
+      try {
+        workspaceActivityManager.loadExpirations();
+        expirationsLoaded = true;
+      } catch (ServerException e) {
+        LOG.error("Failed to load workspace expirations. Cause: {}", e.getMessage(), e);
+        return;
+      }
+    }
+
+    long now = clock.millis();
+    try {
+      workspaceActivityManager
+          .pollExpiredIdle(now)
+          .forEach(wsId -> stopExpiredQuietly(wsId, WORKSPACE_IDLE_TIMEOUT_EXCEEDED));
+      if (workspaceActivityManager.getRunTimeout() > 0) {
+        for (String wsId : workspaceActivityManager.pollExpiredRunTimeout(now)) {
+          LOG.info("{} for workspace {}", WORKSPACE_RUN_TIMEOUT_EXCEEDED, wsId);
+          stopExpiredQuietly(wsId, WORKSPACE_RUN_TIMEOUT_EXCEEDED);
+        }
+      }
+    } catch (ServerException e) {
+      LOG.error("Failed to check expired workspaces. Cause: {}", e.getMessage(), e);
+    }
+  }
+
   @ScheduleDelay(
       initialDelayParameterName = "che.workspace.activity_cleanup_scheduler_initial_delay_s",
       delayParameterName = "che.workspace.activity_cleanup_scheduler_period_s")
@@ -104,8 +144,9 @@ public class WorkspaceActivityChecker {
 
   private void stopAllExpired() {
     try {
+      // buffered activities may not be written yet, so let them a chance to prolong expiration
       activityDao
-          .findExpiredIdle(clock.millis())
+          .findExpiredIdle(clock.millis() - workspaceActivityManager.getExpirationStalenessWindow())
           .forEach(wsId -> stopExpiredQuietly(wsId, WORKSPACE_IDLE_TIMEOUT_EXCEEDED));
       if (workspaceActivityManager.getRunTimeout() > 0) {
         activityDao
@@ -190,7 +231,7 @@ public class WorkspaceActivityChecker {
    */
   private void reconcileActivityStatuses() {
     try {
-      for (WorkspaceActivity a : Pages.iterateLazily(activityDao::getAll, 200)) {
+      for (WorkspaceActivity a : Pages.iterateByKeyset(activityDao::getAll, 200)) {
         try {
           reconcileOne(a);
         } catch (Exception e) {
@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
@@ -34,6 +36,18 @@ public interface WorkspaceActivityDao {
    */
   void setExpirationTime(String workspaceId, long expirationTime) throws ServerException;
 
+  /**
+   * Sets expiration times of several workspaces at once, so the implementations can apply them as a
+   * single batch.
+   *
+   * <p>Expiration time of a workspace which is already stopped isn't set, since it may come from an
+   * activity which was reported before the workspace stop.
+   *
+   * @param expirationTimes new expiration times mapped by workspace ids
+   * @throws ServerException when operation failed
+   */
+  void setExpirationTimes(Map<String, Long> expirationTimes) throws ServerException;
+
   /**
    * Removes workspace expiration time (basically used on ws stop).
    *
@@ -68,6 +82,14 @@ public interface WorkspaceActivityDao {
    */
   void removeActivity(String workspaceId) throws ServerException;
 
+  /**
+   * Removes the activity records of the provided workspaces at once.
+   *
+   * @param workspaceIds the ids of the workspaces
+   * @throws ServerException on error
+   */
+  void removeActivities(Collection<String> workspaceIds) throws ServerException;
+
   /**
    * Sets the time a workspace has been created.
    *
@@ -133,4 +155,17 @@ public interface WorkspaceActivityDao {
    * @return the workspace activities for all workspaces
    */
   Page<WorkspaceActivity> getAll(int maxItems, long skipCount) throws ServerException;
+
+  /**
+   * Returns page of workspace activities which follow the given continuation token.
+   *
+   * <p>Unlike {@link #getAll(int, long)} this method neither skips nor counts activities, so it
+   * should be used for scans over all the activities. The total count of returned page is {@link
+   * Page#UNKNOWN_TOTAL_COUNT}.
+   *
+   * @param maxItems the page size
+   * @param continuationToken continuation token of the previous page or null to get the first page
+   * @return the workspace activities
+   */
+  Page<WorkspaceActivity> getAll(int maxItems, String continuationToken) throws ServerException;
 }
@@ -15,12 +15,20 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 
 import com.google.common.annotations.VisibleForTesting;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -28,9 +36,11 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,9 +51,19 @@ import org.slf4j.LoggerFactory;
  * like cause and timestamp of workspace stop.
  *
  * <p>Note that the workspace is not stopped immediately, scheduler will stop the workspaces with
- * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
+ * one second rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Activities reported by running workspaces are not written one by one. The latest activity of
+ * each workspace is kept in memory and all of them are written periodically as a single batch, so
+ * the stored expiration time may lag behind the actual one by {@link
+ * #getExpirationStalenessWindow()}.
+ *
+ * <p>Expiration times of the running workspaces are also kept in memory ordered by time, so the
+ * expired workspaces can be found without querying all the activity records. The stored records
+ * stay the source of truth, each workspace found expired in memory is checked against its record
+ * since it could have been prolonged by another server.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -55,11 +75,16 @@ public class WorkspaceActivityManager {
 
   private final long defaultTimeout;
   private final long runTimeout;
+  private final long flushPeriod;
+  private final ConcurrentMap<String, Long> pendingActivities;
+  private final WorkspaceExpirationQueue idleExpirations;
+  private final WorkspaceExpirationQueue runExpirations;
   private final WorkspaceActivityDao activityDao;
   private final EventService eventService;
   private final EventSubscriber<WorkspaceStatusEvent> updateStatusChangedTimestampSubscriber;
   private final EventSubscriber<WorkspaceCreatedEvent> setCreatedTimestampSubscriber;
   private final EventSubscriber<BeforeWorkspaceRemovedEvent> workspaceActivityRemover;
+  private final EventSubscriber<BeforeWorkspacesRemovedEvent> workspaceActivitiesRemover;
 
   protected final WorkspaceManager workspaceManager;
 
@@ -71,7 +96,8 @@ public class WorkspaceActivityManager {
       WorkspaceActivityDao activityDao,
       EventService eventService,
       @Named("che.limits.workspace.idle.timeout") long timeout,
-      @Named("che.limits.workspace.run.timeout") long runTimeout) {
+      @Named("che.limits.workspace.run.timeout") long runTimeout,
+      @Named("che.workspace.activity_flush_period_s") long flushPeriodSec) {
 
     this(
         workspaceManager,
@@ -79,6 +105,7 @@ public class WorkspaceActivityManager {
         eventService,
         timeout,
         runTimeout,
+        flushPeriodSec,
         Clock.systemDefaultZone());
   }
 
@@ -89,12 +116,17 @@ public class WorkspaceActivityManager {
       EventService eventService,
       long timeout,
       long runTimeout,
+      long flushPeriodSec,
       Clock clock) {
     this.workspaceManager = workspaceManager;
     this.eventService = eventService;
     this.activityDao = activityDao;
     this.defaultTimeout = timeout;
     this.runTimeout = runTimeout;
+    this.flushPeriod = flushPeriodSec > 0 ? TimeUnit.SECONDS.toMillis(flushPeriodSec) : 0;
+    this.pendingActivities = new ConcurrentHashMap<>();
+    this.idleExpirations = new WorkspaceExpirationQueue();
+    this.runExpirations = new WorkspaceExpirationQueue();
     this.clock = clock;
     if (timeout > 0 && timeout < MINIMAL_TIMEOUT) {
       LOG.warn(
@@ -124,6 +156,17 @@ public class WorkspaceActivityManager {
           @Override
           public void onCascadeEvent(BeforeWorkspaceRemovedEvent event) throws Exception {
             activityDao.removeActivity(event.getWorkspace().getId());
+            cancelExpirations(event.getWorkspace().getId());
+          }
+        };
+
+    this.workspaceActivitiesRemover =
+        new CascadeEventSubscriber<BeforeWorkspacesRemovedEvent>() {
+          @Override
+          public void onCascadeEvent(BeforeWorkspacesRemovedEvent event) throws Exception {
+            List<String> workspaceIds = event.getWorkspaceIds();
+            activityDao.removeActivities(workspaceIds);
+            workspaceIds.forEach(WorkspaceActivityManager.this::cancelExpirations);
           }
         };
     this.updateStatusChangedTimestampSubscriber = new UpdateStatusChangedTimestampSubscriber();
@@ -135,25 +178,148 @@ public class WorkspaceActivityManager {
     eventService.subscribe(updateStatusChangedTimestampSubscriber, WorkspaceStatusEvent.class);
     eventService.subscribe(setCreatedTimestampSubscriber, WorkspaceCreatedEvent.class);
     eventService.subscribe(workspaceActivityRemover, BeforeWorkspaceRemovedEvent.class);
+    eventService.subscribe(workspaceActivitiesRemover, BeforeWorkspacesRemovedEvent.class);
   }
 
   /**
    * Update the expiry period the workspace if it exists, otherwise add new one
    *
+   * <p>The update is buffered and written with the next {@link #flush()}, unless buffering is
+   * disabled.
+   *
    * @param wsId active workspace identifier
    * @param activityTime moment in which the activity occurred
    */
   public void update(String wsId, long activityTime) {
-    try {
-      long timeout = getIdleTimeout(wsId);
-      if (timeout > 0) {
-        activityDao.setExpirationTime(wsId, activityTime + timeout);
+    if (flushPeriod > 0) {
+      pendingActivities.merge(wsId, activityTime, Math::max);
+    } else {
+      updateExpiration(wsId, activityTime);
+    }
+  }
+
+  /** Writes the buffered workspace activities. */
+  @ScheduleDelay(
+      initialDelayParameterName = "che.workspace.activity_flush_period_s",
+      delayParameterName = "che.workspace.activity_flush_period_s")
+  @PreDestroy
+  @VisibleForTesting
+  void flush() {
+    Map<String, Long> expirations = new HashMap<>();
+    for (String wsId : pendingActivities.keySet()) {
+      Long activityTime = pendingActivities.remove(wsId);
+      if (activityTime != null) {
+        long timeout = getIdleTimeout(wsId);
+        if (timeout > 0) {
+          expirations.put(wsId, activityTime + timeout);
+        }
       }
+    }
+    if (expirations.isEmpty()) {
+      return;
+    }
+    try {
+      activityDao.setExpirationTimes(expirations);
+      expirations.forEach(idleExpirations::schedule);
     } catch (ServerException e) {
-      LOG.error(e.getLocalizedMessage(), e);
+      LOG.warn(
+          "Failed to write activity of {} workspaces at once, writing them one by one. Cause: {}",
+          expirations.size(),
+          e.getMessage());
+      expirations.forEach(this::setExpirationTimeUnlessStopped);
     }
   }
 
+  /**
+   * Returns the maximum time in milliseconds by which the stored expiration time of a workspace may
+   * lag behind its latest activity. Expiration checks should add it to the stored expiration time.
+   */
+  public long getExpirationStalenessWindow() {
+    return flushPeriod;
+  }
+
+  /**
+   * Loads expiration times of the running workspaces from the activity records, keeping the ones
+   * which are already known.
+   *
+   * @throws ServerException when activity records can't be read
+   */
+  void loadExpirations() throws ServerException {
+    try {
+      for (WorkspaceActivity activity : Pages.iterateByKeyset(activityDao::getAll, 200)) {
+        if (activity.getStatus() != WorkspaceStatus.RUNNING) {
+          continue;
+        }
+        String wsId = activity.getWorkspaceId();
+        if (activity.getExpiration() != null && idleExpirations.getDeadline(wsId) == null) {
+          idleExpirations.schedule(wsId, activity.getExpiration());
+        }
+        if (runTimeout > 0
+            && activity.getLastRunning() != null
+            && runExpirations.getDeadline(wsId) == null) {
+          runExpirations.schedule(wsId, activity.getLastRunning() + runTimeout);
+        }
+      }
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns identifiers of the workspaces which exceeded their idle timeout by the given time. The
+   * returned workspaces are not tracked anymore, workspaces prolonged by an activity known only to
+   * their records are tracked again with the recorded expiration time.
+   *
+   * @param time the current time
+   * @throws ServerException when activity records can't be read
+   */
+  List<String> pollExpiredIdle(long time) throws ServerException {
+    // buffered activities may not be written yet, so let them a chance to prolong expiration
+    long threshold = time - flushPeriod;
+    List<String> expired = new ArrayList<>();
+    for (String wsId : idleExpirations.pollExpired(threshold)) {
+      if (pendingActivities.containsKey(wsId)) {
+        // will be tracked again with the next flush
+        continue;
+      }
+      WorkspaceActivity activity = activityDao.findActivity(wsId);
+      if (activity == null || activity.getExpiration() == null) {
+        continue;
+      }
+      if (activity.getExpiration() < threshold) {
+        expired.add(wsId);
+      } else {
+        idleExpirations.schedule(wsId, activity.getExpiration());
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * Returns identifiers of the workspaces which exceeded the run timeout by the given time. The
+   * returned workspaces are not tracked anymore.
+   *
+   * @param time the current time
+   * @throws ServerException when activity records can't be read
+   */
+  List<String> pollExpiredRunTimeout(long time) throws ServerException {
+    List<String> expired = new ArrayList<>();
+    for (String wsId : runExpirations.pollExpired(time)) {
+      WorkspaceActivity activity = activityDao.findActivity(wsId);
+      if (activity == null
+          || activity.getStatus() != WorkspaceStatus.RUNNING
+          || activity.getLastRunning() == null) {
+        continue;
+      }
+      if (time - activity.getLastRunning() > runTimeout) {
+        expired.add(wsId);
+      } else {
+        runExpirations.schedule(wsId, activity.getLastRunning() + runTimeout);
+      }
+    }
+    return expired;
+  }
+
   /**
    * Finds workspaces that have been in the provided status since before the provided time.
    *
@@ -175,6 +341,44 @@ public class WorkspaceActivityManager {
     return activityDao.countWorkspacesInStatus(status, threshold);
   }
 
+  private void updateExpiration(String wsId, long activityTime) {
+    long timeout = getIdleTimeout(wsId);
+    if (timeout > 0) {
+      setExpirationTime(wsId, activityTime + timeout);
+    }
+  }
+
+  private void setExpirationTime(String wsId, long expirationTime) {
+    try {
+      activityDao.setExpirationTime(wsId, expirationTime);
+      idleExpirations.schedule(wsId, expirationTime);
+    } catch (ServerException e) {
+      LOG.error(e.getLocalizedMessage(), e);
+    }
+  }
+
+  /**
+   * Sets expiration time of the workspace unless its activity record says it is stopped, the same
+   * as {@link WorkspaceActivityDao#setExpirationTimes(Map)} does for several workspaces at once.
+   */
+  private void setExpirationTimeUnlessStopped(String wsId, long expirationTime) {
+    try {
+      WorkspaceActivity activity = activityDao.findActivity(wsId);
+      if (activity != null && activity.getStatus() == WorkspaceStatus.STOPPED) {
+        return;
+      }
+    } catch (ServerException e) {
+      LOG.error(e.getLocalizedMessage(), e);
+      return;
+    }
+    setExpirationTime(wsId, expirationTime);
+  }
+
+  private void cancelExpirations(String wsId) {
+    idleExpirations.cancel(wsId);
+    runExpirations.cancel(wsId);
+  }
+
   protected long getIdleTimeout(String wsId) {
     return defaultTimeout;
   }
@@ -214,9 +418,14 @@ public class WorkspaceActivityManager {
             LOG.warn(
                 "Failed to remove stopped information attribute for workspace {}", workspaceId);
           }
-          WorkspaceActivityManager.this.update(workspaceId, now);
+          updateExpiration(workspaceId, now);
+          if (runTimeout > 0) {
+            runExpirations.schedule(workspaceId, now + runTimeout);
+          }
           break;
         case STOPPED:
+          pendingActivities.remove(workspaceId);
+          cancelExpirations(workspaceId);
           try {
             activityDao.removeExpiration(workspaceId);
           } catch (ServerException e) {
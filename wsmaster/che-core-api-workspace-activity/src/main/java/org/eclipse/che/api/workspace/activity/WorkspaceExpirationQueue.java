@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Keeps the deadlines of workspaces ordered by time, so that the expired ones can be found without
+ * scanning all of them. Each workspace has at most one deadline, scheduling a new one replaces the
+ * previous one.
+ */
+final class WorkspaceExpirationQueue {
+
+  private final Map<String, Long> deadlines = new HashMap<>();
+  private final NavigableSet<Deadline> queue = new TreeSet<>();
+
+  /** Sets the deadline of the workspace replacing the previous one if any. */
+  synchronized void schedule(String workspaceId, long deadline) {
+    Long previous = deadlines.put(workspaceId, deadline);
+    if (previous != null) {
+      queue.remove(new Deadline(workspaceId, previous));
+    }
+    queue.add(new Deadline(workspaceId, deadline));
+  }
+
+  /** Removes the deadline of the workspace if any. */
+  synchronized void cancel(String workspaceId) {
+    Long previous = deadlines.remove(workspaceId);
+    if (previous != null) {
+      queue.remove(new Deadline(workspaceId, previous));
+    }
+  }
+
+  /** Returns the deadline of the workspace or null if there is no deadline for it. */
+  synchronized Long getDeadline(String workspaceId) {
+    return deadlines.get(workspaceId);
+  }
+
+  /**
+   * Removes and returns the identifiers of the workspaces whose deadline is not after the given
+   * time, in the order of their deadlines.
+   */
+  synchronized List<String> pollExpired(long time) {
+    List<String> expired = new ArrayList<>();
+    while (!queue.isEmpty() && queue.first().time <= time) {
+      Deadline deadline = queue.pollFirst();
+      deadlines.remove(deadline.workspaceId);
+      expired.add(deadline.workspaceId);
+    }
+    return expired;
+  }
+
+  synchronized int size() {
+    return deadlines.size();
+  }
+
+  private static final class Deadline implements Comparable<Deadline> {
+    private final String workspaceId;
+    private final long time;
+
+    private Deadline(String workspaceId, long time) {
+      this.workspaceId = workspaceId;
+      this.time = time;
+    }
+
+    @Override
+    public int compareTo(Deadline that) {
+      int result = Long.compare(time, that.time);
+      return result != 0 ? result : workspaceId.compareTo(that.workspaceId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Deadline)) {
+        return false;
+      }
+      Deadline that = (Deadline) obj;
+      return time == that.time && workspaceId.equals(that.workspaceId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(workspaceId, time);
+    }
+  }
+}
@@ -14,11 +14,13 @@ package org.eclipse.che.api.workspace.activity;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -75,16 +77,17 @@ public class WorkspaceActivityCheckerTest {
             eventService,
             DEFAULT_TIMEOUT,
             DEFAULT_RUN_TIMEOUT,
+            -1,
             clock);
 
     lenient()
-        .when(workspaceActivityDao.getAll(anyInt(), anyLong()))
+        .when(workspaceActivityDao.getAll(anyInt(), nullable(String.class)))
         .thenAnswer(
             inv -> {
               int maxItems = inv.getArgument(0);
-              long skipCount = inv.getArgument(1);
 
-              return new Page<WorkspaceActivity>(emptyList(), skipCount, maxItems, 0);
+              return new Page<WorkspaceActivity>(
+                  emptyList(), 0, maxItems, Page.UNKNOWN_TOTAL_COUNT, null);
             });
 
     checker =
@@ -104,6 +107,39 @@ public class WorkspaceActivityCheckerTest {
     verify(workspaceActivityDao).removeExpiration(eq("3"));
   }
 
+  @Test
+  public void shouldStopWorkspaceWhenTrackedExpirationPassed() throws Exception {
+    WorkspaceActivity activity = runningActivity("1", clock.millis() + 1000);
+    when(workspaceActivityDao.getAll(anyInt(), nullable(String.class)))
+        .thenReturn(
+            new Page<>(singletonList(activity), 0, 200, Page.UNKNOWN_TOTAL_COUNT, null));
+    when(workspaceActivityDao.findActivity(eq("1"))).thenReturn(activity);
+
+    checker.expireTracked();
+    verify(workspaceActivityDao, never()).removeExpiration(anyString());
+
+    clock.forward(Duration.of(2, ChronoUnit.SECONDS));
+    checker.expireTracked();
+
+    verify(workspaceActivityDao).removeExpiration(eq("1"));
+    verify(workspaceActivityDao, never()).findExpiredIdle(anyLong());
+  }
+
+  @Test
+  public void shouldNotStopTrackedWorkspaceProlongedInActivityRecord() throws Exception {
+    WorkspaceActivity activity = runningActivity("1", clock.millis() + 1000);
+    when(workspaceActivityDao.getAll(anyInt(), nullable(String.class)))
+        .thenReturn(
+            new Page<>(singletonList(activity), 0, 200, Page.UNKNOWN_TOTAL_COUNT, null));
+    when(workspaceActivityDao.findActivity(eq("1")))
+        .thenReturn(runningActivity("1", clock.millis() + 60_000));
+
+    clock.forward(Duration.of(2, ChronoUnit.SECONDS));
+    checker.expireTracked();
+
+    verify(workspaceActivityDao, never()).removeExpiration(anyString());
+  }
+
   @Test
   public void shouldRecreateMissingActivityRecord() throws Exception {
     // given
@@ -279,16 +315,16 @@ public class WorkspaceActivityCheckerTest {
     doAnswer(
             inv -> {
               int maxItems = inv.getArgument(0);
-              long skipCount = inv.getArgument(1);
+              String continuationToken = inv.getArgument(1);
 
-              if (skipCount < 1) {
-                return new Page<>(singleton(activity), skipCount, maxItems, 1);
+              if (continuationToken == null) {
+                return new Page<>(singleton(activity), 0, maxItems, Page.UNKNOWN_TOTAL_COUNT, wsId);
               } else {
-                return new Page<>(emptyList(), skipCount, maxItems, 1);
+                return new Page<>(emptyList(), 0, maxItems, Page.UNKNOWN_TOTAL_COUNT, null);
               }
             })
         .when(workspaceActivityDao)
-        .getAll(anyInt(), anyLong());
+        .getAll(anyInt(), nullable(String.class));
 
     when(workspaceRuntimes.getStatus(eq(wsId))).thenReturn(WorkspaceStatus.STOPPED);
 
@@ -319,19 +355,18 @@ public class WorkspaceActivityCheckerTest {
     doAnswer(
             inv -> {
               int maxItems = inv.getArgument(0);
-              long skipCount = inv.getArgument(1);
-
-              switch ((int) skipCount) {
-                case 0:
-                  return new Page<>(singleton(activity1), 0, 1, 2);
-                case 1:
-                  return new Page<>(singleton(activity2), 1, 1, 2);
-                default:
-                  return new Page<>(emptyList(), skipCount, maxItems, 2);
+              String continuationToken = inv.getArgument(1);
+
+              if (continuationToken == null) {
+                return new Page<>(singleton(activity1), 0, 1, Page.UNKNOWN_TOTAL_COUNT, wsId1);
+              } else if (continuationToken.equals(wsId1)) {
+                return new Page<>(singleton(activity2), 0, 1, Page.UNKNOWN_TOTAL_COUNT, wsId2);
+              } else {
+                return new Page<>(emptyList(), 0, maxItems, Page.UNKNOWN_TOTAL_COUNT, null);
               }
             })
         .when(workspaceActivityDao)
-        .getAll(anyInt(), anyLong());
+        .getAll(anyInt(), nullable(String.class));
 
     doReturn(WorkspaceStatus.STOPPED).when(workspaceRuntimes).getStatus(any());
     doThrow(new ServerException("Error"))
@@ -350,12 +385,22 @@ public class WorkspaceActivityCheckerTest {
   public void shouldNotThrowExceptionWhenErrorOccurredDuringActivitiesListingOnReconciling()
       throws Exception {
     // given
-    doThrow(new ServerException("error")).when(workspaceActivityDao).getAll(anyInt(), anyLong());
+    doThrow(new ServerException("error"))
+        .when(workspaceActivityDao)
+        .getAll(anyInt(), nullable(String.class));
 
     // when
     checker.cleanup();
   }
 
+  private static WorkspaceActivity runningActivity(String id, long expiration) {
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setWorkspaceId(id);
+    activity.setStatus(WorkspaceStatus.RUNNING);
+    activity.setExpiration(expiration);
+    return activity;
+  }
+
   private static final class ManualClock extends Clock {
 
     private Instant instant;
@@ -11,11 +11,15 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import static java.util.Collections.singletonMap;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +28,7 @@ import static org.testng.AssertJUnit.assertEquals;
 import com.google.common.collect.ImmutableMap;
 import java.util.stream.Stream;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -73,7 +78,8 @@ public class WorkspaceActivityManagerTest {
             workspaceActivityDao,
             eventService,
             DEFAULT_TIMEOUT,
-            DEFAULT_RUN_TIMEOUT);
+            DEFAULT_RUN_TIMEOUT,
+            -1);
 
     lenient().when(account.getName()).thenReturn("accountName");
     lenient().when(account.getId()).thenReturn("account123");
@@ -122,6 +128,77 @@ public class WorkspaceActivityManagerTest {
     verify(workspaceActivityDao, times(1)).removeExpiration(eq(wsId));
   }
 
+  @Test
+  public void shouldBufferActivityUntilFlush() throws Exception {
+    final String wsId = "testWsId";
+    WorkspaceActivityManager bufferingManager = createBufferingActivityManager();
+
+    bufferingManager.update(wsId, 2000L);
+    bufferingManager.update(wsId, 1000L);
+
+    verify(workspaceActivityDao, never()).setExpirationTime(anyString(), anyLong());
+
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao).setExpirationTimes(singletonMap(wsId, 2000L + DEFAULT_TIMEOUT));
+    assertEquals(bufferingManager.getExpirationStalenessWindow(), 10_000L);
+  }
+
+  @Test
+  public void shouldNotWriteActivityTwice() throws Exception {
+    WorkspaceActivityManager bufferingManager = createBufferingActivityManager();
+    bufferingManager.update("testWsId", 1000L);
+
+    bufferingManager.flush();
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao, times(1)).setExpirationTimes(anyMap());
+  }
+
+  @Test
+  public void shouldWriteActivitiesOneByOneWhenBatchWriteFails() throws Exception {
+    final String wsId = "testWsId";
+    WorkspaceActivityManager bufferingManager = createBufferingActivityManager();
+    doThrow(new ServerException("fail")).when(workspaceActivityDao).setExpirationTimes(anyMap());
+    bufferingManager.update(wsId, 1000L);
+
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao).setExpirationTime(wsId, 1000L + DEFAULT_TIMEOUT);
+  }
+
+  @Test
+  public void shouldNotWriteActivityOfStoppedWorkspaceWhenBatchWriteFails() throws Exception {
+    final String wsId = "testWsId";
+    WorkspaceActivityManager bufferingManager = createBufferingActivityManager();
+    doThrow(new ServerException("fail")).when(workspaceActivityDao).setExpirationTimes(anyMap());
+    WorkspaceActivity activity = new WorkspaceActivity();
+    activity.setWorkspaceId(wsId);
+    activity.setStatus(WorkspaceStatus.STOPPED);
+    when(workspaceActivityDao.findActivity(wsId)).thenReturn(activity);
+    bufferingManager.update(wsId, 1000L);
+
+    bufferingManager.flush();
+
+    verify(workspaceActivityDao, never()).setExpirationTime(anyString(), anyLong());
+  }
+
+  @Test
+  public void shouldDiscardBufferedActivityWhenWorkspaceStopped() throws Exception {
+    final String wsId = "testWsId";
+    activityManager = createBufferingActivityManager();
+    activityManager.update(wsId, 1000L);
+    final EventSubscriber<WorkspaceStatusEvent> subscriber = subscribeAndGetStatusEventSubscriber();
+
+    subscriber.onEvent(
+        DtoFactory.newDto(WorkspaceStatusEvent.class)
+            .withStatus(WorkspaceStatus.STOPPED)
+            .withWorkspaceId(wsId));
+    activityManager.flush();
+
+    verify(workspaceActivityDao, never()).setExpirationTimes(anyMap());
+  }
+
   @Test
   public void shouldRecordWorkspaceCreation() throws Exception {
     String wsId = "1";
@@ -183,6 +260,16 @@ public class WorkspaceActivityManagerTest {
         .toArray(Object[][]::new);
   }
 
+  private WorkspaceActivityManager createBufferingActivityManager() {
+    return new WorkspaceActivityManager(
+        workspaceManager,
+        workspaceActivityDao,
+        eventService,
+        DEFAULT_TIMEOUT,
+        DEFAULT_RUN_TIMEOUT,
+        10);
+  }
+
   private EventSubscriber<WorkspaceStatusEvent> subscribeAndGetStatusEventSubscriber() {
     subscribeToEventService();
     return statusChangeEventCaptor.getValue();
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.activity;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class WorkspaceExpirationQueueTest {
+
+  private WorkspaceExpirationQueue queue;
+
+  @BeforeMethod
+  public void setUp() {
+    queue = new WorkspaceExpirationQueue();
+  }
+
+  @Test
+  public void shouldPollExpiredWorkspacesInOrderOfDeadlines() {
+    queue.schedule("ws3", 300);
+    queue.schedule("ws1", 100);
+    queue.schedule("ws2", 200);
+
+    assertEquals(queue.pollExpired(200), asList("ws1", "ws2"));
+    assertEquals(queue.pollExpired(200), emptyList());
+    assertEquals(queue.size(), 1);
+    assertEquals(queue.getDeadline("ws3"), Long.valueOf(300));
+  }
+
+  @Test
+  public void shouldReplaceDeadlineOfWorkspace() {
+    queue.schedule("ws1", 100);
+    queue.schedule("ws1", 500);
+
+    assertEquals(queue.pollExpired(200), emptyList());
+    assertEquals(queue.pollExpired(500), asList("ws1"));
+    assertEquals(queue.size(), 0);
+  }
+
+  @Test
+  public void shouldCancelDeadlineOfWorkspace() {
+    queue.schedule("ws1", 100);
+    queue.schedule("ws2", 100);
+
+    queue.cancel("ws1");
+
+    assertNull(queue.getDeadline("ws1"));
+    assertEquals(queue.pollExpired(100), asList("ws2"));
+  }
+}
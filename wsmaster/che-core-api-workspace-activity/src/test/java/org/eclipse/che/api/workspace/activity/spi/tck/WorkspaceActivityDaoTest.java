@@ -19,6 +19,7 @@ import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -118,6 +119,18 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test
+  public void shouldGetAllActivitiesByKeyset() throws Exception {
+    Page<WorkspaceActivity> first = workspaceActivityDao.getAll(2, null);
+    assertEquals(first.getItems(), asList(activities[0], activities[1]));
+    assertEquals(first.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT);
+    assertNotNull(first.getContinuationToken());
+
+    Page<WorkspaceActivity> second = workspaceActivityDao.getAll(2, first.getContinuationToken());
+    assertEquals(second.getItems(), singletonList(activities[2]));
+    assertFalse(second.hasNextPage());
+  }
+
   @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
   public void shouldRemoveExpirationsByWsId() throws Exception {
     List<String> expected = singletonList(activities[1].getWorkspaceId());
@@ -128,6 +141,15 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test
+  public void shouldRemoveSeveralActivitiesAtOnce() throws Exception {
+    workspaceActivityDao.removeActivities(asList("ws0", "ws2"));
+
+    assertNull(workspaceActivityDao.findActivity("ws0"));
+    assertEquals(workspaceActivityDao.findActivity("ws1"), activities[1]);
+    assertNull(workspaceActivityDao.findActivity("ws2"));
+  }
+
   @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
   public void shouldExpireWorkspaceThatExceedsRunTimeout() throws Exception {
     List<String> expected = singletonList(activities[0].getWorkspaceId());
@@ -157,6 +179,54 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldUpdateSeveralExpirationsAtOnce() throws Exception {
+    List<String> expected = asList(activities[2].getWorkspaceId(), activities[1].getWorkspaceId());
+
+    workspaceActivityDao.setExpirationTimes(
+        ImmutableMap.of(
+            activities[0].getWorkspaceId(),
+            3_000_000L,
+            activities[2].getWorkspaceId(),
+            1_750_000L));
+
+    List<String> found = workspaceActivityDao.findExpiredIdle(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test
+  public void shouldUpdateAndCreateSeveralExpirationsAtOnce() throws Exception {
+    workspaceActivityDao.removeActivity(activities[1].getWorkspaceId());
+
+    workspaceActivityDao.setExpirationTimes(
+        ImmutableMap.of(
+            activities[0].getWorkspaceId(),
+            3_000_000L,
+            activities[1].getWorkspaceId(),
+            4_000_000L));
+
+    assertEquals(
+        workspaceActivityDao.findActivity(activities[0].getWorkspaceId()).getExpiration(),
+        Long.valueOf(3_000_000L));
+    WorkspaceActivity created = workspaceActivityDao.findActivity(activities[1].getWorkspaceId());
+    assertNotNull(created);
+    assertEquals(created.getExpiration(), Long.valueOf(4_000_000L));
+    assertEquals(
+        workspaceActivityDao.findActivity(activities[2].getWorkspaceId()).getExpiration(),
+        activities[2].getExpiration());
+  }
+
+  @Test
+  public void shouldNotUpdateExpirationOfStoppedWorkspaceAtOnce() throws Exception {
+    String wsId = activities[0].getWorkspaceId();
+    workspaceActivityDao.setStatusChangeTime(wsId, STOPPED, 20_000);
+    workspaceActivityDao.removeExpiration(wsId);
+
+    workspaceActivityDao.setExpirationTimes(singletonMap(wsId, 3_000_000L));
+
+    assertNull(workspaceActivityDao.findActivity(wsId).getExpiration());
+  }
+
   @Test(
       expectedExceptions = ServerException.class,
       expectedExceptionsMessageRegExp =
@@ -181,6 +181,9 @@ public final class Constants {
 
   public static final String RUNTIME_LOG_METHOD = "runtime/log";
 
+  /** JSON RPC method for listening to runtime logs coalesced into batches per machine. */
+  public static final String RUNTIME_LOG_BATCH_METHOD = "runtime/log/batch";
+
   /**
    * JSON RPC methods for listening to machine logs.
    *
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.Map;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Lightweight representation of a workspace which is used for listing workspaces, it doesn't
+ * contain workspace configuration, devfile and runtime.
+ */
+@DTO
+public interface WorkspaceSummaryDto {
+
+  String getId();
+
+  void setId(String id);
+
+  WorkspaceSummaryDto withId(String id);
+
+  String getName();
+
+  void setName(String name);
+
+  WorkspaceSummaryDto withName(String name);
+
+  String getNamespace();
+
+  void setNamespace(String namespace);
+
+  WorkspaceSummaryDto withNamespace(String namespace);
+
+  WorkspaceStatus getStatus();
+
+  void setStatus(WorkspaceStatus status);
+
+  WorkspaceSummaryDto withStatus(WorkspaceStatus status);
+
+  boolean isTemporary();
+
+  void setTemporary(boolean isTemporary);
+
+  WorkspaceSummaryDto withTemporary(boolean isTemporary);
+
+  /** Returns the name from the devfile metadata, or {@code null} if workspace has no devfile. */
+  String getDevfileName();
+
+  void setDevfileName(String devfileName);
+
+  WorkspaceSummaryDto withDevfileName(String devfileName);
+
+  /** Returns workspace attributes, e.g. creation and last update time. */
+  Map<String, String> getAttributes();
+
+  void setAttributes(Map<String, String> attributes);
+
+  WorkspaceSummaryDto withAttributes(Map<String, String> attributes);
+}
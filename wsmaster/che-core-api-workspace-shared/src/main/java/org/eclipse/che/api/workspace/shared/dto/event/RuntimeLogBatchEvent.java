@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import java.util.List;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Defines event format for a batch of runtime logs produced by the same machine. */
+@DTO
+public interface RuntimeLogBatchEvent {
+
+  /** Returns runtime identity. */
+  RuntimeIdentityDto getRuntimeId();
+
+  void setRuntimeId(RuntimeIdentityDto runtimeId);
+
+  RuntimeLogBatchEvent withRuntimeId(RuntimeIdentityDto runtimeId);
+
+  /**
+   * Returns the name of the machine that produces the logs.
+   *
+   * <p>May return null when logs are produced by process which doesn't belong to any particular
+   * machine.
+   */
+  @Nullable
+  String getMachineName();
+
+  void setMachineName(String machineName);
+
+  RuntimeLogBatchEvent withMachineName(String machineName);
+
+  /** Returns log events in the order they were produced. */
+  List<RuntimeLogEvent> getEvents();
+
+  void setEvents(List<RuntimeLogEvent> events);
+
+  RuntimeLogBatchEvent withEvents(List<RuntimeLogEvent> events);
+}
@@ -67,8 +67,9 @@ public class TemporaryWorkspaceRemover {
   @VisibleForTesting
   void removeTemporaryWs() throws ServerException {
     for (WorkspaceImpl workspace :
-        Pages.iterate(
-            (maxItems, skipCount) -> workspaceDao.getWorkspaces(true, maxItems, skipCount))) {
+        Pages.iterateByKeyset(
+            (maxItems, continuationToken) ->
+                workspaceDao.getWorkspaces(true, maxItems, continuationToken))) {
       WorkspaceStatus status = runtimes.getStatus(workspace.getId());
       if (status == WorkspaceStatus.STOPPED) {
         try {
@@ -34,7 +34,9 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_INFRASTRU
 
 import com.google.inject.Inject;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -57,6 +59,7 @@ import org.eclipse.che.api.workspace.server.devfile.exception.DevfileFormatExcep
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.MetadataImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
@@ -263,6 +266,30 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets summaries of workspaces which user can read.
+   *
+   * <p>Unlike {@link #getWorkspaces(String, boolean, int, long)} this method doesn't load workspace
+   * configurations and devfiles. Returned summaries have either {@link WorkspaceStatus#STOPPED}
+   * status or status defined by their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @return the page of workspace summaries or empty page if user can't read any workspace
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getWorkspaceSummaries(String, int, long)}
+   */
+  public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String user, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final Page<WorkspaceSummaryImpl> summaries =
+        workspaceDao.getWorkspaceSummaries(user, maxItems, skipCount);
+    for (WorkspaceSummaryImpl summary : summaries.getItems()) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
   /**
    * Gets list of workspaces which has given namespace
    *
@@ -291,6 +318,36 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which has given namespace and follow the given continuation token.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param continuationToken continuation token of the previous page or null to get the first page
+   * @return the page of workspaces
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getByNamespace(String, int, String)}
+   */
+  public Page<WorkspaceImpl> getByNamespace(
+      String namespace,
+      boolean includeRuntimes,
+      int maxItems,
+      @Nullable String continuationToken)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final Page<WorkspaceImpl> workspaces =
+        workspaceDao.getByNamespace(namespace, maxItems, continuationToken);
+    for (WorkspaceImpl workspace : workspaces.getItems()) {
+      normalizeState(workspace, includeRuntimes);
+    }
+    return workspaces;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -364,6 +421,35 @@ public class WorkspaceManager {
     LOG.info("Workspace '{}' removed by user '{}'", workspaceId, sessionUserNameOrUndefined());
   }
 
+  /**
+   * Removes workspaces with specified identifiers at once.
+   *
+   * <p>Does not remove any of workspaces if one of them has the runtime, throws {@link
+   * ConflictException} in this case. Won't throw any exception if some of workspaces don't exist.
+   *
+   * @param workspaceIds identifiers of workspaces to remove
+   * @throws ConflictException when any of workspaces has runtime
+   * @throws ServerException when any server error occurs
+   * @throws NullPointerException when {@code workspaceIds} is null
+   */
+  public void removeWorkspaces(Collection<String> workspaceIds)
+      throws ConflictException, ServerException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    for (String workspaceId : workspaceIds) {
+      if (runtimes.hasRuntime(workspaceId)) {
+        throw new ConflictException(
+            format("The workspace '%s' is currently running and cannot be removed.", workspaceId));
+      }
+    }
+
+    List<WorkspaceImpl> removed = workspaceDao.removeAll(workspaceIds);
+
+    for (WorkspaceImpl workspace : removed) {
+      LOG.info(
+          "Workspace '{}' removed by user '{}'", workspace.getId(), sessionUserNameOrUndefined());
+    }
+  }
+
   /**
    * Asynchronously starts certain workspace with specified environment and account.
    *
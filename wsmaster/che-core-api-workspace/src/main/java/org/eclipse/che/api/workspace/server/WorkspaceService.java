@@ -76,6 +76,7 @@ import org.eclipse.che.api.workspace.server.devfile.FileContentProvider;
 import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
 import org.eclipse.che.api.workspace.server.devfile.URLFileContentProvider;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.token.MachineAccessForbidden;
 import org.eclipse.che.api.workspace.server.token.MachineTokenException;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
@@ -289,11 +290,32 @@ public class WorkspaceService extends Service {
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+              "If true, lightweight workspace summaries without configuration and devfile "
+                  + "are returned")
+          @DefaultValue("false")
+          @QueryParam("summary")
+          Boolean summary)
       throws ServerException, BadRequestException {
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    if (summary) {
+      Page<WorkspaceSummaryImpl> summariesPage =
+          workspaceManager.getWorkspaceSummaries(userId, maxItems, skipCount);
+      return Response.ok()
+          .entity(
+              summariesPage
+                  .getItems()
+                  .stream()
+                  .filter(
+                      ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                  .map(DtoConverter::asDto)
+                  .collect(toList()))
+          .header("Link", createLinkHeader(summariesPage))
+          .build();
+    }
     Page<WorkspaceImpl> workspacesPage =
-        workspaceManager.getWorkspaces(
-            EnvironmentContext.getCurrent().getSubject().getUserId(), false, maxItems, skipCount);
+        workspaceManager.getWorkspaces(userId, false, maxItems, skipCount);
     return Response.ok()
         .entity(
             workspacesPage
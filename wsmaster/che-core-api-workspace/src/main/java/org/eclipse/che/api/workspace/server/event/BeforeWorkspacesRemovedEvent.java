@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.core.db.cascade.event.RemoveEvent;
+
+/**
+ * Published before several {@link WorkspaceImpl workspaces} are removed at once, instead of
+ * publishing {@link BeforeWorkspaceRemovedEvent} for each of them. Subscribers which remove data
+ * related to workspaces should handle both events.
+ */
+public class BeforeWorkspacesRemovedEvent extends RemoveEvent {
+
+  private final List<WorkspaceImpl> workspaces;
+
+  public BeforeWorkspacesRemovedEvent(List<WorkspaceImpl> workspaces) {
+    this.workspaces = workspaces;
+  }
+
+  public List<WorkspaceImpl> getWorkspaces() {
+    return workspaces;
+  }
+
+  public List<String> getWorkspaceIds() {
+    return workspaces.stream().map(WorkspaceImpl::getId).collect(toList());
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces {@link RuntimeLogEvent runtime log events} of the same workspace machine into {@link
+ * RuntimeLogBatchEvent batches} and publishes them with {@link EventService}.
+ *
+ * <p>A batch is published when it contains {@code che.workspace.runtime_log.batch.max_size}
+ * events or when {@code che.workspace.runtime_log.batch.max_delay_ms} milliseconds passed since
+ * the first event of the batch was received, whichever happens first. Batching is opt-in, it is
+ * disabled when the delay is not positive, which is the default.
+ */
+@Singleton
+public class RuntimeLogBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RuntimeLogBatcher.class);
+
+  private final EventService eventService;
+  private final long maxDelayMs;
+  private final int maxSize;
+  private final ScheduledExecutorService scheduler;
+  private final ConcurrentMap<BatchKey, Batch> batches;
+  private final EventSubscriber<RuntimeLogEvent> subscriber;
+
+  @Inject
+  public RuntimeLogBatcher(
+      EventService eventService,
+      @Named("che.workspace.runtime_log.batch.max_delay_ms") long maxDelayMs,
+      @Named("che.workspace.runtime_log.batch.max_size") int maxSize,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    this(
+        eventService,
+        maxDelayMs,
+        maxSize,
+        executorServiceWrapper.wrap(
+            new ScheduledThreadPoolExecutor(
+                1,
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("RuntimeLogBatcher-%s")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .build()),
+            RuntimeLogBatcher.class.getName()));
+  }
+
+  @VisibleForTesting
+  RuntimeLogBatcher(
+      EventService eventService,
+      long maxDelayMs,
+      int maxSize,
+      ScheduledExecutorService scheduler) {
+    if (maxDelayMs > 0 && maxSize <= 0) {
+      throw new IllegalArgumentException(
+          "Runtime logs batch max size must be greater than 0 when batching is enabled, but was "
+              + maxSize);
+    }
+    this.eventService = eventService;
+    this.maxDelayMs = maxDelayMs;
+    this.maxSize = maxSize;
+    this.scheduler = scheduler;
+    this.batches = new ConcurrentHashMap<>();
+    this.subscriber = this::add;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (maxDelayMs > 0) {
+      eventService.subscribe(subscriber, RuntimeLogEvent.class);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    eventService.unsubscribe(subscriber, RuntimeLogEvent.class);
+    batches.forEach(this::flush);
+    scheduler.shutdownNow();
+  }
+
+  @VisibleForTesting
+  void add(RuntimeLogEvent event) {
+    final BatchKey key =
+        new BatchKey(event.getRuntimeId().getWorkspaceId(), event.getMachineName());
+    final Batch[] created = new Batch[1];
+    final Batch[] full = new Batch[1];
+    batches.compute(
+        key,
+        (k, batch) -> {
+          if (batch == null) {
+            batch = new Batch(event.getRuntimeId(), event.getMachineName());
+            created[0] = batch;
+          }
+          batch.events.add(event);
+          if (batch.events.size() >= maxSize) {
+            full[0] = batch;
+            return null;
+          }
+          return batch;
+        });
+
+    if (full[0] != null) {
+      publish(full[0]);
+    } else if (created[0] != null) {
+      try {
+        scheduler.schedule(() -> flush(key, created[0]), maxDelayMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException x) {
+        flush(key, created[0]);
+      }
+    }
+  }
+
+  /** Publishes the given batch if it hasn't been published yet because of its size. */
+  private void flush(BatchKey key, Batch batch) {
+    if (batches.remove(key, batch)) {
+      publish(batch);
+    }
+  }
+
+  private void publish(Batch batch) {
+    try {
+      eventService.publish(
+          newDto(RuntimeLogBatchEvent.class)
+              .withRuntimeId(batch.runtimeId)
+              .withMachineName(batch.machineName)
+              .withEvents(batch.events));
+    } catch (RuntimeException x) {
+      LOG.error("Failed to publish runtime logs batch. Cause: {}", x.getMessage(), x);
+    }
+  }
+
+  private static class Batch {
+    final RuntimeIdentityDto runtimeId;
+    final String machineName;
+    final List<RuntimeLogEvent> events;
+
+    Batch(RuntimeIdentityDto runtimeId, String machineName) {
+      this.runtimeId = runtimeId;
+      this.machineName = machineName;
+      this.events = new ArrayList<>();
+    }
+  }
+
+  private static class BatchKey {
+    final String workspaceId;
+    final String machineName;
+
+    BatchKey(String workspaceId, String machineName) {
+      this.workspaceId = workspaceId;
+      this.machineName = machineName;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BatchKey)) {
+        return false;
+      }
+      final BatchKey that = (BatchKey) obj;
+      return Objects.equals(workspaceId, that.workspaceId)
+          && Objects.equals(machineName, that.machineName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(workspaceId, machineName);
+    }
+  }
+}
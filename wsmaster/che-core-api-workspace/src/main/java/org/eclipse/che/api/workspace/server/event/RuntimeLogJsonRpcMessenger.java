@@ -12,6 +12,7 @@
 package org.eclipse.che.api.workspace.server.event;
 
 import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_BATCH_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_METHOD;
 
 import java.util.Map;
@@ -19,11 +20,13 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogBatchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
 
 /**
  * Register subscriber on {@link RuntimeLogEvent runtime log event} for resending this type of event
- * via JSON-RPC to clients.
+ * via JSON-RPC to clients. Clients which subscribe to {@code runtime/log/batch} receive {@link
+ * RuntimeLogBatchEvent batches} produced by {@link RuntimeLogBatcher} instead.
  *
  * @author Sergii Leshchenko
  */
@@ -42,12 +45,18 @@ public class RuntimeLogJsonRpcMessenger {
     subscriptionManager.register(RUNTIME_LOG_METHOD, RuntimeLogEvent.class, this::predicate);
     subscriptionManager.register(
         MACHINE_LOG_METHOD, RuntimeLogEvent.class, this::predicateMachineLog);
+    subscriptionManager.register(
+        RUNTIME_LOG_BATCH_METHOD, RuntimeLogBatchEvent.class, this::predicateBatch);
   }
 
   private boolean predicate(RuntimeLogEvent event, Map<String, String> scope) {
     return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
   }
 
+  private boolean predicateBatch(RuntimeLogBatchEvent event, Map<String, String> scope) {
+    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  }
+
   private boolean predicateMachineLog(RuntimeLogEvent event, Map<String, String> scope) {
     return event.getMachineName() != null
         && event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
@@ -13,14 +13,20 @@ package org.eclipse.che.api.workspace.server.event;
 
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STATUS_CHANGED_METHOD;
 
-import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 
-/** Send workspace events using JSON RPC to the clients */
+/**
+ * Send workspace events using JSON RPC to the clients.
+ *
+ * <p>Clients subscribe to status changes of one workspace with the {@code workspaceId} scope, or
+ * of several workspaces at once, e.g. those of a listed page, with the comma-separated {@code
+ * workspaceIds} scope, which is parsed once per subscription.
+ */
 @Singleton
 public class WorkspaceJsonRpcMessenger {
   private final RemoteSubscriptionManager remoteSubscriptionManager;
@@ -32,11 +38,12 @@ public class WorkspaceJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
+    remoteSubscriptionManager.registerWithContext(
         WORKSPACE_STATUS_CHANGED_METHOD, WorkspaceStatusEvent.class, this::predicate);
   }
 
-  private boolean predicate(WorkspaceStatusEvent event, Map<String, String> scope) {
-    return event.getWorkspaceId().equals(scope.get("workspaceId"));
+  private boolean predicate(WorkspaceStatusEvent event, RemoteSubscriptionContext context) {
+    return event.getWorkspaceId().equals(context.getScope().get("workspaceId"))
+        || context.getScopeValues("workspaceIds").contains(event.getWorkspaceId());
   }
 }
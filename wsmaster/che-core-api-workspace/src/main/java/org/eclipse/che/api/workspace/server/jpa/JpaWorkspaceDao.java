@@ -13,12 +13,15 @@ package org.eclipse.che.api.workspace.server.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.che.api.core.Pages.iterate;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -32,14 +35,17 @@ import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -100,6 +106,22 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     return workspaceOpt;
   }
 
+  @Override
+  public List<WorkspaceImpl> removeAll(Collection<String> ids) throws ServerException {
+    requireNonNull(ids, "Required non-null ids");
+    if (ids.isEmpty()) {
+      return emptyList();
+    }
+    List<WorkspaceImpl> removed;
+    try {
+      removed = doRemoveAll(ids);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+    removed.forEach(workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
+    return removed;
+  }
+
   @Override
   @Transactional
   public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
@@ -165,6 +187,29 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getByNamespace(
+      String namespace, int maxItems, @Nullable String continuationToken) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final List<WorkspaceImpl> list =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getByNamespaceAfter", WorkspaceImpl.class)
+              .setParameter("namespace", namespace)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      return Pages.keysetPage(list, maxItems, WorkspaceImpl::getId);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
@@ -191,6 +236,52 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String userId, int maxItems, long skipCount) throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummaryImpl> list =
+          manager
+              .createNamedQuery("Workspace.getAllSummaries", WorkspaceSummaryImpl.class)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      fetchAttributes(manager, list);
+      final long count =
+          manager.createNamedQuery("Workspace.getAllCount", Long.class).getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  /**
+   * Loads attributes of all the given summaries with a single query and sets them to summaries.
+   */
+  public static void fetchAttributes(EntityManager manager, List<WorkspaceSummaryImpl> summaries) {
+    if (summaries.isEmpty()) {
+      return;
+    }
+    final Map<String, WorkspaceSummaryImpl> byId = new HashMap<>();
+    for (WorkspaceSummaryImpl summary : summaries) {
+      summary.setAttributes(new HashMap<>());
+      byId.put(summary.getId(), summary);
+    }
+    final List<Object[]> rows =
+        manager
+            .createNamedQuery("Workspace.getAttributesByIds", Object[].class)
+            .setParameter("ids", byId.keySet())
+            .getResultList();
+    for (Object[] row : rows) {
+      final WorkspaceSummaryImpl summary = byId.get((String) row[0]);
+      if (summary != null) {
+        summary.getAttributes().put((String) row[1], (String) row[2]);
+      }
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -223,6 +314,30 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(
+      boolean isTemporary, int maxItems, @Nullable String continuationToken)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      final List<WorkspaceImpl> list =
+          managerProvider
+              .get()
+              .createNamedQuery("Workspace.getByTemporaryAfter", WorkspaceImpl.class)
+              .setParameter("temporary", isTemporary)
+              .setParameter("after", continuationToken == null ? "" : continuationToken)
+              .setMaxResults(maxItems)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(toList());
+      return Pages.keysetPage(list, maxItems, WorkspaceImpl::getId);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -248,6 +363,11 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     return Optional.of(workspace);
   }
 
+  @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
+  protected List<WorkspaceImpl> doRemoveAll(Collection<String> ids) throws ServerException {
+    return JpaWorkspaceRemover.removeAll(managerProvider.get(), eventService, ids);
+  }
+
   @Transactional
   protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
     EntityManager manager = managerProvider.get();
@@ -278,6 +398,7 @@ public class JpaWorkspaceDao implements WorkspaceDao {
   @Singleton
   public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
+    private static final int PAGE_SIZE = 100;
 
     @Inject private EventService eventService;
     @Inject private WorkspaceManager workspaceManager;
@@ -294,13 +415,14 @@ public class JpaWorkspaceDao implements WorkspaceDao {
 
     @Override
     public void onCascadeEvent(BeforeAccountRemovedEvent event) throws Exception {
-      for (WorkspaceImpl workspace :
-          iterate(
-              (maxItems, skipCount) ->
-                  workspaceManager.getByNamespace(
-                      event.getAccount().getName(), false, maxItems, skipCount))) {
-        workspaceManager.removeWorkspace(workspace.getId());
-      }
+      String continuationToken = null;
+      do {
+        Page<WorkspaceImpl> workspacesPage =
+            workspaceManager.getByNamespace(
+                event.getAccount().getName(), false, PAGE_SIZE, continuationToken);
+        workspaceManager.removeWorkspaces(workspacesPage.getItems(WorkspaceImpl::getId));
+        continuationToken = workspacesPage.getContinuationToken();
+      } while (continuationToken != null);
     }
   }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+
+/**
+ * Removes workspaces together with their configurations and devfiles in bulk.
+ *
+ * <p>Instead of letting JPA cascade the removal entity by entity, the ids of the dependent entities
+ * are selected with one query per entity type, and the entities are removed with one bulk delete
+ * per entity type, the dependent ones first. Bulk deletes also remove the element collections of
+ * the removed entities. So removal of a page of workspaces takes the same number of statements
+ * whatever the size of their configurations.
+ */
+public final class JpaWorkspaceRemover {
+
+  /**
+   * Removes the workspaces with the given ids, publishing {@link BeforeWorkspacesRemovedEvent}
+   * before the removal. Must be called within a transaction.
+   *
+   * @return the removed workspaces, detached from the entity manager
+   * @throws ServerException when a subscriber of the event fails
+   */
+  public static List<WorkspaceImpl> removeAll(
+      EntityManager manager, EventService eventService, Collection<String> ids)
+      throws ServerException {
+    final List<WorkspaceImpl> workspaces =
+        manager
+            .createNamedQuery("Workspace.getByIds", WorkspaceImpl.class)
+            .setParameter("ids", ids)
+            .getResultList();
+    if (workspaces.isEmpty()) {
+      return emptyList();
+    }
+    eventService
+        .publish(
+            new BeforeWorkspacesRemovedEvent(
+                workspaces.stream().map(WorkspaceImpl::new).collect(toList())))
+        .propagateException();
+    manager.flush();
+    // bulk deletes bypass the persistence context, the removed entities must not be flushed again
+    workspaces.forEach(manager::detach);
+
+    final List<Long> configIds =
+        select(manager, "SELECT c.id FROM Workspace w JOIN w.config c WHERE w.id IN :ids", ids);
+    final List<Long> devfileIds =
+        select(manager, "SELECT d.id FROM Workspace w JOIN w.devfile d WHERE w.id IN :ids", ids);
+
+    // configurations
+    final List<Long> environmentIds =
+        select(
+            manager,
+            "SELECT e.id FROM WorkspaceConfig c JOIN c.environments e WHERE c.id IN :ids",
+            configIds);
+    final List<Long> machineIds =
+        select(
+            manager,
+            "SELECT m.id FROM Environment e JOIN e.machines m WHERE e.id IN :ids",
+            environmentIds);
+    delete(
+        manager,
+        "ServerConf",
+        "id",
+        select(
+            manager,
+            "SELECT s.id FROM ExternalMachine m JOIN m.servers s WHERE m.id IN :ids",
+            machineIds));
+    delete(
+        manager,
+        "MachineVolume",
+        "id",
+        select(
+            manager,
+            "SELECT v.id FROM ExternalMachine m JOIN m.volumes v WHERE m.id IN :ids",
+            machineIds));
+    delete(manager, "ExternalMachine", "id", machineIds);
+    delete(manager, "Environment", "id", environmentIds);
+    delete(
+        manager,
+        "Command",
+        "id",
+        select(
+            manager,
+            "SELECT cmd.id FROM WorkspaceConfig c JOIN c.commands cmd WHERE c.id IN :ids",
+            configIds));
+    final List<Long> projectIds =
+        select(
+            manager,
+            "SELECT p.id FROM WorkspaceConfig c JOIN c.projects p WHERE c.id IN :ids",
+            configIds);
+    delete(
+        manager,
+        "ProjectAttribute",
+        "id",
+        select(
+            manager,
+            "SELECT a.id FROM ProjectConfig p JOIN p.dbAttributes a WHERE p.id IN :ids",
+            projectIds));
+    // projects reference their sources, so the sources are removed after them
+    final List<Long> sourceIds =
+        select(
+            manager,
+            "SELECT s.id FROM ProjectConfig p JOIN p.source s WHERE p.id IN :ids",
+            projectIds);
+    delete(manager, "ProjectConfig", "id", projectIds);
+    delete(manager, "SourceStorage", "id", sourceIds);
+
+    // workspaces reference their configurations and devfiles, so those are removed after them
+    manager
+        .createQuery("DELETE FROM Workspace w WHERE w.id IN :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+    delete(manager, "WorkspaceConfig", "id", configIds);
+    removeDevfiles(manager, devfileIds);
+    return workspaces;
+  }
+
+  /**
+   * Removes the devfiles with the given ids together with their components, commands and projects
+   * in bulk. The entities which reference the devfiles must be removed beforehand. Must be called
+   * within a transaction.
+   */
+  public static void removeDevfiles(EntityManager manager, List<Long> devfileIds) {
+    if (devfileIds.isEmpty()) {
+      return;
+    }
+    final List<Long> commandIds =
+        select(
+            manager, "SELECT c.id FROM Devfile d JOIN d.commands c WHERE d.id IN :ids", devfileIds);
+    delete(
+        manager,
+        "DevfileAction",
+        "id",
+        select(
+            manager,
+            "SELECT a.id FROM DevfileCommand c JOIN c.actions a WHERE c.id IN :ids",
+            commandIds));
+    delete(manager, "DevfileCommand", "id", commandIds);
+    final List<Long> componentIds =
+        select(
+            manager,
+            "SELECT c.generatedId FROM Devfile d JOIN d.components c WHERE d.id IN :ids",
+            devfileIds);
+    final String[][] componentParts = {
+      {"DevfileEntrypoint", "entrypoints"},
+      {"DevfileEnv", "env"},
+      {"DevfileEndpoint", "endpoints"},
+      {"DevfileVolume", "volumes"}
+    };
+    for (String[] part : componentParts) {
+      delete(
+          manager,
+          part[0],
+          "id",
+          select(
+              manager,
+              "SELECT x.id FROM DevfileComponent c JOIN c." + part[1] + " x"
+                  + " WHERE c.generatedId IN :ids",
+              componentIds));
+    }
+    delete(manager, "DevfileComponent", "generatedId", componentIds);
+    delete(
+        manager,
+        "DevfileProject",
+        "id",
+        select(
+            manager,
+            "SELECT p.id FROM Devfile d JOIN d.projects p WHERE d.id IN :ids",
+            devfileIds));
+    delete(manager, "Devfile", "id", devfileIds);
+  }
+
+  private static List<Long> select(EntityManager manager, String jpql, Collection<?> ids) {
+    if (ids.isEmpty()) {
+      return emptyList();
+    }
+    return manager.createQuery(jpql, Long.class).setParameter("ids", ids).getResultList();
+  }
+
+  private static void delete(EntityManager manager, String entity, String id, List<Long> ids) {
+    if (!ids.isEmpty()) {
+      manager
+          .createQuery("DELETE FROM " + entity + " e WHERE e." + id + " IN :ids")
+          .setParameter("ids", ids)
+          .executeUpdate();
+    }
+  }
+
+  private JpaWorkspaceRemover() {}
+}
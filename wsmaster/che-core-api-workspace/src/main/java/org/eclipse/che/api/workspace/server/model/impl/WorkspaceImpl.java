@@ -56,13 +56,41 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
       name = "Workspace.getByNamespace",
       query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace"),
+  @NamedQuery(
+      name = "Workspace.getByNamespaceAfter",
+      query =
+          "SELECT w FROM Workspace w "
+              + "WHERE w.account.name = :namespace AND w.id > :after "
+              + "ORDER BY w.id"),
   @NamedQuery(
       name = "Workspace.getByName",
       query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"),
   @NamedQuery(name = "Workspace.getAll", query = "SELECT w FROM Workspace w"),
+  @NamedQuery(name = "Workspace.getByIds", query = "SELECT w FROM Workspace w WHERE w.id IN :ids"),
+  @NamedQuery(
+      name = "Workspace.getAllSummaries",
+      query =
+          "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+              + "w.id, w.name, a.name, w.isTemporary, d.metadata.name) "
+              + "FROM Workspace w "
+              + "JOIN w.account a "
+              + "LEFT JOIN w.devfile d"),
+  @NamedQuery(
+      name = "Workspace.getAttributesByIds",
+      query =
+          "SELECT w.id, KEY(attr), VALUE(attr) "
+              + "FROM Workspace w "
+              + "JOIN w.attributes attr "
+              + "WHERE w.id IN :ids"),
   @NamedQuery(
       name = "Workspace.getByTemporary",
       query = "SELECT w " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "),
+  @NamedQuery(
+      name = "Workspace.getByTemporaryAfter",
+      query =
+          "SELECT w FROM Workspace w "
+              + "WHERE w.isTemporary = :temporary AND w.id > :after "
+              + "ORDER BY w.id"),
   @NamedQuery(name = "Workspace.getAllCount", query = "SELECT COUNT(w) FROM Workspace w"),
   @NamedQuery(
       name = "Workspace.getByNamespaceCount",
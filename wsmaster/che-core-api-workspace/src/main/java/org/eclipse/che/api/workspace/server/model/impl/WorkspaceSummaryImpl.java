@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Projection of {@link WorkspaceImpl} which contains only the data needed to list workspaces.
+ *
+ * <p>Instances are created by JPQL constructor expressions, so fetching them doesn't load the
+ * workspace configuration and devfile graphs.
+ */
+public class WorkspaceSummaryImpl {
+
+  private String id;
+  private String name;
+  private String namespace;
+  private boolean isTemporary;
+  private String devfileName;
+  private WorkspaceStatus status;
+  private Map<String, String> attributes;
+
+  public WorkspaceSummaryImpl(
+      String id, String name, String namespace, boolean isTemporary, String devfileName) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.isTemporary = isTemporary;
+    this.devfileName = devfileName;
+  }
+
+  public WorkspaceSummaryImpl(WorkspaceImpl workspace) {
+    this(
+        workspace.getId(),
+        workspace.getName(),
+        workspace.getNamespace(),
+        workspace.isTemporary(),
+        workspace.getDevfile() == null ? null : workspace.getDevfile().getMetadata().getName());
+    this.status = workspace.getStatus();
+    this.attributes = new HashMap<>(workspace.getAttributes());
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public boolean isTemporary() {
+    return isTemporary;
+  }
+
+  @Nullable
+  public String getDevfileName() {
+    return devfileName;
+  }
+
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  public Map<String, String> getAttributes() {
+    if (attributes == null) {
+      attributes = new HashMap<>();
+    }
+    return attributes;
+  }
+
+  public void setAttributes(Map<String, String> attributes) {
+    this.attributes = attributes;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof WorkspaceSummaryImpl)) return false;
+    final WorkspaceSummaryImpl other = (WorkspaceSummaryImpl) obj;
+    return Objects.equals(id, other.id)
+        && Objects.equals(name, other.name)
+        && Objects.equals(namespace, other.namespace)
+        && isTemporary == other.isTemporary
+        && Objects.equals(devfileName, other.devfileName)
+        && Objects.equals(status, other.status)
+        && getAttributes().equals(other.getAttributes());
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Boolean.hashCode(isTemporary);
+    hash = 31 * hash + Objects.hashCode(devfileName);
+    hash = 31 * hash + Objects.hashCode(status);
+    hash = 31 * hash + getAttributes().hashCode();
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummaryImpl{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", isTemporary="
+        + isTemporary
+        + ", devfileName='"
+        + devfileName
+        + '\''
+        + ", status="
+        + status
+        + ", attributes="
+        + attributes
+        + '}';
+  }
+}
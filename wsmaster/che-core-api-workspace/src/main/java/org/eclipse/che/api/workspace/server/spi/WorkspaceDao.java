@@ -11,12 +11,16 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -76,6 +80,21 @@ public interface WorkspaceDao {
    */
   Optional<WorkspaceImpl> remove(String id) throws ServerException;
 
+  /**
+   * Removes several workspaces at once.
+   *
+   * <p>Unlike {@link #remove(String)} related data of all the workspaces is removed together, so
+   * it should be used for removing many workspaces e.g. all the workspaces of an account.
+   *
+   * <p>Doesn't throw an exception when some of workspaces with given identifiers do not exist
+   *
+   * @param ids workspace identifiers
+   * @return removed workspaces
+   * @throws NullPointerException when {@code ids} is null
+   * @throws ServerException when any other error occurs during workspaces removing
+   */
+  List<WorkspaceImpl> removeAll(Collection<String> ids) throws ServerException;
+
   /**
    * Gets workspace by identifier.
    *
@@ -111,6 +130,23 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getByNamespace(String namespace, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets page of workspaces in given namespace which follow the given continuation token.
+   *
+   * <p>Unlike {@link #getByNamespace(String, int, long)} this method neither skips nor counts
+   * workspaces, so it should be used for scans over all the workspaces of namespace. The total
+   * count of returned page is {@link Page#UNKNOWN_TOTAL_COUNT}.
+   *
+   * @param namespace workspace namespace
+   * @param maxItems the maximum number of workspaces to return
+   * @param continuationToken continuation token of the previous page or null to get the first page
+   * @return page of workspaces
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  Page<WorkspaceImpl> getByNamespace(
+      String namespace, int maxItems, @Nullable String continuationToken) throws ServerException;
+
   /**
    * Gets list of workspaces which user can read
    *
@@ -121,6 +157,20 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets summaries of workspaces which user can read, the same workspaces as returned by {@link
+   * #getWorkspaces(String, int, long)}.
+   *
+   * <p>Summaries don't contain workspace configuration and devfile, so implementations should avoid
+   * loading them. Status of returned summaries is not set.
+   *
+   * @param userId id of user
+   * @return page of summaries of workspaces which user can read
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
@@ -135,6 +185,24 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets page of workspaces by temporary attribute which follow the given continuation token.
+   *
+   * <p>Unlike {@link #getWorkspaces(boolean, int, long)} this method neither skips nor counts
+   * workspaces. The total count of returned page is {@link Page#UNKNOWN_TOTAL_COUNT}.
+   *
+   * @param isTemporary When {@code true}, only temporary workspaces should be retrieved. When
+   *     {@code false}, only non-temporary workspaces should be retrieved.
+   * @param maxItems the maximum number of workspaces to return
+   * @param continuationToken continuation token of the previous page or null to get the first page
+   * @return page of workspaces
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  Page<WorkspaceImpl> getWorkspaces(
+      boolean isTemporary, int maxItems, @Nullable String continuationToken)
+      throws ServerException;
+
   /**
    * Get the count of all workspaces from the persistent layer.
    *
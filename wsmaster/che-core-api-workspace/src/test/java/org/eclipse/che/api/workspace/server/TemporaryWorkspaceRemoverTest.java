@@ -15,9 +15,9 @@ import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.core.Pages.DEFAULT_PAGE_SIZE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -51,25 +51,28 @@ public class TemporaryWorkspaceRemoverTest {
   @Test
   public void shouldRemoveStoppedTemporaryWorkspaces() throws Exception {
     doReturn(WorkspaceStatus.STOPPED).when(runtimes).getStatus(any());
-    when(workspaceDao.getWorkspaces(eq(true), anyInt(), anyLong()))
+    when(workspaceDao.getWorkspaces(eq(true), anyInt(), nullable(String.class)))
         .thenReturn(
             new Page<>(
                 createStoppedWorkspaces(DEFAULT_PAGE_SIZE),
                 0,
                 DEFAULT_PAGE_SIZE,
-                COUNT_OF_WORKSPACES))
+                Page.UNKNOWN_TOTAL_COUNT,
+                "id1"))
         .thenReturn(
             new Page<>(
                 createStoppedWorkspaces(DEFAULT_PAGE_SIZE),
                 DEFAULT_PAGE_SIZE,
                 DEFAULT_PAGE_SIZE,
-                COUNT_OF_WORKSPACES))
+                Page.UNKNOWN_TOTAL_COUNT,
+                "id2"))
         .thenReturn(
             new Page<>(
                 createStoppedWorkspaces(DEFAULT_PAGE_SIZE),
                 DEFAULT_PAGE_SIZE * 2,
                 DEFAULT_PAGE_SIZE,
-                COUNT_OF_WORKSPACES));
+                Page.UNKNOWN_TOTAL_COUNT,
+                null));
     remover.removeTemporaryWs();
 
     verify(workspaceDao, times(COUNT_OF_WORKSPACES)).remove(anyString());
@@ -78,8 +81,8 @@ public class TemporaryWorkspaceRemoverTest {
   @Test(dataProvider = "activeWorkspaceStatuses")
   public void shouldNotRemoveActiveWorkspace(WorkspaceStatus status) throws Exception {
     WorkspaceImpl workspace = WorkspaceImpl.builder().setId("ws123").build();
-    when(workspaceDao.getWorkspaces(eq(true), anyInt(), anyLong()))
-        .thenReturn(new Page<>(singletonList(workspace), 0, 1, 1));
+    when(workspaceDao.getWorkspaces(eq(true), anyInt(), nullable(String.class)))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 1, Page.UNKNOWN_TOTAL_COUNT, null));
     doReturn(status).when(runtimes).getStatus("ws123");
 
     remover.removeTemporaryWs();
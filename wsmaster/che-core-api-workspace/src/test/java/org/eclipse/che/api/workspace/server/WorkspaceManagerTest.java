@@ -97,6 +97,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WarningImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.NamespaceResolutionContext;
@@ -402,6 +403,35 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void getsWorkspaceSummariesWithRuntimeStatuses() throws Exception {
+    // given
+    final WorkspaceConfig config = createConfig();
+
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(config, NAMESPACE_1);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(config, NAMESPACE_2);
+
+    when(workspaceDao.getWorkspaceSummaries(eq(NAMESPACE_1), anyInt(), anyLong()))
+        .thenReturn(
+            new Page<>(
+                asList(new WorkspaceSummaryImpl(workspace1), new WorkspaceSummaryImpl(workspace2)),
+                0,
+                2,
+                2));
+    mockRuntimeStatus(workspace1, STOPPED);
+    mockRuntimeStatus(workspace2, RUNNING);
+
+    // when
+    final Page<WorkspaceSummaryImpl> result =
+        workspaceManager.getWorkspaceSummaries(NAMESPACE_1, 30, 0);
+
+    // then
+    assertEquals(result.getItems().size(), 2);
+    assertEquals(result.getItems().get(0).getStatus(), STOPPED);
+    assertEquals(result.getItems().get(1).getStatus(), RUNNING);
+    verify(workspaceDao, never()).getWorkspaces(anyString(), anyInt(), anyLong());
+  }
+
   @Test
   public void getsWorkspacesByNamespaceWithoutRuntimes() throws Exception {
     // given
@@ -36,6 +36,7 @@ import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
 import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -87,6 +88,7 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
@@ -97,6 +99,7 @@ import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.MetadataDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.ProjectDto;
@@ -650,6 +653,34 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesWhenSummaryModeIsRequested() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
+    final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl(workspace1);
+    final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl(workspace2);
+    when(wsManager.getWorkspaceSummaries(eq(USER_ID), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(summary1, summary2), 0, 2, 2));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?summary=true&status=starting");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertNotNull(response.getHeader("Link"));
+    final List<WorkspaceSummaryDto> summaries =
+        unwrapDtoList(response, WorkspaceSummaryDto.class);
+    assertEquals(summaries.size(), 1);
+    assertEquals(summaries.get(0).getId(), workspace2.getId());
+    assertEquals(summaries.get(0).getNamespace(), workspace2.getNamespace());
+    assertEquals(summaries.get(0).getStatus(), STARTING);
+    assertEquals(summaries.get(0).getAttributes(), workspace2.getAttributes());
+    verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
   @Test
   public void shouldGetWorkspacesByNamespace() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeLogBatcherTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+
+  @Mock private ScheduledExecutorService scheduler;
+
+  private List<RuntimeLogBatchEvent> batches;
+  private RuntimeLogBatcher batcher;
+
+  @BeforeMethod
+  public void setUp() {
+    EventService eventService = new EventService();
+    batches = new ArrayList<>();
+    eventService.subscribe(batches::add, RuntimeLogBatchEvent.class);
+    batcher = new RuntimeLogBatcher(eventService, 1000, 3, scheduler);
+  }
+
+  @Test
+  public void shouldPublishBatchWhenMaxSizeIsReached() {
+    batcher.add(logEvent("machine", "1"));
+    batcher.add(logEvent("machine", "2"));
+    assertTrue(batches.isEmpty());
+
+    batcher.add(logEvent("machine", "3"));
+
+    assertEquals(batches.size(), 1);
+    RuntimeLogBatchEvent batch = batches.get(0);
+    assertEquals(batch.getMachineName(), "machine");
+    assertEquals(batch.getRuntimeId().getWorkspaceId(), WORKSPACE_ID);
+    assertEquals(batch.getEvents().size(), 3);
+    assertEquals(batch.getEvents().get(0).getText(), "1");
+    assertEquals(batch.getEvents().get(2).getText(), "3");
+  }
+
+  @Test
+  public void shouldPublishBatchWhenMaxDelayPassed() {
+    batcher.add(logEvent("machine", "1"));
+    batcher.add(logEvent("machine", "2"));
+    ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(flushCaptor.capture(), eq(1000L), eq(MILLISECONDS));
+
+    flushCaptor.getValue().run();
+
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getEvents().size(), 2);
+  }
+
+  @Test
+  public void shouldNotPublishBatchTwiceWhenFlushedBySize() {
+    batcher.add(logEvent("machine", "1"));
+    ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(flushCaptor.capture(), anyLong(), any());
+    batcher.add(logEvent("machine", "2"));
+    batcher.add(logEvent("machine", "3"));
+
+    flushCaptor.getValue().run();
+
+    assertEquals(batches.size(), 1);
+  }
+
+  @Test
+  public void shouldBatchLogsOfDifferentMachinesSeparately() {
+    batcher.add(logEvent("machine1", "1"));
+    batcher.add(logEvent("machine2", "2"));
+    batcher.add(logEvent("machine1", "3"));
+    batcher.add(logEvent("machine1", "4"));
+
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getMachineName(), "machine1");
+    assertEquals(batches.get(0).getEvents().size(), 3);
+  }
+
+  @Test
+  public void shouldNotScheduleFlushWhenBatchIsFlushedBySize() {
+    batcher = new RuntimeLogBatcher(new EventService(), 1000, 1, scheduler);
+
+    batcher.add(logEvent("machine", "1"));
+
+    verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  public void shouldNotSubscribeToRuntimeLogsWhenBatchingIsDisabled() {
+    EventService eventService = new EventService();
+    eventService.subscribe(batches::add, RuntimeLogBatchEvent.class);
+    batcher = new RuntimeLogBatcher(eventService, 0, 3, scheduler);
+    batcher.subscribe();
+
+    eventService.publish(logEvent("machine", "1"));
+
+    assertTrue(batches.isEmpty());
+    verifyZeroInteractions(scheduler);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldNotAllowNonPositiveMaxSizeWhenBatchingIsEnabled() {
+    new RuntimeLogBatcher(new EventService(), 1000, 0, scheduler);
+  }
+
+  private static RuntimeLogEvent logEvent(String machineName, String text) {
+    return newDto(RuntimeLogEvent.class)
+        .withRuntimeId(newDto(RuntimeIdentityDto.class).withWorkspaceId(WORKSPACE_ID))
+        .withMachineName(machineName)
+        .withText(text);
+  }
+}
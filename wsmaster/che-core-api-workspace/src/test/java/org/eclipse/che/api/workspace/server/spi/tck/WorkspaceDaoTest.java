@@ -15,11 +15,13 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
@@ -33,6 +35,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
@@ -42,6 +45,7 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspacesRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
@@ -52,6 +56,7 @@ import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.VolumeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ActionImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ComponentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
@@ -183,6 +188,42 @@ public class WorkspaceDaoTest {
     assertEquals(found.getItemsCount(), 2);
   }
 
+  @Test
+  public void shouldGetWorkspacesByNamespaceByKeyset() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+    final String namespace = workspace1.getNamespace();
+
+    final Page<WorkspaceImpl> first = workspaceDao.getByNamespace(namespace, 1, null);
+    final Page<WorkspaceImpl> second =
+        workspaceDao.getByNamespace(namespace, 1, first.getContinuationToken());
+    final Page<WorkspaceImpl> third =
+        workspaceDao.getByNamespace(namespace, 1, second.getContinuationToken());
+
+    assertEquals(first.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT);
+    assertEquals(first.getItems(), singletonList(workspace1));
+    assertTrue(first.hasNextPage());
+    assertEquals(second.getItems(), singletonList(workspace2));
+    assertTrue(third.isEmpty());
+    assertFalse(third.hasNextPage());
+  }
+
+  @Test
+  public void shouldGetLastPageOfWorkspacesByNamespaceByKeysetWithoutContinuationToken()
+      throws Exception {
+    final Page<WorkspaceImpl> found =
+        workspaceDao.getByNamespace(workspaces[0].getNamespace(), 30, null);
+
+    assertEquals(found.getItems(), asList(workspaces[0], workspaces[1]));
+    assertNull(found.getContinuationToken());
+    assertFalse(found.hasNextPage());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingWorkspacesByNullNamespaceByKeyset() throws Exception {
+    workspaceDao.getByNamespace(null, 30, null);
+  }
+
   @Test
   public void emptyListShouldBeReturnedWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
     assertTrue(workspaceDao.getByNamespace("non-existing-namespace", 30, 0).isEmpty());
@@ -276,6 +317,53 @@ public class WorkspaceDaoTest {
     eventService.unsubscribe(subscriber, BeforeWorkspaceRemovedEvent.class);
   }
 
+  @Test
+  public void shouldRemoveSeveralWorkspacesAtOnce() throws Exception {
+    final List<WorkspaceImpl> removed =
+        workspaceDao.removeAll(
+            asList(workspaces[0].getId(), workspaces[1].getId(), "non-existing-id"));
+
+    assertEquals(new HashSet<>(removed), new HashSet<>(asList(workspaces[0], workspaces[1])));
+    assertEquals(workspaceDao.getWorkspacesTotalCount(), COUNT_OF_WORKSPACES - 2);
+    assertEquals(workspaceDao.get(workspaces[2].getId()), workspaces[2]);
+  }
+
+  @Test
+  public void shouldRemoveWorkspacesMadeFromConfigAndDevfileAtOnce() throws Exception {
+    final WorkspaceImpl fromConfig = workspaces[0];
+    final WorkspaceImpl fromDevfile = workspaces[DEVFILE_WORKSPACE_INDEX];
+
+    workspaceDao.removeAll(asList(fromConfig.getId(), fromDevfile.getId()));
+
+    for (WorkspaceImpl removed : asList(fromConfig, fromDevfile)) {
+      try {
+        workspaceDao.get(removed.getId());
+        fail("Workspace '" + removed.getId() + "' had to be removed");
+      } catch (NotFoundException ignored) {
+      }
+    }
+    assertEquals(workspaceDao.getWorkspacesTotalCount(), COUNT_OF_WORKSPACES - 2);
+    assertEquals(workspaceDao.get(workspaces[1].getId()), workspaces[1]);
+  }
+
+  @Test(dependsOnMethods = "shouldGetWorkspaceById")
+  public void shouldNotRemoveAnyOfWorkspacesWhenSubscriberThrowsExceptionOnWorkspacesRemoving()
+      throws Exception {
+    CascadeEventSubscriber<BeforeWorkspacesRemovedEvent> subscriber = mockCascadeEventSubscriber();
+    doThrow(new ServerException("error")).when(subscriber).onCascadeEvent(any());
+    eventService.subscribe(subscriber, BeforeWorkspacesRemovedEvent.class);
+
+    try {
+      workspaceDao.removeAll(asList(workspaces[0].getId(), workspaces[1].getId()));
+      fail("WorkspaceDao#removeAll had to throw server exception");
+    } catch (ServerException ignored) {
+    }
+
+    assertEquals(workspaceDao.get(workspaces[0].getId()), workspaces[0]);
+    assertEquals(workspaceDao.get(workspaces[1].getId()), workspaces[1]);
+    eventService.unsubscribe(subscriber, BeforeWorkspacesRemovedEvent.class);
+  }
+
   @Test
   public void shouldGetWorkspacesByNonTemporary() throws Exception {
     final WorkspaceImpl workspace = workspaces[4];
@@ -310,6 +398,66 @@ public class WorkspaceDaoTest {
     assertEquals(result.getItems().iterator().next(), workspaceDao.get(workspace.getId()));
   }
 
+  @Test
+  public void shouldGetWorkspaceSummaries() throws Exception {
+    final WorkspaceImpl workspace = workspaces[1];
+    workspace.setAttributes(new HashMap<>());
+    workspaceDao.update(workspace);
+
+    Page<WorkspaceSummaryImpl> result = workspaceDao.getWorkspaceSummaries("user", 30, 0);
+
+    assertEquals(result.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+    assertEquals(
+        new HashSet<>(result.getItems()),
+        Stream.of(workspaces).map(WorkspaceSummaryImpl::new).collect(toSet()));
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByPages() throws Exception {
+    final Set<WorkspaceSummaryImpl> summaries = new HashSet<>();
+    for (int skipCount = 0; skipCount < COUNT_OF_WORKSPACES; skipCount += 2) {
+      Page<WorkspaceSummaryImpl> page = workspaceDao.getWorkspaceSummaries("user", 2, skipCount);
+
+      assertEquals(page.getItems().size(), Math.min(2, COUNT_OF_WORKSPACES - skipCount));
+      assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+      summaries.addAll(page.getItems());
+    }
+
+    assertEquals(summaries, Stream.of(workspaces).map(WorkspaceSummaryImpl::new).collect(toSet()));
+  }
+
+  @Test
+  public void shouldGetWorkspacesByNonTemporaryByKeyset() throws Exception {
+    final WorkspaceImpl workspace = workspaces[4];
+    workspace.setTemporary(true);
+    workspaceDao.update(workspace);
+
+    final Page<WorkspaceImpl> first = workspaceDao.getWorkspaces(false, 2, null);
+    final Page<WorkspaceImpl> second =
+        workspaceDao.getWorkspaces(false, 2, first.getContinuationToken());
+    final Page<WorkspaceImpl> third =
+        workspaceDao.getWorkspaces(false, 2, second.getContinuationToken());
+
+    assertEquals(first.getTotalItemsCount(), Page.UNKNOWN_TOTAL_COUNT);
+    assertEquals(first.getItems(), asList(workspaces[0], workspaces[1]));
+    assertEquals(second.getItems(), asList(workspaces[2], workspaces[3]));
+    assertTrue(third.isEmpty());
+    assertFalse(third.hasNextPage());
+  }
+
+  @Test
+  public void shouldGetWorkspacesByTemporaryByKeyset() throws Exception {
+    final WorkspaceImpl workspace = workspaces[2];
+    workspace.setTemporary(true);
+    workspaceDao.update(workspace);
+
+    final Page<WorkspaceImpl> result = workspaceDao.getWorkspaces(true, 30, null);
+
+    assertEquals(result.getItems(), singletonList(workspaceDao.get(workspace.getId())));
+    assertNull(result.getContinuationToken());
+    assertFalse(result.hasNextPage());
+  }
+
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void shouldThrowIllegalStateExceptionOnNegativeLimit() throws Exception {
     workspaceDao.getWorkspaces(true, 0, -2);
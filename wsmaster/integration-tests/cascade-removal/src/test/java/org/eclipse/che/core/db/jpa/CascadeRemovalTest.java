@@ -244,6 +244,10 @@ public class CascadeRemovalTest {
                     .annotatedWith(Names.named("che.limits.workspace.run.timeout"))
                     .toInstance(0L);
 
+                bind(Long.class)
+                    .annotatedWith(Names.named("che.workspace.activity_flush_period_s"))
+                    .toInstance(-1L);
+
                 bind(UserManager.class);
                 bind(AccountManager.class);
 
@@ -220,6 +220,8 @@ public class MySqlTckModule extends TckModule {
     bind(KubernetesMachineCache.class).to(JpaKubernetesMachineCache.class);
     bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimeBeforeWorkspaceRemoved.class)
         .asEagerSingleton();
+    bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimesBeforeWorkspacesRemoved.class)
+        .asEagerSingleton();
     bind(JpaKubernetesMachineCache.RemoveKubernetesMachinesBeforeRuntimesRemoved.class)
         .asEagerSingleton();
   }
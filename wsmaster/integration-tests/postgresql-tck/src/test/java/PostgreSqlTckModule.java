@@ -209,6 +209,8 @@ public class PostgreSqlTckModule extends TckModule {
     bind(KubernetesMachineCache.class).to(JpaKubernetesMachineCache.class);
     bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimeBeforeWorkspaceRemoved.class)
         .asEagerSingleton();
+    bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimesBeforeWorkspacesRemoved.class)
+        .asEagerSingleton();
     bind(JpaKubernetesMachineCache.RemoveKubernetesMachinesBeforeRuntimesRemoved.class)
         .asEagerSingleton();
   }